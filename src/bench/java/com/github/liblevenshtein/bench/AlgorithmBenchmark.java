@@ -0,0 +1,200 @@
+package com.github.liblevenshtein.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.collection.dictionary.factory.DawgFactory;
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+/**
+ * <p>
+ * Replays a workload of misspelled English words through transducers of each
+ * {@link Algorithm}, over a dictionary of about 110,000 words.  The workload
+ * is generated from a fixed seed by {@link MisspellingWorkload}, applying up to
+ * the maximum distance of edit operations to sampled dictionary terms, so
+ * every algorithm and every commit replays the same queries.
+ * </p>
+ *
+ * <p>
+ * {@link #throughput} reports queries per second, and the spelling candidates
+ * per second as its {@code candidates} counter.  {@link #latency} samples the
+ * time of each query, from which JMH reports percentiles such as p50 and p99.
+ * Allocation per query is reported by the GC profiler as
+ * {@code gc.alloc.rate.norm}.  The {@code benchAlgorithms} Gradle task runs
+ * this benchmark with the GC profiler, and writes its results as JSON to
+ * compare between commits.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Slf4j
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class AlgorithmBenchmark {
+
+  /**
+   * Seed of the generator of query terms.
+   */
+  private static final long SEED = 0x5EEDL;
+
+  /**
+   * Number of query terms in the workload, which are replayed in a cycle.
+   */
+  private static final int QUERY_COUNT = 10_000;
+
+  /**
+   * Characters of the dictionary, which misspellings may substitute or insert.
+   */
+  private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz'";
+
+  /**
+   * Algorithm of the transducer.
+   */
+  @Param({"STANDARD", "TRANSPOSITION", "MERGE_AND_SPLIT"})
+  private Algorithm algorithm;
+
+  /**
+   * Maximum distance of the queries, which is also the greatest number of
+   * edit operations applied to the terms of the workload.
+   */
+  @Param({"1", "2"})
+  private int maxDistance;
+
+  /**
+   * Transduces the query terms.
+   */
+  private ITransducer<Candidate> transducer;
+
+  /**
+   * Query terms of the workload.
+   */
+  private String[] queryTerms;
+
+  /**
+   * Builds the dictionary and transducer, and generates the workload.
+   * @throws Exception When the dictionary cannot be read.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    final List<String> terms = MisspellingWorkload.words();
+
+    final SortedDawg dictionary =
+      (SortedDawg) new DawgFactory().build(terms, true);
+    this.transducer = new TransducerBuilder()
+      .algorithm(algorithm)
+      .defaultMaxDistance(maxDistance)
+      .dictionary(dictionary, true)
+      .build();
+
+    final MisspellingWorkload workload =
+      new MisspellingWorkload(SEED, ALPHABET);
+    this.queryTerms = workload
+      .generate(terms, QUERY_COUNT, maxDistance)
+      .toArray(new String[QUERY_COUNT]);
+
+    log.info("Generated [{}] queries of [{}] terms for [{}] within distance [{}]",
+        queryTerms.length, terms.size(), algorithm, maxDistance);
+  }
+
+  /**
+   * Measures queries per second, and counts the spelling candidates they find.
+   * @param cursor Position of the thread in the workload.
+   * @param counters Counts the spelling candidates.
+   * @return Number of spelling candidates of the query.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public int throughput(final Cursor cursor, final Counters counters) {
+    final int candidateCount = query(cursor);
+    counters.candidates += candidateCount;
+    return candidateCount;
+  }
+
+  /**
+   * Samples the latencies of queries.
+   * @param cursor Position of the thread in the workload.
+   * @return Number of spelling candidates of the query.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int latency(final Cursor cursor) {
+    return query(cursor);
+  }
+
+  /**
+   * Collects the spelling candidates of the next query term of the workload.
+   * @param cursor Position of the thread in the workload.
+   * @return Number of spelling candidates of the query.
+   */
+  private int query(final Cursor cursor) {
+    final String queryTerm = queryTerms[cursor.index];
+    cursor.index = (cursor.index + 1) % queryTerms.length;
+    int candidateCount = 0;
+    for (final Candidate candidate : transducer.transduce(queryTerm)) {
+      if (null != candidate) {
+        candidateCount += 1;
+      }
+    }
+    return candidateCount;
+  }
+
+  /**
+   * Position of a thread in the workload, so each thread replays every query.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    /**
+     * Index of the next query term.
+     */
+    private int index = 0;
+  }
+
+  /**
+   * Counts the spelling candidates found by a thread, which JMH reports as a
+   * rate alongside the queries per second.
+   */
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  @SuppressWarnings("checkstyle:visibilitymodifier")
+  public static class Counters {
+
+    /**
+     * Number of spelling candidates found during the iteration.
+     */
+    public long candidates;
+
+    /**
+     * Resets the count before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+      this.candidates = 0L;
+    }
+  }
+}
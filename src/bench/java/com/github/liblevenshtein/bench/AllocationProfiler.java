@@ -0,0 +1,323 @@
+package com.github.liblevenshtein.bench;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.collection.dictionary.factory.DawgFactory;
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.Intersection;
+import com.github.liblevenshtein.transducer.Position;
+import com.github.liblevenshtein.transducer.SpecialPosition;
+import com.github.liblevenshtein.transducer.State;
+import com.github.liblevenshtein.transducer.StateIterator;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+import com.sun.management.ThreadMXBean;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * <p>
+ * Profiles what the transducers allocate per query, by type, while replaying
+ * the misspelling workload of {@link AlgorithmBenchmark} over the English
+ * word list.
+ * </p>
+ *
+ * <p>
+ * The total bytes per query are exact, as counted by
+ * {@link ThreadMXBean#getThreadAllocatedBytes(long)}.  They are divided among
+ * types by the allocation events of Java Flight Recorder, which sample an
+ * allocation each time the thread fills its allocation buffer and weigh it by
+ * the size of the buffer.  The shares of the hot types are therefore
+ * estimates, which converge as the workload grows; objects per query are the
+ * estimated bytes of a type divided by the size of its instances.
+ * </p>
+ *
+ * <p>
+ * Run it with {@code gradle profileAllocations}, passing
+ * {@code -PprofileArgs="TRANSPOSITION 2"} to profile a single algorithm and
+ * maximum distance.  JFR needs JDK 11 or later, or JDK 8u262 or later.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Slf4j
+public final class AllocationProfiler {
+
+  /**
+   * Seed of the generator of query terms.
+   */
+  private static final long SEED = 0x5EEDL;
+
+  /**
+   * Number of query terms in the workload.  It is smaller than that of
+   * {@link AlgorithmBenchmark}, as the workload is replayed several times per
+   * algorithm.
+   */
+  private static final int QUERY_COUNT = 2_000;
+
+  /**
+   * Characters of the dictionary, which misspellings may substitute or insert.
+   */
+  private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz'";
+
+  /**
+   * Times the workload is replayed before it is measured, so the measurements
+   * reflect compiled code.
+   */
+  private static final int WARMUP_ROUNDS = 3;
+
+  /**
+   * Maximum distance profiled when none is given.
+   */
+  private static final int DEFAULT_MAX_DISTANCE = 2;
+
+  /**
+   * JFR event of an allocation that started a new allocation buffer.
+   */
+  private static final String IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+
+  /**
+   * JFR event of an allocation too large for an allocation buffer.
+   */
+  private static final String OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+
+  /**
+   * Types allocated in the inner loop of the transducers, which are reported
+   * individually.  Every other type is reported as "other".
+   */
+  private static final Class<?>[] HOT_TYPES = {
+    State.class,
+    Position.class,
+    SpecialPosition.class,
+    Intersection.class,
+    boolean[].class,
+    StringBuilder.class,
+    StateIterator.class,
+  };
+
+  /**
+   * Name reported for the allocations of types that are not hot.
+   */
+  private static final String OTHER = "other";
+
+  /**
+   * Counts the bytes allocated by the current thread.
+   */
+  private final ThreadMXBean threads;
+
+  /**
+   * Terms of the dictionary, in sorted order.
+   */
+  private final List<String> terms;
+
+  /**
+   * Dictionary of the transducers.
+   */
+  private final SortedDawg dictionary;
+
+  /**
+   * Constructs a new {@link AllocationProfiler} over the English word list.
+   * @throws Exception When the word list cannot be read.
+   */
+  public AllocationProfiler() throws Exception {
+    this.threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threads.isThreadAllocatedMemorySupported()) {
+      throw new IllegalStateException(
+          "This JVM does not count the bytes allocated by threads");
+    }
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    this.terms = MisspellingWorkload.words();
+    this.dictionary = (SortedDawg) new DawgFactory().build(terms, true);
+  }
+
+  /**
+   * Profiles the allocations of an algorithm at a maximum distance.
+   * @param algorithm Algorithm of the transducer.
+   * @param maxDistance Maximum distance of the queries.
+   * @return Report of the bytes and objects allocated per query, by type.
+   * @throws Exception When the flight recording cannot be written or read.
+   */
+  public String profile(final Algorithm algorithm, final int maxDistance)
+      throws Exception {
+    final ITransducer<Candidate> transducer = new TransducerBuilder()
+      .algorithm(algorithm)
+      .defaultMaxDistance(maxDistance)
+      .dictionary(dictionary, true)
+      .build();
+    final List<String> queryTerms = new MisspellingWorkload(SEED, ALPHABET)
+      .generate(terms, QUERY_COUNT, maxDistance);
+
+    for (int round = 0; round < WARMUP_ROUNDS; round += 1) {
+      replay(transducer, queryTerms);
+    }
+
+    final long threadId = Thread.currentThread().getId();
+    final long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    replay(transducer, queryTerms);
+    final double bytesPerQuery =
+      (double) (threads.getThreadAllocatedBytes(threadId) - allocatedBefore)
+      / queryTerms.size();
+
+    final Map<String, double[]> samples = sample(transducer, queryTerms);
+    return report(algorithm, maxDistance, bytesPerQuery, samples);
+  }
+
+  /**
+   * Replays the workload under a flight recording, and totals the sampled
+   * allocations of the current thread by type.
+   * @param transducer Transducer of the queries.
+   * @param queryTerms Query terms of the workload.
+   * @return Sampled weight and largest instance size of each type, by name.
+   * @throws Exception When the flight recording cannot be written or read.
+   */
+  private Map<String, double[]> sample(
+      final ITransducer<Candidate> transducer,
+      final List<String> queryTerms) throws Exception {
+    final Path recordingPath = Files.createTempFile("allocations", ".jfr");
+    try {
+      try (final Recording recording = new Recording()) {
+        recording.enable(IN_NEW_TLAB);
+        recording.enable(OUTSIDE_TLAB);
+        recording.start();
+        replay(transducer, queryTerms);
+        recording.stop();
+        recording.dump(recordingPath);
+      }
+
+      final long threadId = Thread.currentThread().getId();
+      final Map<String, double[]> samples = new LinkedHashMap<>();
+      for (final Class<?> type : HOT_TYPES) {
+        samples.put(type.getSimpleName(), new double[2]);
+      }
+      samples.put(OTHER, new double[2]);
+      for (final RecordedEvent event : RecordingFile.readAllEvents(recordingPath)) {
+        if (null == event.getThread()
+            || threadId != event.getThread().getJavaThreadId()) {
+          continue;
+        }
+        final String eventName = event.getEventType().getName();
+        final long size = event.getLong("allocationSize");
+        final long weight = IN_NEW_TLAB.equals(eventName)
+          ? event.getLong("tlabSize")
+          : size;
+        final double[] sample =
+          samples.get(typeOf(event.getClass("objectClass").getName()));
+        sample[0] += weight;
+        sample[1] = Math.max(sample[1], size);
+      }
+      return samples;
+    }
+    finally {
+      Files.deleteIfExists(recordingPath);
+    }
+  }
+
+  /**
+   * Returns the reported name of an allocated class.
+   * @param className Binary name of the allocated class.
+   * @return Simple name of the class if it is hot, otherwise {@link #OTHER}.
+   */
+  private static String typeOf(final String className) {
+    for (final Class<?> type : HOT_TYPES) {
+      if (type.getName().equals(className)) {
+        return type.getSimpleName();
+      }
+    }
+    return OTHER;
+  }
+
+  /**
+   * Renders the allocations per query of a profile.
+   * @param algorithm Algorithm of the transducer.
+   * @param maxDistance Maximum distance of the queries.
+   * @param bytesPerQuery Exact bytes allocated per query.
+   * @param samples Sampled weight and largest instance size of each type.
+   * @return Report of the profile.
+   */
+  private static String report(
+      final Algorithm algorithm,
+      final int maxDistance,
+      final double bytesPerQuery,
+      final Map<String, double[]> samples) {
+    double totalWeight = 0.0;
+    for (final double[] sample : samples.values()) {
+      totalWeight += sample[0];
+    }
+
+    final StringBuilder report = new StringBuilder();
+    report.append(String.format("%s, max distance %d: %,.0f bytes/query%n",
+        algorithm, maxDistance, bytesPerQuery));
+    report.append(String.format("  %-16s  %14s  %14s  %7s%n",
+        "type", "bytes/query", "objects/query", "share"));
+    for (final Map.Entry<String, double[]> entry : samples.entrySet()) {
+      final double share = 0.0 == totalWeight
+        ? 0.0
+        : entry.getValue()[0] / totalWeight;
+      final double bytes = share * bytesPerQuery;
+      final double size = entry.getValue()[1];
+      final String objects = OTHER.equals(entry.getKey()) || 0.0 == size
+        ? "-"
+        : String.format("%,.1f", bytes / size);
+      report.append(String.format("  %-16s  %,14.0f  %14s  %6.1f%%%n",
+          entry.getKey(), bytes, objects, 100.0 * share));
+    }
+    return report.toString();
+  }
+
+  /**
+   * Collects the spelling candidates of every query term.
+   * @param transducer Transducer of the queries.
+   * @param queryTerms Query terms of the workload.
+   * @return Number of spelling candidates, so the queries are not elided.
+   */
+  private static long replay(
+      final ITransducer<Candidate> transducer,
+      final List<String> queryTerms) {
+    long candidateCount = 0L;
+    for (final String queryTerm : queryTerms) {
+      for (final Candidate candidate : transducer.transduce(queryTerm)) {
+        if (null != candidate) {
+          candidateCount += 1L;
+        }
+      }
+    }
+    return candidateCount;
+  }
+
+  /**
+   * Profiles the allocations per query of the transducers.
+   * @param args Optional algorithm and maximum distance.  Every algorithm is
+   *   profiled when none is given.
+   * @throws Exception When the word list or flight recording cannot be read.
+   */
+  @SuppressWarnings("checkstyle:uncommentedmain")
+  public static void main(final String... args) throws Exception {
+    final Algorithm[] algorithms = 0 < args.length
+      ? new Algorithm[] {Algorithm.valueOf(args[0])}
+      : Algorithm.values();
+    final int maxDistance = 1 < args.length
+      ? Integer.parseInt(args[1])
+      : DEFAULT_MAX_DISTANCE;
+
+    final AllocationProfiler profiler = new AllocationProfiler();
+    for (final Algorithm algorithm : algorithms) {
+      log.info("Profiling allocations of [{}] within distance [{}]",
+          algorithm, maxDistance);
+      log.info("\n{}", profiler.profile(algorithm, maxDistance));
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package com.github.liblevenshtein.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.Engine;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+/**
+ * Compares the time per query of the automaton, scan, and q-gram engines, over
+ * evenly spaced samples of the English word list of increasing size.  The
+ * smallest dictionary for which the automaton is faster than the scan is the
+ * crossover that {@link Engine#AUTO} uses to choose between them, which is
+ * {@link TransducerBuilder#DEFAULT_SCAN_CROSSOVER} by default.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EngineBenchmark {
+
+  /**
+   * Seed of the generator of query terms.
+   */
+  private static final long SEED = 0x5EEDL;
+
+  /**
+   * Number of query terms in the workload, which are replayed in a cycle.
+   */
+  private static final int QUERY_COUNT = 1_000;
+
+  /**
+   * Characters of the dictionary, which misspellings may substitute or insert.
+   */
+  private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz'";
+
+  /**
+   * Engine of the transducer.
+   */
+  @Param({"AUTOMATON", "SCAN", "QGRAM"})
+  private Engine engine;
+
+  /**
+   * Algorithm of the transducer.
+   */
+  @Param({"STANDARD", "TRANSPOSITION", "MERGE_AND_SPLIT"})
+  private Algorithm algorithm;
+
+  /**
+   * Maximum distance of the queries.
+   */
+  @Param({"1", "2", "3"})
+  private int maxDistance;
+
+  /**
+   * Number of terms sampled from the word list for the dictionary.
+   */
+  @Param({"1000", "5000", "10000", "25000", "50000", "100000"})
+  private int dictionarySize;
+
+  /**
+   * Transduces the query terms.
+   */
+  private ITransducer<Candidate> transducer;
+
+  /**
+   * Query terms of the workload.
+   */
+  private String[] queryTerms;
+
+  /**
+   * Index of the next query term.
+   */
+  private int index = 0;
+
+  /**
+   * Samples the dictionary, builds the transducer, and generates the workload.
+   * @throws Exception When the word list cannot be read.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    final List<String> words = MisspellingWorkload.words();
+
+    final List<String> terms = new ArrayList<>(dictionarySize);
+    final double stride = Math.max(1.0, (double) words.size() / dictionarySize);
+    for (double i = 0.0; i < words.size() && terms.size() < dictionarySize; i += stride) {
+      terms.add(words.get((int) i));
+    }
+
+    this.transducer = new TransducerBuilder()
+      .engine(engine)
+      .algorithm(algorithm)
+      .defaultMaxDistance(maxDistance)
+      .dictionary(terms, true)
+      .build();
+    this.queryTerms = new MisspellingWorkload(SEED, ALPHABET)
+      .generate(terms, QUERY_COUNT, maxDistance)
+      .toArray(new String[QUERY_COUNT]);
+  }
+
+  /**
+   * Measures the time to collect the spelling candidates of a query.
+   * @return Number of spelling candidates of the query.
+   */
+  @Benchmark
+  public int query() {
+    final String queryTerm = queryTerms[index];
+    index = (index + 1) % queryTerms.length;
+    int candidateCount = 0;
+    for (final Candidate candidate : transducer.transduce(queryTerm)) {
+      if (null != candidate) {
+        candidateCount += 1;
+      }
+    }
+    return candidateCount;
+  }
+}
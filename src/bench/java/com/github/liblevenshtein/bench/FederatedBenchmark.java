@@ -0,0 +1,188 @@
+package com.github.liblevenshtein.bench;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.Engine;
+import com.github.liblevenshtein.transducer.FederatedTransducer;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.SourcedCandidate;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+/**
+ * Compares the time per query of searching a global dictionary and a number
+ * of tenant dictionaries with one automaton each, against searching them with
+ * one {@link FederatedTransducer}.  The tenant dictionaries are samples of the
+ * same word list as the global one, so most of their prefixes are shared, as
+ * those of per-tenant and per-locale vocabularies tend to be.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FederatedBenchmark {
+
+  /**
+   * Seed of the generator of dictionaries and query terms.
+   */
+  private static final long SEED = 0x5EEDL;
+
+  /**
+   * Number of query terms in the workload, which are replayed in a cycle.
+   */
+  private static final int QUERY_COUNT = 1_000;
+
+  /**
+   * Characters of the dictionary, which misspellings may substitute or insert.
+   */
+  private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz'";
+
+  /**
+   * Name of the global dictionary.
+   */
+  private static final String GLOBAL = "global";
+
+  /**
+   * Number of terms of the global dictionary.
+   */
+  private static final int GLOBAL_SIZE = 50_000;
+
+  /**
+   * Number of terms of each tenant dictionary.
+   */
+  private static final int TENANT_SIZE = 5_000;
+
+  /**
+   * Whether the dictionaries are searched by one federated transducer, rather
+   * than by one transducer each.
+   */
+  @Param({"false", "true"})
+  private boolean federated;
+
+  /**
+   * Algorithm of the transducers.
+   */
+  @Param({"STANDARD", "TRANSPOSITION"})
+  private Algorithm algorithm;
+
+  /**
+   * Maximum distance of the queries.
+   */
+  @Param({"1", "2"})
+  private int maxDistance;
+
+  /**
+   * Number of tenant dictionaries searched alongside the global one.
+   */
+  @Param({"0", "1", "4", "16"})
+  private int tenantCount;
+
+  /**
+   * Transduces the query terms against each dictionary in turn, when they are
+   * not federated.
+   */
+  private List<ITransducer<Candidate>> transducers;
+
+  /**
+   * Transduces the query terms against every dictionary at once, when they
+   * are federated.
+   */
+  private FederatedTransducer<Candidate> federation;
+
+  /**
+   * Query terms of the workload.
+   */
+  private String[] queryTerms;
+
+  /**
+   * Index of the next query term.
+   */
+  private int index = 0;
+
+  /**
+   * Samples the dictionaries, builds the transducers, and generates the
+   * workload.
+   * @throws Exception When the word list cannot be read.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    final List<String> words = MisspellingWorkload.words();
+
+    final MisspellingWorkload workload = new MisspellingWorkload(SEED, ALPHABET);
+    final Map<String, List<String>> dictionaries = new LinkedHashMap<>();
+    dictionaries.put(GLOBAL, workload.dictionary(words, GLOBAL_SIZE, maxDistance));
+    for (int tenant = 0; tenant < tenantCount; tenant += 1) {
+      dictionaries.put("tenant-" + tenant,
+          workload.dictionary(words, TENANT_SIZE, maxDistance));
+    }
+
+    final TransducerBuilder builder = new TransducerBuilder()
+      .engine(Engine.AUTOMATON)
+      .algorithm(algorithm)
+      .defaultMaxDistance(maxDistance);
+    if (federated) {
+      this.federation = builder.buildFederated(dictionaries);
+    }
+    else {
+      this.transducers = new ArrayList<>(dictionaries.size());
+      for (final List<String> dictionary : dictionaries.values()) {
+        transducers.add(builder.dictionary(dictionary, true).<Candidate>build());
+      }
+    }
+
+    this.queryTerms = workload
+      .generate(dictionaries.get(GLOBAL), QUERY_COUNT, maxDistance)
+      .toArray(new String[QUERY_COUNT]);
+  }
+
+  /**
+   * Measures the time to collect the spelling candidates of a query from every
+   * dictionary.
+   * @return Number of spelling candidates of the query.
+   */
+  @Benchmark
+  public int query() {
+    final String queryTerm = queryTerms[index];
+    index = (index + 1) % queryTerms.length;
+    int candidateCount = 0;
+    if (federated) {
+      for (final SourcedCandidate<Candidate> candidate : federation.transduce(queryTerm)) {
+        if (null != candidate) {
+          candidateCount += 1;
+        }
+      }
+    }
+    else {
+      for (final ITransducer<Candidate> transducer : transducers) {
+        for (final Candidate candidate : transducer.transduce(queryTerm)) {
+          if (null != candidate) {
+            candidateCount += 1;
+          }
+        }
+      }
+    }
+    return candidateCount;
+  }
+}
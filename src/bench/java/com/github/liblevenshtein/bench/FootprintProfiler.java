@@ -0,0 +1,195 @@
+package com.github.liblevenshtein.bench;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.Engine;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+/**
+ * <p>
+ * Reports the time each engine takes to build a transducer, and the heap the
+ * transducer retains, for the dictionaries of
+ * {@link SymmetricDeletionBenchmark}, which measures their queries.
+ * </p>
+ *
+ * <p>
+ * The retained heap is the growth of the used heap across the build, each
+ * measured after several full collections, so it includes the dictionary as
+ * each engine stores it but not the list of terms it was built from.  It is
+ * only as exact as {@link System#gc()} is thorough, which on HotSpot is to
+ * within a few hundred kilobytes.  Build times are the best of a few builds.
+ * </p>
+ *
+ * <p>
+ * Run it with {@code gradle profileFootprint}, passing
+ * {@code -PprofileArgs="STANDARD 2 1000000"} to profile an algorithm, maximum
+ * distance, and dictionary size.  A million terms at distance 2 need a heap
+ * of a few gigabytes.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Slf4j
+public final class FootprintProfiler {
+
+  /**
+   * Seed of the generator of dictionary terms.
+   */
+  private static final long SEED = 0x5EEDL;
+
+  /**
+   * Characters of the dictionary, which misspellings may substitute or insert.
+   */
+  private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz'";
+
+  /**
+   * Number of times each transducer is built, of which the fastest is
+   * reported.
+   */
+  private static final int BUILD_ROUNDS = 3;
+
+  /**
+   * Number of full collections requested before the used heap is read.
+   */
+  private static final int GC_ROUNDS = 5;
+
+  /**
+   * Maximum distance profiled when none is given.
+   */
+  private static final int DEFAULT_MAX_DISTANCE = 2;
+
+  /**
+   * Number of dictionary terms profiled when none is given.
+   */
+  private static final int DEFAULT_DICTIONARY_SIZE = 1_000_000;
+
+  /**
+   * Engines whose footprints are compared.
+   */
+  private static final Engine[] ENGINES = {
+    Engine.AUTOMATON,
+    Engine.SCAN,
+    Engine.QGRAM,
+    Engine.SYMMETRIC_DELETION,
+  };
+
+  /**
+   * Bytes per mebibyte.
+   */
+  private static final double MEBIBYTE = 1024.0 * 1024.0;
+
+  /**
+   * Nanoseconds per millisecond.
+   */
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  /**
+   * Reads the used heap.
+   */
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+  /**
+   * Words of the English word list.
+   */
+  private final List<String> words;
+
+  /**
+   * Constructs a new {@link FootprintProfiler} over the English word list.
+   * @throws Exception When the word list cannot be read.
+   */
+  public FootprintProfiler() throws Exception {
+    this.words = MisspellingWorkload.words();
+  }
+
+  /**
+   * Profiles the footprint of every engine for an algorithm, maximum
+   * distance, and dictionary size.
+   * @param algorithm Algorithm of the transducers.
+   * @param maxDistance Default maximum distance of the transducers.
+   * @param dictionarySize Number of distinct terms of the dictionary.
+   * @return Report of the build time and retained heap of each engine.
+   */
+  public String profile(
+      final Algorithm algorithm,
+      final int maxDistance,
+      final int dictionarySize) {
+    final List<String> terms = new MisspellingWorkload(SEED, ALPHABET)
+      .dictionary(words, dictionarySize, maxDistance);
+
+    final StringBuilder report = new StringBuilder();
+    report.append(String.format("%s, max distance %d, %,d terms%n",
+        algorithm, maxDistance, terms.size()));
+    report.append(String.format("  %-20s  %12s  %14s%n",
+        "engine", "build (ms)", "retained (MB)"));
+    for (final Engine engine : ENGINES) {
+      final TransducerBuilder builder = new TransducerBuilder()
+        .engine(engine)
+        .algorithm(algorithm)
+        .defaultMaxDistance(maxDistance)
+        .dictionary(terms, true);
+
+      long buildNanos = Long.MAX_VALUE;
+      long retainedBytes = 0L;
+      for (int round = 0; round < BUILD_ROUNDS; round += 1) {
+        final long usedBefore = usedHeap();
+        final long start = System.nanoTime();
+        final ITransducer<Candidate> transducer = builder.build();
+        buildNanos = Math.min(buildNanos, System.nanoTime() - start);
+        retainedBytes = usedHeap() - usedBefore;
+        // Keeps the transducer reachable until the heap has been read.
+        if (null == transducer.transduce(terms.get(0))) {
+          throw new IllegalStateException("Expected candidates");
+        }
+      }
+
+      report.append(String.format("  %-20s  %,12.1f  %,14.1f%n",
+          engine, buildNanos / NANOS_PER_MILLI, retainedBytes / MEBIBYTE));
+    }
+    return report.toString();
+  }
+
+  /**
+   * Collects garbage, and reads the used heap.
+   * @return Bytes of the used heap.
+   */
+  private long usedHeap() {
+    for (int i = 0; i < GC_ROUNDS; i += 1) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  /**
+   * Profiles the footprints of the engines.
+   * @param args Optional algorithm, maximum distance, and dictionary size.
+   *   Every algorithm is profiled when none is given.
+   * @throws Exception When the word list cannot be read.
+   */
+  @SuppressWarnings("checkstyle:uncommentedmain")
+  public static void main(final String... args) throws Exception {
+    final Algorithm[] algorithms = 0 < args.length
+      ? new Algorithm[] {Algorithm.valueOf(args[0])}
+      : Algorithm.values();
+    final int maxDistance = 1 < args.length
+      ? Integer.parseInt(args[1])
+      : DEFAULT_MAX_DISTANCE;
+    final int dictionarySize = 2 < args.length
+      ? Integer.parseInt(args[2])
+      : DEFAULT_DICTIONARY_SIZE;
+
+    final FootprintProfiler profiler = new FootprintProfiler();
+    for (final Algorithm algorithm : algorithms) {
+      log.info("Profiling footprints of [{}] within distance [{}] over [{}] terms",
+          algorithm, maxDistance, dictionarySize);
+      log.info("\n{}", profiler.profile(algorithm, maxDistance, dictionarySize));
+    }
+  }
+}
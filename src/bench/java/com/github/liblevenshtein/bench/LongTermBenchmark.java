@@ -0,0 +1,170 @@
+package com.github.liblevenshtein.bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.collection.dictionary.factory.DawgFactory;
+import com.github.liblevenshtein.serialization.ProtobufSerializer;
+import com.github.liblevenshtein.serialization.Serializer;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+/**
+ * Measures building, serializing, and querying dictionaries of very long
+ * terms, such as DNA reads, which are generated from a fixed seed so every
+ * trial sees the same terms.  The benchmarks run on the default thread stack,
+ * so they double as a check that none of these paths recurse once per
+ * character.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LongTermBenchmark {
+
+  /**
+   * Seed of the generator of terms.
+   */
+  private static final long SEED = 0xDA7AL;
+
+  /**
+   * Letters of the generated terms.
+   */
+  private static final String ALPHABET = "ACGT";
+
+  /**
+   * Number of terms in the dictionary.
+   */
+  private static final int TERM_COUNT = 64;
+
+  /**
+   * Number of characters in each term.
+   */
+  @Param({"1000", "10000"})
+  private int termLength;
+
+  /**
+   * Terms of the dictionary, in ascending order.
+   */
+  private List<String> terms;
+
+  /**
+   * Dictionary of {@link #terms}.
+   */
+  private SortedDawg dictionary;
+
+  /**
+   * Serializes {@link #dictionary} in the flattened format, since the legacy
+   * one nests its nodes as deeply as the longest term.
+   */
+  private final Serializer serializer = new ProtobufSerializer().legacyFormat(false);
+
+  /**
+   * {@link #dictionary}, serialized by {@link #serializer}.
+   */
+  private byte[] serializedDictionary;
+
+  /**
+   * Transduces query terms against {@link #dictionary}.
+   */
+  private ITransducer<Candidate> transducer;
+
+  /**
+   * Query term, which is one of {@link #terms} with a character substituted.
+   */
+  private String queryTerm;
+
+  /**
+   * Generates the terms, and builds and serializes their dictionary.
+   * @throws Exception When the dictionary cannot be serialized.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    final Random random = new Random(SEED);
+    final List<String> generatedTerms = new ArrayList<>(TERM_COUNT);
+    final StringBuilder buffer = new StringBuilder(termLength);
+    for (int i = 0; i < TERM_COUNT; i += 1) {
+      buffer.setLength(0);
+      for (int j = 0; j < termLength; j += 1) {
+        buffer.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+      }
+      generatedTerms.add(buffer.toString());
+    }
+    Collections.sort(generatedTerms);
+
+    this.terms = generatedTerms;
+    this.dictionary = build();
+    this.serializedDictionary = serializer.serialize(dictionary);
+    this.transducer = new TransducerBuilder()
+      .dictionary(dictionary, true)
+      .defaultMaxDistance(2)
+      .build();
+
+    final char[] query = terms.get(0).toCharArray();
+    query[termLength / 2] = 'N';
+    this.queryTerm = new String(query);
+  }
+
+  /**
+   * Builds the dictionary of the terms.
+   * @return Dictionary of the terms.
+   */
+  @Benchmark
+  public SortedDawg build() {
+    return (SortedDawg) new DawgFactory().build(terms, true);
+  }
+
+  /**
+   * Serializes the dictionary.
+   * @return Serialized dictionary.
+   * @throws Exception When the dictionary cannot be serialized.
+   */
+  @Benchmark
+  public byte[] serialize() throws Exception {
+    return serializer.serialize(dictionary);
+  }
+
+  /**
+   * Deserializes the dictionary.
+   * @return Deserialized dictionary.
+   * @throws Exception When the dictionary cannot be deserialized.
+   */
+  @Benchmark
+  public SortedDawg deserialize() throws Exception {
+    return serializer.deserialize(SortedDawg.class, serializedDictionary);
+  }
+
+  /**
+   * Collects the spelling candidates of the query term.
+   * @return Spelling candidates of the query term.
+   */
+  @Benchmark
+  public List<Candidate> transduce() {
+    final List<Candidate> candidates = new ArrayList<>();
+    for (final Candidate candidate : transducer.transduce(queryTerm)) {
+      candidates.add(candidate);
+    }
+    return candidates;
+  }
+}
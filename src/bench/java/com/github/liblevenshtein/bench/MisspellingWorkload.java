@@ -0,0 +1,202 @@
+package com.github.liblevenshtein.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates misspellings of dictionary terms, by sampling terms and applying
+ * random edit operations to them.  The same seed always generates the same
+ * workload, so results are comparable between runs and between commits.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+final class MisspellingWorkload {
+
+  /**
+   * Number of kinds of edit operations, which are substitutions, insertions,
+   * deletions, transpositions, merges, and splits.
+   */
+  private static final int OPERATION_COUNT = 6;
+
+  /**
+   * Replaces a character with another.
+   */
+  private static final int SUBSTITUTION = 0;
+
+  /**
+   * Inserts a character.
+   */
+  private static final int INSERTION = 1;
+
+  /**
+   * Deletes a character.
+   */
+  private static final int DELETION = 2;
+
+  /**
+   * Swaps two adjacent characters.
+   */
+  private static final int TRANSPOSITION = 3;
+
+  /**
+   * Replaces two adjacent characters with one.
+   */
+  private static final int MERGE = 4;
+
+  /**
+   * Generates the query terms.
+   */
+  private final Random random;
+
+  /**
+   * Characters that may be substituted or inserted.
+   */
+  private final String alphabet;
+
+  /**
+   * Constructs a new {@link MisspellingWorkload}.
+   * @param seed Seed of the generator of query terms.
+   * @param alphabet Characters that may be substituted or inserted.
+   */
+  MisspellingWorkload(final long seed, final String alphabet) {
+    this.random = new Random(seed);
+    this.alphabet = alphabet;
+  }
+
+  /**
+   * Reads the words of the English word list, in sorted order.
+   * @return Words of the English word list, as a new list the caller may
+   *   modify.
+   * @throws IOException When the word list cannot be read.
+   */
+  static List<String> words() throws IOException {
+    final List<String> words = new ArrayList<>();
+    try (final BufferedReader reader = new BufferedReader(
+          new InputStreamReader(
+            MisspellingWorkload.class.getResourceAsStream("/wordsEn.txt"),
+            StandardCharsets.UTF_8))) {
+      for (String word = reader.readLine(); null != word; word = reader.readLine()) {
+        words.add(word);
+      }
+    }
+    Collections.sort(words);
+    return words;
+  }
+
+  /**
+   * Samples terms from the dictionary, and applies between zero and maxEdits
+   * random edit operations to each, so some queries are spelled correctly and
+   * the rest are misspelled to varying degrees.
+   * @param terms Terms of the dictionary.
+   * @param queryCount Number of query terms to generate.
+   * @param maxEdits Greatest number of edit operations applied to a term.
+   * @return Generated query terms, in random order.
+   */
+  List<String> generate(
+      final List<String> terms,
+      final int queryCount,
+      final int maxEdits) {
+    final List<String> queryTerms = new ArrayList<>(queryCount);
+    final StringBuilder buffer = new StringBuilder();
+    for (int i = 0; i < queryCount; i += 1) {
+      buffer.setLength(0);
+      buffer.append(terms.get(random.nextInt(terms.size())));
+      final int edits = random.nextInt(maxEdits + 1);
+      for (int j = 0; j < edits; j += 1) {
+        edit(buffer);
+      }
+      queryTerms.add(buffer.toString());
+    }
+    Collections.shuffle(queryTerms, random);
+    return queryTerms;
+  }
+
+  /**
+   * Samples a dictionary of the given number of distinct terms from a word
+   * list.  When the word list is too small, the dictionary is filled with
+   * misspellings of its words, each between one and maxEdits edit operations
+   * away.  This stands in for dictionaries larger than the word list, whose
+   * terms cluster around common stems as those of real dictionaries do.
+   * @param words Distinct words of the word list.
+   * @param size Number of distinct terms of the dictionary.
+   * @param maxEdits Greatest number of edit operations applied to a word.
+   * @return Distinct terms of the dictionary, in sorted order.
+   */
+  List<String> dictionary(
+      final List<String> words,
+      final int size,
+      final int maxEdits) {
+    final List<String> shuffled = new ArrayList<>(words);
+    Collections.shuffle(shuffled, random);
+    final Set<String> extended =
+      new HashSet<>(shuffled.subList(0, Math.min(size, shuffled.size())));
+    final StringBuilder buffer = new StringBuilder();
+    while (extended.size() < size) {
+      buffer.setLength(0);
+      buffer.append(words.get(random.nextInt(words.size())));
+      final int edits = 1 + random.nextInt(maxEdits);
+      for (int j = 0; j < edits; j += 1) {
+        edit(buffer);
+      }
+      extended.add(buffer.toString());
+    }
+    final List<String> dictionary = new ArrayList<>(extended);
+    Collections.sort(dictionary);
+    return dictionary;
+  }
+
+  /**
+   * Applies a random edit operation to the term.  Operations that need more
+   * characters than the term has insert a character instead.
+   * @param term Term to edit.
+   */
+  private void edit(final StringBuilder term) {
+    final int operation = random.nextInt(OPERATION_COUNT);
+    final int length = term.length();
+    if (0 == length || length < 2 && operation >= TRANSPOSITION) {
+      term.insert(random.nextInt(length + 1), randomChar());
+      return;
+    }
+    final int index = random.nextInt(length);
+    final int pairIndex = random.nextInt(Math.max(1, length - 1));
+    switch (operation) {
+      case SUBSTITUTION:
+        term.setCharAt(index, randomChar());
+        break;
+      case INSERTION:
+        term.insert(random.nextInt(length + 1), randomChar());
+        break;
+      case DELETION:
+        term.deleteCharAt(index);
+        break;
+      case TRANSPOSITION:
+        final char swapped = term.charAt(pairIndex);
+        term.setCharAt(pairIndex, term.charAt(pairIndex + 1));
+        term.setCharAt(pairIndex + 1, swapped);
+        break;
+      case MERGE:
+        term.replace(pairIndex, pairIndex + 2, String.valueOf(randomChar()));
+        break;
+      default:
+        // split
+        term.replace(index, index + 1, new String(new char[] {randomChar(), randomChar()}));
+        break;
+    }
+  }
+
+  /**
+   * Returns a random character of the alphabet.
+   * @return Random character of the alphabet.
+   */
+  private char randomChar() {
+    return alphabet.charAt(random.nextInt(alphabet.length()));
+  }
+}
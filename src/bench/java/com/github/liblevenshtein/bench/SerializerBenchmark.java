@@ -0,0 +1,168 @@
+package com.github.liblevenshtein.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.collection.dictionary.factory.DawgFactory;
+import com.github.liblevenshtein.serialization.ArtifactHeader;
+import com.github.liblevenshtein.serialization.ArtifactSerializer;
+import com.github.liblevenshtein.serialization.BinarySerializer;
+import com.github.liblevenshtein.serialization.BytecodeSerializer;
+import com.github.liblevenshtein.serialization.ProtobufSerializer;
+import com.github.liblevenshtein.serialization.Serializer;
+
+/**
+ * Compares the sizes and load times of the serialized formats of a dictionary
+ * of English words.  The size of each format is logged when its trial begins,
+ * and the time to deserialize it is measured.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Slf4j
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializerBenchmark {
+
+  /**
+   * Name of the Protobuf format.
+   */
+  static final String PROTOBUF = "protobuf";
+
+  /**
+   * Name of the Java bytecode format.
+   */
+  static final String BYTECODE = "bytecode";
+
+  /**
+   * Name of the blocked, binary format.
+   */
+  static final String BINARY = "binary";
+
+  /**
+   * Name of the compressed, binary format.
+   */
+  static final String BINARY_COMPRESSED = "binary-compressed";
+
+  /**
+   * Name of the fixed-width, binary format.
+   */
+  static final String BINARY_FIXED_WIDTH = "binary-fixed-width";
+
+  /**
+   * Format to serialize the dictionary to.
+   */
+  @Param({PROTOBUF, BYTECODE, BINARY, BINARY_COMPRESSED, BINARY_FIXED_WIDTH})
+  private String format;
+
+  /**
+   * Serializes the dictionary to {@link #format}.
+   */
+  private Serializer serializer;
+
+  /**
+   * Dictionary serialized to {@link #format}.
+   */
+  private byte[] serializedDictionary;
+
+  /**
+   * Wraps the payloads of {@link #serializer} in checksummed artifacts.
+   */
+  private ArtifactSerializer artifactSerializer;
+
+  /**
+   * Dictionary serialized to an artifact holding {@link #format}.
+   */
+  private byte[] artifact;
+
+  /**
+   * Builds the dictionary, and serializes it to {@link #format}.
+   * @throws Exception When the dictionary cannot be built or serialized.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    final List<String> terms = MisspellingWorkload.words();
+
+    final SortedDawg dictionary =
+      (SortedDawg) new DawgFactory().build(terms, true);
+
+    this.serializer = serializerOf(format);
+    this.serializedDictionary = serializer.serialize(dictionary);
+    this.artifactSerializer = new ArtifactSerializer(serializer);
+    this.artifact = artifactSerializer.serialize(dictionary);
+
+    log.info("Serialized a dictionary of [{}] terms to [{}] bytes as [{}]",
+        dictionary.size(), serializedDictionary.length, format);
+  }
+
+  /**
+   * Deserializes the dictionary from {@link #format}.
+   * @return Deserialized dictionary.
+   * @throws Exception When the dictionary cannot be deserialized.
+   */
+  @Benchmark
+  public SortedDawg deserialize() throws Exception {
+    return serializer.deserialize(SortedDawg.class, serializedDictionary);
+  }
+
+  /**
+   * Verifies the header and checksums of the artifact holding the dictionary,
+   * without loading the dictionary, to compare against {@link #deserialize}.
+   * @return Header of the artifact.
+   * @throws Exception When the artifact is corrupt.
+   */
+  @Benchmark
+  public ArtifactHeader validate() throws Exception {
+    return artifactSerializer.validate(artifact);
+  }
+
+  /**
+   * Verifies and deserializes the dictionary from its artifact.
+   * @return Deserialized dictionary.
+   * @throws Exception When the dictionary cannot be deserialized.
+   */
+  @Benchmark
+  public SortedDawg deserializeArtifact() throws Exception {
+    return artifactSerializer.deserialize(SortedDawg.class, artifact);
+  }
+
+  /**
+   * Returns the serializer of the format.
+   * @param format Name of the format.
+   * @return Serializer of the format.
+   */
+  private static Serializer serializerOf(final String format) {
+    switch (format) {
+      case PROTOBUF:
+        return new ProtobufSerializer();
+      case BYTECODE:
+        return new BytecodeSerializer();
+      case BINARY:
+        return new BinarySerializer();
+      case BINARY_COMPRESSED:
+        return new BinarySerializer(BinarySerializer.Layout.COMPRESSED);
+      case BINARY_FIXED_WIDTH:
+        return new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH);
+      default:
+        throw new IllegalArgumentException("Unknown format: " + format);
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.github.liblevenshtein.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.Engine;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+/**
+ * <p>
+ * Compares the time per query of the symmetric-deletion index with that of
+ * the automaton, on dictionaries of up to a million terms.  Dictionaries
+ * larger than the English word list are extended with misspellings of its
+ * words, by {@link MisspellingWorkload#dictionary(List, int, int)}.
+ * </p>
+ *
+ * <p>
+ * {@link FootprintProfiler} reports the time to build each engine and the heap
+ * it retains, for the same dictionaries.  The index of a million terms at
+ * distance 2 needs a few gigabytes of heap, so the fork is given 4 GB.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SymmetricDeletionBenchmark {
+
+  /**
+   * Seed of the generators of dictionary and query terms.
+   */
+  private static final long SEED = 0x5EEDL;
+
+  /**
+   * Number of query terms in the workload, which are replayed in a cycle.
+   */
+  private static final int QUERY_COUNT = 10_000;
+
+  /**
+   * Characters of the dictionary, which misspellings may substitute or insert.
+   */
+  private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz'";
+
+  /**
+   * Engine of the transducer.
+   */
+  @Param({"AUTOMATON", "SYMMETRIC_DELETION"})
+  private Engine engine;
+
+  /**
+   * Algorithm of the transducer.
+   */
+  @Param({"STANDARD", "TRANSPOSITION"})
+  private Algorithm algorithm;
+
+  /**
+   * Maximum distance of the queries.
+   */
+  @Param({"1", "2"})
+  private int maxDistance;
+
+  /**
+   * Number of distinct terms of the dictionary.
+   */
+  @Param({"100000", "1000000"})
+  private int dictionarySize;
+
+  /**
+   * Transduces the query terms.
+   */
+  private ITransducer<Candidate> transducer;
+
+  /**
+   * Query terms of the workload.
+   */
+  private String[] queryTerms;
+
+  /**
+   * Index of the next query term.
+   */
+  private int index = 0;
+
+  /**
+   * Builds the dictionary, the transducer, and the workload.
+   * @throws Exception When the word list cannot be read.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    final List<String> words = MisspellingWorkload.words();
+
+    final MisspellingWorkload workload = new MisspellingWorkload(SEED, ALPHABET);
+    final List<String> terms = workload.dictionary(words, dictionarySize, maxDistance);
+    this.transducer = new TransducerBuilder()
+      .engine(engine)
+      .algorithm(algorithm)
+      .defaultMaxDistance(maxDistance)
+      .dictionary(terms, true)
+      .build();
+    this.queryTerms = workload
+      .generate(terms, QUERY_COUNT, maxDistance)
+      .toArray(new String[QUERY_COUNT]);
+  }
+
+  /**
+   * Measures the time to collect the spelling candidates of a query.
+   * @return Number of spelling candidates of the query.
+   */
+  @Benchmark
+  public int query() {
+    final String queryTerm = queryTerms[index];
+    index = (index + 1) % queryTerms.length;
+    int candidateCount = 0;
+    for (final Candidate candidate : transducer.transduce(queryTerm)) {
+      if (null != candidate) {
+        candidateCount += 1;
+      }
+    }
+    return candidateCount;
+  }
+}
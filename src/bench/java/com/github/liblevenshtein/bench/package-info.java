@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks for liblevenshtein.
+ */
+package com.github.liblevenshtein.bench;
@@ -2,7 +2,10 @@ package com.github.liblevenshtein.collection.dictionary;
 
 import java.io.Serializable;
 import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -25,6 +28,7 @@ public abstract class Dawg
     extends AbstractSet<String>
     implements IFinalFunction<DawgNode>,
                ITransitionFunction<DawgNode>,
+               IDepthFunction<DawgNode>,
                Serializable {
 
   private static final long serialVersionUID = 1L;
@@ -42,6 +46,21 @@ public abstract class Dawg
   @Getter(onMethod = @__({@Override}))
   protected int size = 0;
 
+  /**
+   * Number of modifications made to this trie.  Anything derived from the
+   * terms of this trie, such as cached spelling candidates, should be discarded
+   * once this changes.
+   * @return Number of modifications made to this trie.
+   */
+  @Getter
+  protected long version = 0L;
+
+  /**
+   * Statistics of the shape of this trie, collected once it has been built or
+   * loaded, and again on demand once it has been modified.
+   */
+  private transient volatile DawgStatistics statistics = null;
+
   /**
    * Initializes an {@link Dawg}.
    * @param root Root node of this DAWG.
@@ -85,6 +104,104 @@ public abstract class Dawg
     return node.labels();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int minDepth(final DawgNode node) {
+    return node.minDepth();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int maxDepth(final DawgNode node) {
+    return node.maxDepth();
+  }
+
+  /**
+   * Returns the statistics of the shape of this trie, such as its fan-out at
+   * each depth.  They are collected by a breadth-first pass over the nodes of
+   * this trie once it has been built or loaded (see {@link #updateStatistics()}),
+   * so querying them is cheap.  Should this trie be modified afterwards, they
+   * are collected again on next use.
+   * @return Statistics of the shape of this trie.
+   * @since 3.1.0
+   */
+  public DawgStatistics statistics() {
+    DawgStatistics current = statistics;
+    if (null == current || current.version() != version) {
+      current = new DawgStatistics(this);
+      statistics = current;
+    }
+    return current;
+  }
+
+  /**
+   * Collects the statistics of the shape of this trie, by a breadth-first pass
+   * over its nodes.  Implementations should call this once they have been
+   * built or loaded, so the first query to need the statistics does not pay
+   * for them.
+   * @since 3.1.0
+   */
+  protected void updateStatistics() {
+    statistics = new DawgStatistics(this);
+  }
+
+  /**
+   * Adopts statistics of the shape of this trie that were collected elsewhere,
+   * such as those serialized alongside it.
+   * @param statistics Statistics of the shape of this trie.
+   * @since 3.1.0
+   */
+  protected void updateStatistics(final DawgStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * Records on each node of this trie the least and greatest numbers of
+   * transitions between it and the final nodes reachable from it.  The nodes
+   * are visited in post-order, without recursion, so each is visited once
+   * regardless of how many nodes share it.
+   */
+  protected void updateDepths() {
+    final Map<DawgNode, Boolean> visited = new IdentityHashMap<>();
+    final Deque<DawgNode> pending = new ArrayDeque<>();
+    pending.push(root);
+
+    while (!pending.isEmpty()) {
+      final DawgNode node = pending.peek();
+      final Boolean isUpdated = visited.get(node);
+      if (null == isUpdated) {
+        visited.put(node, Boolean.FALSE);
+        for (final DawgNode target : node.edges().values()) {
+          if (!visited.containsKey(target)) {
+            pending.push(target);
+          }
+        }
+      }
+      else {
+        pending.pop();
+        if (!isUpdated) {
+          int minDepth = node.isFinal() ? 0 : Integer.MAX_VALUE;
+          int maxDepth = 0;
+          for (final DawgNode target : node.edges().values()) {
+            if (target.minDepth() < minDepth - 1) {
+              minDepth = target.minDepth() + 1;
+            }
+            if (target.maxDepth() >= maxDepth) {
+              maxDepth = target.maxDepth() + 1;
+            }
+          }
+          node.minDepth(minDepth);
+          node.maxDepth(maxDepth);
+          visited.put(node, Boolean.TRUE);
+        }
+      }
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -140,6 +257,16 @@ public abstract class Dawg
     return new DawgIterator(root, this);
   }
 
+  /**
+   * Returns an iterator over the terms in this dictionary, in lexicographic
+   * order.  Unlike {@link #iterator()}, which visits shorter terms first, it
+   * holds no more than the path to the current term in memory.
+   * @return Iterator over the terms in this dictionary, in lexicographic order.
+   */
+  public Iterator<String> lexicographicIterator() {
+    return new LexicographicDawgIterator(root, this);
+  }
+
   /**
    * [Optional Operation] Replaces the String, current, with another.
    * @param current String in this DAWG to replace
@@ -10,9 +10,10 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NonNull;
+import lombok.Setter;
 
 /**
  * Non-final element of a DAWG structure (Directed Acyclic Word Graph).
@@ -21,7 +22,6 @@ import lombok.NonNull;
  * @since 2.1.0
  */
 @Data
-@AllArgsConstructor
 public class DawgNode implements Serializable {
 
   private static final long serialVersionUID = 1L;
@@ -32,6 +32,49 @@ public class DawgNode implements Serializable {
   @NonNull
   protected final Char2ObjectMap<DawgNode> edges;
 
+  /**
+   * Least number of transitions between this node and a final node reachable
+   * from it.  Until the dictionary computes it, this is zero so it never
+   * excludes any node.
+   * @return Least number of transitions to a final node.
+   */
+  @Setter(AccessLevel.PACKAGE)
+  protected int minDepth = 0;
+
+  /**
+   * Greatest number of transitions between this node and a final node
+   * reachable from it.  Until the dictionary computes it, this is
+   * {@link Integer#MAX_VALUE} so it never excludes any node.
+   * @return Greatest number of transitions to a final node.
+   */
+  @Setter(AccessLevel.PACKAGE)
+  protected int maxDepth = Integer.MAX_VALUE;
+
+  /**
+   * Constructs a non-final {@link DawgNode}.
+   * @param edges Outgoing edges of this node.
+   */
+  public DawgNode(@NonNull final Char2ObjectMap<DawgNode> edges) {
+    this.edges = edges;
+  }
+
+  /**
+   * Constructs a non-final {@link DawgNode} whose depths are already known,
+   * such as one read alongside them, so its dictionary need not compute them.
+   * @param edges Outgoing edges of this node.
+   * @param minDepth Least number of transitions to a final node.
+   * @param maxDepth Greatest number of transitions to a final node.
+   * @since 3.1.0
+   */
+  public DawgNode(
+      @NonNull final Char2ObjectMap<DawgNode> edges,
+      final int minDepth,
+      final int maxDepth) {
+    this.edges = edges;
+    this.minDepth = minDepth;
+    this.maxDepth = maxDepth;
+  }
+
   /**
    * Constructs a non-final {@link DawgNode}.
    */
@@ -83,7 +126,38 @@ public class DawgNode implements Serializable {
   }
 
   /**
-   * {@inheritDoc}
+   * Specifies whether this node and the other one stand for the same node of
+   * their dictionary.  Unlike {@link #equals(Object)}, which compares the
+   * structure of the nodes, this compares their references, since a node held
+   * in memory is only ever the same as itself.  Flyweight nodes, which are
+   * created afresh each time they are reached, should override this along
+   * with {@link #nodeHashCode()}.
+   * @param other Node to compare with this one.
+   * @return Whether both nodes stand for the same node of their dictionary.
+   * @see DawgNodeIdentity
+   * @since 3.1.0
+   */
+  public boolean isSameNode(final DawgNode other) {
+    return this == other;
+  }
+
+  /**
+   * Returns a hash code of this node that is consistent with
+   * {@link #isSameNode(DawgNode)}.
+   * @return Hash code of the node of the dictionary this node stands for.
+   * @since 3.1.0
+   */
+  public int nodeHashCode() {
+    return System.identityHashCode(this);
+  }
+
+  /**
+   * Compares the structure of this node with that of another of the same
+   * class.  Nodes of other classes are never equal to this one, since
+   * subclasses such as the flyweight nodes of table-backed dictionaries
+   * compare themselves by other means, and equality must be symmetric.
+   * @param object Object to compare with this node.
+   * @return Whether the object is a node of the same class and structure.
    */
   @Override
   public boolean equals(final Object object) {
@@ -95,7 +169,7 @@ public class DawgNode implements Serializable {
       return true;
     }
 
-    if (!(object instanceof DawgNode)) {
+    if (getClass() != object.getClass()) {
       return false;
     }
 
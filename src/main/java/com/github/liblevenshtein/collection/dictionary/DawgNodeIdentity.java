@@ -0,0 +1,66 @@
+package com.github.liblevenshtein.collection.dictionary;
+
+import java.io.Serializable;
+
+import it.unimi.dsi.fastutil.Hash;
+
+/**
+ * <p>
+ * Hashes and compares {@link DawgNode}s by the nodes of their dictionaries they
+ * stand for, as determined by {@link DawgNode#isSameNode(DawgNode)}, for
+ * numbering or deduplicating the nodes of any {@link Dawg} with fastutil's
+ * custom hash collections.
+ * </p>
+ *
+ * <p>
+ * Nodes held in memory are only the same as themselves, so they are compared
+ * by reference, which is much cheaper than {@link DawgNode#equals(Object)}
+ * since that compares every node beneath them.  The flyweight nodes of
+ * dictionaries that are read from a table, which are created afresh on each
+ * transition, are compared by the node of the table they stand for, so each
+ * node of such a dictionary is counted once no matter how many flyweights
+ * refer to it.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+public final class DawgNodeIdentity implements Hash.Strategy<DawgNode>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Shared instance of this stateless strategy.
+   */
+  public static final DawgNodeIdentity INSTANCE = new DawgNodeIdentity();
+
+  /**
+   * Use {@link #INSTANCE}.
+   */
+  private DawgNodeIdentity() {
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode(final DawgNode node) {
+    return null == node ? 0 : node.nodeHashCode();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(final DawgNode a, final DawgNode b) {
+    return a == b || null != a && null != b && a.isSameNode(b);
+  }
+
+  /**
+   * Resolves deserialized instances to {@link #INSTANCE}.
+   * @return {@link #INSTANCE}.
+   */
+  private Object readResolve() {
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,190 @@
+package com.github.liblevenshtein.collection.dictionary;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import it.unimi.dsi.fastutil.chars.CharIterator;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenCustomHashMap;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * <p>
+ * Describes the shape of a {@link Dawg} by the number of distinct prefixes of
+ * its terms at each depth, which is the number of nodes at that depth of the
+ * equivalent trie.  The fan-out at a depth, which is the ratio of the prefixes
+ * at the next depth to those at it, is how many ways a prefix of that length is
+ * extended on average, which tells how quickly a search of the dictionary
+ * widens as it descends.  The terms of each length are counted alongside the
+ * prefixes.
+ * </p>
+ *
+ * <p>
+ * The prefixes are counted breadth-first over the nodes of the DAWG, as the
+ * number of paths from the root reaching each node at each depth, so shared
+ * suffixes are counted once per path without being expanded into a trie.
+ * Nodes are told apart by {@link DawgNodeIdentity}, so the flyweight nodes of
+ * table-backed dictionaries are counted once per node, too.
+ * </p>
+ *
+ * <p>
+ * Dictionaries collect their statistics once they are built or loaded, and
+ * {@link com.github.liblevenshtein.serialization.BinarySerializer} writes them
+ * alongside the dictionary, so dictionaries that are read in-place or on
+ * demand need not visit every node to recover them.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+public class DawgStatistics implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Version of the dictionary these statistics describe.
+   * @return Version of the dictionary these statistics describe.
+   */
+  @Getter
+  private final long version;
+
+  /**
+   * Number of distinct prefixes of the terms at each depth, beginning with the
+   * empty prefix at depth zero.
+   */
+  private final long[] prefixCounts;
+
+  /**
+   * Number of terms of each length, which are the prefixes at each depth that
+   * are themselves terms.
+   */
+  private final long[] termCounts;
+
+  /**
+   * Collects the statistics of the dictionary.
+   * @param dictionary Dictionary whose statistics should be collected.
+   */
+  DawgStatistics(final Dawg dictionary) {
+    this.version = dictionary.version();
+
+    final LongArrayList counts = new LongArrayList();
+    final LongArrayList finalCounts = new LongArrayList();
+    Object2LongMap<DawgNode> layer =
+      new Object2LongOpenCustomHashMap<>(DawgNodeIdentity.INSTANCE);
+    if (null != dictionary.root() && !dictionary.isEmpty()) {
+      layer.put(dictionary.root(), 1L);
+    }
+
+    while (!layer.isEmpty()) {
+      long prefixCount = 0L;
+      long termCount = 0L;
+      final Object2LongMap<DawgNode> nextLayer =
+        new Object2LongOpenCustomHashMap<>(DawgNodeIdentity.INSTANCE);
+      for (final Object2LongMap.Entry<DawgNode> entry : layer.object2LongEntrySet()) {
+        final DawgNode node = entry.getKey();
+        final long pathCount = entry.getLongValue();
+        prefixCount += pathCount;
+        if (dictionary.at(node)) {
+          termCount += pathCount;
+        }
+        final CharIterator labels = dictionary.of(node);
+        while (labels.hasNext()) {
+          final DawgNode target = dictionary.of(node, labels.nextChar());
+          nextLayer.put(target, nextLayer.getLong(target) + pathCount);
+        }
+      }
+      counts.add(prefixCount);
+      finalCounts.add(termCount);
+      layer = nextLayer;
+    }
+
+    this.prefixCounts = counts.toLongArray();
+    this.termCounts = finalCounts.toLongArray();
+  }
+
+  /**
+   * Restores the statistics of a dictionary from their counts, such as those
+   * written alongside it.
+   * @param version Version of the dictionary these statistics describe.
+   * @param prefixCounts Number of distinct prefixes of the terms at each depth,
+   *   beginning with the empty prefix at depth zero.
+   * @param termCounts Number of terms of each length.
+   */
+  public DawgStatistics(
+      final long version,
+      @NonNull final long[] prefixCounts,
+      @NonNull final long[] termCounts) {
+    if (prefixCounts.length != termCounts.length) {
+      throw new IllegalArgumentException(String.format(
+          "Expected as many term counts as prefix counts, but found [%d] and [%d]",
+          termCounts.length, prefixCounts.length));
+    }
+    this.version = version;
+    this.prefixCounts = prefixCounts.clone();
+    this.termCounts = termCounts.clone();
+  }
+
+  /**
+   * Returns the number of depths that hold prefixes, which is one more than
+   * the length of the longest term, or zero if the dictionary is empty.
+   * @return Number of depths that hold prefixes.
+   */
+  public int depthCount() {
+    return prefixCounts.length;
+  }
+
+  /**
+   * Returns the number of distinct prefixes of the given length.
+   * @param depth Length of the prefixes.
+   * @return Number of distinct prefixes of the given length.
+   */
+  public long prefixCount(final int depth) {
+    return 0 <= depth && depth < prefixCounts.length ? prefixCounts[depth] : 0L;
+  }
+
+  /**
+   * Returns the number of terms of the given length.
+   * @param depth Length of the terms.
+   * @return Number of terms of the given length.
+   */
+  public long termCount(final int depth) {
+    return 0 <= depth && depth < termCounts.length ? termCounts[depth] : 0L;
+  }
+
+  /**
+   * Returns the number of edges of the equivalent trie, which is the number of
+   * distinct, non-empty prefixes.
+   * @return Number of edges of the equivalent trie.
+   */
+  public long edgeCount() {
+    long edgeCount = 0L;
+    for (int depth = 1; depth < prefixCounts.length; depth += 1) {
+      edgeCount += prefixCounts[depth];
+    }
+    return edgeCount;
+  }
+
+  /**
+   * Returns the average number of ways the prefixes at the depth are extended,
+   * including the prefixes that are not extended at all.
+   * @param depth Length of the prefixes.
+   * @return Average fan-out of the prefixes at the depth, or zero if there are
+   *   none.
+   */
+  public double fanOut(final int depth) {
+    final long prefixCount = prefixCount(depth);
+    return 0L == prefixCount ? 0.0 : (double) prefixCount(depth + 1) / prefixCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return String.format("DawgStatistics(version=%d, prefixCounts=%s, termCounts=%s)",
+        version, Arrays.toString(prefixCounts), Arrays.toString(termCounts));
+  }
+}
@@ -19,6 +19,21 @@ public class FinalDawgNode extends DawgNode {
     super(edges);
   }
 
+  /**
+   * Constructs a new {@link FinalDawgNode} whose depths are already known.
+   * @param edges Outgoing edges of this node.
+   * @param minDepth Least number of transitions to a final node.
+   * @param maxDepth Greatest number of transitions to a final node.
+   * @see DawgNode#DawgNode(Char2ObjectMap, int, int)
+   * @since 3.1.0
+   */
+  public FinalDawgNode(
+      final Char2ObjectMap<DawgNode> edges,
+      final int minDepth,
+      final int maxDepth) {
+    super(edges, minDepth, maxDepth);
+  }
+
   /**
    * Constructs a new {@link FinalDawgNode}, which acts just like a
    * {@link DawgNode} except that {@link #isFinal()} returns true.
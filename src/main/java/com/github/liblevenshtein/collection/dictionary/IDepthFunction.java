@@ -0,0 +1,33 @@
+package com.github.liblevenshtein.collection.dictionary;
+
+import java.io.Serializable;
+
+/**
+ * Specifies the necessary methods for functors that bound the number of
+ * transitions between states of some type and the final states reachable from
+ * them.
+ * @author Dylon Edwards
+ * @param <State> Kind of the state this function accepts.
+ * @since 3.1.0
+ */
+public interface IDepthFunction<State> extends Serializable {
+
+  /**
+   * Least number of transitions between the state and a final state reachable
+   * from it.  This is zero if the state is final, and
+   * {@link Integer#MAX_VALUE} if no final state is reachable from it.
+   * @param current State whose distance to the nearest final state should be
+   *   returned.
+   * @return Least number of transitions to a final state.
+   */
+  int minDepth(State current);
+
+  /**
+   * Greatest number of transitions between the state and a final state
+   * reachable from it.
+   * @param current State whose distance to the farthest final state should be
+   *   returned.
+   * @return Greatest number of transitions to a final state.
+   */
+  int maxDepth(State current);
+}
@@ -0,0 +1,124 @@
+package com.github.liblevenshtein.collection.dictionary;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import it.unimi.dsi.fastutil.chars.CharArrayList;
+import it.unimi.dsi.fastutil.chars.CharIterator;
+
+import lombok.NonNull;
+
+import com.github.liblevenshtein.collection.AbstractIterator;
+
+/**
+ * Iterates over the terms within an {@link Dawg} in lexicographic order, by
+ * traversing it depth-first and following the edges of each node in ascending
+ * order of their labels.  Only the path to the current node is held in memory,
+ * so the terms may be streamed without being collected and sorted.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+public class LexicographicDawgIterator extends AbstractIterator<String> {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Nodes along the path from the root to the current node.
+   */
+  private final Deque<Frame> frames = new ArrayDeque<>();
+
+  /**
+   * Labels of the edges along the path from the root to the current node.
+   */
+  private final StringBuilder buffer = new StringBuilder();
+
+  /**
+   * Returns whether the current {@link DawgNode} represents the last character
+   * in some term.
+   */
+  private final IFinalFunction<DawgNode> isFinal;
+
+  /**
+   * Initializes a new {@link LexicographicDawgIterator}.
+   * @param root Root of the DAWG structure to traverse
+   * @param isFinal Returns whether some {@link DawgNode} represents the last
+   *   character in some term.
+   */
+  public LexicographicDawgIterator(
+      @NonNull final DawgNode root,
+      @NonNull final IFinalFunction<DawgNode> isFinal) {
+    this.isFinal = isFinal;
+    frames.push(new Frame(root));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void advance() {
+    while (null == next && !frames.isEmpty()) {
+      final Frame frame = frames.peek();
+      if (!frame.isVisited) {
+        frame.isVisited = true;
+        if (isFinal.at(frame.node)) {
+          this.next = buffer.toString();
+        }
+      }
+      else if (frame.index < frame.labels.length) {
+        final char label = frame.labels[frame.index];
+        frame.index += 1;
+        buffer.append(label);
+        frames.push(new Frame(frame.node.transition(label)));
+      }
+      else {
+        frames.pop();
+        if (!frames.isEmpty()) {
+          buffer.setLength(buffer.length() - 1);
+        }
+      }
+    }
+  }
+
+  /**
+   * Node along the path to the current node, and the next of its edges to
+   * follow.
+   */
+  private static class Frame {
+
+    /**
+     * Node along the path to the current node.
+     */
+    private final DawgNode node;
+
+    /**
+     * Labels of the outgoing edges of {@link #node}, in ascending order.
+     */
+    private final char[] labels;
+
+    /**
+     * Index of the next label to follow.
+     */
+    private int index = 0;
+
+    /**
+     * Whether {@link #node} has been checked for a term.
+     */
+    private boolean isVisited = false;
+
+    /**
+     * Constructs a new {@link Frame}.
+     * @param node Node along the path to the current node.
+     */
+    Frame(final DawgNode node) {
+      final CharArrayList labels = new CharArrayList();
+      final CharIterator iter = node.labels();
+      while (iter.hasNext()) {
+        labels.add(iter.nextChar());
+      }
+      this.node = node;
+      this.labels = labels.toCharArray();
+      Arrays.sort(this.labels);
+    }
+  }
+}
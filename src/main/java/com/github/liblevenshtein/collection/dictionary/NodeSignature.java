@@ -0,0 +1,81 @@
+package com.github.liblevenshtein.collection.dictionary;
+
+import java.io.Serializable;
+
+import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <p>
+ * Identifies a {@link DawgNode} by its finality and its outgoing edges, where
+ * the targets of the edges are compared by reference instead of by value.
+ * </p>
+ *
+ * <p>
+ * {@link SortedDawg} minimizes its nodes from the leaves up, so the targets of
+ * a node are already unique by the time the node is checked for redundancy.
+ * Comparing them by reference is then equivalent to comparing them by value,
+ * but only costs the number of edges instead of recursing over every node
+ * beneath them, which would overflow the stack for very long terms.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@RequiredArgsConstructor
+class NodeSignature implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Node identified by this signature.
+   * @return Node identified by this signature.
+   */
+  @Getter
+  @NonNull
+  private final DawgNode node;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(final Object object) {
+    if (this == object) {
+      return true;
+    }
+
+    if (!(object instanceof NodeSignature)) {
+      return false;
+    }
+
+    final DawgNode other = ((NodeSignature) object).node;
+    if (node.isFinal() != other.isFinal()
+        || node.edges().size() != other.edges().size()) {
+      return false;
+    }
+
+    for (final Char2ObjectMap.Entry<DawgNode> edge : node.edges().char2ObjectEntrySet()) {
+      if (edge.getValue() != other.transition(edge.getCharKey())) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    int hashCode = node.isFinal() ? 1 : 0;
+    for (final Char2ObjectMap.Entry<DawgNode> edge : node.edges().char2ObjectEntrySet()) {
+      // Summed, so the hash is independent of the order of the edges.
+      hashCode += edge.getCharKey() ^ System.identityHashCode(edge.getValue());
+    }
+    return hashCode;
+  }
+}
@@ -50,24 +50,29 @@ public class Prefix implements Serializable {
    *   way.
    */
   public String value() {
-    return buffer().toString();
+    return new String(buffer());
   }
 
   /**
-   * Buffers the labels along the edges of the previous {@link Prefix}es,
-   * beginning from the root node.
-   * @return A buffer of the labels along the edges of the previous
-   * {@link Prefix}es.
+   * Buffers the labels along the path from the root node to this one.  The
+   * path is walked twice, once to size the buffer and once to fill it from its
+   * end, so no recursion is needed however long the path is.
+   * @return Labels along the path from the root node to this one.
    */
-  private StringBuilder buffer() {
-    final StringBuilder buffer;
-
-    if (null != prevNode) {
-      buffer = prevNode.buffer();
-      buffer.append(label);
+  private char[] buffer() {
+    int length = 0;
+    for (Prefix prefix = this;
+        null != prefix.prevNode;
+        prefix = prefix.prevNode) {
+      length += 1;
     }
-    else {
-      buffer = new StringBuilder();
+
+    final char[] buffer = new char[length];
+    for (Prefix prefix = this;
+        null != prefix.prevNode;
+        prefix = prefix.prevNode) {
+      length -= 1;
+      buffer[length] = prefix.label;
     }
 
     return buffer;
@@ -48,8 +48,12 @@ public class SortedDawg extends Dawg {
   /** Transitions that have not been checked for redundancy. */
   private Deque<Transition> uncheckedTransitions = new ArrayDeque<>();
 
-  /** Nodes that have been checked for redundancy. */
-  private Map<DawgNode, DawgNode> minimizedNodes = new HashMap<>();
+  /**
+   * Nodes that have been checked for redundancy, by their signatures.  The
+   * signatures compare the targets of edges by reference, so checking a node
+   * never recurses over the nodes beneath it.
+   */
+  private Map<NodeSignature, DawgNode> minimizedNodes = new HashMap<>();
 
   /** References the term that was last added. */
   private String previousTerm = "";
@@ -85,6 +89,26 @@ public class SortedDawg extends Dawg {
       final int size,
       @NonNull final DawgNode root) {
     super(root, size);
+    updateDepths();
+    updateStatistics();
+  }
+
+  /**
+   * Constructs a new SortedDawg instance from nodes that already record their
+   * depths, and statistics that were collected elsewhere, such as those read
+   * alongside them.  Unlike {@link #SortedDawg(int, DawgNode)}, this does not
+   * walk the nodes.
+   * @param size Number of terms in this dictionary.
+   * @param root Root node of this dictionary.
+   * @param statistics Statistics of this dictionary.
+   * @since 3.1.0
+   */
+  public SortedDawg(
+      final int size,
+      @NonNull final DawgNode root,
+      @NonNull final DawgStatistics statistics) {
+    super(root, size);
+    updateStatistics(statistics);
   }
 
   /**
@@ -101,6 +125,7 @@ public class SortedDawg extends Dawg {
     // Special Case: Empty String
     if (term.isEmpty()) {
       root = new FinalDawgNode();
+      version += 1;
       return true;
     }
 
@@ -139,14 +164,19 @@ public class SortedDawg extends Dawg {
 
     previousTerm = term;
     size += 1;
+    version += 1;
     return true;
   }
 
   /**
-   * Finishes processing the pending transitions.
+   * Finishes processing the pending transitions, records on each node the
+   * range of its depths to the final nodes beneath it, and collects the
+   * statistics of this dictionary.
    */
   public void finish() {
     minimize(0);
+    updateDepths();
+    updateStatistics();
   }
 
   /**
@@ -162,14 +192,15 @@ public class SortedDawg extends Dawg {
       final char label = transition.label();
       final DawgNode target = transition.target();
 
-      final DawgNode existing = minimizedNodes.get(target);
+      final NodeSignature signature = new NodeSignature(target);
+      final DawgNode existing = minimizedNodes.get(signature);
 
       if (null != existing) {
         source.addEdge(label, existing);
       }
       else {
         source.addEdge(label, target);
-        minimizedNodes.put(target, target);
+        minimizedNodes.put(signature, target);
       }
     }
   }
@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.github.liblevenshtein.collection.dictionary.Dawg;
 import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.IDepthFunction;
 import com.github.liblevenshtein.collection.dictionary.IFinalFunction;
 import com.github.liblevenshtein.collection.dictionary.ITransitionFunction;
 import com.github.liblevenshtein.collection.dictionary.SortedDawg;
@@ -35,7 +36,8 @@ public class DawgFactory implements Serializable {
   }
 
   /**
-   * Returns a new DAWG.
+   * Returns a new DAWG.  If the terms are already a DAWG, such as one that is
+   * read lazily from a file, they are returned as-is.
    * @param terms Terms to insert into the DAWG
    * @param isSorted Whether terms has been sorted
    * @return A new DAWG, containing the terms.
@@ -44,8 +46,8 @@ public class DawgFactory implements Serializable {
       @NonNull final Collection<String> terms,
       final boolean isSorted) {
 
-    if (terms instanceof SortedDawg) {
-      return (SortedDawg) terms;
+    if (terms instanceof Dawg) {
+      return (Dawg) terms;
     }
 
     if (!isSorted) {
@@ -76,4 +78,13 @@ public class DawgFactory implements Serializable {
   public ITransitionFunction<DawgNode> transitionFunction(@NonNull final Dawg dictionary) {
     return dictionary;
   }
+
+  /**
+   * Returns the depth function of the dictionary.
+   * @param dictionary DAWG dictionary whose depth function should be returned.
+   * @return The depth function of the dictionary.
+   */
+  public IDepthFunction<DawgNode> depthFunction(@NonNull final Dawg dictionary) {
+    return dictionary;
+  }
 }
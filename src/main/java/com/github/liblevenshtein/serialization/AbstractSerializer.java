@@ -10,11 +10,23 @@ import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
 
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.DawgNodeIdentity;
+
 /**
  * Common, serialization routines.
  */
@@ -142,4 +154,58 @@ public abstract class AbstractSerializer implements Serializer {
       type, pathOrUri);
     return deserialize(type, fileSystem.getPath(pathOrUri));
   }
+
+  // Utilities
+  // ---------------------------------------------------------------------------
+
+  /**
+   * Numbers the nodes of the dictionary in post-order, without recursing, such
+   * that each node is numbered after those it has edges to, and the root is
+   * numbered last.  Nodes are told apart by {@link DawgNodeIdentity}, so the
+   * flyweight nodes of table-backed dictionaries, e.g. {@link BufferDawg} and
+   * {@link LazyDawg}, are numbered once per node rather than once per path.
+   * @param root Root node of the dictionary.
+   * @param ids Receives the id of each node, and should be keyed by
+   *   {@link DawgNodeIdentity} (see {@link #idsOf()}).
+   * @return Nodes of the dictionary, indexed by id.
+   */
+  protected List<DawgNode> nodesOf(
+      final DawgNode root,
+      final Object2IntMap<DawgNode> ids) {
+    final List<DawgNode> nodes = new ObjectArrayList<>();
+    final Set<DawgNode> visited =
+      new ObjectOpenCustomHashSet<>(DawgNodeIdentity.INSTANCE);
+    final Deque<DawgNode> pending = new ArrayDeque<>();
+    pending.push(root);
+
+    while (!pending.isEmpty()) {
+      final DawgNode node = pending.peek();
+      if (!visited.contains(node)) {
+        visited.add(node);
+        for (final DawgNode target : node.edges().values()) {
+          if (!visited.contains(target)) {
+            pending.push(target);
+          }
+        }
+      }
+      else {
+        pending.pop();
+        if (!ids.containsKey(node)) {
+          ids.put(node, nodes.size());
+          nodes.add(node);
+        }
+      }
+    }
+
+    return nodes;
+  }
+
+  /**
+   * Returns an empty map for the ids of the nodes of a dictionary, keyed by
+   * {@link DawgNodeIdentity}.
+   * @return Empty map for the ids of the nodes of a dictionary.
+   */
+  protected Object2IntMap<DawgNode> idsOf() {
+    return new Object2IntOpenCustomHashMap<>(DawgNodeIdentity.INSTANCE);
+  }
 }
@@ -0,0 +1,167 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.Serializable;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import com.github.liblevenshtein.transducer.Algorithm;
+
+/**
+ * Describes an artifact written by {@link ArtifactSerializer}: the kind of
+ * object it holds, the sizes of its dictionary, the format of its payload, and
+ * the checksums of the sections of its payload.  Headers are read without
+ * reading the payloads they describe, so artifacts may be inspected and
+ * validated without being loaded.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Value
+@Builder
+public class ArtifactHeader implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Version of the artifact format.
+   */
+  private final int version;
+
+  /**
+   * Kind of object held by the artifact.
+   */
+  @NonNull
+  private final Kind kind;
+
+  /**
+   * Levenshtein algorithm of the transducer held by the artifact, or null if
+   * it holds a dictionary.
+   */
+  private final Algorithm algorithm;
+
+  /**
+   * Whether the transducer held by the artifact includes the distances of its
+   * candidates.  This is false for dictionaries.
+   */
+  private final boolean includeDistance;
+
+  /**
+   * Default maximum distance of the transducer held by the artifact.  This is
+   * zero for dictionaries.
+   */
+  private final int maxDistance;
+
+  /**
+   * Number of terms in the dictionary.
+   */
+  private final int termCount;
+
+  /**
+   * Number of nodes in the dictionary.
+   */
+  private final int nodeCount;
+
+  /**
+   * Number of edges in the dictionary.
+   */
+  private final long edgeCount;
+
+  /**
+   * Name of the format of the payload, which is the name of the class of the
+   * {@link Serializer} that wrote it.
+   */
+  @NonNull
+  private final String format;
+
+  /**
+   * Number of bytes in each section of the payload, except the last one which
+   * may be shorter.
+   */
+  private final int sectionSize;
+
+  /**
+   * Number of bytes in the payload.
+   */
+  private final long payloadLength;
+
+  /**
+   * Number of bytes in this header, which is the offset of the payload within
+   * the artifact.
+   */
+  private final int headerLength;
+
+  /**
+   * CRC32C checksums of the sections of the payload.
+   */
+  @NonNull
+  @Getter(AccessLevel.NONE)
+  private final int[] sectionChecksums;
+
+  /**
+   * Returns the number of sections in the payload.
+   * @return Number of sections in the payload.
+   */
+  public int sectionCount() {
+    return sectionChecksums.length;
+  }
+
+  /**
+   * Returns the CRC32C checksum of a section of the payload.
+   * @param section Index of the section.
+   * @return CRC32C checksum of the section.
+   */
+  public int sectionChecksum(final int section) {
+    return sectionChecksums[section];
+  }
+
+  /**
+   * Returns the number of bytes in the artifact, including this header.
+   * @return Number of bytes in the artifact.
+   */
+  public long artifactLength() {
+    return headerLength + payloadLength;
+  }
+
+  /**
+   * Kinds of objects held by artifacts.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public enum Kind {
+
+    /**
+     * Artifact holds a dictionary.
+     */
+    DICTIONARY(BinarySerializer.DICTIONARY_TYPE),
+
+    /**
+     * Artifact holds a transducer.
+     */
+    TRANSDUCER(BinarySerializer.TRANSDUCER_TYPE);
+
+    /**
+     * Identifies the kind of object within the header.
+     * @return Code identifying the kind of object.
+     */
+    private final int code;
+
+    /**
+     * Returns the kind of object identified by the code.
+     * @param code Code identifying the kind of object.
+     * @return Kind of object identified by the code.
+     */
+    static Kind of(final int code) {
+      for (final Kind kind : values()) {
+        if (kind.code == code) {
+          return kind;
+        }
+      }
+      throw new IllegalArgumentException(String.format(
+          "Unknown kind of artifact [%d]", code));
+    }
+  }
+}
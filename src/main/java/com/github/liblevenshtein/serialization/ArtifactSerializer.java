@@ -0,0 +1,732 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Transducer;
+import com.github.liblevenshtein.transducer.TransducerAttributes;
+
+/**
+ * <p>
+ * Wraps the payload written by another {@link Serializer} in a self-describing
+ * artifact, whose header records the kind of object it holds, the attributes of
+ * its transducer, the numbers of terms, nodes, and edges in its dictionary, the
+ * format of its payload, and a CRC32C checksum of each section of its payload.
+ * </p>
+ *
+ * <p>
+ * Each artifact begins with the magic number, {@code "LLVA"}, the version of
+ * the artifact format, and the length of the header, followed by the fields of
+ * the header and the checksums of the sections.  The header ends with a CRC32C
+ * checksum of itself, and is followed by the payload.  The payload is split into
+ * sections of {@link #sectionSize} bytes, so corruption may be located, and
+ * sections may be verified as they are read.
+ * </p>
+ *
+ * <p>
+ * The header is read without reading the payload, by {@link #header}, which
+ * also detects truncated buffers and files from their lengths alone.  The
+ * checksums of the payload are verified by {@link #validate}, which only hashes
+ * the payload and is much cheaper than decoding it.  Artifacts may therefore be
+ * verified before they are swapped in, without being loaded.  Unless
+ * {@link #verifyChecksums} is disabled, the checksums are also verified before
+ * each payload is deserialized.  Payloads in buffers are passed to the wrapped
+ * serializer as slices of those buffers, so formats that are read in-place,
+ * such as {@link BinarySerializer.Layout#FIXED_WIDTH}, are still not copied.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Slf4j
+@ToString(callSuper = false)
+@EqualsAndHashCode(callSuper = false)
+public class ArtifactSerializer extends AbstractSerializer {
+
+  /**
+   * Identifies artifacts: {@code "LLVA"}, in ASCII.
+   */
+  public static final int MAGIC_NUMBER = 0x4C4C5641;
+
+  /**
+   * Version of the artifact format written by this serializer.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * Default number of bytes in each section of the payload.
+   */
+  public static final int DEFAULT_SECTION_SIZE = 1 << 20;
+
+  /**
+   * Number of bytes in the magic number, the version, and the length of the
+   * header, which precede the fields of the header.
+   */
+  private static final int PREAMBLE_LENGTH = Integer.BYTES + 1 + Integer.BYTES;
+
+  /**
+   * Greatest number of bytes a header may have, which bounds the memory
+   * allocated for corrupt headers.
+   */
+  private static final int MAX_HEADER_LENGTH = 1 << 26;
+
+  /**
+   * Number of bytes of direct buffers copied at a time, to be hashed.
+   */
+  private static final int COPY_SIZE = 1 << 16;
+
+  /**
+   * Hashes the header and the sections of the payload.
+   */
+  private static final HashFunction CRC32C = Hashing.crc32c();
+
+  /**
+   * Message of the exceptions thrown for truncated artifacts.
+   */
+  private static final String TRUNCATED =
+    "The artifact is truncated: its header describes [%d] bytes, but [%d] remain";
+
+  /**
+   * Writes and reads the payloads of artifacts.
+   */
+  private final Serializer serializer;
+
+  /**
+   * Number of bytes in each section of the payload.  Smaller sections locate
+   * corruption more precisely, at the cost of a larger header.
+   */
+  private final int sectionSize;
+
+  /**
+   * Whether to verify the checksums of each payload before deserializing it.
+   */
+  @Setter
+  private boolean verifyChecksums = true;
+
+  /**
+   * Constructs a new {@link ArtifactSerializer} with sections of
+   * {@link #DEFAULT_SECTION_SIZE} bytes.
+   * @param serializer Writes and reads the payloads of artifacts.
+   */
+  public ArtifactSerializer(@NonNull final Serializer serializer) {
+    this(serializer, DEFAULT_SECTION_SIZE);
+  }
+
+  /**
+   * Constructs a new {@link ArtifactSerializer}.
+   * @param serializer Writes and reads the payloads of artifacts.
+   * @param sectionSize Number of bytes in each section of the payload.
+   */
+  public ArtifactSerializer(
+      @NonNull final Serializer serializer,
+      final int sectionSize) {
+    if (sectionSize <= 0) {
+      throw new IllegalArgumentException(
+          "sectionSize must be positive, but was " + sectionSize);
+    }
+    this.serializer = serializer;
+    this.sectionSize = sectionSize;
+  }
+
+  // Serializers
+  // ---------------------------------------------------------------------------
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void serialize(
+      @NonNull final Serializable object,
+      @NonNull final OutputStream stream) throws Exception {
+    log.info("Serializing an instance of [{}] to an artifact", object.getClass());
+    final byte[] payload = serializer.serialize(object);
+    stream.write(headerOf(object, payload));
+    stream.write(payload);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public byte[] serialize(@NonNull final Serializable object) throws Exception {
+    try (final ByteArrayOutputStream stream = new ByteArrayOutputStream()) {
+      serialize(object, stream);
+      return stream.toByteArray();
+    }
+  }
+
+  // Deserializers
+  // ---------------------------------------------------------------------------
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <Type extends Serializable> Type deserialize(
+      @NonNull final Class<Type> type,
+      @NonNull final InputStream stream) throws Exception {
+    log.info("Deserializing an instance of [{}] from an artifact stream", type);
+    final ArtifactHeader header = header(stream);
+    final byte[] payload = new byte[(int) header.payloadLength()];
+    readFully(stream, payload, header.artifactLength());
+    return deserializePayload(type, header, ByteBuffer.wrap(payload));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <Type extends Serializable> Type deserialize(
+      @NonNull final Class<Type> type,
+      @NonNull final byte[] bytes) throws Exception {
+    return deserialize(type, ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Deserializes an object from an artifact in the remaining bytes of a
+   * buffer.  The payload is passed to the wrapped serializer as a slice of the
+   * buffer, without being copied.
+   * @param type Class of the deserialized object.
+   * @param buffer Bytes of the artifact, between its position and limit.
+   * @param <Type> Type of the deserialized object.
+   * @return Deserialized object from the buffer.
+   * @throws Exception When the object cannot be deserialized.
+   */
+  @Override
+  public <Type extends Serializable> Type deserialize(
+      @NonNull final Class<Type> type,
+      @NonNull final ByteBuffer buffer) throws Exception {
+    log.info("Deserializing an instance of [{}] from an artifact buffer", type);
+    final ArtifactHeader header = header(buffer);
+    return deserializePayload(type, header, payloadOf(header, buffer));
+  }
+
+  // Validators
+  // ---------------------------------------------------------------------------
+
+  /**
+   * Reads the header of the artifact in the remaining bytes of the buffer,
+   * without reading its payload.
+   * @param buffer Bytes of the artifact, between its position and limit.
+   * @return Header of the artifact.
+   * @throws IllegalArgumentException When the header is corrupt, or the buffer
+   *   is shorter than the artifact it describes.
+   * @throws IOException When the header cannot be read.
+   */
+  public ArtifactHeader header(@NonNull final ByteBuffer buffer) throws IOException {
+    final ByteBuffer view = buffer.slice();
+    final int headerLength = preambleOf(view, view.remaining());
+    if (view.remaining() < headerLength) {
+      throw new IllegalArgumentException(String.format(
+          TRUNCATED, headerLength, view.remaining()));
+    }
+
+    final ByteBuffer headerBytes = view.duplicate();
+    headerBytes.limit(headerLength);
+    final ArtifactHeader header = parseHeader(headerBytes.slice());
+    if (view.remaining() < header.artifactLength()) {
+      throw new IllegalArgumentException(String.format(
+          TRUNCATED, header.artifactLength(), view.remaining()));
+    }
+    return header;
+  }
+
+  /**
+   * Reads the header of the artifact, without reading its payload.
+   * @param bytes Bytes of the artifact.
+   * @return Header of the artifact.
+   * @throws IllegalArgumentException When the header is corrupt, or the bytes
+   *   are fewer than the artifact they describe.
+   * @throws IOException When the header cannot be read.
+   */
+  public ArtifactHeader header(@NonNull final byte[] bytes) throws IOException {
+    return header(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Reads the header of the artifact from the stream, leaving the stream at
+   * the first byte of the payload.
+   * @param stream Stream positioned at the first byte of the artifact.
+   * @return Header of the artifact.
+   * @throws IllegalArgumentException When the header is corrupt or truncated.
+   * @throws IOException When the stream cannot be read.
+   */
+  public ArtifactHeader header(@NonNull final InputStream stream) throws IOException {
+    final byte[] preamble = new byte[PREAMBLE_LENGTH];
+    readFully(stream, preamble, PREAMBLE_LENGTH);
+    final int headerLength = preambleOf(ByteBuffer.wrap(preamble), Long.MAX_VALUE);
+
+    final byte[] headerBytes = new byte[headerLength];
+    System.arraycopy(preamble, 0, headerBytes, 0, PREAMBLE_LENGTH);
+    final byte[] fields = new byte[headerLength - PREAMBLE_LENGTH];
+    readFully(stream, fields, headerLength);
+    System.arraycopy(fields, 0, headerBytes, PREAMBLE_LENGTH, fields.length);
+
+    return parseHeader(ByteBuffer.wrap(headerBytes));
+  }
+
+  /**
+   * Reads the header of the artifact in the file, without reading its payload.
+   * Truncated files are detected by their sizes.
+   * @param path Path to the artifact.
+   * @return Header of the artifact.
+   * @throws IllegalArgumentException When the header is corrupt, or the file is
+   *   shorter than the artifact it describes.
+   * @throws IOException When the file cannot be read.
+   */
+  public ArtifactHeader header(@NonNull final Path path) throws IOException {
+    final ArtifactHeader header;
+    try (final InputStream stream = Files.newInputStream(path)) {
+      header = header(stream);
+    }
+    final long size = Files.size(path);
+    if (size < header.artifactLength()) {
+      throw new IllegalArgumentException(String.format(
+          TRUNCATED, header.artifactLength(), size));
+    }
+    return header;
+  }
+
+  /**
+   * Verifies the header and the checksum of every section of the artifact in
+   * the remaining bytes of the buffer, without decoding its payload.
+   * @param buffer Bytes of the artifact, between its position and limit.
+   * @return Header of the artifact.
+   * @throws IllegalArgumentException When the artifact is corrupt or truncated.
+   * @throws IOException When the header cannot be read.
+   */
+  public ArtifactHeader validate(@NonNull final ByteBuffer buffer) throws IOException {
+    final ArtifactHeader header = header(buffer);
+    verifySections(header, payloadOf(header, buffer));
+    return header;
+  }
+
+  /**
+   * Verifies the header and the checksum of every section of the artifact,
+   * without decoding its payload.
+   * @param bytes Bytes of the artifact.
+   * @return Header of the artifact.
+   * @throws IllegalArgumentException When the artifact is corrupt or truncated.
+   * @throws IOException When the header cannot be read.
+   */
+  public ArtifactHeader validate(@NonNull final byte[] bytes) throws IOException {
+    return validate(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Verifies the header and the checksum of every section of the artifact read
+   * from the stream, one section at a time, without decoding its payload.
+   * @param stream Stream positioned at the first byte of the artifact.
+   * @return Header of the artifact.
+   * @throws IllegalArgumentException When the artifact is corrupt or truncated.
+   * @throws IOException When the stream cannot be read.
+   */
+  public ArtifactHeader validate(@NonNull final InputStream stream) throws IOException {
+    final ArtifactHeader header = header(stream);
+    final byte[] section = new byte[
+      (int) Math.min(header.sectionSize(), header.payloadLength())];
+    for (int index = 0; index < header.sectionCount(); index += 1) {
+      final long offset = (long) index * header.sectionSize();
+      final int length =
+        (int) Math.min(header.sectionSize(), header.payloadLength() - offset);
+      readFully(stream, section, length, header.artifactLength());
+      verifySection(header, index, CRC32C.hashBytes(section, 0, length).asInt());
+    }
+    return header;
+  }
+
+  /**
+   * Verifies the header and the checksum of every section of the artifact in
+   * the file, without decoding its payload.  Truncated files are rejected by
+   * their sizes before any section is read.
+   * @param path Path to the artifact.
+   * @return Header of the artifact.
+   * @throws IllegalArgumentException When the artifact is corrupt or truncated.
+   * @throws IOException When the file cannot be read.
+   */
+  public ArtifactHeader validate(@NonNull final Path path) throws IOException {
+    header(path);
+    try (final InputStream stream = Files.newInputStream(path)) {
+      return validate(stream);
+    }
+  }
+
+  // Headers
+  // ---------------------------------------------------------------------------
+
+  /**
+   * Returns the bytes of the header describing the object and its payload.
+   * @param object Object held by the artifact.
+   * @param payload Bytes of the object, written by {@link #serializer}.
+   * @return Bytes of the header.
+   * @throws IOException When the header cannot be written.
+   */
+  private byte[] headerOf(
+      final Serializable object,
+      final byte[] payload) throws IOException {
+
+    final ArtifactHeader.Kind kind;
+    final Dawg dictionary;
+    String algorithm = "";
+    boolean includeDistance = false;
+    int maxDistance = 0;
+
+    if (object instanceof Dawg) {
+      kind = ArtifactHeader.Kind.DICTIONARY;
+      dictionary = (Dawg) object;
+    }
+    else if (object instanceof Transducer) {
+      final TransducerAttributes<?, ?> attributes =
+        ((Transducer<?, ?>) object).attributes();
+      kind = ArtifactHeader.Kind.TRANSDUCER;
+      dictionary = attributes.dictionary();
+      algorithm = attributes.algorithm().name();
+      includeDistance = attributes.includeDistance();
+      maxDistance = attributes.maxDistance();
+    }
+    else {
+      throw new IllegalArgumentException(String.format(
+          "Unknown type [%s]", object.getClass()));
+    }
+
+    long edgeCount = 0L;
+    final List<DawgNode> nodes =
+      nodesOf(dictionary.root(), idsOf());
+    for (final DawgNode node : nodes) {
+      edgeCount += node.edges().size();
+    }
+
+    final ByteArrayOutputStream fields = new ByteArrayOutputStream();
+    final BinaryWriter writer = new BinaryWriter(Channels.newChannel(fields));
+    writer.writeByte(kind.code());
+    writeString(writer, algorithm);
+    writer.writeByte(includeDistance ? 1 : 0)
+      .writeInt(maxDistance)
+      .writeInt(dictionary.size())
+      .writeInt(nodes.size())
+      .writeLong(edgeCount);
+    writeString(writer, serializer.getClass().getName());
+    writer.writeInt(sectionSize)
+      .writeLong(payload.length);
+    for (int offset = 0; offset < payload.length; offset += sectionSize) {
+      final int length = Math.min(sectionSize, payload.length - offset);
+      writer.writeInt(CRC32C.hashBytes(payload, offset, length).asInt());
+    }
+    writer.flush();
+
+    final ByteBuffer header = ByteBuffer.allocate(
+        PREAMBLE_LENGTH + fields.size() + Integer.BYTES);
+    header.putInt(MAGIC_NUMBER)
+      .put((byte) VERSION)
+      .putInt(header.capacity())
+      .put(fields.toByteArray());
+    header.putInt(CRC32C.hashBytes(header.array(), 0, header.position()).asInt());
+    return header.array();
+  }
+
+  /**
+   * Reads and validates the magic number, version, and length of a header.
+   * @param buffer Bytes beginning with the header.
+   * @param available Number of bytes of the artifact that are available.
+   * @return Number of bytes in the header.
+   * @throws IOException When the preamble cannot be read.
+   */
+  private int preambleOf(
+      final ByteBuffer buffer,
+      final long available) throws IOException {
+    if (available < PREAMBLE_LENGTH) {
+      throw new IllegalArgumentException(String.format(
+          TRUNCATED, PREAMBLE_LENGTH, available));
+    }
+
+    final BinaryReader reader = new BinaryReader(buffer.duplicate());
+    final int magicNumber = reader.readInt();
+    if (MAGIC_NUMBER != magicNumber) {
+      throw new IllegalArgumentException(String.format(
+          "Expected magic number [0x%08X], but found [0x%08X]",
+          MAGIC_NUMBER, magicNumber));
+    }
+
+    final int version = reader.readByte();
+    if (VERSION != version) {
+      throw new IllegalArgumentException(String.format(
+          "Unsupported artifact version [%d]", version));
+    }
+
+    final int headerLength = reader.readInt();
+    if (headerLength < PREAMBLE_LENGTH + Integer.BYTES
+        || headerLength > MAX_HEADER_LENGTH) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid header length [%d]", headerLength));
+    }
+
+    return headerLength;
+  }
+
+  /**
+   * Verifies the checksum of the header, and reads its fields.
+   * @param buffer Bytes of the header, and nothing more.
+   * @return Header that was read.
+   * @throws IOException When the header cannot be read.
+   */
+  private ArtifactHeader parseHeader(final ByteBuffer buffer) throws IOException {
+    final int headerLength = buffer.remaining();
+    final int expectedChecksum = buffer.getInt(headerLength - Integer.BYTES);
+    final int checksum = checksumOf(buffer, 0, headerLength - Integer.BYTES);
+    if (checksum != expectedChecksum) {
+      throw new IllegalArgumentException(String.format(
+          "The header of the artifact is corrupt: its checksum is [0x%08X],"
+          + " but [0x%08X] was recorded", checksum, expectedChecksum));
+    }
+
+    final ByteBuffer fields = buffer.duplicate();
+    fields.position(PREAMBLE_LENGTH).limit(headerLength - Integer.BYTES);
+    final BinaryReader reader = new BinaryReader(fields);
+
+    final ArtifactHeader.Kind kind = ArtifactHeader.Kind.of(reader.readByte());
+    final String algorithm = readString(reader);
+    final boolean includeDistance = 0 != reader.readByte();
+    final int maxDistance = reader.readInt();
+    final int termCount = reader.readInt();
+    final int nodeCount = reader.readInt();
+    final long edgeCount = reader.readLong();
+    final String format = readString(reader);
+    final int headerSectionSize = reader.readInt();
+    final long payloadLength = reader.readLong();
+
+    if (headerSectionSize <= 0
+        || payloadLength < 0L
+        || payloadLength > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid payload of [%d] bytes in sections of [%d] bytes",
+          payloadLength, headerSectionSize));
+    }
+
+    final long sectionCount =
+      (payloadLength + headerSectionSize - 1) / headerSectionSize;
+    if (fields.remaining() != sectionCount * Integer.BYTES) {
+      throw new IllegalArgumentException(String.format(
+          "Expected [%d] section checksums, but the header has [%d] bytes left",
+          sectionCount, fields.remaining()));
+    }
+
+    final int[] sectionChecksums = new int[(int) sectionCount];
+    for (int section = 0; section < sectionChecksums.length; section += 1) {
+      sectionChecksums[section] = reader.readInt();
+    }
+
+    return ArtifactHeader.builder()
+      .version(VERSION)
+      .kind(kind)
+      .algorithm(algorithm.isEmpty() ? null : Algorithm.valueOf(algorithm))
+      .includeDistance(includeDistance)
+      .maxDistance(maxDistance)
+      .termCount(termCount)
+      .nodeCount(nodeCount)
+      .edgeCount(edgeCount)
+      .format(format)
+      .sectionSize(headerSectionSize)
+      .payloadLength(payloadLength)
+      .headerLength(headerLength)
+      .sectionChecksums(sectionChecksums)
+      .build();
+  }
+
+  // Utilities
+  // ---------------------------------------------------------------------------
+
+  /**
+   * Deserializes the payload of an artifact with {@link #serializer}, after
+   * verifying its format and, unless disabled, its checksums.
+   * @param type Class of the deserialized object.
+   * @param header Header of the artifact.
+   * @param payload Bytes of the payload, and nothing more.
+   * @param <Type> Type of the deserialized object.
+   * @return Deserialized object from the payload.
+   * @throws Exception When the object cannot be deserialized.
+   */
+  private <Type extends Serializable> Type deserializePayload(
+      final Class<Type> type,
+      final ArtifactHeader header,
+      final ByteBuffer payload) throws Exception {
+    final String format = serializer.getClass().getName();
+    if (!format.equals(header.format())) {
+      throw new IllegalArgumentException(String.format(
+          "The artifact holds a payload of format [%s], but [%s] was expected",
+          header.format(), format));
+    }
+    if (verifyChecksums) {
+      verifySections(header, payload);
+    }
+    return serializer.deserialize(type, payload);
+  }
+
+  /**
+   * Returns the payload of the artifact in the buffer, as a slice of it.
+   * @param header Header of the artifact.
+   * @param buffer Bytes of the artifact, between its position and limit.
+   * @return Bytes of the payload, and nothing more.
+   */
+  private ByteBuffer payloadOf(
+      final ArtifactHeader header,
+      final ByteBuffer buffer) {
+    final ByteBuffer payload = buffer.slice();
+    payload.position(header.headerLength())
+      .limit((int) header.artifactLength());
+    return payload.slice();
+  }
+
+  /**
+   * Verifies the checksum of every section of the payload.
+   * @param header Header of the artifact.
+   * @param payload Bytes of the payload, and nothing more.
+   */
+  private void verifySections(
+      final ArtifactHeader header,
+      final ByteBuffer payload) {
+    for (int index = 0; index < header.sectionCount(); index += 1) {
+      final int offset = index * header.sectionSize();
+      final int length = Math.min(header.sectionSize(), payload.remaining() - offset);
+      verifySection(header, index, checksumOf(payload, offset, length));
+    }
+  }
+
+  /**
+   * Verifies the checksum of a section of the payload.
+   * @param header Header of the artifact.
+   * @param index Index of the section.
+   * @param checksum Checksum of the bytes of the section.
+   */
+  private void verifySection(
+      final ArtifactHeader header,
+      final int index,
+      final int checksum) {
+    if (checksum != header.sectionChecksum(index)) {
+      throw new IllegalArgumentException(String.format(
+          "Section [%d] of the artifact, at payload offset [%d], is corrupt: its"
+          + " checksum is [0x%08X], but [0x%08X] was recorded",
+          index, (long) index * header.sectionSize(), checksum,
+          header.sectionChecksum(index)));
+    }
+  }
+
+  /**
+   * Returns the CRC32C checksum of a range of the buffer.  Direct buffers are
+   * copied a little at a time to be hashed.
+   * @param buffer Buffer whose bytes are hashed.
+   * @param offset Index of the first byte to hash, relative to the position of
+   *   the buffer.
+   * @param length Number of bytes to hash.
+   * @return Checksum of the bytes.
+   */
+  private static int checksumOf(
+      final ByteBuffer buffer,
+      final int offset,
+      final int length) {
+    if (buffer.hasArray()) {
+      return CRC32C.hashBytes(buffer.array(),
+          buffer.arrayOffset() + buffer.position() + offset, length).asInt();
+    }
+
+    final Hasher hasher = CRC32C.newHasher();
+    final ByteBuffer bytes = buffer.duplicate();
+    bytes.position(buffer.position() + offset);
+    final byte[] chunk = new byte[Math.min(COPY_SIZE, length)];
+    for (int remaining = length; remaining > 0; remaining -= chunk.length) {
+      final int chunkLength = Math.min(chunk.length, remaining);
+      bytes.get(chunk, 0, chunkLength);
+      hasher.putBytes(chunk, 0, chunkLength);
+    }
+    return hasher.hash().asInt();
+  }
+
+  /**
+   * Writes a string as its number of UTF-8 bytes, followed by those bytes.
+   * @param writer Writes the string.
+   * @param value String to write.
+   * @throws IOException When the string cannot be written.
+   */
+  private static void writeString(
+      final BinaryWriter writer,
+      final String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writer.writeVarInt(bytes.length).writeBytes(bytes);
+  }
+
+  /**
+   * Reads a string written by {@link #writeString}.
+   * @param reader Reads the string.
+   * @return String that was read.
+   * @throws IOException When the string cannot be read.
+   */
+  private static String readString(final BinaryReader reader) throws IOException {
+    final byte[] bytes = new byte[reader.readVarInt()];
+    reader.readBytes(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Fills the array from the stream, as
+   * {@link #readFully(InputStream, byte[], int, long)} does.
+   * @param stream Stream to read.
+   * @param bytes Array to fill.
+   * @param artifactLength Number of bytes the artifact is expected to have, for
+   *   reporting truncation.
+   * @throws IOException When the stream cannot be read.
+   */
+  private static void readFully(
+      final InputStream stream,
+      final byte[] bytes,
+      final long artifactLength) throws IOException {
+    readFully(stream, bytes, bytes.length, artifactLength);
+  }
+
+  /**
+   * Reads the number of bytes from the stream into the array, and reports
+   * truncated streams as corrupt artifacts.
+   * @param stream Stream to read.
+   * @param bytes Receives the bytes.
+   * @param length Number of bytes to read.
+   * @param artifactLength Number of bytes the artifact is expected to have, for
+   *   reporting truncation.
+   * @throws IOException When the stream cannot be read.
+   */
+  private static void readFully(
+      final InputStream stream,
+      final byte[] bytes,
+      final int length,
+      final long artifactLength) throws IOException {
+    try {
+      ByteStreams.readFully(stream, bytes, 0, length);
+    }
+    catch (final EOFException exception) {
+      throw new IllegalArgumentException(String.format(
+          "The artifact is truncated: its header describes [%d] bytes, but the"
+          + " stream ended first", artifactLength), exception);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reads primitives and variable-length integers from a channel, through a
+ * buffer, or from a buffer alone.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+class BinaryReader {
+
+  /**
+   * Lower seven bits of a byte, which hold the payload of a variable-length
+   * integer.
+   */
+  private static final int PAYLOAD_MASK = 0x7F;
+
+  /**
+   * Upper bit of a byte, which marks that more bytes of a variable-length
+   * integer follow it.
+   */
+  private static final int CONTINUATION_BIT = 0x80;
+
+  /**
+   * Number of payload bits in each byte of a variable-length integer.
+   */
+  private static final int PAYLOAD_SIZE = 7;
+
+  /**
+   * Message of the exceptions thrown when more bytes are required than remain.
+   */
+  private static final String EXHAUSTED =
+    "Expected %d more bytes, but the %s is exhausted";
+
+  /**
+   * Number of bits in a long.
+   */
+  private static final int LONG_SIZE = 64;
+
+  /**
+   * Channel to read bytes from, or null if every byte is in {@link #buffer}.
+   */
+  private final ReadableByteChannel channel;
+
+  /**
+   * Bytes that have been read from {@link #channel} but not consumed.
+   */
+  private final ByteBuffer buffer;
+
+  /**
+   * Constructs a new {@link BinaryReader}.
+   * @param channel Channel to read bytes from.
+   */
+  BinaryReader(final ReadableByteChannel channel) {
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(BinaryWriter.BUFFER_SIZE);
+    buffer.flip();
+  }
+
+  /**
+   * Constructs a new {@link BinaryReader} that reads the remaining bytes of
+   * the buffer, and nothing more.
+   * @param buffer Bytes to read, between its position and limit.
+   */
+  BinaryReader(final ByteBuffer buffer) {
+    this.channel = null;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Reads an unsigned byte.
+   * @return Unsigned byte that was read.
+   * @throws IOException When the channel cannot be read or is exhausted.
+   */
+  int readByte() throws IOException {
+    require(1);
+    return buffer.get() & 0xFF;
+  }
+
+  /**
+   * Reads a fixed-length, big-endian char.
+   * @return Char that was read.
+   * @throws IOException When the channel cannot be read or is exhausted.
+   */
+  char readChar() throws IOException {
+    require(Character.BYTES);
+    return buffer.getChar();
+  }
+
+  /**
+   * Reads a fixed-length, big-endian int.
+   * @return Int that was read.
+   * @throws IOException When the channel cannot be read or is exhausted.
+   */
+  int readInt() throws IOException {
+    require(Integer.BYTES);
+    return buffer.getInt();
+  }
+
+  /**
+   * Reads a fixed-length, big-endian long.
+   * @return Long that was read.
+   * @throws IOException When the channel cannot be read or is exhausted.
+   */
+  long readLong() throws IOException {
+    require(Long.BYTES);
+    return buffer.getLong();
+  }
+
+  /**
+   * Reads a variable-length int.
+   * @return Int that was read.
+   * @throws IOException When the channel cannot be read or is exhausted.
+   */
+  int readVarInt() throws IOException {
+    final long value = readVarLong();
+    if (value > Integer.MAX_VALUE) {
+      throw new IOException("Variable-length int is out of range: " + value);
+    }
+    return (int) value;
+  }
+
+  /**
+   * Reads a variable-length long.
+   * @return Long that was read.
+   * @throws IOException When the channel cannot be read or is exhausted.
+   */
+  long readVarLong() throws IOException {
+    long value = 0L;
+    for (int shift = 0; shift < LONG_SIZE; shift += PAYLOAD_SIZE) {
+      final int b = readByte();
+      value |= (long) (b & PAYLOAD_MASK) << shift;
+      if (0 == (b & CONTINUATION_BIT)) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable-length integer");
+  }
+
+  /**
+   * Reads enough bytes to fill the array.
+   * @param bytes Array to fill with bytes.
+   * @throws IOException When the channel cannot be read or is exhausted.
+   */
+  void readBytes(final byte[] bytes) throws IOException {
+    int offset = 0;
+    while (offset < bytes.length) {
+      require(1);
+      final int length = Math.min(buffer.remaining(), bytes.length - offset);
+      buffer.get(bytes, offset, length);
+      offset += length;
+    }
+  }
+
+  /**
+   * Ensures the buffer holds at least the number of bytes, reading more from
+   * the channel if it does not.
+   * @param length Number of bytes that will be consumed.
+   * @throws IOException When the channel cannot be read or is exhausted.
+   */
+  private void require(final int length) throws IOException {
+    if (buffer.remaining() >= length) {
+      return;
+    }
+    if (null == channel) {
+      throw new EOFException(
+          String.format(EXHAUSTED, length, "buffer"));
+    }
+    buffer.compact();
+    try {
+      while (buffer.position() < length) {
+        if (channel.read(buffer) < 0) {
+          throw new EOFException(
+              String.format(EXHAUSTED, length, "channel"));
+        }
+      }
+    }
+    finally {
+      buffer.flip();
+    }
+  }
+}
@@ -0,0 +1,975 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
+import it.unimi.dsi.fastutil.chars.Char2ObjectRBTreeMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+
+import com.google.common.io.ByteStreams;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.DawgStatistics;
+import com.github.liblevenshtein.collection.dictionary.FinalDawgNode;
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Transducer;
+import com.github.liblevenshtein.transducer.TransducerAttributes;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+/**
+ * <p>
+ * (De)Serializer for a compact, binary format that stores the dictionary as a
+ * flat table of nodes, addressed by id.  Unlike {@link ProtobufSerializer},
+ * neither the writer nor the reader builds an intermediate representation of
+ * each node, or recurses through the dictionary, and there is no limit on the
+ * size of the dictionary other than the number of nodes fitting in an int.
+ * Shared nodes are written once, and remain shared once they are read.
+ * </p>
+ *
+ * <p>
+ * Each stream begins with a header consisting of the magic number,
+ * {@code "LLVB"}, the format version, and the kind of object that follows.
+ * Transducers are followed by their algorithm, whether they include candidate
+ * distances, and their default maximum distance, then their dictionaries.
+ * Dictionaries consist of their numbers of terms, nodes, and edges, the number
+ * of nodes per block, and their {@link DawgStatistics}, followed by the blocks
+ * of the node table, a directory of the offsets of the blocks, and a footer
+ * holding the offset of the directory.  Offsets are counted from the first
+ * byte of the stream, so the directory lets {@link LazyDawg} decode blocks on
+ * demand.
+ * </p>
+ *
+ * <p>
+ * Nodes are numbered in post-order, such that every node is numbered after
+ * those it has edges to, and the root is the last node.  Each node in the table
+ * consists of its number of edges and whether it is final, the least and
+ * greatest numbers of transitions from it to a final node, and the label and
+ * target of each edge.  Labels are sorted and written as the differences from
+ * their previous labels, and targets are written as the differences between
+ * the ids of their source nodes and themselves.  All these numbers are written
+ * as variable-length integers, so nearby labels and targets take few bytes.
+ * </p>
+ *
+ * <p>
+ * Alternatively, the dictionary may be written in a {@link Layout#FIXED_WIDTH}
+ * layout, which takes more space but may be read in-place from a
+ * {@link ByteBuffer}, by {@link BufferDawg}.  Or, it may be written in a
+ * {@link Layout#COMPRESSED} layout, which compresses each block with
+ * {@link Lz4Codec}, a pure-Java implementation of the LZ4 block format.  Since
+ * the blocks are compressed independently, they may still be decoded
+ * concurrently or on demand.
+ * </p>
+ *
+ * <p>
+ * Since the blocks of the node table may be decoded independently of one
+ * another, dictionaries in the {@link Layout#BLOCKED} and
+ * {@link Layout#COMPRESSED} layouts are decoded
+ * concurrently when an {@link #executor} is given: each block is decoded on the
+ * executor, and the edges of its nodes are then linked to their targets by id.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Slf4j
+@ToString(callSuper = false)
+@SuppressWarnings({"unchecked", "checkstyle:classdataabstractioncoupling"})
+@EqualsAndHashCode(callSuper = false, exclude = "executor")
+public class BinarySerializer extends AbstractSerializer {
+
+  /**
+   * Identifies streams of this format: {@code "LLVB"}, in ASCII.
+   */
+  public static final int MAGIC_NUMBER = 0x4C4C5642;
+
+  /**
+   * Default number of nodes per block of the node table.
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 64;
+
+  /**
+   * Default number of nodes per block of the node table, in the
+   * {@link Layout#COMPRESSED} layout.  Larger blocks give the compressor more
+   * to work with, at the cost of decoding more of the dictionary at a time.
+   */
+  public static final int DEFAULT_COMPRESSED_BLOCK_SIZE = 1024;
+
+  /**
+   * Identifies a serialized dictionary.
+   */
+  static final int DICTIONARY_TYPE = 1;
+
+  /**
+   * Identifies a serialized transducer.
+   */
+  static final int TRANSDUCER_TYPE = 2;
+
+  /**
+   * Message logged before reading a dictionary.
+   */
+  private static final String READING_DICTIONARY =
+    "Reading a dictionary of [{}] terms, [{}] nodes, and [{}] edges";
+
+  /**
+   * Message of the exceptions thrown for edges to invalid nodes.
+   */
+  private static final String INVALID_TARGET =
+    "Node [%d] has an edge to invalid node [%d]";
+
+  /**
+   * Layout of the dictionaries written by this serializer.
+   */
+  private final Layout layout;
+
+  /**
+   * Number of nodes per block of the node table.  Smaller blocks let
+   * {@link LazyDawg} decode less of the dictionary at a time, at the cost of a
+   * larger directory.
+   */
+  private final int blockSize;
+
+  /**
+   * Decodes the blocks of dictionaries concurrently, or null to decode them on
+   * the calling thread.  Streams are read into memory before being decoded
+   * concurrently, since the directory of their blocks follows the blocks.
+   */
+  @Setter
+  private Executor executor = null;
+
+  /**
+   * Constructs a new {@link BinarySerializer} that writes the
+   * {@link Layout#BLOCKED} layout, with {@link #DEFAULT_BLOCK_SIZE} nodes per
+   * block.
+   */
+  public BinarySerializer() {
+    this(Layout.BLOCKED, DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Constructs a new {@link BinarySerializer} that writes the
+   * {@link Layout#BLOCKED} layout.
+   * @param blockSize Number of nodes per block of the node table.
+   */
+  public BinarySerializer(final int blockSize) {
+    this(Layout.BLOCKED, blockSize);
+  }
+
+  /**
+   * Constructs a new {@link BinarySerializer} that writes the layout, with
+   * {@link #DEFAULT_BLOCK_SIZE} nodes per block if it is blocked, or
+   * {@link #DEFAULT_COMPRESSED_BLOCK_SIZE} if it is compressed.
+   * @param layout Layout of the dictionaries written by this serializer.
+   */
+  public BinarySerializer(@NonNull final Layout layout) {
+    this(layout, Layout.COMPRESSED == layout
+        ? DEFAULT_COMPRESSED_BLOCK_SIZE
+        : DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Constructs a new {@link BinarySerializer}.
+   * @param layout Layout of the dictionaries written by this serializer.
+   * @param blockSize Number of nodes per block of the node table, if it is
+   *   blocked.
+   */
+  public BinarySerializer(
+      @NonNull final Layout layout,
+      final int blockSize) {
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException(
+          "blockSize must be positive, but was " + blockSize);
+    }
+    this.layout = layout;
+    this.blockSize = blockSize;
+  }
+
+  // Serializers
+  // ---------------------------------------------------------------------------
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void serialize(
+      @NonNull final Serializable object,
+      @NonNull final OutputStream stream) throws Exception {
+
+    log.info("Serializing an instance of [{}] to a stream", object.getClass());
+
+    final BinaryWriter writer = new BinaryWriter(Channels.newChannel(stream));
+
+    if (object instanceof Dawg) {
+      writeHeader(writer, DICTIONARY_TYPE);
+      writeDictionary(writer, (Dawg) object);
+      writer.flush();
+      return;
+    }
+
+    if (object instanceof Transducer) {
+      writeHeader(writer, TRANSDUCER_TYPE);
+      writeTransducer(writer, (Transducer<DawgNode, Object>) object);
+      writer.flush();
+      return;
+    }
+
+    throw unknownType(object.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public byte[] serialize(@NonNull final Serializable object) throws Exception {
+    log.info("Serializing an instance of [{}] to a byte array", object.getClass());
+    try (final ByteArrayOutputStream stream = new ByteArrayOutputStream()) {
+      serialize(object, stream);
+      return stream.toByteArray();
+    }
+  }
+
+  // Deserializers
+  // ---------------------------------------------------------------------------
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <Type extends Serializable> Type deserialize(
+      @NonNull final Class<Type> type,
+      @NonNull final InputStream stream) throws Exception {
+
+    log.info("Deserializing an instance of [{}] from a stream", type);
+
+    if (null != executor) {
+      return deserialize(type, ByteBuffer.wrap(ByteStreams.toByteArray(stream)));
+    }
+
+    return read(type, new BinaryReader(Channels.newChannel(stream)), null);
+  }
+
+  /**
+   * Deserializes an object from its bytes.  Dictionaries in the
+   * {@link Layout#FIXED_WIDTH} layout are read in-place, as by
+   * {@link #deserialize(Class, ByteBuffer)}, so the bytes must not be modified
+   * while they are in use.
+   * @param type Class of the deserialized object.
+   * @param bytes Bytes of the serialized object.
+   * @param <Type> Type of the deserialized object.
+   * @return Deserialized object from its bytes.
+   * @throws Exception When the object cannot be deserialized.
+   */
+  @Override
+  public <Type extends Serializable> Type deserialize(
+      @NonNull final Class<Type> type,
+      @NonNull final byte[] bytes) throws Exception {
+    log.info("Deserializing an instance of [{}] from a byte array", type);
+    return deserialize(type, ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Deserializes an object from the remaining bytes of a buffer.  Dictionaries
+   * in the {@link Layout#FIXED_WIDTH} layout are read in-place, without being
+   * copied, as a {@link BufferDawg}, so long as the requested type admits it
+   * (e.g. {@link Dawg} or {@link Transducer}, but not {@link SortedDawg}).
+   * Those in other layouts are decoded from the buffer.
+   * @param type Class of the deserialized object.
+   * @param buffer Bytes of the serialized object, between its position and
+   *   limit.
+   * @param <Type> Type of the deserialized object.
+   * @return Deserialized object from the buffer.
+   * @throws Exception When the object cannot be deserialized.
+   */
+  @Override
+  public <Type extends Serializable> Type deserialize(
+      @NonNull final Class<Type> type,
+      @NonNull final ByteBuffer buffer) throws Exception {
+
+    log.info("Deserializing an instance of [{}] from a buffer", type);
+
+    final ByteBuffer view = buffer.slice();
+    return read(type, new BinaryReader(view), view);
+  }
+
+  /**
+   * Reads an object of the type, which is dispatched on the same way for every
+   * source: {@link Transducer}s, and dictionaries of any type that a
+   * {@link SortedDawg} is, or that a {@link BufferDawg} is when there is a
+   * buffer to read it from.
+   * @param type Class of the deserialized object.
+   * @param reader Reads the object, beginning with its header.
+   * @param buffer Bytes of the object, beginning with its header, or null if
+   *   it is read from a stream.
+   * @param <Type> Type of the deserialized object.
+   * @return Deserialized object.
+   * @throws IOException When the object cannot be read.
+   */
+  private <Type extends Serializable> Type read(
+      final Class<Type> type,
+      final BinaryReader reader,
+      final ByteBuffer buffer) throws IOException {
+
+    if (Transducer.class.isAssignableFrom(type)) {
+      final int version = readHeader(reader, TRANSDUCER_TYPE);
+      return (Type) readTransducer(reader, version, buffer);
+    }
+
+    if (Dawg.class.isAssignableFrom(type)) {
+      final int version = readHeader(reader, DICTIONARY_TYPE);
+      if (null != buffer
+          && Layout.FIXED_WIDTH == Layout.of(version)
+          && type.isAssignableFrom(BufferDawg.class)) {
+        return (Type) new BufferDawg(buffer);
+      }
+      if (type.isAssignableFrom(SortedDawg.class)) {
+        return (Type) readDictionary(reader, version, buffer);
+      }
+    }
+
+    throw unknownType(type);
+  }
+
+  // Writers
+  // ---------------------------------------------------------------------------
+
+  /**
+   * Writes the header identifying the format and the kind of object that
+   * follows it.
+   * @param writer Writes the header.
+   * @param type Kind of object that follows the header.
+   * @throws IOException When the header cannot be written.
+   */
+  private void writeHeader(
+      final BinaryWriter writer,
+      final int type) throws IOException {
+    writer.writeInt(MAGIC_NUMBER)
+      .writeByte(layout.version())
+      .writeByte(type);
+  }
+
+  /**
+   * Writes the transducer, followed by its dictionary.
+   * @param writer Writes the transducer.
+   * @param transducer Transducer to write.
+   * @throws IOException When the transducer cannot be written.
+   */
+  private void writeTransducer(
+      final BinaryWriter writer,
+      final Transducer<DawgNode, Object> transducer) throws IOException {
+    final TransducerAttributes<DawgNode, Object> attributes =
+      transducer.attributes();
+    writer.writeByte(codeOf(attributes.algorithm()))
+      .writeByte(attributes.includeDistance() ? 1 : 0)
+      .writeInt(attributes.maxDistance());
+    writeDictionary(writer, attributes.dictionary());
+  }
+
+  /**
+   * Writes the dictionary as a table of nodes, addressed by id, in the layout
+   * of this serializer.
+   * @param writer Writes the dictionary.
+   * @param dawg Dictionary to write.
+   * @throws IOException When the dictionary cannot be written.
+   */
+  private void writeDictionary(
+      final BinaryWriter writer,
+      final Dawg dawg) throws IOException {
+
+    final Object2IntMap<DawgNode> ids = idsOf();
+    final List<DawgNode> nodes = nodesOf(dawg.root(), ids);
+
+    long edgeCount = 0L;
+    for (final DawgNode node : nodes) {
+      edgeCount += node.edges().size();
+    }
+
+    switch (layout) {
+      case BLOCKED:
+      case COMPRESSED:
+        writeBlockedDictionary(writer, dawg.size(), nodes, edgeCount, ids,
+            dawg.statistics());
+        break;
+      case FIXED_WIDTH:
+        writeFixedWidthDictionary(writer, dawg.size(), nodes, edgeCount, ids,
+            dawg.statistics());
+        break;
+      default:
+        throw new IllegalStateException("Unknown layout: " + layout);
+    }
+  }
+
+  /**
+   * Writes the dictionary as blocks of variable-length nodes, followed by the
+   * directory of the blocks.
+   * @param writer Writes the dictionary.
+   * @param size Number of terms in the dictionary.
+   * @param nodes Nodes of the dictionary, indexed by id.
+   * @param edgeCount Number of edges in the dictionary.
+   * @param ids Ids of the nodes.
+   * @param statistics Statistics of the dictionary.
+   * @throws IOException When the dictionary cannot be written.
+   */
+  private void writeBlockedDictionary(
+      final BinaryWriter writer,
+      final int size,
+      final List<DawgNode> nodes,
+      final long edgeCount,
+      final Object2IntMap<DawgNode> ids,
+      final DawgStatistics statistics) throws IOException {
+
+    writer.writeVarInt(size)
+      .writeVarInt(nodes.size())
+      .writeVarLong(edgeCount)
+      .writeVarInt(blockSize);
+
+    writer.writeVarInt(statistics.depthCount());
+    for (int depth = 0; depth < statistics.depthCount(); depth += 1) {
+      writer.writeVarLong(statistics.prefixCount(depth))
+        .writeVarLong(statistics.termCount(depth));
+    }
+
+    final long[] blockOffsets = new long[blockCount(nodes.size(), blockSize)];
+    for (int index = 0; index < blockOffsets.length; index += 1) {
+      blockOffsets[index] = writer.position();
+      final int firstId = index * blockSize;
+      final int lastId = Math.min(firstId + blockSize, nodes.size());
+
+      if (Layout.COMPRESSED != layout) {
+        for (int id = firstId; id < lastId; id += 1) {
+          writeNode(writer, id, nodes.get(id), ids);
+        }
+        continue;
+      }
+
+      final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      final BinaryWriter blockWriter = new BinaryWriter(Channels.newChannel(stream));
+      for (int id = firstId; id < lastId; id += 1) {
+        writeNode(blockWriter, id, nodes.get(id), ids);
+      }
+      blockWriter.flush();
+
+      final byte[] block = stream.toByteArray();
+      final byte[] compressedBlock = Lz4Codec.compress(block);
+      writer.writeVarInt(block.length)
+        .writeVarInt(compressedBlock.length)
+        .writeBytes(compressedBlock);
+    }
+
+    final long directoryOffset = writer.position();
+    for (final long blockOffset : blockOffsets) {
+      writer.writeLong(blockOffset);
+    }
+    writer.writeLong(directoryOffset);
+  }
+
+  /**
+   * Writes the dictionary as fixed-width tables of nodes and edges, followed by
+   * its statistics, which may be read in-place by {@link BufferDawg}.
+   * @param writer Writes the dictionary.
+   * @param size Number of terms in the dictionary.
+   * @param nodes Nodes of the dictionary, indexed by id.
+   * @param edgeCount Number of edges in the dictionary.
+   * @param ids Ids of the nodes.
+   * @param statistics Statistics of the dictionary.
+   * @throws IOException When the dictionary cannot be written.
+   */
+  private void writeFixedWidthDictionary(
+      final BinaryWriter writer,
+      final int size,
+      final List<DawgNode> nodes,
+      final long edgeCount,
+      final Object2IntMap<DawgNode> ids,
+      final DawgStatistics statistics) throws IOException {
+
+    if (BufferDawg.length(nodes.size(), edgeCount)
+        + BufferDawg.statisticsLength(statistics.depthCount()) > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format(
+          "Dictionaries of [%d] nodes and [%d] edges are too large for the"
+          + " fixed-width layout", nodes.size(), edgeCount));
+    }
+
+    writer.writeInt(size)
+      .writeInt(nodes.size())
+      .writeInt((int) edgeCount);
+
+    int edgeIndex = 0;
+    for (final DawgNode node : nodes) {
+      writer.writeInt(BufferDawg.edgeIndexOf(edgeIndex, node.isFinal()));
+      edgeIndex += node.edges().size();
+    }
+    writer.writeInt(edgeIndex);
+
+    for (final DawgNode node : nodes) {
+      writer.writeInt(node.minDepth());
+    }
+
+    for (final DawgNode node : nodes) {
+      writer.writeInt(node.maxDepth());
+    }
+
+    for (final DawgNode node : nodes) {
+      for (final char label : sortedLabels(node)) {
+        writer.writeChar(label);
+      }
+    }
+
+    for (final DawgNode node : nodes) {
+      final Char2ObjectMap<DawgNode> edges = node.edges();
+      for (final char label : sortedLabels(node)) {
+        writer.writeInt(ids.getInt(edges.get(label)));
+      }
+    }
+
+    writer.writeInt(statistics.depthCount());
+    for (int depth = 0; depth < statistics.depthCount(); depth += 1) {
+      writer.writeLong(statistics.prefixCount(depth));
+    }
+    for (int depth = 0; depth < statistics.depthCount(); depth += 1) {
+      writer.writeLong(statistics.termCount(depth));
+    }
+  }
+
+  /**
+   * Writes a node of the node table.
+   * @param writer Writes the node.
+   * @param id Id of the node.
+   * @param node Node to write.
+   * @param ids Ids of the nodes.
+   * @throws IOException When the node cannot be written.
+   */
+  private void writeNode(
+      final BinaryWriter writer,
+      final int id,
+      final DawgNode node,
+      final Object2IntMap<DawgNode> ids) throws IOException {
+    final Char2ObjectMap<DawgNode> edges = node.edges();
+    final char[] labels = sortedLabels(node);
+    writer.writeVarInt(labels.length << 1 | (node.isFinal() ? 1 : 0))
+      .writeVarInt(node.minDepth())
+      .writeVarInt(node.maxDepth());
+    char prevLabel = 0;
+    for (final char label : labels) {
+      writer.writeVarInt(label - prevLabel)
+        .writeVarInt(id - ids.getInt(edges.get(label)));
+      prevLabel = label;
+    }
+  }
+
+  // Readers
+  // ---------------------------------------------------------------------------
+
+  /**
+   * Reads the header and validates that it identifies this format, a
+   * supported version, and the expected kind of object.
+   * @param reader Reads the header.
+   * @param type Expected kind of object following the header.
+   * @return Version of the format that follows the header.
+   * @throws IOException When the header cannot be read.
+   */
+  static int readHeader(
+      final BinaryReader reader,
+      final int type) throws IOException {
+    final int magicNumber = reader.readInt();
+    if (MAGIC_NUMBER != magicNumber) {
+      throw new IllegalArgumentException(String.format(
+          "Expected magic number [0x%08X], but found [0x%08X]",
+          MAGIC_NUMBER, magicNumber));
+    }
+
+    final int version = reader.readByte();
+    if (null == Layout.of(version)) {
+      throw new IllegalArgumentException(String.format(
+          "Unsupported format version [%d]", version));
+    }
+
+    final int actualType = reader.readByte();
+    if (type != actualType) {
+      throw new IllegalArgumentException(String.format(
+          "Expected object type [%d], but found [%d]", type, actualType));
+    }
+
+    return version;
+  }
+
+  /**
+   * Reads a transducer, followed by its dictionary.
+   * @param reader Reads the transducer.
+   * @param version Version of the format.
+   * @param buffer Buffer the reader consumes, from which a dictionary in the
+   *   fixed-width layout is read in-place, or null if the reader consumes a
+   *   stream.
+   * @return Transducer that was read.
+   * @throws IOException When the transducer cannot be read.
+   */
+  private Transducer<DawgNode, Object> readTransducer(
+      final BinaryReader reader,
+      final int version,
+      final ByteBuffer buffer) throws IOException {
+    final Algorithm algorithm = algorithmOf(reader.readByte());
+    final boolean includeDistance = 0 != reader.readByte();
+    final int maxDistance = reader.readInt();
+    final Dawg dictionary =
+      null != buffer && Layout.FIXED_WIDTH == Layout.of(version)
+        ? new BufferDawg(buffer)
+        : readDictionary(reader, version, buffer);
+    return (Transducer<DawgNode, Object>)
+      new TransducerBuilder()
+        .dictionary(dictionary)
+        .algorithm(algorithm)
+        .defaultMaxDistance(maxDistance)
+        .includeDistance(includeDistance)
+        .build();
+  }
+
+  /**
+   * Reads a dictionary from its table of nodes.
+   * @param reader Reads the dictionary.
+   * @param version Version of the format.
+   * @param buffer Buffer the reader consumes, whose blocks may be decoded
+   *   concurrently, or null if the reader consumes a stream.
+   * @return Dictionary that was read.
+   * @throws IOException When the dictionary cannot be read.
+   */
+  private SortedDawg readDictionary(
+      final BinaryReader reader,
+      final int version,
+      final ByteBuffer buffer) throws IOException {
+    if (Layout.FIXED_WIDTH == Layout.of(version)) {
+      return readFixedWidthDictionary(reader);
+    }
+
+    final int size = reader.readVarInt();
+    final int nodeCount = reader.readVarInt();
+    final long edgeCount = reader.readVarLong();
+
+    if (0 == nodeCount) {
+      throw new IllegalArgumentException("Dictionaries must have a root node");
+    }
+
+    log.info(READING_DICTIONARY, size, nodeCount, edgeCount);
+
+    final int nodesPerBlock = reader.readVarInt();
+    if (nodesPerBlock <= 0) {
+      throw new IllegalArgumentException(
+          "Blocks must have a positive number of nodes, but had " + nodesPerBlock);
+    }
+
+    final DawgStatistics statistics = readStatistics(reader, nodeCount, 0L);
+    final DawgNode[] nodes = readBlockedNodes(reader, nodeCount, nodesPerBlock,
+        buffer, Layout.COMPRESSED == Layout.of(version));
+
+    // The nodes hold the depths that were read, so the dictionary need not
+    // walk them to recompute their depths or its statistics.
+    return new SortedDawg(size, nodes[nodeCount - 1], statistics);
+  }
+
+  /**
+   * Decodes a dictionary from its fixed-width tables of nodes and edges.
+   * @param reader Reads the dictionary.
+   * @return Dictionary that was read.
+   * @throws IOException When the dictionary cannot be read.
+   */
+  private SortedDawg readFixedWidthDictionary(
+      final BinaryReader reader) throws IOException {
+    final int size = reader.readInt();
+    final int nodeCount = reader.readInt();
+    final int edgeCount = reader.readInt();
+
+    if (nodeCount <= 0 || edgeCount < 0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid dictionary of [%d] nodes and [%d] edges", nodeCount, edgeCount));
+    }
+
+    log.info(READING_DICTIONARY, size, nodeCount, edgeCount);
+
+    final int[] edgeIndices = new int[1 + nodeCount];
+    for (int id = 0; id <= nodeCount; id += 1) {
+      edgeIndices[id] = reader.readInt();
+    }
+
+    final int[] minDepths = new int[nodeCount];
+    for (int id = 0; id < nodeCount; id += 1) {
+      minDepths[id] = reader.readInt();
+    }
+
+    final int[] maxDepths = new int[nodeCount];
+    for (int id = 0; id < nodeCount; id += 1) {
+      maxDepths[id] = reader.readInt();
+    }
+
+    final char[] labels = new char[edgeCount];
+    for (int edge = 0; edge < edgeCount; edge += 1) {
+      labels[edge] = reader.readChar();
+    }
+
+    final DawgNode[] nodes = new DawgNode[nodeCount];
+    int edge = 0;
+    for (int id = 0; id < nodeCount; id += 1) {
+      final Char2ObjectMap<DawgNode> edges = new Char2ObjectRBTreeMap<>();
+      final int end = BufferDawg.edgeIndex(edgeIndices[id + 1]);
+      for (; edge < end; edge += 1) {
+        final int target = reader.readInt();
+        if (target < 0 || target >= id) {
+          throw new IllegalArgumentException(String.format(INVALID_TARGET, id, target));
+        }
+        edges.put(labels[edge], nodes[target]);
+      }
+      nodes[id] = BufferDawg.isFinal(edgeIndices[id])
+        ? new FinalDawgNode(edges, minDepths[id], maxDepths[id])
+        : new DawgNode(edges, minDepths[id], maxDepths[id]);
+    }
+
+    final int depthCount = reader.readInt();
+    checkDepthCount(depthCount, nodeCount);
+    final long[] prefixCounts = new long[depthCount];
+    for (int depth = 0; depth < depthCount; depth += 1) {
+      prefixCounts[depth] = reader.readLong();
+    }
+    final long[] termCounts = new long[depthCount];
+    for (int depth = 0; depth < depthCount; depth += 1) {
+      termCounts[depth] = reader.readLong();
+    }
+
+    return new SortedDawg(size, nodes[nodeCount - 1],
+        new DawgStatistics(0L, prefixCounts, termCounts));
+  }
+
+  /**
+   * Reads the blocks of the node table, followed by their directory.
+   * @param reader Reads the nodes.
+   * @param nodeCount Number of nodes in the table.
+   * @param nodesPerBlock Number of nodes per block.
+   * @param buffer Buffer the reader consumes, whose blocks may be decoded
+   *   concurrently, or null if the reader consumes a stream.
+   * @param compressed Whether the blocks are compressed.
+   * @return Nodes of the table, indexed by id.
+   * @throws IOException When the nodes cannot be read.
+   */
+  private DawgNode[] readBlockedNodes(
+      final BinaryReader reader,
+      final int nodeCount,
+      final int nodesPerBlock,
+      final ByteBuffer buffer,
+      final boolean compressed) throws IOException {
+    if (null != executor && null != buffer) {
+      final DawgNode[] nodes = new ConcurrentBlockDecoder(executor, compressed)
+        .decode(buffer, nodeCount, nodesPerBlock);
+      if (null != nodes) {
+        return nodes;
+      }
+      log.info("The directory does not end the buffer, so its blocks will be"
+          + " decoded on the calling thread");
+    }
+
+    final DawgNode[] nodes = new DawgNode[nodeCount];
+    for (int firstId = 0; firstId < nodeCount; firstId += nodesPerBlock) {
+      final DawgBlock block = DawgBlock.read(reader, firstId,
+          Math.min(nodesPerBlock, nodeCount - firstId), compressed);
+      for (int id = firstId; id < firstId + block.nodeCount(); id += 1) {
+        final Char2ObjectMap<DawgNode> edges = new Char2ObjectRBTreeMap<>();
+        for (int edge = block.edgesBegin(id); edge < block.edgesEnd(id); edge += 1) {
+          edges.put(block.label(edge), nodes[block.target(edge)]);
+        }
+        nodes[id] = block.isFinal(id)
+          ? new FinalDawgNode(edges, block.minDepth(id), block.maxDepth(id))
+          : new DawgNode(edges, block.minDepth(id), block.maxDepth(id));
+      }
+    }
+
+    // The directory is only needed for random access, but is consumed so the
+    // stream is left at the end of the dictionary.
+    final int blockCount = blockCount(nodeCount, nodesPerBlock);
+    for (int i = 0; i <= blockCount; i += 1) {
+      reader.readLong();
+    }
+
+    return nodes;
+  }
+
+  // Utilities
+  // ---------------------------------------------------------------------------
+
+  /**
+   * Returns the labels of the outgoing edges of the node, in ascending order.
+   * @param node Node whose labels should be returned.
+   * @return Sorted labels of the node.
+   */
+  private char[] sortedLabels(final DawgNode node) {
+    final char[] labels = node.edges().keySet().toCharArray();
+    Arrays.sort(labels);
+    return labels;
+  }
+
+  /**
+   * Returns the number of blocks needed to hold the nodes.
+   * @param nodeCount Number of nodes in the table.
+   * @param nodesPerBlock Number of nodes per block.
+   * @return Number of blocks needed to hold the nodes.
+   */
+  static int blockCount(final int nodeCount, final int nodesPerBlock) {
+    return (int) (((long) nodeCount + nodesPerBlock - 1) / nodesPerBlock);
+  }
+
+  /**
+   * Reads the variable-length statistics of a dictionary in a blocked layout.
+   * @param reader Reads the statistics.
+   * @param nodeCount Number of nodes in the dictionary.
+   * @param version Version of the dictionary the statistics describe.
+   * @return Statistics that were read.
+   * @throws IOException When the statistics cannot be read.
+   */
+  static DawgStatistics readStatistics(
+      final BinaryReader reader,
+      final int nodeCount,
+      final long version) throws IOException {
+    final int depthCount = reader.readVarInt();
+    checkDepthCount(depthCount, nodeCount);
+    final long[] prefixCounts = new long[depthCount];
+    final long[] termCounts = new long[depthCount];
+    for (int depth = 0; depth < depthCount; depth += 1) {
+      prefixCounts[depth] = reader.readVarLong();
+      termCounts[depth] = reader.readVarLong();
+    }
+    return new DawgStatistics(version, prefixCounts, termCounts);
+  }
+
+  /**
+   * Validates the number of depths of the statistics of a dictionary, which
+   * cannot exceed its number of nodes since no path through it visits a node
+   * twice.
+   * @param depthCount Number of depths of the statistics.
+   * @param nodeCount Number of nodes in the dictionary.
+   */
+  static void checkDepthCount(final int depthCount, final int nodeCount) {
+    if (depthCount < 0 || depthCount > nodeCount) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid statistics of [%d] depths for a dictionary of [%d] nodes",
+          depthCount, nodeCount));
+    }
+  }
+
+  /**
+   * Returns the code of the Levenshtein algorithm.  The codes match those of
+   * the protobuf format.
+   * @param algorithm Levenshtein algorithm whose code is to be returned.
+   * @return Code of the Levenshtein algorithm.
+   */
+  protected int codeOf(final Algorithm algorithm) {
+    switch (algorithm) {
+      case STANDARD:
+        return 0;
+      case TRANSPOSITION:
+        return 1;
+      case MERGE_AND_SPLIT:
+        return 2;
+      default:
+        throw unknownAlgorithm(algorithm);
+    }
+  }
+
+  /**
+   * Returns the Levenshtein algorithm of the code.
+   * @param code Code of the Levenshtein algorithm.
+   * @return Levenshtein algorithm of the code.
+   */
+  protected Algorithm algorithmOf(final int code) {
+    switch (code) {
+      case 0:
+        return Algorithm.STANDARD;
+      case 1:
+        return Algorithm.TRANSPOSITION;
+      case 2:
+        return Algorithm.MERGE_AND_SPLIT;
+      default:
+        throw unknownAlgorithm(code);
+    }
+  }
+
+  /**
+   * Returns an {@link IllegalArgumentException} for an unsupported class.
+   * @param type Subject of the exception.
+   * @return An {@link IllegalArgumentException} for an unsupported class.
+   */
+  private IllegalArgumentException unknownType(final Class<?> type) {
+    final String message = String.format("Unknown type [%s]", type);
+    return new IllegalArgumentException(message);
+  }
+
+  /**
+   * Returns an {@link IllegalArgumentException} for an unsupported algorithm.
+   * @param algorithm Subject of the exception.
+   * @param <AlgorithmType> Generic type of the unsupported algorithm.
+   * @return An {@link IllegalArgumentException} for an unsupported algorithm.
+   */
+  private <AlgorithmType> IllegalArgumentException unknownAlgorithm(
+      final AlgorithmType algorithm) {
+    final String message = String.format("Unknown Algorithm [%s]", algorithm);
+    return new IllegalArgumentException(message);
+  }
+
+  /**
+   * Layouts of the dictionaries written by {@link BinarySerializer}.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public enum Layout {
+
+    /**
+     * Blocks of variable-length nodes, followed by a directory of the blocks.
+     * This is the most compact layout, and may be read lazily by
+     * {@link LazyDawg}.
+     */
+    BLOCKED(1),
+
+    /**
+     * Fixed-width tables of nodes and edges, which may be read in-place from a
+     * {@link ByteBuffer} by {@link BufferDawg}.
+     */
+    FIXED_WIDTH(2),
+
+    /**
+     * The {@link #BLOCKED} layout, with each block compressed independently of
+     * the others by {@link Lz4Codec}.  This is the smallest layout, and may
+     * still be read lazily by {@link LazyDawg}.
+     */
+    COMPRESSED(3);
+
+    /**
+     * Version of the format, which identifies this layout in the header.
+     * @return Version of the format.
+     */
+    private final int version;
+
+    /**
+     * Returns the layout identified by the version.
+     * @param version Version of the format.
+     * @return Layout identified by the version, or null if there is none.
+     */
+    static Layout of(final int version) {
+      for (final Layout layout : values()) {
+        if (layout.version == version) {
+          return layout;
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Buffers primitives and variable-length integers for writing to a channel.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+class BinaryWriter {
+
+  /**
+   * Number of bytes to buffer before writing them to {@link #channel}.
+   */
+  static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Maximum number of bytes in a variable-length long.
+   */
+  private static final int MAX_VAR_LONG_SIZE = 10;
+
+  /**
+   * Lower seven bits of a byte, which hold the payload of a variable-length
+   * integer.
+   */
+  private static final int PAYLOAD_MASK = 0x7F;
+
+  /**
+   * Upper bit of a byte, which marks that more bytes of a variable-length
+   * integer follow it.
+   */
+  private static final int CONTINUATION_BIT = 0x80;
+
+  /**
+   * Number of payload bits in each byte of a variable-length integer.
+   */
+  private static final int PAYLOAD_SIZE = 7;
+
+  /**
+   * Channel to write bytes to.
+   */
+  private final WritableByteChannel channel;
+
+  /**
+   * Bytes that have not yet been written to {@link #channel}.
+   */
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+  /**
+   * Number of bytes that have been written to {@link #channel}.
+   */
+  private long flushedLength = 0L;
+
+  /**
+   * Constructs a new {@link BinaryWriter}.
+   * @param channel Channel to write bytes to.
+   */
+  BinaryWriter(final WritableByteChannel channel) {
+    this.channel = channel;
+  }
+
+  /**
+   * Writes a byte.
+   * @param value Byte to write.
+   * @return This {@link BinaryWriter}, for fluency.
+   * @throws IOException When the channel cannot be written.
+   */
+  BinaryWriter writeByte(final int value) throws IOException {
+    reserve(1);
+    buffer.put((byte) value);
+    return this;
+  }
+
+  /**
+   * Writes a fixed-length, big-endian char.
+   * @param value Char to write.
+   * @return This {@link BinaryWriter}, for fluency.
+   * @throws IOException When the channel cannot be written.
+   */
+  BinaryWriter writeChar(final char value) throws IOException {
+    reserve(Character.BYTES);
+    buffer.putChar(value);
+    return this;
+  }
+
+  /**
+   * Writes a fixed-length, big-endian int.
+   * @param value Int to write.
+   * @return This {@link BinaryWriter}, for fluency.
+   * @throws IOException When the channel cannot be written.
+   */
+  BinaryWriter writeInt(final int value) throws IOException {
+    reserve(Integer.BYTES);
+    buffer.putInt(value);
+    return this;
+  }
+
+  /**
+   * Writes a fixed-length, big-endian long.
+   * @param value Long to write.
+   * @return This {@link BinaryWriter}, for fluency.
+   * @throws IOException When the channel cannot be written.
+   */
+  BinaryWriter writeLong(final long value) throws IOException {
+    reserve(Long.BYTES);
+    buffer.putLong(value);
+    return this;
+  }
+
+  /**
+   * Writes a non-negative int as a variable-length integer, in which smaller
+   * values take fewer bytes.
+   * @param value Non-negative int to write.
+   * @return This {@link BinaryWriter}, for fluency.
+   * @throws IOException When the channel cannot be written.
+   */
+  BinaryWriter writeVarInt(final int value) throws IOException {
+    return writeVarLong(value);
+  }
+
+  /**
+   * Writes a non-negative long as a variable-length integer, in which smaller
+   * values take fewer bytes.
+   * @param value Non-negative long to write.
+   * @return This {@link BinaryWriter}, for fluency.
+   * @throws IOException When the channel cannot be written.
+   */
+  BinaryWriter writeVarLong(final long value) throws IOException {
+    if (value < 0L) {
+      throw new IllegalArgumentException(
+          "Variable-length integers must be non-negative, but was " + value);
+    }
+    reserve(MAX_VAR_LONG_SIZE);
+    long remaining = value;
+    while ((remaining & ~PAYLOAD_MASK) != 0L) {
+      buffer.put((byte) (remaining & PAYLOAD_MASK | CONTINUATION_BIT));
+      remaining >>>= PAYLOAD_SIZE;
+    }
+    buffer.put((byte) remaining);
+    return this;
+  }
+
+  /**
+   * Writes an array of bytes.
+   * @param bytes Bytes to write.
+   * @return This {@link BinaryWriter}, for fluency.
+   * @throws IOException When the channel cannot be written.
+   */
+  BinaryWriter writeBytes(final byte[] bytes) throws IOException {
+    int offset = 0;
+    while (offset < bytes.length) {
+      if (!buffer.hasRemaining()) {
+        flush();
+      }
+      final int length = Math.min(buffer.remaining(), bytes.length - offset);
+      buffer.put(bytes, offset, length);
+      offset += length;
+    }
+    return this;
+  }
+
+  /**
+   * Returns the number of bytes written so far, including those still
+   * buffered.  This is the offset of the next byte from the first one.
+   * @return Number of bytes written so far.
+   */
+  long position() {
+    return flushedLength + buffer.position();
+  }
+
+  /**
+   * Writes all the buffered bytes to the channel.
+   * @throws IOException When the channel cannot be written.
+   */
+  void flush() throws IOException {
+    flushedLength += buffer.position();
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Ensures the buffer has room for the number of bytes, flushing it if it
+   * does not.
+   * @param length Number of bytes that will be buffered.
+   * @throws IOException When the channel cannot be written.
+   */
+  private void reserve(final int length) throws IOException {
+    if (buffer.remaining() < length) {
+      flush();
+    }
+  }
+}
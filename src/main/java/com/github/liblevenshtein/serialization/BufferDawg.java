@@ -0,0 +1,408 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.NoSuchElementException;
+
+import it.unimi.dsi.fastutil.chars.AbstractCharIterator;
+import it.unimi.dsi.fastutil.chars.CharIterator;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.DawgStatistics;
+
+/**
+ * <p>
+ * Read-only dictionary that reads its nodes and edges in-place from a buffer
+ * holding the fixed-width layout of {@link BinarySerializer}.  Nothing is
+ * copied or decoded up front, so wrapping a buffer is essentially free, and
+ * the buffer may be a slice of a larger heap, direct, or memory-mapped buffer.
+ * The buffer must not be modified while the dictionary is in use.
+ * </p>
+ *
+ * <p>
+ * The layout consists of the numbers of terms, nodes, and edges, followed by
+ * a table of nodes and a table of edges, each stored as parallel arrays of
+ * fixed-width, big-endian values.  Each node has the index of its first edge
+ * (whose most-significant bit marks whether the node is final), and the least
+ * and greatest numbers of transitions from it to a final node.  A final entry
+ * holds the total number of edges, such that the edges of each node end where
+ * those of the next one begin.  Each edge has its label and the id of its
+ * target, and the edges of each node are sorted by label, so transitions are
+ * binary searches.  The tables are followed by the {@link DawgStatistics} of
+ * the dictionary: the number of depths, then the numbers of prefixes and of
+ * terms at each depth.
+ * </p>
+ *
+ * <p>
+ * Like the nodes of {@link LazyDawg}, the nodes of this dictionary are
+ * flyweights that hold nothing but their ids.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+public class BufferDawg extends Dawg {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Number of bytes preceding the node table: the numbers of terms, nodes, and
+   * edges.
+   */
+  private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+  /**
+   * Marks the first-edge indices of final nodes.
+   */
+  private static final int FINAL_BIT = Integer.MIN_VALUE;
+
+  /**
+   * Message of the exceptions thrown when modifying the dictionary.
+   */
+  private static final String READ_ONLY = "BufferDawg is read-only";
+
+  /**
+   * Bytes of the dictionary, beginning with its header.
+   */
+  private final ByteBuffer buffer;
+
+  /**
+   * Number of nodes in the node table.
+   */
+  private final int nodeCount;
+
+  /**
+   * Number of edges in the edge table.
+   */
+  private final int edgeCount;
+
+  /**
+   * Offset of the indices of the first edges of the nodes.
+   */
+  private final int edgeIndicesOffset;
+
+  /**
+   * Offset of the least depths of the nodes.
+   */
+  private final int minDepthsOffset;
+
+  /**
+   * Offset of the greatest depths of the nodes.
+   */
+  private final int maxDepthsOffset;
+
+  /**
+   * Offset of the labels of the edges.
+   */
+  private final int labelsOffset;
+
+  /**
+   * Offset of the ids of the targets of the edges.
+   */
+  private final int targetsOffset;
+
+  /**
+   * Answers queries about the nodes from {@link #buffer}.
+   */
+  private final NodeTable table = new BufferTable();
+
+  /**
+   * Constructs a new {@link BufferDawg} over the remaining bytes of the buffer,
+   * without copying them.
+   * @param buffer Bytes of the dictionary, beginning with its header.
+   */
+  BufferDawg(final ByteBuffer buffer) {
+    super(null, 0);
+    this.buffer = buffer.slice().asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+    this.size = this.buffer.getInt(0);
+    this.nodeCount = this.buffer.getInt(Integer.BYTES);
+    this.edgeCount = this.buffer.getInt(2 * Integer.BYTES);
+
+    if (size < 0 || nodeCount <= 0 || edgeCount < 0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid dictionary of [%d] terms, [%d] nodes, and [%d] edges",
+          size, nodeCount, edgeCount));
+    }
+
+    final long length = length(nodeCount, edgeCount);
+    if (length > this.buffer.limit()) {
+      throw new IllegalArgumentException(String.format(
+          "Expected a dictionary of [%d] bytes, but only [%d] remain",
+          length, this.buffer.limit()));
+    }
+
+    this.edgeIndicesOffset = HEADER_SIZE;
+    this.minDepthsOffset = edgeIndicesOffset + Integer.BYTES * (1 + nodeCount);
+    this.maxDepthsOffset = minDepthsOffset + Integer.BYTES * nodeCount;
+    this.labelsOffset = maxDepthsOffset + Integer.BYTES * nodeCount;
+    this.targetsOffset = labelsOffset + Character.BYTES * edgeCount;
+    this.root = table.node(nodeCount - 1);
+
+    updateStatistics(readStatistics((int) length));
+  }
+
+  /**
+   * Reads the statistics of the dictionary, which follow its tables.
+   * @param offset Offset of the statistics.
+   * @return Statistics of the dictionary.
+   */
+  private DawgStatistics readStatistics(final int offset) {
+    if (offset + Integer.BYTES > buffer.limit()) {
+      throw new IllegalArgumentException(String.format(
+          "Expected the statistics of the dictionary at [%d], but only [%d] bytes remain",
+          offset, buffer.limit()));
+    }
+
+    final int depthCount = buffer.getInt(offset);
+    BinarySerializer.checkDepthCount(depthCount, nodeCount);
+
+    final long length = offset + statisticsLength(depthCount);
+    if (length > buffer.limit()) {
+      throw new IllegalArgumentException(String.format(
+          "Expected a dictionary of [%d] bytes, but only [%d] remain",
+          length, buffer.limit()));
+    }
+
+    final long[] prefixCounts = new long[depthCount];
+    final long[] termCounts = new long[depthCount];
+    final int prefixCountsOffset = offset + Integer.BYTES;
+    final int termCountsOffset = prefixCountsOffset + Long.BYTES * depthCount;
+    for (int depth = 0; depth < depthCount; depth += 1) {
+      prefixCounts[depth] = buffer.getLong(prefixCountsOffset + Long.BYTES * depth);
+      termCounts[depth] = buffer.getLong(termCountsOffset + Long.BYTES * depth);
+    }
+    return new DawgStatistics(version, prefixCounts, termCounts);
+  }
+
+  /**
+   * Returns the number of bytes taken by a dictionary with the numbers of
+   * nodes and edges.
+   * @param nodeCount Number of nodes in the dictionary.
+   * @param edgeCount Number of edges in the dictionary.
+   * @return Number of bytes taken by the dictionary.
+   */
+  static long length(final long nodeCount, final long edgeCount) {
+    return HEADER_SIZE
+      + Integer.BYTES * (1L + 3L * nodeCount)
+      + (Character.BYTES + Integer.BYTES) * edgeCount;
+  }
+
+  /**
+   * Returns the number of bytes taken by the statistics of a dictionary with
+   * the number of depths.
+   * @param depthCount Number of depths of the dictionary.
+   * @return Number of bytes taken by the statistics.
+   */
+  static long statisticsLength(final long depthCount) {
+    return Integer.BYTES + 2L * Long.BYTES * depthCount;
+  }
+
+  /**
+   * Returns the value marking the first edge of a node, along with whether it
+   * is final.
+   * @param edgeIndex Index of the first edge of the node.
+   * @param isFinal Whether the node is final.
+   * @return Value marking the first edge of the node.
+   */
+  static int edgeIndexOf(final int edgeIndex, final boolean isFinal) {
+    return isFinal ? edgeIndex | FINAL_BIT : edgeIndex;
+  }
+
+  /**
+   * Returns the index of the first edge of a node from its value.
+   * @param value Value marking the first edge of the node.
+   * @return Index of the first edge of the node.
+   */
+  static int edgeIndex(final int value) {
+    return value & ~FINAL_BIT;
+  }
+
+  /**
+   * Returns whether the node is final from the value marking its first edge.
+   * @param value Value marking the first edge of the node.
+   * @return Whether the node is final.
+   */
+  static boolean isFinal(final int value) {
+    return 0 != (value & FINAL_BIT);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean add(final String term) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean remove(final Object term) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  /**
+   * Returns the value marking the first edge of the node.
+   * @param id Id of the node.
+   * @return Value marking the first edge of the node.
+   */
+  private int edgeValue(final int id) {
+    return buffer.getInt(edgeIndicesOffset + Integer.BYTES * id);
+  }
+
+  /**
+   * Returns the label of the edge.
+   * @param edge Index of the edge.
+   * @return Label of the edge.
+   */
+  private char label(final int edge) {
+    return buffer.getChar(labelsOffset + Character.BYTES * edge);
+  }
+
+  /**
+   * Returns the id of the target of the edge.
+   * @param edge Index of the edge.
+   * @return Id of the target of the edge.
+   */
+  private int target(final int edge) {
+    final int target = buffer.getInt(targetsOffset + Integer.BYTES * edge);
+    if (target < 0 || target >= nodeCount) {
+      throw new IllegalStateException(String.format(
+          "Edge [%d] leads to invalid node [%d]", edge, target));
+    }
+    return target;
+  }
+
+  /**
+   * The dictionary is backed by a buffer, so it cannot be serialized through
+   * Java serialization.  Serialize the dictionary it was read from, instead.
+   * @param stream Stream that would receive this dictionary.
+   * @throws IOException Always.
+   */
+  private void writeObject(final ObjectOutputStream stream) throws IOException {
+    throw new NotSerializableException(getClass().getName());
+  }
+
+  /**
+   * Answers queries about the nodes from the buffer.
+   */
+  private class BufferTable implements NodeTable {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DawgNode node(final int id) {
+      return new TableDawgNode(this, id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFinal(final int id) {
+      return BufferDawg.isFinal(edgeValue(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int minDepth(final int id) {
+      return buffer.getInt(minDepthsOffset + Integer.BYTES * id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int maxDepth(final int id) {
+      return buffer.getInt(maxDepthsOffset + Integer.BYTES * id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CharIterator labels(final int id) {
+      return new LabelIterator(
+          edgeIndex(edgeValue(id)),
+          edgeIndex(edgeValue(id + 1)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int transition(final int id, final char label) {
+      int lower = edgeIndex(edgeValue(id));
+      int upper = edgeIndex(edgeValue(id + 1)) - 1;
+      while (lower <= upper) {
+        final int middle = (lower + upper) >>> 1;
+        final char middleLabel = label(middle);
+        if (middleLabel < label) {
+          lower = middle + 1;
+        }
+        else if (middleLabel > label) {
+          upper = middle - 1;
+        }
+        else {
+          return target(middle);
+        }
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * Iterates over the labels of a range of edges.
+   */
+  private class LabelIterator extends AbstractCharIterator {
+
+    /**
+     * Index of the next edge.
+     */
+    private int edge;
+
+    /**
+     * Index following the last edge.
+     */
+    private final int end;
+
+    /**
+     * Constructs a new {@link LabelIterator}.
+     * @param begin Index of the first edge.
+     * @param end Index following the last edge.
+     */
+    LabelIterator(final int begin, final int end) {
+      this.edge = begin;
+      this.end = end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+      return edge < end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char nextChar() {
+      if (edge >= end) {
+        throw new NoSuchElementException();
+      }
+      final char label = label(edge);
+      edge += 1;
+      return label;
+    }
+  }
+}
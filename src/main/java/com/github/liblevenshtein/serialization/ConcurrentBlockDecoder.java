@@ -0,0 +1,293 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
+import it.unimi.dsi.fastutil.chars.Char2ObjectRBTreeMap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.FinalDawgNode;
+
+/**
+ * Decodes the blocks of a node table written in the
+ * {@link BinarySerializer.Layout#BLOCKED} or
+ * {@link BinarySerializer.Layout#COMPRESSED} layout concurrently.  The directory
+ * of the blocks gives their offsets, so each block is decoded and its nodes are
+ * created by its own task.  Once every node exists, the edges of each block are
+ * linked to their targets by id, again by a task per block.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+final class ConcurrentBlockDecoder {
+
+  /**
+   * Runs the tasks that decode and link the blocks.
+   */
+  private final Executor executor;
+
+  /**
+   * Whether the blocks are compressed.
+   */
+  private final boolean compressed;
+
+  /**
+   * Decodes the blocks that follow the position of the buffer, and moves its
+   * position to its limit.
+   * @param buffer Buffer holding the blocks, whose position is at the first
+   *   one, and which ends with their directory.
+   * @param nodeCount Number of nodes in the table.
+   * @param nodesPerBlock Number of nodes per block.
+   * @return Nodes of the table, indexed by id, or null if the buffer does not
+   *   end with the directory of its blocks, in which case its position is left
+   *   unchanged.
+   * @throws IOException When the nodes cannot be read.
+   */
+  DawgNode[] decode(
+      final ByteBuffer buffer,
+      final int nodeCount,
+      final int nodesPerBlock) throws IOException {
+    final long[] blockOffsets = blockOffsetsOf(buffer, nodeCount, nodesPerBlock);
+    if (null == blockOffsets) {
+      return null;
+    }
+    final DawgNode[] nodes =
+      decodeBlocks(buffer, nodeCount, nodesPerBlock, blockOffsets);
+    buffer.position(buffer.limit());
+    return nodes;
+  }
+
+  /**
+   * Returns the offsets of the blocks that follow the position of the buffer,
+   * from the directory that ends it, followed by the offset of the directory.
+   * @param buffer Buffer holding the blocks, whose position is at the first
+   *   one.
+   * @param nodeCount Number of nodes in the table.
+   * @param nodesPerBlock Number of nodes per block.
+   * @return Offsets of the blocks, followed by that of the directory, or null
+   *   if the buffer does not end with the directory.
+   */
+  private long[] blockOffsetsOf(
+      final ByteBuffer buffer,
+      final int nodeCount,
+      final int nodesPerBlock) {
+    final int blockCount = BinarySerializer.blockCount(nodeCount, nodesPerBlock);
+    final long directoryLength = (long) Long.BYTES * (1 + blockCount);
+    if (buffer.limit() - buffer.position() < directoryLength) {
+      return null;
+    }
+
+    final long directoryOffset = buffer.getLong(buffer.limit() - Long.BYTES);
+    if (directoryOffset + directoryLength != buffer.limit()) {
+      return null;
+    }
+
+    final long[] blockOffsets = new long[1 + blockCount];
+    for (int i = 0; i < blockCount; i += 1) {
+      blockOffsets[i] = buffer.getLong((int) directoryOffset + Long.BYTES * i);
+    }
+    blockOffsets[blockCount] = directoryOffset;
+
+    if (blockOffsets[0] != buffer.position()) {
+      return null;
+    }
+
+    for (int i = 0; i < blockCount; i += 1) {
+      if (blockOffsets[i] > blockOffsets[1 + i]) {
+        throw new IllegalArgumentException(String.format(
+            "Block [%d] ends before it begins", i));
+      }
+    }
+
+    return blockOffsets;
+  }
+
+  /**
+   * Decodes the blocks of the node table concurrently, on {@link #executor}.
+   * First, each block is decoded and its nodes are created.  Then, once every
+   * node exists, the edges of each block are linked to their targets.
+   * @param buffer Buffer holding the blocks.
+   * @param nodeCount Number of nodes in the table.
+   * @param nodesPerBlock Number of nodes per block.
+   * @param blockOffsets Offsets of the blocks, followed by that of the
+   *   directory.
+   * @return Nodes of the table, indexed by id.
+   * @throws IOException When the nodes cannot be read.
+   */
+  private DawgNode[] decodeBlocks(
+      final ByteBuffer buffer,
+      final int nodeCount,
+      final int nodesPerBlock,
+      final long[] blockOffsets) throws IOException {
+
+    final int blockCount = blockOffsets.length - 1;
+    final DawgNode[] nodes = new DawgNode[nodeCount];
+    final DawgBlock[] blocks = new DawgBlock[blockCount];
+
+    log.info("Decoding [{}] blocks concurrently", blockCount);
+
+    final List<FutureTask<Void>> decoders = new ArrayList<>(blockCount);
+    for (int i = 0; i < blockCount; i += 1) {
+      final ByteBuffer block = buffer.duplicate();
+      block.limit((int) blockOffsets[1 + i]).position((int) blockOffsets[i]);
+      decoders.add(new FutureTask<>(new BlockDecoder(
+          new BinaryReader(block.slice()), compressed, i, nodesPerBlock, nodeCount,
+          blocks, nodes)));
+    }
+    await(decoders);
+
+    final List<FutureTask<Void>> linkers = new ArrayList<>(blockCount);
+    for (final DawgBlock block : blocks) {
+      linkers.add(new FutureTask<>(new BlockLinker(block, nodes)));
+    }
+    await(linkers);
+
+    return nodes;
+  }
+
+  /**
+   * Runs the tasks on {@link #executor}, and waits for them to complete.
+   * @param tasks Tasks to run.
+   * @throws IOException When a task fails to read its block, or the thread is
+   *   interrupted.
+   */
+  private void await(final List<FutureTask<Void>> tasks) throws IOException {
+    for (final FutureTask<Void> task : tasks) {
+      executor.execute(task);
+    }
+
+    try {
+      for (final FutureTask<Void> task : tasks) {
+        task.get();
+      }
+    }
+    catch (final InterruptedException exception) {
+      for (final FutureTask<Void> task : tasks) {
+        task.cancel(true);
+      }
+      Thread.currentThread().interrupt();
+      final InterruptedIOException interrupted = new InterruptedIOException(
+          "Interrupted while decoding the dictionary");
+      interrupted.initCause(exception);
+      throw interrupted;
+    }
+    catch (final ExecutionException exception) {
+      final Throwable cause = exception.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException("Failed to decode the dictionary", cause);
+    }
+  }
+
+  /**
+   * Decodes a block of the node table, and creates its nodes without their
+   * edges.
+   */
+  @RequiredArgsConstructor
+  private static class BlockDecoder implements Callable<Void> {
+
+    /**
+     * Reads the block.
+     */
+    private final BinaryReader reader;
+
+    /**
+     * Whether the block is compressed.
+     */
+    private final boolean compressed;
+
+    /**
+     * Index of the block.
+     */
+    private final int index;
+
+    /**
+     * Number of nodes per block.
+     */
+    private final int nodesPerBlock;
+
+    /**
+     * Number of nodes in the table.
+     */
+    private final int nodeCount;
+
+    /**
+     * Receives the decoded block at {@link #index}.
+     */
+    private final DawgBlock[] blocks;
+
+    /**
+     * Receives the nodes of the block, indexed by id.
+     */
+    private final DawgNode[] nodes;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Void call() throws IOException {
+      final int firstId = index * nodesPerBlock;
+      final DawgBlock block = DawgBlock.read(
+          reader, firstId, Math.min(nodesPerBlock, nodeCount - firstId), compressed);
+      for (int id = firstId; id < firstId + block.nodeCount(); id += 1) {
+        final Char2ObjectMap<DawgNode> edges = new Char2ObjectRBTreeMap<>();
+        nodes[id] = block.isFinal(id)
+          ? new FinalDawgNode(edges, block.minDepth(id), block.maxDepth(id))
+          : new DawgNode(edges, block.minDepth(id), block.maxDepth(id));
+      }
+      blocks[index] = block;
+      return null;
+    }
+  }
+
+  /**
+   * Links the edges of the nodes of a decoded block to their targets.
+   */
+  @RequiredArgsConstructor
+  private static class BlockLinker implements Callable<Void> {
+
+    /**
+     * Decoded block whose edges should be linked.
+     */
+    private final DawgBlock block;
+
+    /**
+     * Nodes of the table, indexed by id.
+     */
+    private final DawgNode[] nodes;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Void call() {
+      final int firstId = block.firstId();
+      for (int id = firstId; id < firstId + block.nodeCount(); id += 1) {
+        final DawgNode node = nodes[id];
+        for (int edge = block.edgesBegin(id); edge < block.edgesEnd(id); edge += 1) {
+          node.addEdge(block.label(edge), nodes[block.target(edge)]);
+        }
+      }
+      return null;
+    }
+  }
+}
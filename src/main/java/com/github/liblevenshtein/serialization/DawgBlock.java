@@ -0,0 +1,309 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import it.unimi.dsi.fastutil.chars.CharIterator;
+import it.unimi.dsi.fastutil.chars.CharIterators;
+
+/**
+ * Decoded block of consecutive nodes from the node table of the binary format.
+ * The edges of all the nodes are held in flat arrays, with those of each node
+ * sorted by label.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+final class DawgBlock {
+
+  /**
+   * Approximate number of bytes taken by a block, apart from its arrays.
+   */
+  private static final int BASE_WEIGHT = 128;
+
+  /**
+   * Id of the first node in this block.
+   */
+  private final int firstId;
+
+  /**
+   * Whether each node of this block is final.
+   */
+  private final boolean[] finals;
+
+  /**
+   * Least number of transitions from each node to a final node.
+   */
+  private final int[] minDepths;
+
+  /**
+   * Greatest number of transitions from each node to a final node.
+   */
+  private final int[] maxDepths;
+
+  /**
+   * Index of the first edge of each node within {@link #labels} and
+   * {@link #targets}, followed by the total number of edges.
+   */
+  private final int[] edgeOffsets;
+
+  /**
+   * Labels of the edges of all the nodes.
+   */
+  private final char[] labels;
+
+  /**
+   * Ids of the targets of the edges of all the nodes.
+   */
+  private final int[] targets;
+
+  /**
+   * Constructs a new {@link DawgBlock}.
+   * @param firstId Id of the first node in this block.
+   * @param finals Whether each node of this block is final.
+   * @param minDepths Least number of transitions from each node to a final
+   *   node.
+   * @param maxDepths Greatest number of transitions from each node to a final
+   *   node.
+   * @param edgeOffsets Index of the first edge of each node, followed by the
+   *   total number of edges.
+   * @param labels Labels of the edges of all the nodes.
+   * @param targets Ids of the targets of the edges of all the nodes.
+   */
+  private DawgBlock(
+      final int firstId,
+      final boolean[] finals,
+      final int[] minDepths,
+      final int[] maxDepths,
+      final int[] edgeOffsets,
+      final char[] labels,
+      final int[] targets) {
+    this.firstId = firstId;
+    this.finals = finals;
+    this.minDepths = minDepths;
+    this.maxDepths = maxDepths;
+    this.edgeOffsets = edgeOffsets;
+    this.labels = labels;
+    this.targets = targets;
+  }
+
+  /**
+   * Decodes a block of nodes, which may be compressed.  Compressed blocks
+   * consist of their uncompressed and compressed lengths, followed by their
+   * bytes as compressed by {@link Lz4Codec}.
+   * @param reader Reads the nodes of the block.
+   * @param firstId Id of the first node in the block.
+   * @param nodeCount Number of nodes in the block.
+   * @param compressed Whether the block is compressed.
+   * @return Decoded block of nodes.
+   * @throws IOException When the block cannot be read.
+   */
+  static DawgBlock read(
+      final BinaryReader reader,
+      final int firstId,
+      final int nodeCount,
+      final boolean compressed) throws IOException {
+    if (!compressed) {
+      return read(reader, firstId, nodeCount);
+    }
+
+    final int length = reader.readVarInt();
+    final int compressedLength = reader.readVarInt();
+    if (length < 0 || compressedLength < 0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid block of [%d] bytes, compressed to [%d] bytes",
+          length, compressedLength));
+    }
+
+    final byte[] compressedBlock = new byte[compressedLength];
+    reader.readBytes(compressedBlock);
+    final byte[] block = Lz4Codec.decompress(compressedBlock, length);
+    return read(new BinaryReader(ByteBuffer.wrap(block)), firstId, nodeCount);
+  }
+
+  /**
+   * Decodes a block of nodes.  Since targets precede their sources in the node
+   * table, their ids are validated to be less than those of their sources.
+   * @param reader Reads the nodes of the block.
+   * @param firstId Id of the first node in the block.
+   * @param nodeCount Number of nodes in the block.
+   * @return Decoded block of nodes.
+   * @throws IOException When the block cannot be read.
+   */
+  static DawgBlock read(
+      final BinaryReader reader,
+      final int firstId,
+      final int nodeCount) throws IOException {
+
+    final boolean[] finals = new boolean[nodeCount];
+    final int[] minDepths = new int[nodeCount];
+    final int[] maxDepths = new int[nodeCount];
+    final int[] edgeOffsets = new int[1 + nodeCount];
+
+    char[] labels = new char[nodeCount];
+    int[] targets = new int[nodeCount];
+    int edgeCount = 0;
+
+    for (int i = 0; i < nodeCount; i += 1) {
+      final int id = firstId + i;
+      final int header = reader.readVarInt();
+      final int labelCount = header >>> 1;
+      finals[i] = 0 != (header & 1);
+      minDepths[i] = reader.readVarInt();
+      maxDepths[i] = reader.readVarInt();
+      edgeOffsets[i] = edgeCount;
+
+      if (edgeCount + labelCount > labels.length) {
+        final int capacity = Math.max(edgeCount + labelCount, labels.length << 1);
+        labels = Arrays.copyOf(labels, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+      }
+
+      char label = 0;
+      for (int j = 0; j < labelCount; j += 1) {
+        label += (char) reader.readVarInt();
+        final int target = id - reader.readVarInt();
+        if (target < 0 || target >= id) {
+          throw new IllegalArgumentException(String.format(
+              "Node [%d] has an edge to invalid node [%d]", id, target));
+        }
+        labels[edgeCount] = label;
+        targets[edgeCount] = target;
+        edgeCount += 1;
+      }
+    }
+
+    edgeOffsets[nodeCount] = edgeCount;
+
+    return new DawgBlock(firstId, finals, minDepths, maxDepths, edgeOffsets,
+        Arrays.copyOf(labels, edgeCount),
+        Arrays.copyOf(targets, edgeCount));
+  }
+
+  /**
+   * Returns the id of the first node in this block.
+   * @return Id of the first node in this block.
+   */
+  int firstId() {
+    return firstId;
+  }
+
+  /**
+   * Returns the number of nodes in this block.
+   * @return Number of nodes in this block.
+   */
+  int nodeCount() {
+    return finals.length;
+  }
+
+  /**
+   * Returns whether the node is final.
+   * @param id Id of the node.
+   * @return Whether the node is final.
+   */
+  boolean isFinal(final int id) {
+    return finals[id - firstId];
+  }
+
+  /**
+   * Returns the least number of transitions from the node to a final node.
+   * @param id Id of the node.
+   * @return Least number of transitions from the node to a final node.
+   */
+  int minDepth(final int id) {
+    return minDepths[id - firstId];
+  }
+
+  /**
+   * Returns the greatest number of transitions from the node to a final node.
+   * @param id Id of the node.
+   * @return Greatest number of transitions from the node to a final node.
+   */
+  int maxDepth(final int id) {
+    return maxDepths[id - firstId];
+  }
+
+  /**
+   * Returns the index of the first edge of the node, which may be passed to
+   * {@link #label(int)} and {@link #target(int)}.
+   * @param id Id of the node.
+   * @return Index of the first edge of the node.
+   */
+  int edgesBegin(final int id) {
+    return edgeOffsets[id - firstId];
+  }
+
+  /**
+   * Returns the index following the last edge of the node.
+   * @param id Id of the node.
+   * @return Index following the last edge of the node.
+   */
+  int edgesEnd(final int id) {
+    return edgeOffsets[1 + id - firstId];
+  }
+
+  /**
+   * Returns the label of an edge.
+   * @param edge Index of the edge.
+   * @return Label of the edge.
+   */
+  char label(final int edge) {
+    return labels[edge];
+  }
+
+  /**
+   * Returns the id of the target of an edge.
+   * @param edge Index of the edge.
+   * @return Id of the target of the edge.
+   */
+  int target(final int edge) {
+    return targets[edge];
+  }
+
+  /**
+   * Returns the labels of the edges of the node, in ascending order.
+   * @param id Id of the node.
+   * @return Labels of the edges of the node.
+   */
+  CharIterator labels(final int id) {
+    final int begin = edgesBegin(id);
+    return CharIterators.wrap(labels, begin, edgesEnd(id) - begin);
+  }
+
+  /**
+   * Returns the id of the node the labeled edge of the node leads to.
+   * @param id Id of the node.
+   * @param label Label of the edge to follow.
+   * @return Id of the target of the edge, or -1 if the node has no such edge.
+   */
+  int transition(final int id, final char label) {
+    int lower = edgesBegin(id);
+    int upper = edgesEnd(id) - 1;
+    while (lower <= upper) {
+      final int middle = (lower + upper) >>> 1;
+      final char middleLabel = labels[middle];
+      if (middleLabel < label) {
+        lower = middle + 1;
+      }
+      else if (middleLabel > label) {
+        upper = middle - 1;
+      }
+      else {
+        return targets[middle];
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the approximate number of bytes this block takes in memory.
+   * @return Approximate number of bytes this block takes in memory.
+   */
+  int weight() {
+    return BASE_WEIGHT
+      + finals.length
+      + Integer.BYTES * (minDepths.length + maxDepths.length + edgeOffsets.length)
+      + Character.BYTES * labels.length
+      + Integer.BYTES * targets.length;
+  }
+}
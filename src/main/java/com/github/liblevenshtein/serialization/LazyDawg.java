@@ -0,0 +1,442 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import it.unimi.dsi.fastutil.chars.CharIterator;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.DawgStatistics;
+
+/**
+ * <p>
+ * Read-only dictionary backed by a file written by {@link BinarySerializer},
+ * whose nodes are decoded on demand.  Opening the dictionary only reads its
+ * header, which holds its {@link DawgStatistics}, and the directory of its
+ * blocks, so it is ready almost immediately, regardless of its size.
+ * </p>
+ *
+ * <p>
+ * Nodes are flyweights that hold nothing but their ids.  When a node's edges
+ * are first needed, e.g. by {@link #of(DawgNode, char)}, the block holding the
+ * node is read from the file and decoded.  Decoded blocks are cached until the
+ * memory budget is exceeded, after which the least-recently used ones are
+ * evicted.  Thus, resident memory tracks the part of the dictionary that is
+ * actually queried.
+ * </p>
+ *
+ * <p>
+ * The dictionary is threadsafe, and may be passed to
+ * {@link com.github.liblevenshtein.transducer.factory.TransducerBuilder} like
+ * any other.  It must be closed once it is no longer needed, after which it may
+ * no longer be queried.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Slf4j
+public class LazyDawg extends Dawg implements Closeable {
+
+  /**
+   * Default number of bytes of decoded blocks to cache (64 MiB).
+   */
+  public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Message of the exceptions thrown when modifying the dictionary.
+   */
+  private static final String READ_ONLY = "LazyDawg is read-only";
+
+  /**
+   * File holding the serialized dictionary.
+   */
+  private final FileChannel channel;
+
+  /**
+   * Number of nodes in the node table.
+   */
+  private final int nodeCount;
+
+  /**
+   * Number of nodes per block of the node table.
+   */
+  private final int blockSize;
+
+  /**
+   * Whether the blocks of the node table are compressed.
+   */
+  private final boolean compressed;
+
+  /**
+   * Offset of each block within {@link #channel}, followed by that of the
+   * directory, which marks the end of the last block.
+   */
+  private final long[] blockOffsets;
+
+  /**
+   * Recently-decoded blocks, keyed by their indices.
+   */
+  private final LoadingCache<Integer, DawgBlock> blocks;
+
+  /**
+   * Answers queries about the nodes from their decoded blocks.
+   */
+  private final NodeTable table = new BlockTable();
+
+  /**
+   * Constructs a new {@link LazyDawg}.
+   * @param channel File holding the serialized dictionary.
+   * @param size Number of terms in the dictionary.
+   * @param nodeCount Number of nodes in the node table.
+   * @param blockSize Number of nodes per block of the node table.
+   * @param compressed Whether the blocks are compressed.
+   * @param blockOffsets Offset of each block, followed by that of the
+   *   directory.
+   * @param memoryBudget Maximum number of bytes of decoded blocks to cache.
+   * @param statistics Statistics of the dictionary.
+   */
+  private LazyDawg(
+      final FileChannel channel,
+      final int size,
+      final int nodeCount,
+      final int blockSize,
+      final boolean compressed,
+      final long[] blockOffsets,
+      final long memoryBudget,
+      final DawgStatistics statistics) {
+    super(null, size);
+    this.channel = channel;
+    this.nodeCount = nodeCount;
+    this.blockSize = blockSize;
+    this.compressed = compressed;
+    this.blockOffsets = blockOffsets;
+    this.blocks = CacheBuilder.newBuilder()
+      .maximumWeight(memoryBudget)
+      .weigher(new BlockWeigher())
+      .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+      .recordStats()
+      .build(new BlockLoader(this));
+    this.root = table.node(nodeCount - 1);
+
+    updateStatistics(statistics);
+  }
+
+  /**
+   * Opens the dictionary serialized to the file, caching up to
+   * {@link #DEFAULT_MEMORY_BUDGET} bytes of decoded blocks.
+   * @param path File holding a dictionary serialized by
+   *   {@link BinarySerializer}.
+   * @return Dictionary backed by the file.
+   * @throws IOException When the file cannot be read.
+   */
+  public static LazyDawg open(@NonNull final Path path) throws IOException {
+    return open(path, DEFAULT_MEMORY_BUDGET);
+  }
+
+  /**
+   * Opens the dictionary serialized to the file.
+   * @param path File holding a dictionary serialized by
+   *   {@link BinarySerializer}.
+   * @param memoryBudget Maximum number of bytes of decoded blocks to cache.
+   * @return Dictionary backed by the file.
+   * @throws IOException When the file cannot be read.
+   */
+  @SuppressWarnings("checkstyle:illegalcatch")
+  public static LazyDawg open(
+      @NonNull final Path path,
+      final long memoryBudget) throws IOException {
+
+    if (memoryBudget < 0L) {
+      throw new IllegalArgumentException(
+          "memoryBudget must be non-negative, but was " + memoryBudget);
+    }
+
+    final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      final BinaryReader reader = new BinaryReader(channel);
+      final int version =
+        BinarySerializer.readHeader(reader, BinarySerializer.DICTIONARY_TYPE);
+      final BinarySerializer.Layout layout = BinarySerializer.Layout.of(version);
+      final boolean compressed = BinarySerializer.Layout.COMPRESSED == layout;
+      if (BinarySerializer.Layout.BLOCKED != layout && !compressed) {
+        throw new IllegalArgumentException(String.format(
+            "Dictionaries must be serialized with version [%d] or [%d] of the"
+            + " format to be read lazily, but [%s] has version [%d]",
+            BinarySerializer.Layout.BLOCKED.version(),
+            BinarySerializer.Layout.COMPRESSED.version(),
+            path, version));
+      }
+
+      final int size = reader.readVarInt();
+      final int nodeCount = reader.readVarInt();
+      final long edgeCount = reader.readVarLong();
+      final int blockSize = reader.readVarInt();
+      if (nodeCount <= 0 || blockSize <= 0) {
+        throw new IllegalArgumentException(String.format(
+            "Invalid node table of [%d] nodes and [%d] nodes per block",
+            nodeCount, blockSize));
+      }
+
+      final DawgStatistics statistics =
+        BinarySerializer.readStatistics(reader, nodeCount, 0L);
+
+      final int blockCount = BinarySerializer.blockCount(nodeCount, blockSize);
+      final long fileSize = channel.size();
+      final long directoryOffset = read(channel, fileSize - Long.BYTES, Long.BYTES).getLong();
+      if (directoryOffset + (long) Long.BYTES * (1 + blockCount) != fileSize) {
+        throw new IllegalArgumentException(String.format(
+            "The directory of [%s] is corrupt, or the file is truncated", path));
+      }
+
+      final ByteBuffer directory =
+        read(channel, directoryOffset, Long.BYTES * blockCount);
+      final long[] blockOffsets = new long[1 + blockCount];
+      for (int i = 0; i < blockCount; i += 1) {
+        blockOffsets[i] = directory.getLong();
+      }
+      blockOffsets[blockCount] = directoryOffset;
+
+      log.info("Opened a dictionary of [{}] terms, [{}] nodes, and [{}] edges"
+          + " in [{}] blocks from [{}]",
+          size, nodeCount, edgeCount, blockCount, path);
+
+      return new LazyDawg(channel, size, nodeCount, blockSize, compressed,
+          blockOffsets, memoryBudget, statistics);
+    }
+    catch (final IOException | RuntimeException exception) {
+      channel.close();
+      throw exception;
+    }
+  }
+
+  /**
+   * Returns the decoded block holding the node, decoding it if it is not
+   * cached.
+   * @param id Id of the node.
+   * @return Decoded block holding the node.
+   */
+  private DawgBlock block(final int id) {
+    return blocks.getUnchecked(id / blockSize);
+  }
+
+  /**
+   * Hit and miss statistics of the cache of decoded blocks.
+   * @return Hit and miss statistics of the cache of decoded blocks.
+   */
+  public CacheStats cacheStats() {
+    return blocks.stats();
+  }
+
+  /**
+   * Number of blocks in the node table.
+   * @return Number of blocks in the node table.
+   */
+  public int blockCount() {
+    return blockOffsets.length - 1;
+  }
+
+  /**
+   * Number of blocks that are currently decoded.
+   * @return Number of blocks that are currently decoded.
+   */
+  public long cachedBlocks() {
+    return blocks.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean add(final String term) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean remove(final Object term) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  /**
+   * Closes the file backing this dictionary, and discards its decoded blocks.
+   * @throws IOException When the file cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    blocks.invalidateAll();
+    channel.close();
+  }
+
+  /**
+   * Reads and decodes a block of the node table.
+   * @param index Index of the block.
+   * @return Decoded block.
+   * @throws IOException When the block cannot be read.
+   */
+  private DawgBlock readBlock(final int index) throws IOException {
+    final long offset = blockOffsets[index];
+    final int length = (int) (blockOffsets[1 + index] - offset);
+    final int firstId = index * blockSize;
+    return DawgBlock.read(
+        new BinaryReader(read(channel, offset, length)),
+        firstId,
+        Math.min(blockSize, nodeCount - firstId),
+        compressed);
+  }
+
+  /**
+   * Reads a range of bytes from the file, without moving its position.
+   * @param channel File to read.
+   * @param offset Offset of the first byte to read.
+   * @param length Number of bytes to read.
+   * @return Buffer of the bytes, ready to be read.
+   * @throws IOException When the bytes cannot be read.
+   */
+  private static ByteBuffer read(
+      final FileChannel channel,
+      final long offset,
+      final int length) throws IOException {
+    if (offset < 0L || length < 0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid range of [%d] bytes at offset [%d]", length, offset));
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new EOFException(String.format(
+            "Expected [%d] bytes at offset [%d], but the file ended",
+            length, offset));
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * The dictionary is backed by an open file, so it cannot be serialized
+   * through Java serialization.  Serialize the dictionary it was read from,
+   * instead.
+   * @param stream Stream that would receive this dictionary.
+   * @throws IOException Always.
+   */
+  private void writeObject(final ObjectOutputStream stream) throws IOException {
+    throw new NotSerializableException(getClass().getName());
+  }
+
+  /**
+   * Answers queries about the nodes from their decoded blocks.
+   */
+  private class BlockTable implements NodeTable {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DawgNode node(final int id) {
+      return new TableDawgNode(this, id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFinal(final int id) {
+      return block(id).isFinal(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int minDepth(final int id) {
+      return block(id).minDepth(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int maxDepth(final int id) {
+      return block(id).maxDepth(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CharIterator labels(final int id) {
+      return block(id).labels(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int transition(final int id, final char label) {
+      return block(id).transition(id, label);
+    }
+  }
+
+  /**
+   * Weighs decoded blocks by the approximate number of bytes they take.
+   */
+  private static class BlockWeigher implements Weigher<Integer, DawgBlock> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int weigh(final Integer index, final DawgBlock block) {
+      return block.weight();
+    }
+  }
+
+  /**
+   * Decodes blocks that are not cached.
+   */
+  private static class BlockLoader extends CacheLoader<Integer, DawgBlock> {
+
+    /**
+     * Dictionary whose blocks should be decoded.
+     */
+    private final LazyDawg dawg;
+
+    /**
+     * Constructs a new {@link BlockLoader}.
+     * @param dawg Dictionary whose blocks should be decoded.
+     */
+    BlockLoader(final LazyDawg dawg) {
+      this.dawg = dawg;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DawgBlock load(final Integer index) throws IOException {
+      return dawg.readBlock(index);
+    }
+  }
+}
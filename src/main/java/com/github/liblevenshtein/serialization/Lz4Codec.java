@@ -0,0 +1,346 @@
+package com.github.liblevenshtein.serialization;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Pure-Java implementation of the LZ4 block format, which compresses the blocks
+ * of the node table in the {@link BinarySerializer.Layout#COMPRESSED} layout.
+ * No native libraries are needed, and each block is compressed independently
+ * of the others, so blocks may still be decompressed concurrently or on demand.
+ * </p>
+ *
+ * <p>
+ * Compression is greedy: each position is hashed by its next four bytes, and
+ * the most recent position with the same hash is taken as the match if its
+ * bytes are the same.  This trades some ratio for speed, as LZ4 does.  The
+ * output follows the LZ4 block format, so it may be decompressed by any other
+ * implementation of it, given the length of the uncompressed bytes.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+final class Lz4Codec {
+
+  /**
+   * Least number of bytes in a match.
+   */
+  private static final int MIN_MATCH = 4;
+
+  /**
+   * Number of bytes at the end of the input that must be literals.
+   */
+  private static final int LAST_LITERALS = 5;
+
+  /**
+   * Least distance from the start of the last match to the end of the input.
+   */
+  private static final int MF_LIMIT = 12;
+
+  /**
+   * Number of bits in the hashes of positions.
+   */
+  private static final int HASH_LOG = 12;
+
+  /**
+   * Multiplier of Knuth's multiplicative hash.
+   */
+  private static final int HASH_MULTIPLIER = -1640531535;
+
+  /**
+   * Greatest distance from a match to the bytes it repeats.
+   */
+  private static final int MAX_OFFSET = 0xFFFF;
+
+  /**
+   * Number of bits in each half of the token of a sequence.
+   */
+  private static final int TOKEN_BITS = 4;
+
+  /**
+   * Marks a length that continues in the bytes following the token.
+   */
+  private static final int RUN_MASK = (1 << TOKEN_BITS) - 1;
+
+  /**
+   * Greatest value of each byte continuing a length.
+   */
+  private static final int MAX_BYTE = 0xFF;
+
+  /**
+   * Number of bits in a byte.
+   */
+  private static final int BYTE_SIZE = 8;
+
+  /**
+   * Message of the exceptions thrown for corrupt input.
+   */
+  private static final String CORRUPT = "Corrupt LZ4 block at offset [%d]";
+
+  /**
+   * Utility class.
+   */
+  private Lz4Codec() {
+  }
+
+  /**
+   * Returns the greatest number of bytes that compressing the number of bytes
+   * may take.
+   * @param length Number of bytes to compress.
+   * @return Greatest number of bytes the compressed bytes may take.
+   */
+  static int maxCompressedLength(final int length) {
+    return length + length / MAX_BYTE + 2 * RUN_MASK + 1;
+  }
+
+  /**
+   * Compresses the bytes.
+   * @param source Bytes to compress.
+   * @return Compressed bytes.
+   */
+  static byte[] compress(final byte[] source) {
+    final byte[] target = new byte[maxCompressedLength(source.length)];
+    final int[] positions = new int[1 << HASH_LOG];
+    Arrays.fill(positions, -1);
+
+    final int matchLimit = source.length - LAST_LITERALS;
+    final int inputLimit = source.length - MF_LIMIT;
+
+    int anchor = 0;
+    int position = 0;
+    int length = 0;
+
+    while (position < inputLimit) {
+      final int sequence = readInt(source, position);
+      final int hash = hash(sequence);
+      final int candidate = positions[hash];
+      positions[hash] = position;
+
+      if (candidate < 0
+          || position - candidate > MAX_OFFSET
+          || readInt(source, candidate) != sequence) {
+        position += 1;
+        continue;
+      }
+
+      int matchBegin = position;
+      int reference = candidate;
+      while (matchBegin > anchor
+          && reference > 0
+          && source[matchBegin - 1] == source[reference - 1]) {
+        matchBegin -= 1;
+        reference -= 1;
+      }
+
+      int matchEnd = position + MIN_MATCH;
+      while (matchEnd < matchLimit
+          && source[matchEnd] == source[reference + matchEnd - matchBegin]) {
+        matchEnd += 1;
+      }
+
+      length = writeSequence(source, anchor, matchBegin - anchor,
+          matchBegin - reference, matchEnd - matchBegin, target, length);
+      anchor = matchEnd;
+      position = matchEnd;
+    }
+
+    length = writeSequence(source, anchor, source.length - anchor, 0, 0, target, length);
+    return Arrays.copyOf(target, length);
+  }
+
+  /**
+   * Decompresses the bytes.
+   * @param source Compressed bytes.
+   * @param length Number of bytes that were compressed.
+   * @return Decompressed bytes.
+   * @throws IllegalArgumentException When the compressed bytes are corrupt, or
+   *   do not decompress to the number of bytes.
+   */
+  static byte[] decompress(final byte[] source, final int length) {
+    final byte[] target = new byte[length];
+    int sourceIndex = 0;
+    int targetIndex = 0;
+
+    while (true) {
+      if (sourceIndex >= source.length) {
+        throw new IllegalArgumentException(String.format(CORRUPT, sourceIndex));
+      }
+
+      final int token = source[sourceIndex] & MAX_BYTE;
+      sourceIndex += 1;
+
+      int literalLength = token >>> TOKEN_BITS;
+      if (RUN_MASK == literalLength) {
+        int next;
+        do {
+          if (sourceIndex >= source.length) {
+            throw new IllegalArgumentException(String.format(CORRUPT, sourceIndex));
+          }
+          next = source[sourceIndex] & MAX_BYTE;
+          sourceIndex += 1;
+          literalLength += next;
+        }
+        while (MAX_BYTE == next);
+      }
+
+      if (literalLength > source.length - sourceIndex
+          || literalLength > target.length - targetIndex) {
+        throw new IllegalArgumentException(String.format(CORRUPT, sourceIndex));
+      }
+
+      System.arraycopy(source, sourceIndex, target, targetIndex, literalLength);
+      sourceIndex += literalLength;
+      targetIndex += literalLength;
+
+      if (sourceIndex == source.length) {
+        break;
+      }
+
+      if (2 > source.length - sourceIndex) {
+        throw new IllegalArgumentException(String.format(CORRUPT, sourceIndex));
+      }
+
+      final int offset = (source[sourceIndex] & MAX_BYTE)
+        | (source[sourceIndex + 1] & MAX_BYTE) << BYTE_SIZE;
+      sourceIndex += 2;
+
+      if (0 == offset || offset > targetIndex) {
+        throw new IllegalArgumentException(String.format(CORRUPT, sourceIndex));
+      }
+
+      int matchLength = token & RUN_MASK;
+      if (RUN_MASK == matchLength) {
+        int next;
+        do {
+          if (sourceIndex >= source.length) {
+            throw new IllegalArgumentException(String.format(CORRUPT, sourceIndex));
+          }
+          next = source[sourceIndex] & MAX_BYTE;
+          sourceIndex += 1;
+          matchLength += next;
+        }
+        while (MAX_BYTE == next);
+      }
+      matchLength += MIN_MATCH;
+
+      if (matchLength > target.length - targetIndex) {
+        throw new IllegalArgumentException(String.format(CORRUPT, sourceIndex));
+      }
+
+      // The match may overlap the bytes it produces, so it is copied bytewise.
+      for (int i = 0; i < matchLength; i += 1) {
+        target[targetIndex] = target[targetIndex - offset];
+        targetIndex += 1;
+      }
+    }
+
+    if (targetIndex != length) {
+      throw new IllegalArgumentException(String.format(
+          "Expected the LZ4 block to decompress to [%d] bytes, but it had [%d]",
+          length, targetIndex));
+    }
+
+    return target;
+  }
+
+  /**
+   * Writes a sequence of literals, followed by a match unless it is the last
+   * sequence.
+   * @param source Bytes being compressed.
+   * @param literalBegin Index of the first literal.
+   * @param literalLength Number of literals.
+   * @param offset Distance from the match to the bytes it repeats, or zero if
+   *   this is the last sequence.
+   * @param matchLength Number of bytes in the match.
+   * @param target Receives the sequence.
+   * @param targetIndex Index at which to write the sequence.
+   * @return Index following the sequence.
+   */
+  private static int writeSequence(
+      final byte[] source,
+      final int literalBegin,
+      final int literalLength,
+      final int offset,
+      final int matchLength,
+      final byte[] target,
+      final int targetIndex) {
+
+    final int tokenIndex = targetIndex;
+    int index = targetIndex + 1;
+
+    int token;
+    if (literalLength >= RUN_MASK) {
+      token = RUN_MASK << TOKEN_BITS;
+      index = writeLength(literalLength - RUN_MASK, target, index);
+    }
+    else {
+      token = literalLength << TOKEN_BITS;
+    }
+
+    System.arraycopy(source, literalBegin, target, index, literalLength);
+    index += literalLength;
+
+    if (0 != offset) {
+      target[index] = (byte) offset;
+      target[index + 1] = (byte) (offset >>> BYTE_SIZE);
+      index += 2;
+
+      final int extraLength = matchLength - MIN_MATCH;
+      if (extraLength >= RUN_MASK) {
+        token |= RUN_MASK;
+        index = writeLength(extraLength - RUN_MASK, target, index);
+      }
+      else {
+        token |= extraLength;
+      }
+    }
+
+    target[tokenIndex] = (byte) token;
+    return index;
+  }
+
+  /**
+   * Writes the part of a length that does not fit in the token.
+   * @param length Part of the length that does not fit in the token.
+   * @param target Receives the length.
+   * @param targetIndex Index at which to write the length.
+   * @return Index following the length.
+   */
+  private static int writeLength(
+      final int length,
+      final byte[] target,
+      final int targetIndex) {
+    int remaining = length;
+    int index = targetIndex;
+    while (remaining >= MAX_BYTE) {
+      target[index] = (byte) MAX_BYTE;
+      index += 1;
+      remaining -= MAX_BYTE;
+    }
+    target[index] = (byte) remaining;
+    return index + 1;
+  }
+
+  /**
+   * Reads the four bytes at the index as an int.
+   * @param bytes Bytes to read.
+   * @param index Index of the first byte.
+   * @return Four bytes at the index.
+   */
+  private static int readInt(final byte[] bytes, final int index) {
+    return (bytes[index] & MAX_BYTE)
+      | (bytes[index + 1] & MAX_BYTE) << BYTE_SIZE
+      | (bytes[index + 2] & MAX_BYTE) << (2 * BYTE_SIZE)
+      | (bytes[index + 3] & MAX_BYTE) << (3 * BYTE_SIZE);
+  }
+
+  /**
+   * Hashes the four bytes at some position.
+   * @param sequence Four bytes at the position.
+   * @return Hash of the four bytes.
+   */
+  private static int hash(final int sequence) {
+    return sequence * HASH_MULTIPLIER >>> (Integer.SIZE - HASH_LOG);
+  }
+}
@@ -0,0 +1,57 @@
+package com.github.liblevenshtein.serialization;
+
+import it.unimi.dsi.fastutil.chars.CharIterator;
+
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+
+/**
+ * Table of dictionary nodes, addressed by id, that answers queries about its
+ * nodes without materializing them.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+interface NodeTable {
+
+  /**
+   * Returns the node of the id.
+   * @param id Id of the node.
+   * @return Node of the id.
+   */
+  DawgNode node(int id);
+
+  /**
+   * Returns whether the node is final.
+   * @param id Id of the node.
+   * @return Whether the node is final.
+   */
+  boolean isFinal(int id);
+
+  /**
+   * Returns the least number of transitions from the node to a final node.
+   * @param id Id of the node.
+   * @return Least number of transitions from the node to a final node.
+   */
+  int minDepth(int id);
+
+  /**
+   * Returns the greatest number of transitions from the node to a final node.
+   * @param id Id of the node.
+   * @return Greatest number of transitions from the node to a final node.
+   */
+  int maxDepth(int id);
+
+  /**
+   * Returns the labels of the edges of the node, in ascending order.
+   * @param id Id of the node.
+   * @return Labels of the edges of the node.
+   */
+  CharIterator labels(int id);
+
+  /**
+   * Returns the id of the node the labeled edge of the node leads to.
+   * @param id Id of the node.
+   * @param label Label of the edge to follow.
+   * @return Id of the target of the edge, or -1 if the node has no such edge.
+   */
+  int transition(int id, char label);
+}
@@ -1,31 +1,32 @@
 package com.github.liblevenshtein.serialization;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Serializable;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Properties;
 import java.util.TreeSet;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
 
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
-import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.ExtensionMethod;
 import lombok.extern.slf4j.Slf4j;
@@ -39,19 +40,38 @@ import com.github.liblevenshtein.transducer.TransducerAttributes;
 import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
 
 /**
+ * <p>
  * (De)Serializer for plain text files.  Dictionaries have their terms
  * serialized to a newline-delimited, text file.  Transducers are serialized to
- * a plain text, property file.
+ * a text file that begins with {@link #TRANSDUCER_HEADER}, followed by lines of
+ * their attributes as {@code key=value} pairs, an empty line, and the terms of
+ * their dictionaries, one per line.
+ * </p>
+ *
+ * <p>
+ * Terms are written in lexicographic order as the dictionary is traversed, and
+ * the terms of transducers are read straight into their dictionaries, so
+ * neither (de)serialization holds an extra copy of the terms in memory.
+ * Transducers are written to the streaming format by disabling
+ * {@link #legacyFormat}.  Until readers that predate it have been retired,
+ * they are written to the legacy, property-file format by default.  Both
+ * formats are read.
+ * </p>
  */
 @Slf4j
-@NoArgsConstructor
-@AllArgsConstructor
 @ToString(callSuper = false)
 @SuppressWarnings("unchecked")
 @EqualsAndHashCode(callSuper = false)
 @ExtensionMethod(PlainTextSerializer.PropertiesExtensions.class)
 public class PlainTextSerializer extends AbstractSerializer {
 
+  /**
+   * First line of transducers serialized to the streaming format, which
+   * distinguishes them from those serialized to the legacy, property-file
+   * format.
+   */
+  public static final String TRANSDUCER_HEADER = "#liblevenshtein-transducer 1";
+
   /**
    * "maxDistance" literal for accessors.
    */
@@ -82,13 +102,40 @@ public class PlainTextSerializer extends AbstractSerializer {
    * collections.  If you do not know whether the collections you'll be
    * (de)serializing are sorted, you should leave this false.
    */
-  private boolean isSorted = false;
+  private final boolean isSorted;
+
+  /**
+   * Whether to write transducers to the legacy, property-file format, which
+   * holds their dictionaries as a single property value.  Readers that predate
+   * the streaming format find no dictionary in it and reject it, so this stays
+   * true by default until such readers are retired.  Disable it once every
+   * reader understands the streaming format, which neither the writer nor the
+   * reader holds in memory as a whole.
+   */
+  @Setter
+  private boolean legacyFormat = true;
 
   /**
    * Serializes SortedDawg dictionaries for Transducer, Properties files.
    */
   private final Serializer serializer = new ProtobufSerializer();
 
+  /**
+   * Constructs a new {@link PlainTextSerializer} that does not assume
+   * dictionaries are sorted.
+   */
+  public PlainTextSerializer() {
+    this(false);
+  }
+
+  /**
+   * Constructs a new {@link PlainTextSerializer}.
+   * @param isSorted Whether the dictionaries to deserialize are sorted.
+   */
+  public PlainTextSerializer(final boolean isSorted) {
+    this.isSorted = isSorted;
+  }
+
   // Serializers
   // ---------------------------------------------------------------------------
 
@@ -103,13 +150,9 @@ public class PlainTextSerializer extends AbstractSerializer {
     log.info("Serializing instance of [{}] to stream", object.getClass());
 
     if (object instanceof SortedDawg) {
-      final Collection<String> dictionary = dictionaryFor((SortedDawg) object);
       try (final BufferedWriter writer =
           new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
-        for (final String term : dictionary) {
-          writer.write(term);
-          writer.newLine();
-        }
+        writeTerms(writer, (SortedDawg) object);
       }
       return;
     }
@@ -119,7 +162,24 @@ public class PlainTextSerializer extends AbstractSerializer {
         (Transducer<DawgNode, Object>) object;
       final TransducerAttributes<DawgNode, Object> attributes =
         transducer.attributes();
-      final Collection<String> dictionary = dictionaryFor(attributes.dictionary());
+
+      if (!legacyFormat) {
+        try (final BufferedWriter writer =
+            new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+          writer.write(TRANSDUCER_HEADER);
+          writer.write('\n');
+          writeAttribute(writer, ALGORITHM, attributes.algorithm().name());
+          writeAttribute(writer, MAX_DISTANCE, attributes.maxDistance());
+          writeAttribute(writer, INCLUDE_DISTANCE, attributes.includeDistance());
+          writer.write('\n');
+          writeTerms(writer, attributes.dictionary());
+        }
+        return;
+      }
+
+      final Collection<String> dictionary = isSorted
+        ? Lists.newArrayList(attributes.dictionary().lexicographicIterator())
+        : attributes.dictionary();
       new Properties()
         .setInteger(MAX_DISTANCE, attributes.maxDistance())
         .setBoolean(INCLUDE_DISTANCE, attributes.includeDistance())
@@ -188,8 +248,17 @@ public class PlainTextSerializer extends AbstractSerializer {
     }
 
     if (Transducer.class.isAssignableFrom(type)) {
+      final InputStream buffered = stream.markSupported()
+        ? stream
+        : new BufferedInputStream(stream);
+
+      if (hasTransducerHeader(buffered)) {
+        return (Type) readTransducer(buffered);
+      }
+
+      log.info("Reading a transducer in the legacy, property-file format");
       final Properties properties = new Properties();
-      properties.load(stream);
+      properties.load(buffered);
       return (Type) new TransducerBuilder()
         .dictionary(
           properties.getCollection(DICTIONARY),
@@ -216,19 +285,113 @@ public class PlainTextSerializer extends AbstractSerializer {
     }
   }
 
+  // Utilities
+  // ---------------------------------------------------------------------------
+
+  /**
+   * Writes the terms of the dictionary in lexicographic order, one per line.
+   * @param writer Receives the terms.
+   * @param dictionary Dictionary whose terms should be written.
+   * @throws IOException When the terms cannot be written.
+   */
+  private void writeTerms(
+      final Writer writer,
+      final Dawg dictionary) throws IOException {
+    final Iterator<String> terms = dictionary.lexicographicIterator();
+    while (terms.hasNext()) {
+      writer.write(terms.next());
+      writer.write('\n');
+    }
+  }
+
   /**
-   * Returns a sorted {@link Collection} of the dictionary.
-   * @param dictionary {@link Collection} to sort.
-   * @return Sorted version of dictionary.
+   * Writes an attribute of a transducer as a {@code key=value} line.
+   * @param writer Receives the attribute.
+   * @param key Name of the attribute.
+   * @param value Value of the attribute.
+   * @throws IOException When the attribute cannot be written.
    */
-  private Collection<String> dictionaryFor(@NonNull final Dawg dictionary) {
-    if (!isSorted) {
-      return dictionary;
+  private void writeAttribute(
+      final Writer writer,
+      final String key,
+      final Object value) throws IOException {
+    writer.write(key);
+    writer.write('=');
+    writer.write(String.valueOf(value));
+    writer.write('\n');
+  }
+
+  /**
+   * Returns whether the stream begins with {@link #TRANSDUCER_HEADER}, without
+   * consuming it.
+   * @param stream Stream holding a serialized transducer, which must support
+   *   {@link InputStream#mark(int)}.
+   * @return Whether the stream holds the streaming format.
+   * @throws IOException When the stream cannot be read.
+   */
+  private boolean hasTransducerHeader(final InputStream stream) throws IOException {
+    final byte[] header = TRANSDUCER_HEADER.getBytes(StandardCharsets.UTF_8);
+    stream.mark(header.length);
+    try {
+      for (final byte expected : header) {
+        if (expected != stream.read()) {
+          return false;
+        }
+      }
+      return true;
     }
+    finally {
+      stream.reset();
+    }
+  }
 
-    final List<String> sorted = new ArrayList<>(dictionary);
-    Collections.sort(sorted);
-    return sorted;
+  /**
+   * Reads a transducer from the streaming format, adding the terms of its
+   * dictionary as they are read.
+   * @param stream Stream holding the serialized transducer.
+   * @return Transducer that was read.
+   * @throws IOException When the transducer cannot be read.
+   */
+  private Transducer<DawgNode, Object> readTransducer(
+      final InputStream stream) throws IOException {
+    try (final BufferedReader reader =
+        new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+
+      if (!TRANSDUCER_HEADER.equals(reader.readLine())) {
+        throw new IllegalArgumentException(
+            "Expected the transducer to begin with " + TRANSDUCER_HEADER);
+      }
+
+      final Properties attributes = new Properties();
+      String line = reader.readLine();
+      while (null != line && !line.isEmpty()) {
+        final int index = line.indexOf('=');
+        if (index < 0) {
+          throw new IllegalArgumentException(
+              "Expected a [key=value] attribute, but found: " + line);
+        }
+        attributes.setProperty(line.substring(0, index), line.substring(1 + index));
+        line = reader.readLine();
+      }
+
+      if (null == line) {
+        throw new IllegalArgumentException(
+            "Expected an empty line to follow the attributes of the transducer");
+      }
+
+      final SortedDawg dictionary = new SortedDawg();
+      for (String term = reader.readLine(); null != term; term = reader.readLine()) {
+        dictionary.add(term);
+      }
+      dictionary.finish();
+
+      return (Transducer<DawgNode, Object>) new TransducerBuilder()
+        .dictionary(dictionary, true)
+        .algorithm(attributes.getAlgorithm(ALGORITHM))
+        .defaultMaxDistance(attributes.getInteger(MAX_DISTANCE))
+        .includeDistance(attributes.getBoolean(INCLUDE_DISTANCE))
+        .build();
+    }
   }
 
   /**
@@ -4,22 +4,31 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
 import it.unimi.dsi.fastutil.chars.Char2ObjectRBTreeMap;
 import it.unimi.dsi.fastutil.chars.Char2ObjectSortedMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
 
 import com.google.protobuf.CodedInputStream;
 
 import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import com.github.liblevenshtein.collection.dictionary.Dawg;
 import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.DawgNodeIdentity;
 import com.github.liblevenshtein.collection.dictionary.FinalDawgNode;
 import com.github.liblevenshtein.collection.dictionary.SortedDawg;
 import com.github.liblevenshtein.proto.LibLevenshteinProtos;
@@ -29,14 +38,40 @@ import com.github.liblevenshtein.transducer.TransducerAttributes;
 import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
 
 /**
+ * <p>
  * (De)Serializer for Google's Protocol Buffer, data interchange format.
+ * </p>
+ *
+ * <p>
+ * Dictionaries may be written as flattened tables of nodes, in which each node
+ * is written once, no matter how many paths lead to it, by disabling
+ * {@link #legacyFormat}.  Until readers that predate the flattened format have
+ * been retired, dictionaries are written in the legacy format by default,
+ * which embeds each node within the edges leading to it.  Both formats are
+ * read.
+ * </p>
  */
 @Slf4j
+@NoArgsConstructor
 @ToString(callSuper = false)
-@SuppressWarnings("unchecked")
+@SuppressWarnings({"unchecked", "checkstyle:classdataabstractioncoupling"})
 @EqualsAndHashCode(callSuper = false)
 public class ProtobufSerializer extends AbstractSerializer {
 
+  /**
+   * Whether to write dictionaries in the legacy format, which embeds each node
+   * within the edges leading to it.  Readers that predate the flattened format
+   * see none of its nodes, so they would read a flattened dictionary as an
+   * empty one; this stays true by default until such readers are retired.
+   * Disable it once every reader understands the flattened format, as the
+   * legacy format grows with the number of paths through the dictionary
+   * rather than with its number of nodes.  Protocol Buffers also encodes and
+   * parses its nesting recursively, once per character of the longest term, so
+   * very long terms may overflow the stack in the legacy format.
+   */
+  @Setter
+  private boolean legacyFormat = true;
+
   // Serializers
   // ---------------------------------------------------------------------------
 
@@ -50,8 +85,8 @@ public class ProtobufSerializer extends AbstractSerializer {
 
     log.info("Serializing an instance of [{}] to a stream", object.getClass());
 
-    if (object instanceof SortedDawg) {
-      final SortedDawg dawg = (SortedDawg) object;
+    if (object instanceof Dawg) {
+      final Dawg dawg = (Dawg) object;
       final LibLevenshteinProtos.Dawg proto = protoOf(dawg);
       proto.writeTo(stream);
       return;
@@ -75,8 +110,8 @@ public class ProtobufSerializer extends AbstractSerializer {
   public byte[] serialize(@NonNull final Serializable object) throws Exception {
     log.info("Serializing an instance of [{}] to a byte array", object.getClass());
 
-    if (object instanceof SortedDawg) {
-      final SortedDawg dawg = (SortedDawg) object;
+    if (object instanceof Dawg) {
+      final Dawg dawg = (Dawg) object;
       final LibLevenshteinProtos.Dawg proto = protoOf(dawg);
       return proto.toByteArray();
     }
@@ -140,7 +175,10 @@ public class ProtobufSerializer extends AbstractSerializer {
   // ---------------------------------------------------------------------------
 
   /**
-   * Returns the node of the prototype.
+   * Returns the node of the prototype.  The prototypes are visited in
+   * post-order with an explicit stack, so each node is constructed after the
+   * targets of its edges without recursing once per character of the longest
+   * term.
    * @param proto Prototype of the node.
    * @param nodes Tracks {@link DawgNode}s that have already been deserialized,
    *   to avoid deserializing a full trie.
@@ -149,19 +187,38 @@ public class ProtobufSerializer extends AbstractSerializer {
   protected DawgNode modelOf(
       final LibLevenshteinProtos.DawgNode proto,
       final Map<LibLevenshteinProtos.DawgNode, DawgNode> nodes) {
-    if (nodes.containsKey(proto)) {
-      return nodes.get(proto);
-    }
-    final Char2ObjectSortedMap<DawgNode> edges = new Char2ObjectRBTreeMap<>();
-    for (final LibLevenshteinProtos.DawgNode.Edge edge : proto.getEdgeList()) {
-      final char label = (char) edge.getCharKey();
-      edges.put(label, modelOf(edge.getValue(), nodes));
+    final Deque<LibLevenshteinProtos.DawgNode> pending = new ArrayDeque<>();
+    pending.push(proto);
+
+    while (!pending.isEmpty()) {
+      final LibLevenshteinProtos.DawgNode next = pending.peek();
+      if (nodes.containsKey(next)) {
+        pending.pop();
+        continue;
+      }
+
+      boolean isReady = true;
+      for (final LibLevenshteinProtos.DawgNode.Edge edge : next.getEdgeList()) {
+        if (!nodes.containsKey(edge.getValue())) {
+          pending.push(edge.getValue());
+          isReady = false;
+        }
+      }
+
+      if (isReady) {
+        pending.pop();
+        final Char2ObjectSortedMap<DawgNode> edges = new Char2ObjectRBTreeMap<>();
+        for (final LibLevenshteinProtos.DawgNode.Edge edge : next.getEdgeList()) {
+          edges.put((char) edge.getCharKey(), nodes.get(edge.getValue()));
+        }
+        final DawgNode node = next.getIsFinal()
+          ? new FinalDawgNode(edges)
+          : new DawgNode(edges);
+        nodes.put(next, node);
+      }
     }
-    final DawgNode node = proto.getIsFinal()
-      ? new FinalDawgNode(edges)
-      : new DawgNode(edges);
-    nodes.put(proto, node);
-    return node;
+
+    return nodes.get(proto);
   }
 
   /**
@@ -170,12 +227,49 @@ public class ProtobufSerializer extends AbstractSerializer {
    * @return Dictionary of the prototype.
    */
   protected SortedDawg modelOf(final LibLevenshteinProtos.Dawg proto) {
+    if (proto.getNodeCount() > 0) {
+      return new SortedDawg(proto.getSize(), modelOf(proto.getNodeList()));
+    }
     final Map<LibLevenshteinProtos.DawgNode, DawgNode> nodes =
       new IdentityHashMap<>();
     final DawgNode root = modelOf(proto.getRoot(), nodes);
     return new SortedDawg(proto.getSize(), root);
   }
 
+  /**
+   * Returns the root of the flattened table of nodes, which is the last one.
+   * Since each node follows those it has edges to, the table is read in a
+   * single pass.
+   * @param protos Prototypes of the nodes, in post-order.
+   * @return Root of the table of nodes.
+   */
+  protected DawgNode modelOf(final List<LibLevenshteinProtos.Dawg.Node> protos) {
+    final DawgNode[] nodes = new DawgNode[protos.size()];
+    for (int id = 0; id < nodes.length; id += 1) {
+      final LibLevenshteinProtos.Dawg.Node proto = protos.get(id);
+      if (proto.getLabelCount() != proto.getTargetCount()) {
+        final String message = String.format(
+            "Node [%d] has [%d] labels but [%d] targets",
+            id, proto.getLabelCount(), proto.getTargetCount());
+        throw new IllegalArgumentException(message);
+      }
+      final Char2ObjectSortedMap<DawgNode> edges = new Char2ObjectRBTreeMap<>();
+      for (int j = 0; j < proto.getLabelCount(); j += 1) {
+        final int target = id - proto.getTarget(j);
+        if (target < 0 || target >= id) {
+          final String message = String.format(
+              "Node [%d] has an edge to invalid node [%d]", id, target);
+          throw new IllegalArgumentException(message);
+        }
+        edges.put((char) proto.getLabel(j), nodes[target]);
+      }
+      nodes[id] = proto.getIsFinal()
+        ? new FinalDawgNode(edges)
+        : new DawgNode(edges);
+    }
+    return nodes[nodes.length - 1];
+  }
+
   /**
    * Returns the transducer of the prototype.
    * @param proto Prototype of the transducer.
@@ -247,35 +341,64 @@ public class ProtobufSerializer extends AbstractSerializer {
   }
 
   /**
-   * Returns the prototype of the dictionary.
+   * Returns the prototype of the dictionary.  Any kind of dictionary may be
+   * written, including those read in-place or on demand, such as
+   * {@link BufferDawg} and {@link LazyDawg}, whose nodes are told apart by
+   * {@link DawgNodeIdentity}.
    * @param dawg Dictionary whose prototype is to be returned.
    * @return Prototype of the dictionary.
    */
   protected LibLevenshteinProtos.Dawg protoOf(final Dawg dawg) {
-    if (dawg instanceof SortedDawg) {
-      return protoOf((SortedDawg) dawg);
+    if (legacyFormat) {
+      final Map<DawgNode, LibLevenshteinProtos.DawgNode> nodes =
+        new Object2ObjectOpenCustomHashMap<>(DawgNodeIdentity.INSTANCE);
+      return LibLevenshteinProtos.Dawg.newBuilder()
+        .setSize(dawg.size())
+        .setRoot(protoOf(dawg.root(), nodes))
+        .build();
+    }
+
+    final LibLevenshteinProtos.Dawg.Builder builder =
+      LibLevenshteinProtos.Dawg.newBuilder()
+        .setSize(dawg.size());
+
+    final Object2IntMap<DawgNode> ids = idsOf();
+    final List<DawgNode> nodes = nodesOf(dawg.root(), ids);
+    for (int id = 0; id < nodes.size(); id += 1) {
+      builder.addNode(protoOf(nodes.get(id), id, ids));
     }
-    final String message =
-      String.format("Unsupported Dawg type [%s]", dawg.getClass());
-    throw new IllegalArgumentException(message);
+
+    return builder.build();
   }
 
   /**
-   * Returns the prototype of the dictionary.
-   * @param dawg Dictionary whose prototype is to be returned.
-   * @return Prototype of the dictionary.
+   * Returns the prototype of a node within the flattened table of nodes.
+   * @param node Node whose prototype is to be returned.
+   * @param id Index of the node within the table.
+   * @param ids Indices of the nodes within the table.
+   * @return The prototype of the node.
    */
-  protected LibLevenshteinProtos.Dawg protoOf(final SortedDawg dawg) {
-    final Map<DawgNode, LibLevenshteinProtos.DawgNode> nodes =
-      new IdentityHashMap<>();
-    return LibLevenshteinProtos.Dawg.newBuilder()
-      .setSize(dawg.size())
-      .setRoot(protoOf(dawg.root(), nodes))
-      .build();
+  protected LibLevenshteinProtos.Dawg.Node protoOf(
+      final DawgNode node,
+      final int id,
+      final Object2IntMap<DawgNode> ids) {
+    final LibLevenshteinProtos.Dawg.Node.Builder builder =
+      LibLevenshteinProtos.Dawg.Node.newBuilder()
+        .setIsFinal(node.isFinal());
+    final char[] labels = node.edges().keySet().toCharArray();
+    Arrays.sort(labels);
+    for (final char label : labels) {
+      builder.addLabel(label)
+        .addTarget(id - ids.getInt(node.edges().get(label)));
+    }
+    return builder.build();
   }
 
   /**
-   * Returns the prototype of a node.
+   * Returns the prototype of a node.  As with
+   * {@link #modelOf(LibLevenshteinProtos.DawgNode, Map)}, the nodes are visited
+   * in post-order with an explicit stack, so the prototype of each edge is
+   * built from that of its target without recursing.
    * @param node Node whose prototype is to be returned.
    * @param nodes Mapping of {@link DawgNode}s to
    * {@link LibLevenshteinProtos.DawgNode}s, to avoid constructing a full trie.
@@ -284,22 +407,42 @@ public class ProtobufSerializer extends AbstractSerializer {
   protected LibLevenshteinProtos.DawgNode protoOf(
       final DawgNode node,
       final Map<DawgNode, LibLevenshteinProtos.DawgNode> nodes) {
-    if (nodes.containsKey(node)) {
-      return nodes.get(node);
-    }
-    final LibLevenshteinProtos.DawgNode.Builder builder =
-      LibLevenshteinProtos.DawgNode.newBuilder();
-    builder.setIsFinal(node.isFinal());
-    for (final Char2ObjectMap.Entry<DawgNode> edge : node.edges().char2ObjectEntrySet()) {
-      builder.addEdge(protoOf(edge.getCharKey(), edge.getValue(), nodes));
+    final Deque<DawgNode> pending = new ArrayDeque<>();
+    pending.push(node);
+
+    while (!pending.isEmpty()) {
+      final DawgNode next = pending.peek();
+      if (nodes.containsKey(next)) {
+        pending.pop();
+        continue;
+      }
+
+      boolean isReady = true;
+      for (final DawgNode target : next.edges().values()) {
+        if (!nodes.containsKey(target)) {
+          pending.push(target);
+          isReady = false;
+        }
+      }
+
+      if (isReady) {
+        pending.pop();
+        final LibLevenshteinProtos.DawgNode.Builder builder =
+          LibLevenshteinProtos.DawgNode.newBuilder();
+        builder.setIsFinal(next.isFinal());
+        for (final Char2ObjectMap.Entry<DawgNode> edge : next.edges().char2ObjectEntrySet()) {
+          builder.addEdge(protoOf(edge.getCharKey(), edge.getValue(), nodes));
+        }
+        nodes.put(next, builder.build());
+      }
     }
-    final LibLevenshteinProtos.DawgNode proto = builder.build();
-    nodes.put(node, proto);
-    return proto;
+
+    return nodes.get(node);
   }
 
   /**
-   * Returns the prototype of an edge.
+   * Returns the prototype of an edge.  The prototype of its target is built
+   * first, unless it is already within the mapping.
    * @param label Annotation leading out of the current {@link DawgNode} to the
    *   target {@link DawgNode}.
    * @param node Target {@link DawgNode} for the transition.
@@ -6,6 +6,7 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 
 /**
@@ -100,6 +101,30 @@ public interface Serializer {
       Class<Type> type,
       byte[] bytes) throws Exception;
 
+  /**
+   * Deserializes an object from the remaining bytes of a buffer, which may be a
+   * slice of a larger (possibly direct or memory-mapped) buffer.  Formats that
+   * support it read the object in-place, without copying the buffer, in which
+   * case the buffer must not be modified while the object is in use.  The
+   * position of the buffer is left unchanged.  By default, the remaining bytes
+   * are copied and deserialized by {@link #deserialize(Class, byte[])}.
+   * @param type Class of the deserialized object.
+   * @param buffer Bytes of the serialized object, between its position and
+   *   limit.
+   * @param <Type> Type of the deserialized object.
+   * @return Deserialized object from the buffer.
+   * @throws Exception When the object cannot be deserialized
+   * (implementation-specific).
+   */
+  default <Type extends Serializable>
+    Type deserialize(
+      final Class<Type> type,
+      final ByteBuffer buffer) throws Exception {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return deserialize(type, bytes);
+  }
+
   /**
    * Deserializes an object from some file.
    * @param type Class of the deserialized object.
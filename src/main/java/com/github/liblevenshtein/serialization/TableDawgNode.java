@@ -0,0 +1,173 @@
+package com.github.liblevenshtein.serialization;
+
+import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
+import it.unimi.dsi.fastutil.chars.Char2ObjectMaps;
+import it.unimi.dsi.fastutil.chars.Char2ObjectRBTreeMap;
+import it.unimi.dsi.fastutil.chars.CharIterator;
+
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+
+/**
+ * Flyweight node of a {@link NodeTable}, such as {@link LazyDawg} or
+ * {@link BufferDawg}, which consists of nothing more than its id.  Everything
+ * else about it is looked up in the table.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+final class TableDawgNode extends DawgNode {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Message of the exceptions thrown when modifying a node.
+   */
+  private static final String READ_ONLY = "Nodes of serialized dictionaries are read-only";
+
+  /**
+   * Table holding this node.
+   */
+  private final NodeTable table;
+
+  /**
+   * Id of this node within {@link #table}.
+   */
+  private final int id;
+
+  /**
+   * Constructs a new {@link TableDawgNode}.
+   * @param table Table holding this node.
+   * @param id Id of this node within the table.
+   */
+  TableDawgNode(final NodeTable table, final int id) {
+    super(Char2ObjectMaps.<DawgNode>emptyMap());
+    this.table = table;
+    this.id = id;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isFinal() {
+    return table.isFinal(id);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int minDepth() {
+    return table.minDepth(id);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int maxDepth() {
+    return table.maxDepth(id);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CharIterator labels() {
+    return table.labels(id);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DawgNode transition(final char label) {
+    final int target = table.transition(id, label);
+    return target < 0 ? null : table.node(target);
+  }
+
+  /**
+   * Materializes the outgoing edges of this node.  Their targets remain lazy.
+   * @return Outgoing edges of this node.
+   */
+  @Override
+  public Char2ObjectMap<DawgNode> edges() {
+    final Char2ObjectMap<DawgNode> edges = new Char2ObjectRBTreeMap<>();
+    final CharIterator labels = table.labels(id);
+    while (labels.hasNext()) {
+      final char label = labels.nextChar();
+      edges.put(label, table.node(table.transition(id, label)));
+    }
+    return edges;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DawgNode addEdge(final char label, final DawgNode target) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  /**
+   * Table nodes are equal when they have the same id in the same table, so
+   * comparing them never reads the table.
+   * @param object Object to compare with this node.
+   * @return Whether the object is the same node of the same table.
+   */
+  @Override
+  public boolean equals(final Object object) {
+    if (this == object) {
+      return true;
+    }
+
+    if (!(object instanceof TableDawgNode)) {
+      return false;
+    }
+
+    final TableDawgNode other = (TableDawgNode) object;
+    return table == other.table && id == other.id;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    return 31 * System.identityHashCode(table) + id;
+  }
+
+  /**
+   * Table nodes stand for the same node when they are equal, since each
+   * transition creates a new flyweight.
+   * @param other Node to compare with this one.
+   * @return Whether the other node is the same node of the same table.
+   */
+  @Override
+  public boolean isSameNode(final DawgNode other) {
+    return equals(other);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int nodeHashCode() {
+    return hashCode();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return String.format("TableDawgNode(id=%d)", id);
+  }
+}
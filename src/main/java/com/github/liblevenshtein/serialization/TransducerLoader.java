@@ -0,0 +1,90 @@
+package com.github.liblevenshtein.serialization;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.ReloadableTransducer;
+import com.github.liblevenshtein.transducer.Transducer;
+
+/**
+ * <p>
+ * Loads a serialized transducer from a file, such as to publish a new version
+ * of it through {@link ReloadableTransducer#reload(Callable)}.
+ * </p>
+ *
+ * <p>
+ * When memory-mapped, the file is mapped read-only and handed to the serializer
+ * as a buffer.  Paired with {@link BinarySerializer.Layout#FIXED_WIDTH}, either
+ * directly or within an {@link ArtifactSerializer}, the dictionary is then read
+ * in-place from the page cache by {@link BufferDawg}, so loading it neither
+ * copies nor decodes it.  The mapping is released by the garbage collector once
+ * the transducer is no longer referenced.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @param <CandidateType> Kind of the spelling candidates returned from the
+ *   dictionary.
+ * @since 3.1.0
+ */
+@Slf4j
+@ToString
+@RequiredArgsConstructor
+public class TransducerLoader<CandidateType>
+  implements Callable<ITransducer<CandidateType>> {
+
+  /**
+   * File holding the serialized transducer.
+   */
+  @NonNull
+  private final Path path;
+
+  /**
+   * Reads the serialized transducer.
+   */
+  @NonNull
+  private final Serializer serializer;
+
+  /**
+   * Whether to map the file into memory instead of reading it.
+   */
+  private final boolean memoryMapped;
+
+  /**
+   * Constructs a new {@link TransducerLoader} that reads the file.
+   * @param path File holding the serialized transducer.
+   * @param serializer Reads the serialized transducer.
+   */
+  public TransducerLoader(
+      @NonNull final Path path,
+      @NonNull final Serializer serializer) {
+    this(path, serializer, false);
+  }
+
+  /**
+   * Loads the transducer from the file.
+   * @return Transducer loaded from the file.
+   * @throws Exception When the transducer cannot be loaded.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public ITransducer<CandidateType> call() throws Exception {
+    log.info("Loading a transducer from [{}], memory-mapped: [{}]", path, memoryMapped);
+    if (!memoryMapped) {
+      return serializer.deserialize(Transducer.class, path);
+    }
+    try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final ByteBuffer buffer =
+        channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+      return serializer.deserialize(Transducer.class, buffer);
+    }
+  }
+}
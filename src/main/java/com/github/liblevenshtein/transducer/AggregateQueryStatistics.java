@@ -0,0 +1,209 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+import lombok.ToString;
+
+/**
+ * <p>
+ * Sums the traversal statistics of every query reported to it, such as all the
+ * queries of a {@link Transducer}, and remembers the worst of them.  It may be
+ * shared by any number of threads, and is cheap to update from each of them,
+ * so it may be polled periodically by a metrics exporter.
+ * </p>
+ *
+ * <p>
+ * The sums are not read atomically with respect to each other, so a snapshot
+ * taken while queries complete may mix the statistics of consecutive queries.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@ToString
+public class AggregateQueryStatistics implements QueryListener {
+
+  /**
+   * Number of completed queries.
+   */
+  private final LongAdder queryCount = new LongAdder();
+
+  /**
+   * Number of completed queries that were stopped early.
+   */
+  private final LongAdder incompleteQueryCount = new LongAdder();
+
+  /**
+   * Total nanoseconds spent by completed queries.
+   */
+  private final LongAdder durationNanos = new LongAdder();
+
+  /**
+   * Total intersections queued by completed queries.
+   */
+  private final LongAdder intersectionsQueued = new LongAdder();
+
+  /**
+   * Total edges visited by completed queries.
+   */
+  private final LongAdder edgesVisited = new LongAdder();
+
+  /**
+   * Total transitions to dead states by completed queries.
+   */
+  private final LongAdder deadTransitions = new LongAdder();
+
+  /**
+   * Total subtrees pruned by completed queries.
+   */
+  private final LongAdder prunedSubtrees = new LongAdder();
+
+  /**
+   * Total spelling candidates emitted by completed queries.
+   */
+  private final LongAdder candidatesEmitted = new LongAdder();
+
+  /**
+   * Greatest peak queue size of any completed query.
+   */
+  private final LongAccumulator maxPeakQueueSize =
+    new LongAccumulator(new Max(), 0L);
+
+  /**
+   * Greatest number of edges visited by any completed query.
+   */
+  private final LongAccumulator maxEdgesVisited =
+    new LongAccumulator(new Max(), 0L);
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void completed(final QueryStatistics statistics) {
+    queryCount.increment();
+    if (!statistics.status().isComplete()) {
+      incompleteQueryCount.increment();
+    }
+    durationNanos.add(statistics.durationNanos());
+    intersectionsQueued.add(statistics.intersectionsQueued());
+    edgesVisited.add(statistics.edgesVisited());
+    deadTransitions.add(statistics.deadTransitions());
+    prunedSubtrees.add(statistics.prunedSubtrees());
+    candidatesEmitted.add(statistics.candidatesEmitted());
+    maxPeakQueueSize.accumulate(statistics.peakQueueSize());
+    maxEdgesVisited.accumulate(statistics.edgesVisited());
+  }
+
+  /**
+   * Returns the number of completed queries.
+   * @return Number of completed queries.
+   */
+  public long queryCount() {
+    return queryCount.sum();
+  }
+
+  /**
+   * Returns the number of completed queries that were stopped early, by their
+   * budgets or otherwise, so their spelling candidates are incomplete.
+   * @return Number of queries that were stopped early.
+   */
+  public long incompleteQueryCount() {
+    return incompleteQueryCount.sum();
+  }
+
+  /**
+   * Returns the total nanoseconds spent by completed queries.
+   * @return Total duration of completed queries, in nanoseconds.
+   */
+  public long durationNanos() {
+    return durationNanos.sum();
+  }
+
+  /**
+   * Returns the total intersections queued by completed queries.
+   * @return Total queued intersections.
+   */
+  public long intersectionsQueued() {
+    return intersectionsQueued.sum();
+  }
+
+  /**
+   * Returns the total edges visited by completed queries.
+   * @return Total visited edges.
+   */
+  public long edgesVisited() {
+    return edgesVisited.sum();
+  }
+
+  /**
+   * Returns the total transitions to dead states by completed queries.
+   * @return Total transitions to dead states.
+   */
+  public long deadTransitions() {
+    return deadTransitions.sum();
+  }
+
+  /**
+   * Returns the total subtrees pruned by completed queries.
+   * @return Total pruned subtrees.
+   */
+  public long prunedSubtrees() {
+    return prunedSubtrees.sum();
+  }
+
+  /**
+   * Returns the total spelling candidates emitted by completed queries.
+   * @return Total emitted spelling candidates.
+   */
+  public long candidatesEmitted() {
+    return candidatesEmitted.sum();
+  }
+
+  /**
+   * Returns the greatest peak queue size of any completed query.
+   * @return Greatest peak queue size.
+   */
+  public long maxPeakQueueSize() {
+    return maxPeakQueueSize.get();
+  }
+
+  /**
+   * Returns the greatest number of edges visited by any completed query.
+   * @return Greatest number of visited edges.
+   */
+  public long maxEdgesVisited() {
+    return maxEdgesVisited.get();
+  }
+
+  /**
+   * Clears the statistics, such as after they have been exported.
+   */
+  public void reset() {
+    queryCount.reset();
+    incompleteQueryCount.reset();
+    durationNanos.reset();
+    intersectionsQueued.reset();
+    edgesVisited.reset();
+    deadTransitions.reset();
+    prunedSubtrees.reset();
+    candidatesEmitted.reset();
+    maxPeakQueueSize.reset();
+    maxEdgesVisited.reset();
+  }
+
+  /**
+   * Accumulates the greatest of its operands.
+   */
+  private static final class Max implements LongBinaryOperator {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long applyAsLong(final long lhs, final long rhs) {
+      return Math.max(lhs, rhs);
+    }
+  }
+}
@@ -0,0 +1,328 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.chars.CharIterator;
+
+import com.google.common.collect.Maps;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import com.github.liblevenshtein.collection.AbstractIterator;
+
+/**
+ * <p>
+ * Lazily transduces a stream of query terms against the dictionary automaton,
+ * reusing the intersections of the dictionary and Levenshtein automata that
+ * were explored under the prefix each query term shares with the one before
+ * it.  Subsequent calls to {@link Iterator#next()} transduce the next query
+ * term.
+ * </p>
+ *
+ * <p>
+ * The outgoing transitions of each intersection are derived from at most
+ * {@code 2n + 1} characters of the query term, beginning with the smallest
+ * term index in its Levenshtein state.  So long as those characters do not run
+ * past the end of the query term, the transitions are cached on the
+ * intersection and reused by the next query term if it shares them.  The
+ * transitions of the remaining intersections are recomputed.  Only the
+ * distances of the spelling candidates are derived from the full query term.
+ * </p>
+ *
+ * <p>
+ * The query terms may be given in any order, but sorting them maximizes the
+ * prefixes consecutive ones share, and thus the work that is reused.  For the
+ * {@link Algorithm#TRANSPOSITION} algorithm, the subsumption of Levenshtein
+ * states depends on the length of the query term, so work is only reused
+ * between consecutive query terms of equal length.
+ * </p>
+ *
+ * <p>
+ * Please note that the {@link #iterator()} is not threadsafe.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @param <DictionaryNode> Kind of nodes of the dictionary automaton.
+ * @param <CandidateType> Kind of the spelling candidates returned from the
+ *   dictionary.
+ * @since 3.1.0
+ */
+public class BatchTransducerCollection<DictionaryNode, CandidateType>
+    extends AbstractIterator<Map.Entry<String, List<CandidateType>>>
+    implements Iterable<Map.Entry<String, List<CandidateType>>> {
+
+  /**
+   * Query terms whose spellings should be corrected.
+   */
+  private final Iterator<String> terms;
+
+  /**
+   * Maximum number of spelling errors candidates may have from the query terms.
+   */
+  private final int maxDistance;
+
+  /**
+   * Attributes required for this transducer to search the dictionary.
+   */
+  private final TransducerAttributes<DictionaryNode, CandidateType> attributes;
+
+  /**
+   * Depth-first traversal of the explored intersections.
+   */
+  private final Deque<Frame<DictionaryNode>> pendingStack = new ArrayDeque<>();
+
+  /**
+   * Intersection of the roots of the dictionary and Levenshtein automata,
+   * along with the explored intersections beneath it.
+   */
+  private final Frame<DictionaryNode> root;
+
+  /**
+   * Maximum number of characters of the query term that are examined when
+   * transitioning from an intersection.
+   */
+  private final int a;
+
+  /**
+   * Previous query term, whose explored intersections are cached.
+   */
+  private String prevTerm = null;
+
+  /**
+   * Initializes a new BatchTransducerCollection with a stream of queries
+   * against the dictionary automaton.
+   * @param terms Query terms whose spellings should be corrected, preferably
+   *   in sorted order.
+   * @param maxDistance Maximum number of spelling errors candidates may have
+   *   from the query terms.
+   * @param attributes Attributes required for this transducer to search the
+   *   dictionary.
+   */
+  public BatchTransducerCollection(
+      @NonNull final Iterable<String> terms,
+      final int maxDistance,
+      @NonNull final TransducerAttributes<DictionaryNode, CandidateType> attributes) {
+
+    this.terms = terms.iterator();
+    this.maxDistance = maxDistance;
+    this.attributes = attributes;
+    this.root = new Frame<DictionaryNode>(
+      new Intersection<DictionaryNode>(
+        attributes.dictionaryRoot(),
+        attributes.initialState()));
+
+    // See LazyTransducerCollection for why "a" is capped at the max integer.
+    this.a = maxDistance < (Integer.MAX_VALUE - 1) >> 1
+      ? (maxDistance << 1) + 1
+      : Integer.MAX_VALUE;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterator<Map.Entry<String, List<CandidateType>>> iterator() {
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void advance() {
+    if (null == next && terms.hasNext()) {
+      final String term = terms.next();
+      if (null == term) {
+        throw new IllegalArgumentException("Query terms may not be null");
+      }
+      this.next = Maps.immutableEntry(term, transduce(term));
+      this.prevTerm = term;
+    }
+  }
+
+  /**
+   * Collects the spelling candidates of the query term, reusing what it can
+   * of the intersections explored for the previous one.
+   * @param term Query term whose spelling should be corrected.
+   * @return Spelling candidates for the query term.
+   */
+  private List<CandidateType> transduce(final String term) {
+    final int sharedLength = sharedLength(term);
+    final StateTransitionFunction stateTransition =
+      attributes.stateTransitionFactory().build(maxDistance, term.length());
+    final List<CandidateType> candidates = new ArrayList<>();
+
+    pendingStack.push(root);
+    while (!pendingStack.isEmpty()) {
+      final Frame<DictionaryNode> frame = pendingStack.pop();
+      final List<Frame<DictionaryNode>> children =
+        children(frame, term, sharedLength, stateTransition);
+      for (final Frame<DictionaryNode> child : children) {
+        pendingStack.push(child);
+        final Intersection<DictionaryNode> intersection = child.intersection();
+        if (attributes.isFinal().at(intersection.dictionaryNode())) {
+          final int distance = attributes.minDistance()
+            .at(intersection.levenshteinState(), term.length());
+          if (distance <= maxDistance) {
+            candidates.add(attributes.candidateFactory()
+                .build(intersection.candidate(), distance));
+          }
+        }
+      }
+    }
+
+    return candidates;
+  }
+
+  /**
+   * Returns the length of the prefix the query term shares with the previous
+   * one, for the purpose of reusing the intersections explored for it.
+   * @param term Query term whose spelling should be corrected.
+   * @return Number of leading characters shared with the previous query term.
+   */
+  private int sharedLength(final String term) {
+    if (null == prevTerm
+        || Algorithm.TRANSPOSITION == attributes.algorithm()
+        && term.length() != prevTerm.length()) {
+      return 0;
+    }
+
+    final int upperBound = term.length() < prevTerm.length()
+      ? term.length()
+      : prevTerm.length();
+
+    int i = 0;
+    while (i < upperBound && term.charAt(i) == prevTerm.charAt(i)) {
+      i += 1;
+    }
+
+    return i;
+  }
+
+  /**
+   * Returns the intersections reachable by a single transition from that of
+   * the frame.  They are reused if they were derived from characters of the
+   * previous query term that the current one shares, and are otherwise
+   * recomputed.
+   * @param frame Frame whose outgoing intersections should be returned.
+   * @param term Query term whose spelling should be corrected.
+   * @param sharedLength Number of leading characters the query term shares
+   *   with the previous one.
+   * @param stateTransition Transitions Levenshtein states for the query term.
+   * @return Intersections reachable by a single transition from the frame.
+   */
+  private List<Frame<DictionaryNode>> children(
+      final Frame<DictionaryNode> frame,
+      final String term,
+      final int sharedLength,
+      final StateTransitionFunction stateTransition) {
+
+    if (null != frame.children() && frame.prefixLength() <= sharedLength) {
+      return frame.children();
+    }
+
+    final Intersection<DictionaryNode> intersection = frame.intersection();
+    final DictionaryNode dictionaryNode = intersection.dictionaryNode();
+    final State levenshteinState = intersection.levenshteinState();
+
+    final int i = levenshteinState.head().termIndex();
+    final int b = term.length() - i;
+    final int k = a < b ? a : b;
+
+    final List<Frame<DictionaryNode>> children = new ArrayList<>();
+    final CharIterator labels =
+      attributes.dictionaryTransition().of(dictionaryNode);
+    while (labels.hasNext()) {
+      final char label = labels.nextChar();
+      final boolean[] characteristicVector =
+        characteristicVector(label, term, k, i);
+      final State nextLevenshteinState =
+        stateTransition.of(levenshteinState, characteristicVector);
+      if (null != nextLevenshteinState) {
+        final DictionaryNode nextDictionaryNode =
+          attributes.dictionaryTransition().of(dictionaryNode, label);
+        children.add(new Frame<DictionaryNode>(
+          new Intersection<>(
+            intersection,
+            label,
+            nextDictionaryNode,
+            nextLevenshteinState)));
+      }
+    }
+
+    // When the characteristic vectors are truncated by the end of the query
+    // term, the transitions depend on its length and are not cached.
+    if (a <= b) {
+      frame.children(children);
+      frame.prefixLength(i + a);
+    }
+    else {
+      frame.children(null);
+    }
+
+    return children;
+  }
+
+  /**
+   * Returns the characteristic vector of the term, from its characters between
+   * index i and index k. The characteristic vector contains true at each index
+   * where the corresponding character of the term is the value of x, and false
+   * elsewhere.
+   * @param x char to find all occurrences of in the relevant substring of term
+   * @param term Term in which to find all occurrences of the character, x
+   * @param k Length of the substring of term to examine
+   * @param i Base-index of the substring of term to examine
+   * @return Characteristic vector marking where x appears in the relevant
+   *   substring of term.
+   */
+  private boolean[] characteristicVector(
+      final char x,
+      final String term,
+      final int k,
+      final int i) {
+
+    final boolean[] characteristicVector = new boolean[k];
+
+    for (int j = 0; j < k; ++j) {
+      characteristicVector[j] = x == term.charAt(i + j);
+    }
+
+    return characteristicVector;
+  }
+
+  /**
+   * Explored intersection, along with the intersections reachable by a single
+   * transition from it.
+   * @param <DictionaryNode> Kind of nodes of the dictionary automaton.
+   */
+  @Getter
+  @Setter
+  @RequiredArgsConstructor
+  private static class Frame<DictionaryNode> {
+
+    /**
+     * Explored intersection of the dictionary and Levenshtein automata.
+     */
+    private final Intersection<DictionaryNode> intersection;
+
+    /**
+     * Cached intersections reachable by a single transition from
+     * {@link #intersection}, or null if they are not cached.
+     */
+    private List<Frame<DictionaryNode>> children = null;
+
+    /**
+     * Number of leading characters of the query term from which the cached
+     * {@link #children} were derived.
+     */
+    private int prefixLength = 0;
+  }
+}
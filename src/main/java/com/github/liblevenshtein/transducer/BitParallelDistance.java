@@ -0,0 +1,262 @@
+package com.github.liblevenshtein.transducer;
+
+import it.unimi.dsi.fastutil.chars.Char2LongMap;
+import it.unimi.dsi.fastutil.chars.Char2LongOpenHashMap;
+
+/**
+ * <p>
+ * Finds the distances of dictionary terms from a query term, giving up on
+ * those farther than a maximum distance.
+ * </p>
+ *
+ * <p>
+ * For the standard distance and for transpositions, query terms of up to 64
+ * characters are compared with Hyyrö's formulation of Myers' bit-vector
+ * algorithm, which advances a whole column of the distance matrix in a handful
+ * of word operations per character of the dictionary term.  Longer query
+ * terms, and merges and splits (which have no bit-parallel formulation), fall
+ * back to filling the distance matrix a column at a time.
+ * </p>
+ *
+ * <p>
+ * Each instance keeps the rows of its distance matrix between terms, so it is
+ * not safe to share between threads.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+final class BitParallelDistance {
+
+  /**
+   * Greatest length of a query term that fits in a bit-vector.
+   */
+  private static final int WORD_SIZE = Long.SIZE;
+
+  /**
+   * Number of characters whose match vectors are kept in an array, rather than
+   * in {@link #matchVectors}.
+   */
+  private static final int ASCII_SIZE = 128;
+
+  /**
+   * Algorithm of the distance.
+   */
+  private final Algorithm algorithm;
+
+  /**
+   * Query term whose distances are found.
+   */
+  private final char[] query;
+
+  /**
+   * Whether the query term is compared with bit-vectors.
+   */
+  private final boolean bitParallel;
+
+  /**
+   * Bit-vectors of the positions of ASCII characters in the query term.
+   */
+  private final long[] asciiMatchVectors;
+
+  /**
+   * Bit-vectors of the positions of other characters in the query term.
+   */
+  private final Char2LongMap matchVectors;
+
+  /**
+   * Column of the distance matrix before the previous one, when filling it.
+   */
+  private int[] beforePrevious;
+
+  /**
+   * Previous column of the distance matrix, when filling it.
+   */
+  private int[] previous;
+
+  /**
+   * Current column of the distance matrix, when filling it.
+   */
+  private int[] current;
+
+  /**
+   * Prepares to find the distances of dictionary terms from the query term.
+   * @param algorithm Algorithm of the distance.
+   * @param query Query term whose distances are found.
+   */
+  BitParallelDistance(final Algorithm algorithm, final String query) {
+    this.algorithm = algorithm;
+    this.query = query.toCharArray();
+    this.bitParallel = Algorithm.MERGE_AND_SPLIT != algorithm
+      && this.query.length <= WORD_SIZE;
+    this.asciiMatchVectors = new long[ASCII_SIZE];
+    this.matchVectors = new Char2LongOpenHashMap();
+    if (bitParallel) {
+      for (int i = 0; i < this.query.length; i += 1) {
+        final char c = this.query[i];
+        if (c < ASCII_SIZE) {
+          asciiMatchVectors[c] |= 1L << i;
+        }
+        else {
+          matchVectors.put(c, matchVectors.get(c) | 1L << i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Finds the distance of a dictionary term from the query term.
+   * @param terms Characters of the dictionary terms.
+   * @param offset Index of the first character of the dictionary term.
+   * @param length Number of characters of the dictionary term.
+   * @param maxDistance Greatest distance of interest.
+   * @return Distance of the dictionary term from the query term, or
+   *   {@code maxDistance + 1} if it is farther than maxDistance.
+   */
+  int distance(
+      final char[] terms,
+      final int offset,
+      final int length,
+      final int maxDistance) {
+    if (0 == query.length || 0 == length) {
+      final int distance = Math.max(query.length, length);
+      return Math.min(distance, maxDistance + 1);
+    }
+    return bitParallel
+      ? bitParallelDistance(terms, offset, length, maxDistance)
+      : matrixDistance(terms, offset, length, maxDistance);
+  }
+
+  /**
+   * Finds the distance with bit-vectors, for the standard distance and for
+   * transpositions.  The vertical deltas of each column are held in
+   * {@code vp} and {@code vn}, and the distance of the whole query term from
+   * each prefix of the dictionary term is tracked through its last bit.
+   * @param terms Characters of the dictionary terms.
+   * @param offset Index of the first character of the dictionary term.
+   * @param length Number of characters of the dictionary term.
+   * @param maxDistance Greatest distance of interest.
+   * @return Distance of the dictionary term, or {@code maxDistance + 1}.
+   */
+  private int bitParallelDistance(
+      final char[] terms,
+      final int offset,
+      final int length,
+      final int maxDistance) {
+    final boolean transposition = Algorithm.TRANSPOSITION == algorithm;
+    final long last = 1L << (query.length - 1);
+    long vp = -1L;
+    long vn = 0L;
+    long d0 = 0L;
+    long previousMatches = 0L;
+    int distance = query.length;
+    for (int j = 0; j < length; j += 1) {
+      final long matches = matchVectorOf(terms[offset + j]);
+      final long transposed = transposition
+        ? ((~d0 & matches) << 1) & previousMatches
+        : 0L;
+      d0 = (((matches & vp) + vp) ^ vp) | matches | vn | transposed;
+      long hp = vn | ~(d0 | vp);
+      final long hn = d0 & vp;
+      if (0L != (hp & last)) {
+        distance += 1;
+      }
+      else if (0L != (hn & last)) {
+        distance -= 1;
+      }
+      if (distance - (length - j - 1) > maxDistance) {
+        return maxDistance + 1;
+      }
+      hp = (hp << 1) | 1L;
+      vp = (hn << 1) | ~(d0 | hp);
+      vn = hp & d0;
+      previousMatches = matches;
+    }
+    return Math.min(distance, maxDistance + 1);
+  }
+
+  /**
+   * Returns the bit-vector of the positions of a character in the query term.
+   * @param c Character to locate.
+   * @return Bit-vector of the positions of the character.
+   */
+  private long matchVectorOf(final char c) {
+    return c < ASCII_SIZE ? asciiMatchVectors[c] : matchVectors.get(c);
+  }
+
+  /**
+   * Finds the distance by filling the distance matrix a column at a time, for
+   * each character of the dictionary term, giving up once two consecutive
+   * columns exceed the maximum distance (no later column may then be less).
+   * @param terms Characters of the dictionary terms.
+   * @param offset Index of the first character of the dictionary term.
+   * @param length Number of characters of the dictionary term.
+   * @param maxDistance Greatest distance of interest.
+   * @return Distance of the dictionary term, or {@code maxDistance + 1}.
+   */
+  @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+  private int matrixDistance(
+      final char[] terms,
+      final int offset,
+      final int length,
+      final int maxDistance) {
+    final int m = query.length;
+    if (null == current || current.length <= m) {
+      this.beforePrevious = new int[m + 1];
+      this.previous = new int[m + 1];
+      this.current = new int[m + 1];
+    }
+    for (int i = 0; i <= m; i += 1) {
+      current[i] = i;
+    }
+    int previousMin = 0;
+    int currentMin = 0;
+    for (int j = 1; j <= length; j += 1) {
+      if (currentMin > maxDistance && previousMin > maxDistance) {
+        return maxDistance + 1;
+      }
+      previousMin = currentMin;
+
+      final int[] recycled = beforePrevious;
+      this.beforePrevious = previous;
+      this.previous = current;
+      this.current = recycled;
+
+      final char b = terms[offset + j - 1];
+      current[0] = j;
+      currentMin = j;
+      for (int i = 1; i <= m; i += 1) {
+        final char a = query[i - 1];
+        int distance = previous[i - 1] + (a == b ? 0 : 1);
+        distance = Math.min(distance, previous[i] + 1);
+        distance = Math.min(distance, current[i - 1] + 1);
+        if (i > 1 && j > 1) {
+          switch (algorithm) {
+            case TRANSPOSITION:
+              if (a == terms[offset + j - 2] && query[i - 2] == b) {
+                distance = Math.min(distance, beforePrevious[i - 2] + 1);
+              }
+              break;
+            case MERGE_AND_SPLIT:
+              distance = Math.min(distance, previous[i - 2] + 1);
+              distance = Math.min(distance, beforePrevious[i - 1] + 1);
+              break;
+            default:
+              break;
+          }
+        }
+        else if (Algorithm.MERGE_AND_SPLIT == algorithm) {
+          if (i > 1) {
+            distance = Math.min(distance, previous[i - 2] + 1);
+          }
+          else if (j > 1) {
+            distance = Math.min(distance, beforePrevious[i - 1] + 1);
+          }
+        }
+        current[i] = distance;
+        currentMin = Math.min(currentMin, distance);
+      }
+    }
+    return Math.min(current[m], maxDistance + 1);
+  }
+}
@@ -0,0 +1,229 @@
+package com.github.liblevenshtein.transducer;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableList;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * <p>
+ * Decorates a {@link Transducer} with a bounded cache of the spelling
+ * candidates of recent queries.  This pays off when the distribution of query
+ * terms is heavily skewed, such that a small number of (mis)spellings make up
+ * a large portion of the traffic.  Cached queries are answered without walking
+ * the dictionary automaton.
+ * </p>
+ *
+ * <p>
+ * Entries are keyed on the query term, the maximum distance, the algorithm,
+ * and the version of the dictionary.  The cache is weighed by the number of
+ * spelling candidates it holds, and the least-recently used entries are
+ * evicted once its maximum weight is exceeded.  Reads do not block, and writes
+ * only lock the segment of the cache they hash into.  When the dictionary is
+ * modified, every cached entry is invalidated.
+ * </p>
+ *
+ * <p>
+ * Unlike the {@link Iterable}s returned by {@link Transducer}, the spelling
+ * candidates returned from this transducer are materialized before they are
+ * returned.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @param <DictionaryNode> Kind of nodes of the dictionary automaton.
+ * @param <CandidateType> Kind of the spelling candidates returned from the
+ *   dictionary.
+ * @since 3.1.0
+ */
+public class CachingTransducer<DictionaryNode, CandidateType>
+  implements ITransducer<CandidateType>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Transducer whose spelling candidates should be cached.
+   */
+  private final Transducer<DictionaryNode, CandidateType> transducer;
+
+  /**
+   * Materialized spelling candidates of recent queries.
+   */
+  private final LoadingCache<Query, List<CandidateType>> cache;
+
+  /**
+   * Version of the dictionary the cached spelling candidates were taken from.
+   */
+  private volatile long dictionaryVersion;
+
+  /**
+   * Constructs a new {@link CachingTransducer} that caches the spelling
+   * candidates of {@code transducer}.
+   * @param transducer Transducer whose spelling candidates should be cached.
+   * @param maximumWeight Maximum number of spelling candidates to cache, among
+   *   all the queries.  Each query weighs at least one unit, even if it has no
+   *   spelling candidates.
+   */
+  public CachingTransducer(
+      @NonNull final Transducer<DictionaryNode, CandidateType> transducer,
+      final long maximumWeight) {
+    this.transducer = transducer;
+    this.dictionaryVersion = transducer.attributes().dictionary().version();
+    this.cache = CacheBuilder.newBuilder()
+      .maximumWeight(maximumWeight)
+      .weigher(new CandidateWeigher<CandidateType>())
+      .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+      .recordStats()
+      .build(new CandidateLoader<CandidateType>(transducer));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<CandidateType> transduce(@NonNull final String term) {
+    return transduce(term, transducer.attributes().maxDistance());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<CandidateType> transduce(
+      @NonNull final String term,
+      final int maxDistance) {
+    final TransducerAttributes<DictionaryNode, CandidateType> attributes =
+      transducer.attributes();
+    final long version = attributes.dictionary().version();
+    if (version != dictionaryVersion) {
+      invalidate(version);
+    }
+    return cache.getUnchecked(
+        new Query(term, maxDistance, attributes.algorithm(), version));
+  }
+
+  /**
+   * Hit and miss statistics of the cache.
+   * @return Hit and miss statistics of the cache.
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /**
+   * Number of queries whose spelling candidates are currently cached.
+   * @return Number of queries whose spelling candidates are currently cached.
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Discards all the cached spelling candidates.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Discards the spelling candidates cached for older versions of the
+   * dictionary.  Entries are keyed on the dictionary version, so any that are
+   * added concurrently for an older version will never be hit and will be
+   * evicted in time.
+   * @param version Current version of the dictionary.
+   */
+  private synchronized void invalidate(final long version) {
+    if (version != dictionaryVersion) {
+      dictionaryVersion = version;
+      cache.invalidateAll();
+    }
+  }
+
+  /**
+   * Key of the cached spelling candidates.
+   */
+  @Value
+  private static class Query {
+
+    /**
+     * Query term whose spelling candidates are cached.
+     */
+    private final String term;
+
+    /**
+     * Maximum number of spelling errors candidates may have from the query
+     * term.
+     */
+    private final int maxDistance;
+
+    /**
+     * Transduction algorithm.
+     */
+    private final Algorithm algorithm;
+
+    /**
+     * Version of the dictionary the spelling candidates were taken from.
+     */
+    private final long dictionaryVersion;
+  }
+
+  /**
+   * Materializes the spelling candidates of a query.
+   * @param <CandidateType> Kind of the spelling candidates returned from the
+   *   dictionary.
+   */
+  private static class CandidateLoader<CandidateType>
+      extends CacheLoader<Query, List<CandidateType>>
+      implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Transducer whose spelling candidates should be cached.
+     */
+    private final ITransducer<CandidateType> transducer;
+
+    /**
+     * Constructs a new {@link CandidateLoader}.
+     * @param transducer Transducer whose spelling candidates should be cached.
+     */
+    CandidateLoader(final ITransducer<CandidateType> transducer) {
+      this.transducer = transducer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CandidateType> load(final Query query) {
+      return ImmutableList.copyOf(
+          transducer.transduce(query.term(), query.maxDistance()));
+    }
+  }
+
+  /**
+   * Weighs cached entries by their numbers of spelling candidates.
+   * @param <CandidateType> Kind of the spelling candidates returned from the
+   *   dictionary.
+   */
+  private static class CandidateWeigher<CandidateType>
+      implements Weigher<Query, List<CandidateType>>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int weigh(final Query query, final List<CandidateType> candidates) {
+      return 1 + candidates.size();
+    }
+  }
+}
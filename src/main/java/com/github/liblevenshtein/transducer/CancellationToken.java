@@ -0,0 +1,46 @@
+package com.github.liblevenshtein.transducer;
+
+import lombok.ToString;
+
+/**
+ * <p>
+ * Cancels the queries it is given to from any thread, such as once the request
+ * they serve has been abandoned.  A token may be shared by every query of a
+ * request, and cancelling it stops them all, including those that have not
+ * started yet.
+ * </p>
+ *
+ * <p>
+ * Queries poll their tokens while they search the dictionary, so a cancelled
+ * query stops within a few dozen edges, even if it has not found a spelling
+ * candidate in a long while.  Its iterator is then exhausted, and reports
+ * {@link QueryStatus#CANCELLED}.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@ToString
+public class CancellationToken {
+
+  /**
+   * Whether the queries given this token should stop.
+   */
+  private volatile boolean cancelled = false;
+
+  /**
+   * Asks every query given this token to stop.  Cancelling a token more than
+   * once has no further effect.
+   */
+  public void cancel() {
+    this.cancelled = true;
+  }
+
+  /**
+   * Whether this token has been cancelled.
+   * @return Whether this token has been cancelled.
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+}
@@ -0,0 +1,53 @@
+package com.github.liblevenshtein.transducer;
+
+/**
+ * Ways of finding the spelling candidates of query terms.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+public enum Engine {
+
+  /**
+   * Intersects the Levenshtein automaton of each query term with a DAWG of the
+   * dictionary, visiting only the prefixes the query term may reach.  The work
+   * of a query grows with the number of such prefixes, rather than with the
+   * dictionary, so this suits large dictionaries.  It is the only engine that
+   * supports prefix queries, query budgets, and traversal statistics, via
+   * {@link Transducer}.
+   */
+  AUTOMATON,
+
+  /**
+   * Compares each query term with every dictionary term of a similar length,
+   * via {@link ScanTransducer}.  This is faster for small dictionaries, whose
+   * scans are short.
+   */
+  SCAN,
+
+  /**
+   * Counts the q-grams each dictionary term of a similar length shares with
+   * the query term, via {@link QGramTransducer}, and verifies only the terms
+   * that share enough of them.  The work of a query is bounded by the
+   * dictionary regardless of the maximum distance, so this suits large
+   * maximum distances, at which the automaton visits most prefixes.
+   */
+  QGRAM,
+
+  /**
+   * Looks up the terms reached by deleting characters from the query term in
+   * an index of those reached from the dictionary terms, via
+   * {@link SymmetricDeletionTransducer}.  Queries are the fastest of any
+   * engine, but the index takes much longer to build and much more memory
+   * than the others, and it only supports distances up to the default
+   * maximum distance, so this suits distances of 1 or 2 on read-heavy
+   * workloads.
+   */
+  SYMMETRIC_DELETION,
+
+  /**
+   * Chooses {@link #SCAN} for dictionaries with fewer terms than the crossover
+   * of the builder for its default maximum distance, and {@link #AUTOMATON}
+   * otherwise.
+   */
+  AUTO;
+}
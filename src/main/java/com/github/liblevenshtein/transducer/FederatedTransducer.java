@@ -0,0 +1,164 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import com.github.liblevenshtein.transducer.factory.CandidateFactory;
+
+/**
+ * <p>
+ * Searches several dictionaries at once, such as a global dictionary alongside
+ * per-tenant and per-locale ones, and tags each spelling candidate with the
+ * name of the dictionary it was found in.
+ * </p>
+ *
+ * <p>
+ * Querying each dictionary with its own transducer repeats the work of the
+ * Levenshtein automaton for every prefix the dictionaries share, since the
+ * same characteristic vectors and state transitions are computed, and the
+ * same edges are followed, once per dictionary.  This transducer searches the
+ * union of the dictionaries instead, so each term is reached once no matter
+ * how many of the dictionaries contain it, and tags each spelling candidate
+ * with its dictionaries by a single lookup.  Adding dictionaries whose terms
+ * mostly overlap adds little to the cost of a query, beyond the candidates
+ * they contribute.
+ * </p>
+ *
+ * <p>
+ * The union may be searched by any engine, which must include the distances
+ * of its spelling candidates.  Terms it finds that are in none of the
+ * dictionaries are ignored.
+ * </p>
+ *
+ * <p>
+ * The lookup costs memory on top of the union: a hash map from every distinct
+ * term to the indices of its dictionaries.  The map holds a reference to each
+ * term, so every term stays on the heap as a {@link String}, even though the
+ * union may share its prefixes and suffixes in a DAWG.  Each entry takes two
+ * references in an open-addressed table with a load factor of 0.75, or about
+ * 11 bytes with compressed references.  The term adds about 40 bytes plus its
+ * characters.  Terms of a single dictionary share that dictionary's array of
+ * indices, but each term found in several dictionaries has an array of its own,
+ * which takes 16 bytes plus 4 per dictionary.  For a dictionary of English
+ * words, that comes to roughly 60 bytes per term.  That may well exceed the
+ * union itself, if it is a compact dictionary such as a
+ * {@link com.github.liblevenshtein.serialization.BufferDawg}.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @param <CandidateType> Kind of spelling candidates tagged with their
+ *   dictionaries (e.g. {@link Candidate} or {@link java.lang.String}).
+ * @since 3.1.0
+ */
+public class FederatedTransducer<CandidateType>
+    implements ITransducer<SourcedCandidate<CandidateType>> {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Names of the dictionaries, in the order their candidates are tagged.
+   * @return Names of the dictionaries.
+   */
+  @Getter
+  private final List<String> sources;
+
+  /**
+   * Indices of the dictionaries of each term, in ascending order.
+   */
+  private final Map<String, int[]> sourcesOf;
+
+  /**
+   * Searches the union of the dictionaries.
+   */
+  private final ITransducer<Candidate> union;
+
+  /**
+   * Builds spelling candidates from dictionary terms and their distances.
+   */
+  private final CandidateFactory<CandidateType> candidateFactory;
+
+  /**
+   * Constructs a new {@link FederatedTransducer} over several dictionaries.
+   * @param dictionaries Terms of each dictionary, by its name.  The spelling
+   *   candidates of each term are tagged with the names of its dictionaries in
+   *   the iteration order of the map.
+   * @param union Searches the union of the dictionaries.
+   * @param candidateFactory Builds spelling candidates from dictionary terms
+   *   and their distances.
+   * @throws IllegalArgumentException When no dictionaries are given.
+   */
+  public FederatedTransducer(
+      @NonNull final Map<String, ? extends Iterable<String>> dictionaries,
+      @NonNull final ITransducer<Candidate> union,
+      @NonNull final CandidateFactory<CandidateType> candidateFactory) {
+    if (dictionaries.isEmpty()) {
+      throw new IllegalArgumentException("Expected at least one dictionary");
+    }
+
+    final List<String> names = new ArrayList<>(dictionaries.size());
+    final Map<String, int[]> termSources = new Object2ObjectOpenHashMap<>();
+    for (final Map.Entry<String, ? extends Iterable<String>> entry
+        : dictionaries.entrySet()) {
+      final int source = names.size();
+      // Most terms are only in one dictionary, which share an array.
+      final int[] onlySource = {source};
+      for (final String term : entry.getValue()) {
+        final int[] prevSources = termSources.get(term);
+        if (null == prevSources) {
+          termSources.put(term, onlySource);
+        }
+        else if (source != prevSources[prevSources.length - 1]) {
+          final int[] nextSources =
+            Arrays.copyOf(prevSources, prevSources.length + 1);
+          nextSources[prevSources.length] = source;
+          termSources.put(term, nextSources);
+        }
+      }
+      names.add(entry.getKey());
+    }
+
+    this.sources = Collections.unmodifiableList(names);
+    this.sourcesOf = termSources;
+    this.union = union;
+    this.candidateFactory = candidateFactory;
+  }
+
+  /**
+   * Returns the number of distinct terms among the dictionaries.
+   * @return Number of distinct terms among the dictionaries.
+   */
+  public int size() {
+    return sourcesOf.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<SourcedCandidate<CandidateType>> transduce(@NonNull final String term) {
+    return new FederatedTransducerCollection<>(
+        union.transduce(term), sources, sourcesOf, candidateFactory);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<SourcedCandidate<CandidateType>> transduce(
+      @NonNull final String term,
+      final int maxDistance) {
+    if (maxDistance < 0) {
+      return Collections.emptyList();
+    }
+    return new FederatedTransducerCollection<>(
+        union.transduce(term, maxDistance), sources, sourcesOf, candidateFactory);
+  }
+}
@@ -0,0 +1,117 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+
+import com.github.liblevenshtein.collection.AbstractIterator;
+import com.github.liblevenshtein.transducer.factory.CandidateFactory;
+
+/**
+ * Lazily tags the spelling candidates found in the union of several
+ * dictionaries with the dictionaries that contain them.  A candidate found in
+ * several dictionaries is returned once for each, in the order of the
+ * dictionaries, before the next candidate of the union is sought.
+ * @author Dylon Edwards
+ * @param <CandidateType> Kind of spelling candidates tagged with their
+ *   dictionaries.
+ * @since 3.1.0
+ */
+public class FederatedTransducerCollection<CandidateType>
+    extends AbstractIterator<SourcedCandidate<CandidateType>>
+    implements Iterable<SourcedCandidate<CandidateType>> {
+
+  /**
+   * Dictionaries of the terms of the union that are in none of them.
+   */
+  private static final int[] NO_SOURCES = {};
+
+  /**
+   * Spelling candidates found in the union of the dictionaries.
+   */
+  private final Iterator<Candidate> candidates;
+
+  /**
+   * Names of the dictionaries.
+   */
+  private final List<String> sources;
+
+  /**
+   * Indices of the dictionaries of each term, in ascending order.
+   */
+  private final Map<String, int[]> sourcesOf;
+
+  /**
+   * Builds spelling candidates from dictionary terms and their distances.
+   */
+  private final CandidateFactory<CandidateType> candidateFactory;
+
+  /**
+   * Spelling candidate of the union being tagged, or null before the first.
+   */
+  private Candidate candidate = null;
+
+  /**
+   * Indices of the dictionaries of {@link #candidate}.
+   */
+  private int[] candidateSources = NO_SOURCES;
+
+  /**
+   * Index into {@link #candidateSources} of the next dictionary to tag
+   * {@link #candidate} with.
+   */
+  private int sourceIndex = 0;
+
+  /**
+   * Initializes a new FederatedTransducerCollection over the spelling
+   * candidates of the union of the dictionaries.
+   * @param candidates Spelling candidates found in the union of the
+   *   dictionaries, with their distances.
+   * @param sources Names of the dictionaries.
+   * @param sourcesOf Indices of the dictionaries of each term.
+   * @param candidateFactory Builds spelling candidates from dictionary terms
+   *   and their distances.
+   */
+  public FederatedTransducerCollection(
+      @NonNull final Iterable<Candidate> candidates,
+      @NonNull final List<String> sources,
+      @NonNull final Map<String, int[]> sourcesOf,
+      @NonNull final CandidateFactory<CandidateType> candidateFactory) {
+    this.candidates = candidates.iterator();
+    this.sources = sources;
+    this.sourcesOf = sourcesOf;
+    this.candidateFactory = candidateFactory;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterator<SourcedCandidate<CandidateType>> iterator() {
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void advance() {
+    while (null == next
+        && (sourceIndex < candidateSources.length || candidates.hasNext())) {
+      if (sourceIndex < candidateSources.length) {
+        this.next = new SourcedCandidate<>(
+            sources.get(candidateSources[sourceIndex]),
+            candidateFactory.build(candidate.term(), candidate.distance()));
+        sourceIndex += 1;
+      }
+      else {
+        this.candidate = candidates.next();
+        final int[] nextSources = sourcesOf.get(candidate.term());
+        this.candidateSources = null == nextSources ? NO_SOURCES : nextSources;
+        this.sourceIndex = 0;
+      }
+    }
+  }
+}
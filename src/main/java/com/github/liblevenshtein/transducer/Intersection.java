@@ -40,6 +40,34 @@ public class Intersection<DictionaryNode> implements Serializable {
    */
   private final State levenshteinState;
 
+  /**
+   * Least distance between the query term and any prefix of the spelling
+   * candidate along this intersection's path.  This is only tracked when
+   * searching for the completions of fuzzy prefixes.
+   */
+  private final int distance;
+
+  /**
+   * Constructs an intersection along some path of the dictionary and
+   * Levenshtein automata.
+   * @param prevIntersection Intersection along the prefix from the root,
+   *   dictionary node to the one prior to dictionaryNode.
+   * @param label Label annotating the edge between the previous dictionary node
+   *   and dictionaryNode.
+   * @param dictionaryNode Current node in the dictionary, along the
+   *   intersection's path.
+   * @param levenshteinState Current node in the Levenshtein automaton, along
+   *   the intersection's path.
+   */
+  public Intersection(
+      final Intersection<DictionaryNode> prevIntersection,
+      final char label,
+      final DictionaryNode dictionaryNode,
+      final State levenshteinState) {
+    this(prevIntersection, label, dictionaryNode, levenshteinState,
+        Integer.MAX_VALUE);
+  }
+
   /**
    * Constructs an intersection representing the start states of both the
    * dictionary and Levenshtein automata.
@@ -59,23 +87,30 @@ public class Intersection<DictionaryNode> implements Serializable {
    * @return Spelling candidate from the dictionary automaton.
    */
   public String candidate() {
-    return buffer().toString();
+    return new String(buffer());
   }
 
   /**
-   * Buffers the prefix built by traversion the path from the root node to
-   * {@link dictionaryNode}.
-   * @return The prefix from the root node to {@link dictionaryNode}.
+   * Buffers the prefix built by traversing the path from the root node to
+   * {@link #dictionaryNode}.  The intersections are followed back toward the
+   * root, filling the buffer from its end, instead of recursing once per
+   * character of the candidate.
+   * @return The prefix from the root node to {@link #dictionaryNode}.
    */
-  private StringBuilder buffer() {
-    final StringBuilder buffer;
-
-    if (prevIntersection != null) {
-      buffer = prevIntersection.buffer();
-      buffer.append(label);
+  private char[] buffer() {
+    int length = 0;
+    for (Intersection<DictionaryNode> intersection = this;
+        null != intersection.prevIntersection;
+        intersection = intersection.prevIntersection) {
+      length += 1;
     }
-    else {
-      buffer = new StringBuilder();
+
+    final char[] buffer = new char[length];
+    for (Intersection<DictionaryNode> intersection = this;
+        null != intersection.prevIntersection;
+        intersection = intersection.prevIntersection) {
+      length -= 1;
+      buffer[length] = intersection.label;
     }
 
     return buffer;
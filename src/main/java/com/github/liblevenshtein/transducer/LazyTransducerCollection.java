@@ -9,6 +9,7 @@ import it.unimi.dsi.fastutil.chars.CharIterator;
 import lombok.NonNull;
 
 import com.github.liblevenshtein.collection.AbstractIterator;
+import com.github.liblevenshtein.collection.dictionary.IDepthFunction;
 
 /**
  * <p>
@@ -55,6 +56,23 @@ import com.github.liblevenshtein.collection.AbstractIterator;
  * of the journal article, above.
  * </p>
  *
+ * <p>
+ * A query whose spelling candidates will not all be iterated over, such as one
+ * whose caller only wants the first few, should be closed once the caller is
+ * done with it.  Closing it stops the search, and reports its traversal
+ * statistics to its {@link QueryListener}, which would otherwise only receive
+ * them once the candidates had been exhausted.
+ * </p>
+ *
+ * <p>
+ * When searching for prefixes, a dictionary node is matched once the query
+ * term has been consumed within the maximum number of errors, and every term
+ * beneath it is returned as a completion.  The distance of each completion is
+ * the least distance between the query term and any of its prefixes.  Once the
+ * Levenshtein state of a matched prefix dies, its completions are enumerated
+ * without transitioning it any further.
+ * </p>
+ *
  * @author Dylon Edwards
  * @param <DictionaryNode> Kind of nodes of the dictionary automaton.
  * @param <CandidateType> Kind of the spelling candidates returned from the
@@ -63,7 +81,14 @@ import com.github.liblevenshtein.collection.AbstractIterator;
  */
 public class LazyTransducerCollection<DictionaryNode, CandidateType>
     extends AbstractIterator<CandidateType>
-    implements Iterable<CandidateType> {
+    implements Iterable<CandidateType>, AutoCloseable {
+
+  /**
+   * The deadline, cancellation token, and interrupt status of a query are
+   * checked each time this many more edges have been visited, less one, since
+   * reading the clock or a volatile costs more than visiting an edge.
+   */
+  private static final long PERIODIC_CHECK_MASK = 0x3FL;
 
   /**
    * Query term whose spelling should be corrected.
@@ -82,6 +107,12 @@ public class LazyTransducerCollection<DictionaryNode, CandidateType>
   @NonNull
   private final TransducerAttributes<DictionaryNode, CandidateType> attributes;
 
+  /**
+   * Whether to return the completions of dictionary prefixes matching the
+   * query term, instead of the dictionary terms matching it.
+   */
+  private final boolean isPrefix;
+
   /**
    * Breadth-first traversal of the dictionary automaton.
    */
@@ -118,6 +149,71 @@ public class LazyTransducerCollection<DictionaryNode, CandidateType>
    */
   private Intersection<DictionaryNode> intersection = null;
 
+  /**
+   * Receives the traversal statistics of this query once its spelling
+   * candidates have been exhausted or it has been closed, or null if nothing
+   * should receive them or they have already been received.
+   */
+  private QueryListener listener;
+
+  /**
+   * Traversal statistics of this query, or null if they are not collected.
+   * Every update is guarded by a null check, so queries without a listener
+   * only pay for a predictable branch.
+   */
+  private final QueryStatistics statistics;
+
+  /**
+   * Greatest number of dictionary edges this query may visit.
+   */
+  private final long maxVisits;
+
+  /**
+   * Value of {@link System#nanoTime()} after which this query must stop, which
+   * is only meaningful if {@link #hasDeadline} is true.
+   */
+  private final long deadline;
+
+  /**
+   * Whether this query must stop after {@link #deadline}.
+   */
+  private final boolean hasDeadline;
+
+  /**
+   * Whether this query must stop once the thread searching the dictionary is
+   * interrupted.
+   */
+  private final boolean interruptible;
+
+  /**
+   * Stops this query once it has been cancelled, or null if this query cannot
+   * be cancelled.
+   */
+  private final CancellationToken cancellation;
+
+  /**
+   * Whether anything must be checked periodically, besides the number of
+   * visited edges, to know whether this query must stop.
+   */
+  private final boolean hasPeriodicChecks;
+
+  /**
+   * Number of dictionary edges this query has visited.
+   */
+  private long visits = 0L;
+
+  /**
+   * Whether this query has searched as far as it needed to, or why it stopped
+   * early.
+   */
+  private QueryStatus status = QueryStatus.COMPLETE;
+
+  /**
+   * Whether this query has stopped searching, because its spelling candidates
+   * have been exhausted or it has been closed.
+   */
+  private boolean finished = false;
+
   /**
    * Initializes a new LazyTransducerCollection with a query against the
    * dictionary automaton.
@@ -131,15 +227,136 @@ public class LazyTransducerCollection<DictionaryNode, CandidateType>
       @NonNull final String term,
       final int maxDistance,
       @NonNull final TransducerAttributes<DictionaryNode, CandidateType> attributes) {
+    this(term, maxDistance, attributes, false);
+  }
+
+  /**
+   * Initializes a new LazyTransducerCollection with a query against the
+   * dictionary automaton.
+   * @param term Query term whose spelling should be corrected.
+   * @param maxDistance Maximum number of spelling errors candidates may have
+   *   from the query term.
+   * @param attributes Attributes required for this transducer to search the
+   *   dictionary.
+   * @param isPrefix Whether to return the completions of dictionary prefixes
+   *   matching the query term, instead of the dictionary terms matching it.
+   */
+  public LazyTransducerCollection(
+      @NonNull final String term,
+      final int maxDistance,
+      @NonNull final TransducerAttributes<DictionaryNode, CandidateType> attributes,
+      final boolean isPrefix) {
+    this(term, maxDistance, attributes, isPrefix, null);
+  }
+
+  /**
+   * Initializes a new LazyTransducerCollection with a query against the
+   * dictionary automaton, whose traversal statistics are collected for the
+   * listener.
+   * @param term Query term whose spelling should be corrected.
+   * @param maxDistance Maximum number of spelling errors candidates may have
+   *   from the query term.
+   * @param attributes Attributes required for this transducer to search the
+   *   dictionary.
+   * @param isPrefix Whether to return the completions of dictionary prefixes
+   *   matching the query term, instead of the dictionary terms matching it.
+   * @param listener Receives the traversal statistics of the query once its
+   *   spelling candidates have been exhausted, or null if they should not be
+   *   collected.
+   * @since 3.1.0
+   */
+  public LazyTransducerCollection(
+      @NonNull final String term,
+      final int maxDistance,
+      @NonNull final TransducerAttributes<DictionaryNode, CandidateType> attributes,
+      final boolean isPrefix,
+      final QueryListener listener) {
+    this(term, maxDistance, attributes, isPrefix, listener, QueryBudget.UNLIMITED);
+  }
+
+  /**
+   * Initializes a new LazyTransducerCollection with a query against the
+   * dictionary automaton, which stops searching once its budget is spent.
+   * @param term Query term whose spelling should be corrected.
+   * @param maxDistance Maximum number of spelling errors candidates may have
+   *   from the query term.
+   * @param attributes Attributes required for this transducer to search the
+   *   dictionary.
+   * @param isPrefix Whether to return the completions of dictionary prefixes
+   *   matching the query term, instead of the dictionary terms matching it.
+   * @param listener Receives the traversal statistics of the query once its
+   *   spelling candidates have been exhausted, or null if they should not be
+   *   collected.
+   * @param budget Caps the work the query may do.
+   * @since 3.1.0
+   */
+  public LazyTransducerCollection(
+      @NonNull final String term,
+      final int maxDistance,
+      @NonNull final TransducerAttributes<DictionaryNode, CandidateType> attributes,
+      final boolean isPrefix,
+      final QueryListener listener,
+      @NonNull final QueryBudget budget) {
+    this(term, maxDistance, attributes, isPrefix, listener, budget, null);
+  }
+
+  /**
+   * Initializes a new LazyTransducerCollection with a query against the
+   * dictionary automaton, which stops searching once its budget is spent or it
+   * is cancelled.
+   * @param term Query term whose spelling should be corrected.
+   * @param maxDistance Maximum number of spelling errors candidates may have
+   *   from the query term.
+   * @param attributes Attributes required for this transducer to search the
+   *   dictionary.
+   * @param isPrefix Whether to return the completions of dictionary prefixes
+   *   matching the query term, instead of the dictionary terms matching it.
+   * @param listener Receives the traversal statistics of the query once its
+   *   spelling candidates have been exhausted, or null if they should not be
+   *   collected.
+   * @param budget Caps the work the query may do.
+   * @param cancellation Stops the query once it has been cancelled, or null if
+   *   the query cannot be cancelled.
+   * @since 3.1.0
+   */
+  public LazyTransducerCollection(
+      @NonNull final String term,
+      final int maxDistance,
+      @NonNull final TransducerAttributes<DictionaryNode, CandidateType> attributes,
+      final boolean isPrefix,
+      final QueryListener listener,
+      @NonNull final QueryBudget budget,
+      final CancellationToken cancellation) {
 
     this.term = term;
     this.maxDistance = maxDistance;
     this.attributes = attributes;
+    this.isPrefix = isPrefix;
+    this.listener = listener;
+    this.statistics = null == listener
+      ? null
+      : new QueryStatistics(term, maxDistance, isPrefix);
+    this.maxVisits = budget.maxVisits();
+    this.hasDeadline = budget.hasTimeout();
+    this.deadline = hasDeadline ? System.nanoTime() + budget.timeoutNanos() : 0L;
+    this.interruptible = budget.interruptible();
+    this.cancellation = cancellation;
+    this.hasPeriodicChecks = hasDeadline || interruptible || null != cancellation;
 
+    final State initialState = attributes.initialState();
     pendingQueue.addLast(
       new Intersection<DictionaryNode>(
+        null,
+        '\0',
         attributes.dictionaryRoot(),
-        attributes.initialState()));
+        initialState,
+        isPrefix
+          ? attributes.minDistance().at(initialState, term.length())
+          : Integer.MAX_VALUE));
+
+    if (null != statistics) {
+      statistics.queued(pendingQueue.size());
+    }
 
     this.stateTransition =
       attributes.stateTransitionFactory().build(maxDistance, term.length());
@@ -168,6 +385,72 @@ public class LazyTransducerCollection<DictionaryNode, CandidateType>
     return this;
   }
 
+  /**
+   * Returns the maximum number of spelling errors candidates may have from the
+   * query term, which may be less than was asked for if the query was degraded
+   * to fit its budget.
+   * @return Maximum distance of this query.
+   * @since 3.1.0
+   */
+  public int maxDistance() {
+    return maxDistance;
+  }
+
+  /**
+   * Whether the dictionary has been searched as far as the query required, so
+   * that the spelling candidates are every one within the maximum distance.
+   * This is false once the query has been stopped early, in which case the
+   * spelling candidates are only those found before it was.
+   * @return Whether this query has not been stopped early.
+   * @since 3.1.0
+   */
+  public boolean isComplete() {
+    return status.isComplete();
+  }
+
+  /**
+   * Returns whether the dictionary has been searched as far as the query
+   * required, or why it was stopped early.  Until the spelling candidates have
+   * been exhausted, this only tells whether the query has been stopped yet.
+   * @return Status of this query.
+   * @since 3.1.0
+   */
+  public QueryStatus status() {
+    return status;
+  }
+
+  /**
+   * Returns the traversal statistics of this query so far, which are updated
+   * as its spelling candidates are iterated over.  Their duration and status
+   * are only recorded once the candidates have been exhausted or this query
+   * has been closed.
+   * @return Traversal statistics of this query, or null if they are not
+   *   collected because it has no {@link QueryListener}.
+   * @since 3.1.0
+   */
+  public QueryStatistics statistics() {
+    return statistics;
+  }
+
+  /**
+   * Stops this query, such as once the caller has taken as many spelling
+   * candidates as it needs.  If they had not been exhausted, this query
+   * reports {@link QueryStatus#ABANDONED}, and its listener receives the
+   * traversal statistics of the search so far.  Closing a query more than
+   * once, or after its candidates have been exhausted, has no further effect.
+   * @since 3.1.0
+   */
+  @Override
+  public void close() {
+    if (!finished) {
+      this.status = QueryStatus.ABANDONED;
+      this.next = null;
+      this.labels = null;
+      pendingQueue.clear();
+      finish();
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -177,33 +460,24 @@ public class LazyTransducerCollection<DictionaryNode, CandidateType>
         && (null != labels && labels.hasNext() || !pendingQueue.isEmpty())) {
 
       if (null != labels && labels.hasNext()) {
-        final DictionaryNode dictionaryNode = intersection.dictionaryNode();
-        final State levenshteinState = intersection.levenshteinState();
+        final QueryStatus nextStatus = checkBudget();
+        if (null != nextStatus) {
+          this.status = nextStatus;
+          this.labels = null;
+          pendingQueue.clear();
+          break;
+        }
         final char label = labels.nextChar();
+        if (null != statistics) {
+          statistics.visited();
+        }
         final DictionaryNode nextDictionaryNode =
-          attributes.dictionaryTransition().of(dictionaryNode, label);
-        final boolean[] characteristicVector =
-          characteristicVector(label, term, k, i);
-        final State nextLevenshteinState =
-          stateTransition.of(levenshteinState, characteristicVector);
-        if (null != nextLevenshteinState) {
-          final Intersection<DictionaryNode> nextIntersection = new Intersection<>(
-            intersection,
-            label,
-            nextDictionaryNode,
-            nextLevenshteinState);
-
-          pendingQueue.addLast(nextIntersection);
-
-          if (attributes.isFinal().at(nextDictionaryNode)) {
-            final int distance =
-              attributes.minDistance().at(nextLevenshteinState, term.length());
-            if (distance <= maxDistance) {
-              final String nextCandidate = nextIntersection.candidate();
-              this.next =
-                attributes.candidateFactory().build(nextCandidate, distance);
-            }
-          }
+          attributes.dictionaryTransition().of(intersection.dictionaryNode(), label);
+        if (isPrefix) {
+          advancePrefix(label, nextDictionaryNode);
+        }
+        else {
+          advanceTerm(label, nextDictionaryNode);
         }
       }
       else {
@@ -211,12 +485,209 @@ public class LazyTransducerCollection<DictionaryNode, CandidateType>
         final DictionaryNode dictionaryNode = intersection.dictionaryNode();
         final State levenshteinState = intersection.levenshteinState();
 
-        this.i = levenshteinState.head().termIndex();
-        final int b = term.length() - i;
-        this.k = a < b ? a : b;
+        if (null != levenshteinState) {
+          this.i = levenshteinState.head().termIndex();
+          final int b = term.length() - i;
+          this.k = a < b ? a : b;
+        }
+
         this.labels = attributes.dictionaryTransition().of(dictionaryNode);
       }
     }
+
+    if (null == next && !finished) {
+      finish();
+    }
+  }
+
+  /**
+   * Marks this query as having stopped searching, and reports its traversal
+   * statistics to its listener, if it has one.
+   */
+  private void finish() {
+    this.finished = true;
+    if (null != listener) {
+      final QueryListener queryListener = listener;
+      this.listener = null;
+      statistics.completed(status);
+      queryListener.completed(statistics);
+    }
+  }
+
+  /**
+   * Counts the edge about to be visited against the budget of this query, and
+   * returns why this query must stop searching, if it must.
+   * @return Why this query must stop searching, or null if it may continue.
+   */
+  private QueryStatus checkBudget() {
+    visits += 1L;
+    if (visits > maxVisits) {
+      return QueryStatus.VISITS_EXHAUSTED;
+    }
+    if (!hasPeriodicChecks || 0L != (visits & PERIODIC_CHECK_MASK)) {
+      return null;
+    }
+    if (null != cancellation && cancellation.isCancelled()) {
+      return QueryStatus.CANCELLED;
+    }
+    if (interruptible && Thread.currentThread().isInterrupted()) {
+      return QueryStatus.INTERRUPTED;
+    }
+    if (hasDeadline && System.nanoTime() - deadline > 0L) {
+      return QueryStatus.TIMED_OUT;
+    }
+    return null;
+  }
+
+  /**
+   * Follows the transition from the current intersection along label, and
+   * collects the dictionary term at its end if it is a spelling candidate.
+   * @param label Label of the transition to follow.
+   * @param nextDictionaryNode Dictionary node at the end of the transition.
+   */
+  private void advanceTerm(
+      final char label,
+      final DictionaryNode nextDictionaryNode) {
+    final boolean[] characteristicVector =
+      characteristicVector(label, term, k, i);
+    final State nextLevenshteinState =
+      stateTransition.of(intersection.levenshteinState(), characteristicVector);
+    if (null == nextLevenshteinState) {
+      if (null != statistics) {
+        statistics.died();
+      }
+    }
+    else if (isPruned(nextLevenshteinState, nextDictionaryNode)) {
+      if (null != statistics) {
+        statistics.pruned();
+      }
+    }
+    else {
+      final Intersection<DictionaryNode> nextIntersection = new Intersection<>(
+        intersection,
+        label,
+        nextDictionaryNode,
+        nextLevenshteinState);
+
+      pendingQueue.addLast(nextIntersection);
+      if (null != statistics) {
+        statistics.queued(pendingQueue.size());
+      }
+
+      if (attributes.isFinal().at(nextDictionaryNode)) {
+        final int distance =
+          attributes.minDistance().at(nextLevenshteinState, term.length());
+        if (distance <= maxDistance) {
+          final String nextCandidate = nextIntersection.candidate();
+          this.next =
+            attributes.candidateFactory().build(nextCandidate, distance);
+          if (null != statistics) {
+            statistics.emitted();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Whether every final dictionary node beneath the current one is either too
+   * near or too far to be reached within {@link #maxDistance} errors.  Each
+   * position of the Levenshtein state needs at least as many more errors as
+   * the difference between the length of the remaining query suffix and the
+   * depths of the final nodes.  Special positions are given a slack of one
+   * error, since they are in the middle of a transposition, merge, or split.
+   * @param levenshteinState Levenshtein state at the dictionary node.
+   * @param dictionaryNode Dictionary node whose subtree may be pruned.
+   * @return Whether the subtree of the dictionary node may be pruned.
+   */
+  private boolean isPruned(
+      final State levenshteinState,
+      final DictionaryNode dictionaryNode) {
+    final IDepthFunction<DictionaryNode> dictionaryDepth =
+      attributes.dictionaryDepth();
+
+    if (null == dictionaryDepth) {
+      return false;
+    }
+
+    final long minDepth = dictionaryDepth.minDepth(dictionaryNode);
+    final long maxDepth = dictionaryDepth.maxDepth(dictionaryNode);
+
+    for (final Position position : levenshteinState) {
+      final long suffixLength = term.length() - position.termIndex();
+      long distance = 0L;
+      if (suffixLength < minDepth) {
+        distance = minDepth - suffixLength;
+      }
+      else if (suffixLength > maxDepth) {
+        distance = suffixLength - maxDepth;
+      }
+      if (position.isSpecial() && distance > 0L) {
+        distance -= 1L;
+      }
+      if (position.numErrors() + distance <= maxDistance) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Follows the transition from the current intersection along label, and
+   * collects the dictionary term at its end if it completes a prefix that
+   * matches the query term.  The Levenshtein state is transitioned for as long
+   * as it lives, since longer prefixes may match the query term more closely.
+   * @param label Label of the transition to follow.
+   * @param nextDictionaryNode Dictionary node at the end of the transition.
+   */
+  private void advancePrefix(
+      final char label,
+      final DictionaryNode nextDictionaryNode) {
+    final State levenshteinState = intersection.levenshteinState();
+    int distance = intersection.distance();
+    State nextLevenshteinState = null;
+
+    if (null != levenshteinState) {
+      final boolean[] characteristicVector =
+        characteristicVector(label, term, k, i);
+      nextLevenshteinState =
+        stateTransition.of(levenshteinState, characteristicVector);
+      if (null != nextLevenshteinState) {
+        final int prefixDistance =
+          attributes.minDistance().at(nextLevenshteinState, term.length());
+        if (prefixDistance < distance) {
+          distance = prefixDistance;
+        }
+      }
+      else if (null != statistics) {
+        statistics.died();
+      }
+    }
+
+    if (null != nextLevenshteinState || distance <= maxDistance) {
+      final Intersection<DictionaryNode> nextIntersection = new Intersection<>(
+        intersection,
+        label,
+        nextDictionaryNode,
+        nextLevenshteinState,
+        distance);
+
+      pendingQueue.addLast(nextIntersection);
+      if (null != statistics) {
+        statistics.queued(pendingQueue.size());
+      }
+
+      if (distance <= maxDistance
+          && attributes.isFinal().at(nextDictionaryNode)) {
+        final String nextCandidate = nextIntersection.candidate();
+        this.next =
+          attributes.candidateFactory().build(nextCandidate, distance);
+        if (null != statistics) {
+          statistics.emitted();
+        }
+      }
+    }
   }
 
   /**
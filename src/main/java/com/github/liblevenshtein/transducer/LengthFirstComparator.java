@@ -0,0 +1,24 @@
+package com.github.liblevenshtein.transducer;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Orders terms by length, and then lexicographically, so the terms of each
+ * length form a contiguous run.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+final class LengthFirstComparator implements Comparator<String>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int compare(final String a, final String b) {
+    final int byLength = Integer.compare(a.length(), b.length());
+    return 0 != byLength ? byLength : a.compareTo(b);
+  }
+}
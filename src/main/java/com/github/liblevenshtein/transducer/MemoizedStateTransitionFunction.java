@@ -0,0 +1,170 @@
+package com.github.liblevenshtein.transducer;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+/**
+ * <p>
+ * Memoizes the transitions of a {@link StateTransitionFunction}.  Many edges of
+ * the dictionary automaton are reached with structurally-identical Levenshtein
+ * states, which would otherwise be transitioned over the same characteristic
+ * vectors again and again.
+ * </p>
+ *
+ * <p>
+ * Each state is interned, such that structurally-identical states share one,
+ * canonical instance, identified by a sequential id.  Canonical states are
+ * looked up by identity, so their (deep) hash codes are only computed when they
+ * are interned.  Transitions are then cached on the id of the source state and
+ * the bits of the characteristic vector, so repeated transitions become
+ * lookups.  Characteristic vectors longer than {@value #MAX_VECTOR_LENGTH}
+ * elements are not cached.
+ * </p>
+ *
+ * <p>
+ * Instances are meant to be built for a single query, so the cache is not
+ * threadsafe.  Once {@link #capacity} states or transitions have been cached,
+ * the remaining ones are computed without being cached.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+public class MemoizedStateTransitionFunction extends StateTransitionFunction {
+
+  /**
+   * Maximum length of the characteristic vectors whose transitions are cached,
+   * such that their bits (plus a leading bit marking their length) fit within
+   * the lower half of a long.
+   */
+  public static final int MAX_VECTOR_LENGTH = Integer.SIZE - 1;
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Placeholder for transitions to the failure state, which is represented as
+   * null.
+   */
+  private static final State FAILURE_STATE = new State();
+
+  /**
+   * Maximum number of states and transitions to cache.
+   */
+  private final int capacity;
+
+  /**
+   * Canonical instances of the interned states, keyed by their structure.
+   */
+  private final Object2ObjectMap<State, State> canonicalStates =
+    new Object2ObjectOpenHashMap<>();
+
+  /**
+   * Ids of the interned states, keyed by their identities.
+   */
+  private final Reference2IntMap<State> stateIds =
+    new Reference2IntOpenHashMap<>();
+
+  /**
+   * Cached transitions, keyed by the ids of their source states and the bits
+   * of their characteristic vectors.
+   */
+  private final Long2ObjectMap<State> transitions =
+    new Long2ObjectOpenHashMap<>();
+
+  /**
+   * Constructs a new {@link MemoizedStateTransitionFunction}.
+   * @param capacity Maximum number of states and transitions to cache.
+   */
+  public MemoizedStateTransitionFunction(final int capacity) {
+    this.capacity = capacity;
+    stateIds.defaultReturnValue(-1);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public State of(
+      final State currState,
+      final boolean[] characteristicVector) {
+
+    if (characteristicVector.length > MAX_VECTOR_LENGTH) {
+      return super.of(currState, characteristicVector);
+    }
+
+    final int id = idOf(currState);
+    if (id < 0) {
+      return super.of(currState, characteristicVector);
+    }
+
+    long bits = 1L << characteristicVector.length;
+    for (int j = 0; j < characteristicVector.length; j += 1) {
+      if (characteristicVector[j]) {
+        bits |= 1L << j;
+      }
+    }
+
+    final long key = (long) id << Integer.SIZE | bits;
+    final State cachedState = transitions.get(key);
+    if (null != cachedState) {
+      return FAILURE_STATE == cachedState ? null : cachedState;
+    }
+
+    State nextState = super.of(currState, characteristicVector);
+    if (null != nextState) {
+      nextState = intern(nextState);
+    }
+
+    if (transitions.size() < capacity) {
+      transitions.put(key, null == nextState ? FAILURE_STATE : nextState);
+    }
+
+    return nextState;
+  }
+
+  /**
+   * Returns the id of the state, interning it if it has not been seen before.
+   * @param state State whose id should be returned.
+   * @return Id of the state, or -1 if it could not be interned.
+   */
+  private int idOf(final State state) {
+    final int id = stateIds.getInt(state);
+    if (id >= 0) {
+      return id;
+    }
+    final State canonicalState = intern(state);
+    if (canonicalState != state) {
+      // Alias the non-canonical instance, as it will likely be transitioned
+      // again (e.g. the initial state).
+      final int canonicalId = stateIds.getInt(canonicalState);
+      if (canonicalId >= 0 && stateIds.size() < capacity) {
+        stateIds.put(state, canonicalId);
+      }
+      return canonicalId;
+    }
+    return stateIds.getInt(state);
+  }
+
+  /**
+   * Returns the canonical instance of the state, interning it if it has not
+   * been seen before.  If the capacity has been reached, the state is returned
+   * as-is.
+   * @param state State whose canonical instance should be returned.
+   * @return Canonical instance of the state.
+   */
+  private State intern(final State state) {
+    final State canonicalState = canonicalStates.get(state);
+    if (null != canonicalState) {
+      return canonicalState;
+    }
+    if (canonicalStates.size() < capacity) {
+      canonicalStates.put(state, state);
+      stateIds.put(state, canonicalStates.size() - 1);
+    }
+    return state;
+  }
+}
@@ -0,0 +1,438 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import com.github.liblevenshtein.transducer.factory.CandidateFactory;
+
+/**
+ * <p>
+ * Finds spelling candidates by filtering the dictionary with an inverted index
+ * of its q-grams (substrings of {@link #Q} characters), and verifying the
+ * terms that pass the filter.
+ * </p>
+ *
+ * <p>
+ * Each term is padded with {@code Q - 1} sentinels on either end, so a term of
+ * length {@code n} has {@code n + Q - 1} q-grams.  An edit operation destroys
+ * at most {@code Q} of them, or {@code Q + 1} for a transposition, merge, or
+ * split, so two terms within distance {@code k} of each other share at least
+ * {@code max(n, m) + Q - 1 - k * Q} (or {@code k * (Q + 1)}) q-grams, counted
+ * with multiplicity.  Terms whose lengths differ by more than {@code k} are
+ * skipped outright, since the index orders terms by length, and the terms
+ * whose counts fall short of the bound are never verified.
+ * </p>
+ *
+ * <p>
+ * The terms that pass are then compared with the character histogram of the
+ * query term, which is the same bound for q-grams of one character: two terms
+ * within distance {@code k} share at least {@code max(n, m) - k} characters,
+ * or {@code max(n, m) - 2 * k} when merges and splits are allowed.  This
+ * catches the terms made of the right pairs of the wrong characters, and
+ * takes over from the q-gram bound once it is no longer positive.  Only the
+ * terms that pass both are verified, with {@link BitParallelDistance}, which
+ * computes the same distances as the memoized
+ * {@link com.github.liblevenshtein.distance.IDistance} implementations but
+ * gives up on a term as soon as it is farther than the maximum distance.
+ * </p>
+ *
+ * <p>
+ * Unlike the automaton, whose work grows exponentially with the maximum
+ * distance, the work of this engine is bounded by the number of terms of
+ * similar lengths.  It suits large maximum distances, at which the filter is
+ * weaker but the automaton would visit most of the dictionary anyway.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @param <CandidateType> Kind of spelling candidate returned (e.g.
+ *   {@link Candidate} or {@link java.lang.String}).
+ * @since 3.1.0
+ */
+public class QGramTransducer<CandidateType> implements ITransducer<CandidateType> {
+
+  /**
+   * Number of characters of each q-gram, whose codes pack that many
+   * characters into an int.
+   */
+  public static final int Q = 2;
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Pads either end of each term, so its first and last characters belong to
+   * as many q-grams as the rest.
+   */
+  private static final char SENTINEL = Character.MAX_VALUE;
+
+  /**
+   * Number of characters whose counts are kept for the histogram filter.  The
+   * others are assumed to be shared, which only weakens the filter.
+   */
+  private static final int HISTOGRAM_SIZE = 128;
+
+  /**
+   * Variant of Levenshtein distance of the spelling candidates.
+   * @return Algorithm of this transducer.
+   */
+  @Getter
+  private final Algorithm algorithm;
+
+  /**
+   * Maximum distance of spelling candidates when none is given.
+   * @return Default maximum distance of this transducer.
+   */
+  @Getter
+  private final int defaultMaxDistance;
+
+  /**
+   * Builds spelling candidates from dictionary terms and their distances.
+   */
+  private final CandidateFactory<CandidateType> candidateFactory;
+
+  /**
+   * Distinct terms of the dictionary, ordered by length and then
+   * lexicographically.  The index of each term is its id.
+   */
+  private final char[][] terms;
+
+  /**
+   * Id of the first term of each length, followed by the number of terms.
+   */
+  private final int[] lengthOffsets;
+
+  /**
+   * Index of the posting list of each q-gram, by its code.
+   */
+  private final Int2IntMap postingLists;
+
+  /**
+   * Offset in {@link #postingTerms} of each posting list, followed by the
+   * number of postings.
+   */
+  private final int[] postingOffsets;
+
+  /**
+   * Ids of the terms containing each q-gram, in ascending order per q-gram.
+   */
+  private final int[] postingTerms;
+
+  /**
+   * Number of times each posted term contains the q-gram.
+   */
+  private final int[] postingCounts;
+
+  /**
+   * Constructs a new {@link QGramTransducer}, indexing the distinct terms of
+   * the dictionary.
+   * @param dictionary Terms of the dictionary, in any order.
+   * @param algorithm Variant of Levenshtein distance of the spelling
+   *   candidates.
+   * @param defaultMaxDistance Maximum distance of spelling candidates when none
+   *   is given.
+   * @param candidateFactory Builds spelling candidates from dictionary terms
+   *   and their distances.
+   */
+  public QGramTransducer(
+      @NonNull final Collection<String> dictionary,
+      @NonNull final Algorithm algorithm,
+      final int defaultMaxDistance,
+      @NonNull final CandidateFactory<CandidateType> candidateFactory) {
+    this.algorithm = algorithm;
+    this.defaultMaxDistance = defaultMaxDistance;
+    this.candidateFactory = candidateFactory;
+    this.terms = distinctTermsOf(dictionary);
+    this.lengthOffsets = lengthOffsetsOf(terms);
+
+    this.postingLists = new Int2IntOpenHashMap();
+    postingLists.defaultReturnValue(-1);
+    final Int2IntMap postingSizes = new Int2IntOpenHashMap();
+    for (final char[] term : terms) {
+      final int[] grams = gramsOf(term);
+      for (int i = 0; i < grams.length; i = nextGram(grams, i)) {
+        postingSizes.put(grams[i], postingSizes.get(grams[i]) + 1);
+      }
+    }
+
+    this.postingOffsets = new int[1 + postingSizes.size()];
+    int postingCount = 0;
+    for (final Int2IntMap.Entry entry : postingSizes.int2IntEntrySet()) {
+      postingOffsets[postingLists.size()] = postingCount;
+      postingLists.put(entry.getIntKey(), postingLists.size());
+      postingCount += entry.getIntValue();
+    }
+    postingOffsets[postingLists.size()] = postingCount;
+
+    this.postingTerms = new int[postingCount];
+    this.postingCounts = new int[postingCount];
+    final int[] postingEnds = Arrays.copyOf(postingOffsets, postingLists.size());
+    for (int id = 0; id < terms.length; id += 1) {
+      final int[] grams = gramsOf(terms[id]);
+      for (int i = 0, j; i < grams.length; i = j) {
+        j = nextGram(grams, i);
+        final int postingList = postingLists.get(grams[i]);
+        final int posting = postingEnds[postingList];
+        postingTerms[posting] = id;
+        postingCounts[posting] = j - i;
+        postingEnds[postingList] = posting + 1;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of distinct terms in the dictionary.
+   * @return Number of distinct terms in the dictionary.
+   */
+  public int size() {
+    return terms.length;
+  }
+
+  /**
+   * Returns the number of distinct q-grams in the dictionary.
+   * @return Number of distinct q-grams in the dictionary.
+   */
+  public int gramCount() {
+    return postingLists.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<CandidateType> transduce(@NonNull final String term) {
+    return transduce(term, defaultMaxDistance);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<CandidateType> transduce(
+      @NonNull final String term,
+      final int maxDistance) {
+    if (maxDistance < 0) {
+      return Collections.emptyList();
+    }
+
+    final int maxLength = lengthOffsets.length - 2;
+    final int minTermLength = Math.max(0, term.length() - maxDistance);
+    final int maxTermLength = (int) Math.min(maxLength, (long) term.length() + maxDistance);
+    if (minTermLength > maxTermLength) {
+      return Collections.emptyList();
+    }
+
+    final int first = lengthOffsets[minTermLength];
+    final int last = lengthOffsets[1 + maxTermLength];
+    final int[] sharedGrams = countSharedGrams(term, first, last);
+
+    final long gramsPerEdit = Algorithm.STANDARD == algorithm ? Q : Q + 1;
+    final long destroyedGrams = gramsPerEdit * maxDistance;
+    final long charactersPerEdit = Algorithm.MERGE_AND_SPLIT == algorithm ? 2 : 1;
+    final long destroyedCharacters = charactersPerEdit * maxDistance;
+    final Histogram histogram = new Histogram(term);
+    final BitParallelDistance distances = new BitParallelDistance(algorithm, term);
+    final List<CandidateType> candidates = new ArrayList<>();
+    for (int id = first; id < last; id += 1) {
+      final char[] dictionaryTerm = terms[id];
+      final int length = Math.max(term.length(), dictionaryTerm.length);
+      if (sharedGrams[id - first] >= length + Q - 1 - destroyedGrams
+          && histogram.shared(dictionaryTerm) >= length - destroyedCharacters) {
+        final int distance = distances.distance(
+            dictionaryTerm, 0, dictionaryTerm.length, maxDistance);
+        if (distance <= maxDistance) {
+          candidates.add(candidateFactory.build(new String(dictionaryTerm), distance));
+        }
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Counts the q-grams each term in range shares with the query term, with
+   * multiplicity, by merging the posting lists of the q-grams of the query.
+   * @param term Query term.
+   * @param first Id of the first term in range.
+   * @param last Id following that of the last term in range.
+   * @return Number of q-grams shared with the query term, by id less first.
+   */
+  private int[] countSharedGrams(final String term, final int first, final int last) {
+    final int[] sharedGrams = new int[last - first];
+    final int[] grams = gramsOf(term.toCharArray());
+    for (int i = 0, j; i < grams.length; i = j) {
+      j = nextGram(grams, i);
+      final int postingList = postingLists.get(grams[i]);
+      if (-1 == postingList) {
+        continue;
+      }
+      final int end = postingOffsets[1 + postingList];
+      int posting = Arrays.binarySearch(
+          postingTerms, postingOffsets[postingList], end, first);
+      if (posting < 0) {
+        posting = -(posting + 1);
+      }
+      final int queryCount = j - i;
+      while (posting < end && postingTerms[posting] < last) {
+        sharedGrams[postingTerms[posting] - first] +=
+          Math.min(queryCount, postingCounts[posting]);
+        posting += 1;
+      }
+    }
+    return sharedGrams;
+  }
+
+  /**
+   * Returns the distinct terms of a dictionary, ordered by length and then
+   * lexicographically.
+   * @param dictionary Terms of the dictionary, in any order.
+   * @return Characters of each distinct term.
+   */
+  private static char[][] distinctTermsOf(final Collection<String> dictionary) {
+    final String[] sorted = dictionary.toArray(new String[dictionary.size()]);
+    Arrays.sort(sorted, new LengthFirstComparator());
+    int termCount = 0;
+    for (int i = 0; i < sorted.length; i += 1) {
+      if (0 == i || !sorted[i].equals(sorted[i - 1])) {
+        sorted[termCount] = sorted[i];
+        termCount += 1;
+      }
+    }
+    final char[][] terms = new char[termCount][];
+    for (int id = 0; id < termCount; id += 1) {
+      terms[id] = sorted[id].toCharArray();
+    }
+    return terms;
+  }
+
+  /**
+   * Returns the id of the first term of each length, followed by the number
+   * of terms.
+   * @param terms Terms ordered by length.
+   * @return Id of the first term of each length, up to the greatest length
+   *   plus one.
+   */
+  private static int[] lengthOffsetsOf(final char[][] terms) {
+    final int maxLength = 0 == terms.length ? 0 : terms[terms.length - 1].length;
+    final int[] lengthOffsets = new int[2 + maxLength];
+    int length = 0;
+    for (int id = 0; id < terms.length; id += 1) {
+      while (length <= terms[id].length) {
+        lengthOffsets[length] = id;
+        length += 1;
+      }
+    }
+    while (length < lengthOffsets.length) {
+      lengthOffsets[length] = terms.length;
+      length += 1;
+    }
+    return lengthOffsets;
+  }
+
+  /**
+   * Returns the codes of the q-grams of a padded term, in ascending order so
+   * that repeated q-grams are adjacent.
+   * @param term Term whose q-grams are returned.
+   * @return Sorted codes of the q-grams of the term.
+   */
+  private static int[] gramsOf(final char[] term) {
+    final int[] grams = new int[term.length + Q - 1];
+    char previous = SENTINEL;
+    for (int i = 0; i < grams.length; i += 1) {
+      final char current = i < term.length ? term[i] : SENTINEL;
+      grams[i] = (previous << Character.SIZE) | current;
+      previous = current;
+    }
+    Arrays.sort(grams);
+    return grams;
+  }
+
+  /**
+   * Returns the index of the next distinct q-gram.
+   * @param grams Sorted codes of q-grams.
+   * @param i Index of the current q-gram.
+   * @return Index of the first q-gram after i that differs from it.
+   */
+  private static int nextGram(final int[] grams, final int i) {
+    int j = i + 1;
+    while (j < grams.length && grams[j] == grams[i]) {
+      j += 1;
+    }
+    return j;
+  }
+
+  /**
+   * Counts the characters of the query term, to bound how many of them each
+   * dictionary term shares.
+   */
+  private static final class Histogram {
+
+    /**
+     * Number of times each character occurs in the query term.
+     */
+    private final int[] counts = new int[HISTOGRAM_SIZE];
+
+    /**
+     * Number of times each character has been matched in the current term.
+     */
+    private final int[] matches = new int[HISTOGRAM_SIZE];
+
+    /**
+     * Term whose matches are held in {@link #matches}, by the count of terms
+     * compared so far.  Stamping the matches avoids clearing them per term.
+     */
+    private final int[] stamps = new int[HISTOGRAM_SIZE];
+
+    /**
+     * Number of dictionary terms compared so far.
+     */
+    private int stamp = 0;
+
+    /**
+     * Constructs a new {@link Histogram} of a query term.
+     * @param term Query term.
+     */
+    Histogram(final String term) {
+      for (int i = 0; i < term.length(); i += 1) {
+        final char c = term.charAt(i);
+        if (c < HISTOGRAM_SIZE) {
+          counts[c] += 1;
+        }
+      }
+    }
+
+    /**
+     * Returns at least the number of characters the query term shares with a
+     * dictionary term, with multiplicity.
+     * @param term Dictionary term.
+     * @return Number of characters shared, counting those outside the
+     *   histogram as shared.
+     */
+    int shared(final char[] term) {
+      stamp += 1;
+      int shared = 0;
+      for (final char c : term) {
+        if (c >= HISTOGRAM_SIZE) {
+          shared += 1;
+        }
+        else {
+          if (stamp != stamps[c]) {
+            stamps[c] = stamp;
+            matches[c] = 0;
+          }
+          if (matches[c] < counts[c]) {
+            matches[c] += 1;
+            shared += 1;
+          }
+        }
+      }
+      return shared;
+    }
+  }
+}
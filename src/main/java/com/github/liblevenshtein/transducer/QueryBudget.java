@@ -0,0 +1,103 @@
+package com.github.liblevenshtein.transducer;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * <p>
+ * Caps the work a query may do, by the number of dictionary edges it may visit
+ * and the time it may take.  Once either is spent, the query stops searching
+ * and returns the spelling candidates it has found so far, and reports that
+ * they are incomplete through {@link LazyTransducerCollection#isComplete()}.
+ * Queries may also be stopped early by interrupting the threads searching for
+ * them, or through a {@link CancellationToken}.
+ * </p>
+ *
+ * <p>
+ * The time is measured from the construction of the query, and is checked
+ * periodically rather than at every edge, so a query may overrun its timeout
+ * by the time it takes to visit a few dozen edges.  Time spent by the caller
+ * between spelling candidates counts against the timeout.
+ * </p>
+ *
+ * <p>
+ * Queries that would obviously exceed their budgets may be narrowed before
+ * they start, by lowering their maximum distances to the greatest whose
+ * {@link QueryCostEstimator} estimates fit within the number of visits.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Value
+@Builder
+public class QueryBudget implements Serializable {
+
+  /**
+   * Budget that never stops a query.
+   */
+  public static final QueryBudget UNLIMITED = QueryBudget.builder().build();
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Greatest number of dictionary edges the query may visit.
+   * @return Greatest number of dictionary edges the query may visit.
+   */
+  @Builder.Default
+  private final long maxVisits = Long.MAX_VALUE;
+
+  /**
+   * Greatest number of nanoseconds the query may take, or
+   * {@link Long#MAX_VALUE} if it may take as long as it needs.
+   * @return Greatest number of nanoseconds the query may take.
+   */
+  @Builder.Default
+  private final long timeoutNanos = Long.MAX_VALUE;
+
+  /**
+   * Whether to lower the maximum distance of the query until its estimated
+   * cost fits within {@link #maxVisits}, before it starts.
+   * @return Whether to degrade the maximum distance of expensive queries.
+   */
+  private final boolean degradeDistance;
+
+  /**
+   * Whether to stop the query once the thread searching the dictionary is
+   * interrupted.  The interrupt is left pending, so the caller may handle it
+   * after the spelling candidates have been exhausted.
+   * @return Whether the query stops on interrupts.
+   */
+  private final boolean interruptible;
+
+  /**
+   * Whether the query has a timeout.
+   * @return Whether the query has a timeout.
+   */
+  public boolean hasTimeout() {
+    return Long.MAX_VALUE != timeoutNanos;
+  }
+
+  /**
+   * Builds {@link QueryBudget} instances.
+   */
+  public static class QueryBudgetBuilder {
+
+    /**
+     * Sets the greatest time the query may take.
+     * @param timeout Greatest time the query may take, in the given unit.
+     * @param unit Unit of the timeout.
+     * @return This {@link QueryBudgetBuilder} for fluency.
+     */
+    public QueryBudgetBuilder timeout(final long timeout, final TimeUnit unit) {
+      if (timeout < 0L) {
+        throw new IllegalArgumentException(
+            "timeout must be non-negative, but was: " + timeout);
+      }
+      return timeoutNanos(unit.toNanos(timeout));
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package com.github.liblevenshtein.transducer;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.DawgStatistics;
+
+/**
+ * <p>
+ * Predicts how many dictionary edges a query will visit, from the length of
+ * the query term, the maximum distance, the {@link Algorithm}, and the
+ * {@link DawgStatistics} of the dictionary, without searching the dictionary.
+ * Estimating a query takes time linear in the length of its term, so it may be
+ * done before every query to turn away, or degrade, those that are too
+ * expensive.
+ * </p>
+ *
+ * <p>
+ * The search is modelled depth by depth, counting the prefixes of the
+ * dictionary that survive with each number of edits spent.  The prefix of the
+ * query term survives without edits.  Other survivors keep their edits by
+ * continuing with the next character of the term, which they can only do as
+ * often as their edges cover the alphabet, and each survivor reaches more
+ * prefixes with one more edit according to the fan-out of the dictionary and
+ * the operations of the {@link Algorithm}.  The survivors at each depth are
+ * capped by the number of prefixes the dictionary has there, and each visits
+ * every edge leaving it.
+ * </p>
+ *
+ * <p>
+ * Against an English dictionary, estimates of ordinary words are usually
+ * within a factor of two of the edges actually visited, but those of very long
+ * terms are much greater, since the model does not know how sparse the deep
+ * regions of the dictionary are along any particular path.  That errs on the
+ * side of caution when admitting queries.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@ToString
+public class QueryCostEstimator {
+
+  /**
+   * Statistics of the dictionary that is queried.
+   * @return Statistics of the dictionary that is queried.
+   */
+  @Getter
+  private final DawgStatistics statistics;
+
+  /**
+   * Constructs a new {@link QueryCostEstimator} from the statistics of the
+   * dictionary, which are collected if they have not been already.
+   * @param dictionary Dictionary that is queried.
+   */
+  public QueryCostEstimator(@NonNull final Dawg dictionary) {
+    this(dictionary.statistics());
+  }
+
+  /**
+   * Constructs a new {@link QueryCostEstimator}.
+   * @param statistics Statistics of the dictionary that is queried.
+   */
+  public QueryCostEstimator(@NonNull final DawgStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * Estimates the number of dictionary edges a query will visit.
+   * @param termLength Length of the query term.
+   * @param maxDistance Maximum distance of the query.
+   * @param algorithm Algorithm of the transducer.
+   * @return Estimated number of edges the query will visit.
+   */
+  public double estimate(
+      final int termLength,
+      final int maxDistance,
+      @NonNull final Algorithm algorithm) {
+    if (termLength < 0 || maxDistance < 0) {
+      throw new IllegalArgumentException(String.format(
+          "termLength [%d] and maxDistance [%d] must be non-negative",
+          termLength, maxDistance));
+    }
+
+    final long deepestDepth = Math.min(
+        (long) termLength + maxDistance,
+        statistics.depthCount() - 1L);
+
+    // survivors[edits] := estimated prefixes of the current depth that are
+    // within the given number of edits of the query term
+    final double alphabetSize = Math.max(1.0, statistics.fanOut(0));
+
+    double[] survivors = new double[maxDistance + 1];
+    survivors[0] = 1.0;
+
+    double[] nextSurvivors = new double[maxDistance + 1];
+    double cost = 0.0;
+    for (int depth = 0; depth <= deepestDepth; depth += 1) {
+      // There cannot be more survivors than prefixes, and those reached with
+      // fewer edits are kept first since they were counted more reliably.
+      double total = 0.0;
+      final double limit = statistics.prefixCount(depth);
+      for (int edits = 0; edits <= maxDistance; edits += 1) {
+        survivors[edits] = Math.min(survivors[edits], limit - total);
+        total += survivors[edits];
+      }
+
+      final double fanOut = statistics.fanOut(depth);
+      cost += total * fanOut;
+
+      final double branches = branchesOf(algorithm, fanOut);
+      final double matches = depth < termLength
+        ? Math.min(1.0, fanOut / alphabetSize)
+        : 0.0;
+      for (int edits = 0; edits <= maxDistance; edits += 1) {
+        // Matching the next character of the term costs nothing.  The prefix
+        // of the term itself is assumed to be in the dictionary, but other
+        // prefixes only continue with the next character of the term as often
+        // as their edges cover the alphabet.
+        nextSurvivors[edits] = 0 == edits && depth < termLength
+          ? survivors[edits]
+          : survivors[edits] * matches;
+        if (edits > 0) {
+          nextSurvivors[edits] += survivors[edits - 1] * branches;
+        }
+      }
+
+      final double[] swap = survivors;
+      survivors = nextSurvivors;
+      nextSurvivors = swap;
+    }
+    return cost;
+  }
+
+  /**
+   * Returns the greatest distance, no greater than maxDistance, whose queries
+   * are estimated to visit no more than maxCost edges, or zero if none are.
+   * @param termLength Length of the query term.
+   * @param maxDistance Greatest distance the caller would like to search.
+   * @param algorithm Algorithm of the transducer.
+   * @param maxCost Greatest number of edges the query may visit.
+   * @return Greatest admissible distance.
+   */
+  public int admissibleDistance(
+      final int termLength,
+      final int maxDistance,
+      @NonNull final Algorithm algorithm,
+      final double maxCost) {
+    for (int distance = maxDistance; distance > 0; distance -= 1) {
+      if (estimate(termLength, distance, algorithm) <= maxCost) {
+        return distance;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Estimates the number of prefixes one edit reaches from a prefix whose next
+   * edges fan out as given.  Insertions and substitutions may follow any edge,
+   * and deletions skip a character of the term instead.  Transpositions add a
+   * swapped pair of characters.  Splits follow any two edges in a row for one
+   * character of the term, and merges follow any edge for two.
+   * @param algorithm Algorithm of the transducer.
+   * @param fanOut Average number of edges leaving the prefix.
+   * @return Estimated number of prefixes reached by one edit.
+   */
+  private static double branchesOf(final Algorithm algorithm, final double fanOut) {
+    final double standard = 2.0 * fanOut + 1.0;
+    switch (algorithm) {
+      case STANDARD:
+        return standard;
+      case TRANSPOSITION:
+        return standard + 1.0;
+      case MERGE_AND_SPLIT:
+        return standard + fanOut + fanOut * fanOut;
+      default:
+        throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+    }
+  }
+}
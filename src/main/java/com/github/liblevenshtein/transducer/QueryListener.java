@@ -0,0 +1,22 @@
+package com.github.liblevenshtein.transducer;
+
+/**
+ * Receives the traversal statistics of queries, such as to export them to a
+ * metrics system or to log pathological queries.  Statistics are only collected
+ * for queries that have a listener, so queries without one pay nothing for
+ * them.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+public interface QueryListener {
+
+  /**
+   * Called once the spelling candidates of a query have been exhausted, on the
+   * thread that exhausted them, or once a query whose candidates were not
+   * exhausted has been closed, on the thread that closed it, with
+   * {@link QueryStatus#ABANDONED}.  Queries that are abandoned without being
+   * closed are never reported.
+   * @param statistics Traversal statistics of the query.
+   */
+  void completed(QueryStatistics statistics);
+}
@@ -0,0 +1,50 @@
+package com.github.liblevenshtein.transducer;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * <p>
+ * Options of a single query of a {@link Transducer}: the listener of its
+ * traversal statistics, the budget capping its work, and the token that may
+ * cancel it.  Each is optional, so a query given {@link #DEFAULTS} behaves
+ * like one given no options at all.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Value
+@Builder
+public class QueryOptions {
+
+  /**
+   * Options of queries that are neither listened to individually, capped, nor
+   * cancellable.
+   */
+  public static final QueryOptions DEFAULTS = QueryOptions.builder().build();
+
+  /**
+   * Receives the traversal statistics of the query once it has stopped, or
+   * null if it should be reported to the listener of the transducer, if any
+   * (see {@link Transducer#queryListener()}).
+   * @return Receives the traversal statistics of the query.
+   */
+  private final QueryListener listener;
+
+  /**
+   * Caps the work the query may do.
+   * @return Caps the work the query may do.
+   */
+  @NonNull
+  @Builder.Default
+  private final QueryBudget budget = QueryBudget.UNLIMITED;
+
+  /**
+   * Stops the query once it has been cancelled, or null if the query cannot be
+   * cancelled.
+   * @return Stops the query once it has been cancelled.
+   */
+  private final CancellationToken cancellation;
+}
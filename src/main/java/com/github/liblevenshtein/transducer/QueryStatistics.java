@@ -0,0 +1,171 @@
+package com.github.liblevenshtein.transducer;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <p>
+ * Counts the work done by {@link LazyTransducerCollection} to answer a query.
+ * Each intersection of the dictionary and Levenshtein automata that is queued
+ * was reached along one visited edge, except that of the dictionary root.
+ * Every other visited edge either led to a dead Levenshtein state, or to a
+ * subtree of the dictionary that was pruned because none of its terms could be
+ * reached within the maximum distance.
+ * </p>
+ *
+ * <p>
+ * Statistics are collected by the thread iterating over the spelling
+ * candidates, and are handed to a {@link QueryListener} once the candidates
+ * have been exhausted, including when the query was stopped early, or once the
+ * query has been closed (see {@link LazyTransducerCollection#close()}).
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Getter
+@ToString
+public class QueryStatistics {
+
+  /**
+   * Query term whose spelling was corrected.
+   * @return Query term whose spelling was corrected.
+   */
+  private final String term;
+
+  /**
+   * Maximum number of errors tolerated between the query term and its
+   * spelling candidates.
+   * @return Maximum distance of the query.
+   */
+  private final int maxDistance;
+
+  /**
+   * Whether the query searched for the completions of matching prefixes.
+   * @return Whether the query searched for the completions of matching
+   *   prefixes.
+   */
+  private final boolean prefix;
+
+  /**
+   * Time at which the query was constructed, from {@link System#nanoTime()}.
+   */
+  @Getter(AccessLevel.NONE)
+  private final long startTime = System.nanoTime();
+
+  /**
+   * Number of nanoseconds between the construction of the query and the
+   * exhaustion of its spelling candidates or its closing, including any time
+   * spent by the caller between candidates.
+   * @return Duration of the query, in nanoseconds.
+   */
+  private long durationNanos = 0L;
+
+  /**
+   * Number of intersections of the dictionary and Levenshtein automata that
+   * were queued for traversal.
+   * @return Number of queued intersections.
+   */
+  private long intersectionsQueued = 0L;
+
+  /**
+   * Number of dictionary edges that were followed.
+   * @return Number of visited edges.
+   */
+  private long edgesVisited = 0L;
+
+  /**
+   * Number of Levenshtein state transitions that led to dead states, which
+   * ended the traversal along their edges.
+   * @return Number of transitions to dead states.
+   */
+  private long deadTransitions = 0L;
+
+  /**
+   * Number of dictionary subtrees that were pruned by their depths.
+   * @return Number of pruned subtrees.
+   */
+  private long prunedSubtrees = 0L;
+
+  /**
+   * Greatest number of intersections that were queued at once.
+   * @return Peak size of the queue of intersections.
+   */
+  private long peakQueueSize = 0L;
+
+  /**
+   * Number of spelling candidates that were emitted.
+   * @return Number of emitted spelling candidates.
+   */
+  private long candidatesEmitted = 0L;
+
+  /**
+   * Whether the query searched the dictionary as far as it needed to, or why
+   * it stopped early.
+   * @return Status of the query.
+   */
+  private QueryStatus status = QueryStatus.COMPLETE;
+
+  /**
+   * Constructs a new {@link QueryStatistics}, for a query that is starting.
+   * @param term Query term whose spelling is corrected.
+   * @param maxDistance Maximum distance of the query.
+   * @param prefix Whether the query searches for completions.
+   */
+  QueryStatistics(final String term, final int maxDistance, final boolean prefix) {
+    this.term = term;
+    this.maxDistance = maxDistance;
+    this.prefix = prefix;
+  }
+
+  /**
+   * Records an intersection that was queued.
+   * @param queueSize Size of the queue, after the intersection was queued.
+   */
+  void queued(final int queueSize) {
+    intersectionsQueued += 1L;
+    if (queueSize > peakQueueSize) {
+      peakQueueSize = queueSize;
+    }
+  }
+
+  /**
+   * Records a dictionary edge that was followed.
+   */
+  void visited() {
+    edgesVisited += 1L;
+  }
+
+  /**
+   * Records a transition to a dead Levenshtein state.
+   */
+  void died() {
+    deadTransitions += 1L;
+  }
+
+  /**
+   * Records a dictionary subtree that was pruned.
+   */
+  void pruned() {
+    prunedSubtrees += 1L;
+  }
+
+  /**
+   * Records a spelling candidate that was emitted.
+   */
+  void emitted() {
+    candidatesEmitted += 1L;
+  }
+
+  /**
+   * Records the exhaustion of the spelling candidates, or the closing of the
+   * query.
+   * @param queryStatus Whether the query searched the dictionary as far as it
+   *   needed to, or why it stopped early.
+   */
+  void completed(final QueryStatus queryStatus) {
+    durationNanos = System.nanoTime() - startTime;
+    status = queryStatus;
+  }
+}
@@ -0,0 +1,53 @@
+package com.github.liblevenshtein.transducer;
+
+/**
+ * Tells whether a query searched the dictionary as far as it needed to, or why
+ * it stopped before it had.
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+public enum QueryStatus {
+
+  /**
+   * The query searched the dictionary as far as it needed to, so its spelling
+   * candidates are all those within its maximum distance.
+   */
+  COMPLETE,
+
+  /**
+   * The query visited as many dictionary edges as its {@link QueryBudget}
+   * allowed.
+   */
+  VISITS_EXHAUSTED,
+
+  /**
+   * The query took as long as its {@link QueryBudget} allowed.
+   */
+  TIMED_OUT,
+
+  /**
+   * The {@link CancellationToken} of the query was cancelled.
+   */
+  CANCELLED,
+
+  /**
+   * The thread searching the dictionary was interrupted, and the
+   * {@link QueryBudget} of the query asked to stop on interrupts.
+   */
+  INTERRUPTED,
+
+  /**
+   * The query was closed before its spelling candidates had been exhausted
+   * (see {@link LazyTransducerCollection#close()}).
+   */
+  ABANDONED;
+
+  /**
+   * Whether the query searched the dictionary as far as it needed to.
+   * @return Whether this is {@link #COMPLETE}.
+   */
+  public boolean isComplete() {
+    return COMPLETE == this;
+  }
+}
@@ -0,0 +1,33 @@
+package com.github.liblevenshtein.transducer;
+
+/**
+ * Observes the versions published by a {@link ReloadableTransducer}, such as to
+ * record how long each took to load and when each was released.  Callbacks are
+ * invoked on the thread that triggered them, so they should return quickly.
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+public interface ReloadListener {
+
+  /**
+   * Called once a new version has been loaded and published.
+   * @param version Number of the published version.
+   * @param durationNanos Nanoseconds spent loading the version.
+   */
+  void loaded(long version, long durationNanos);
+
+  /**
+   * Called when a version fails to load, in which case the current version
+   * remains published.
+   * @param cause Reason the version failed to load.
+   * @param durationNanos Nanoseconds spent before the load failed.
+   */
+  void failed(Throwable cause, long durationNanos);
+
+  /**
+   * Called once a replaced version has been drained of its in-flight queries
+   * and its resources have been closed.
+   * @param version Number of the released version.
+   */
+  void released(long version);
+}
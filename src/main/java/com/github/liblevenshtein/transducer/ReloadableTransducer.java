@@ -0,0 +1,375 @@
+package com.github.liblevenshtein.transducer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+
+/**
+ * <p>
+ * Holds a transducer that may be replaced while it is being queried, such as
+ * to reload its dictionary without downtime.  Each replacement is loaded on the
+ * side, by {@link #reload(Callable)} or in the background by
+ * {@link #reloadAsync(Callable, Executor)}, and is then published atomically.
+ * Queries that began before the replacement finish on the version they began
+ * with, and later queries see the replacement.
+ * </p>
+ *
+ * <p>
+ * Each version counts the queries that hold it.  Once a version has been
+ * replaced and its last query has finished, its resources are closed on the
+ * thread that finished that query: the transducer itself if it is
+ * {@link Closeable}, or otherwise its dictionary if that is, such as a
+ * {@link com.github.liblevenshtein.serialization.LazyDawg}.  So that queries
+ * cannot outlive their versions, the spelling candidates of each query are
+ * materialized before they are returned, as they are by
+ * {@link CachingTransducer}.
+ * </p>
+ *
+ * <p>
+ * Only one version is loaded at a time, so concurrent reloads queue behind
+ * each other instead of each holding a dictionary in memory at once.  The
+ * duration of each load, and the release of each version, are reported to the
+ * {@link #listener}, if there is one.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @param <CandidateType> Kind of the spelling candidates returned from the
+ *   dictionary.
+ * @since 3.1.0
+ */
+@Slf4j
+public class ReloadableTransducer<CandidateType>
+  implements ITransducer<CandidateType>, Closeable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Message of the exceptions thrown once this transducer has been closed.
+   */
+  private static final String CLOSED = "ReloadableTransducer is closed";
+
+  /**
+   * Version currently answering queries, or null once this transducer has
+   * been closed.
+   */
+  private final AtomicReference<Version<CandidateType>> current;
+
+  /**
+   * Held while a version is being loaded, so only one is loaded at a time.
+   */
+  private final Object loadLock = new Object();
+
+  /**
+   * Observes the versions published by this transducer, or null if nothing
+   * does.
+   * @param listener Observes the versions published by this transducer.
+   * @return This {@link ReloadableTransducer} for fluency.
+   */
+  @Setter
+  private volatile ReloadListener listener;
+
+  /**
+   * Constructs a new {@link ReloadableTransducer}, whose first version is
+   * numbered zero.
+   * @param transducer First version of the transducer.
+   */
+  public ReloadableTransducer(@NonNull final ITransducer<CandidateType> transducer) {
+    this.current = new AtomicReference<>(
+        new Version<>(0L, transducer, resourceOf(transducer)));
+  }
+
+  /**
+   * Returns the number of the version currently answering queries.
+   * @return Number of the current version.
+   * @throws IllegalStateException When this transducer has been closed.
+   */
+  public long version() {
+    final Version<CandidateType> version = current.get();
+    if (null == version) {
+      throw new IllegalStateException(CLOSED);
+    }
+    return version.number;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<CandidateType> transduce(@NonNull final String term) {
+    final Version<CandidateType> version = acquire();
+    try {
+      return ImmutableList.copyOf(version.transducer.transduce(term));
+    }
+    finally {
+      release(version);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<CandidateType> transduce(
+      @NonNull final String term,
+      final int maxDistance) {
+    final Version<CandidateType> version = acquire();
+    try {
+      return ImmutableList.copyOf(version.transducer.transduce(term, maxDistance));
+    }
+    finally {
+      release(version);
+    }
+  }
+
+  /**
+   * Loads a new version of the transducer on the calling thread, and publishes
+   * it once it has loaded.  If the load fails, the current version remains
+   * published.
+   * @param loader Loads the new version, such as from a serialized artifact.
+   * @return Number of the published version.
+   * @throws Exception When the new version cannot be loaded.
+   * @throws IllegalStateException When this transducer has been closed.
+   */
+  @SuppressWarnings("checkstyle:illegalcatch")
+  public long reload(
+      @NonNull final Callable<? extends ITransducer<CandidateType>> loader)
+      throws Exception {
+    synchronized (loadLock) {
+      if (null == current.get()) {
+        throw new IllegalStateException(CLOSED);
+      }
+
+      final long startTime = System.nanoTime();
+      final ITransducer<CandidateType> transducer;
+      try {
+        transducer = loader.call();
+        if (null == transducer) {
+          throw new IllegalStateException("The loader returned no transducer");
+        }
+      }
+      catch (final Exception exception) {
+        final long duration = System.nanoTime() - startTime;
+        log.error("Failed to load a new version of the transducer", exception);
+        final ReloadListener reloadListener = listener;
+        if (null != reloadListener) {
+          reloadListener.failed(exception, duration);
+        }
+        throw exception;
+      }
+      final long duration = System.nanoTime() - startTime;
+
+      final Version<CandidateType> previous = current.get();
+      final Version<CandidateType> next = new Version<>(
+          null == previous ? 0L : previous.number + 1L,
+          transducer,
+          resourceOf(transducer));
+
+      // Only close() changes the current version outside of loadLock.
+      if (null == previous || !current.compareAndSet(previous, next)) {
+        release(next);
+        throw new IllegalStateException(CLOSED);
+      }
+
+      log.info("Published version [{}] of the transducer, loaded in [{}] ms",
+          next.number, TimeUnit.NANOSECONDS.toMillis(duration));
+      final ReloadListener reloadListener = listener;
+      if (null != reloadListener) {
+        reloadListener.loaded(next.number, duration);
+      }
+
+      release(previous);
+      return next.number;
+    }
+  }
+
+  /**
+   * Loads a new version of the transducer on the executor, and publishes it
+   * once it has loaded.  Queries are answered by the current version until
+   * then.
+   * @param loader Loads the new version, such as from a serialized artifact.
+   * @param executor Runs the loader.
+   * @return Number of the published version, once it has been published.
+   */
+  public Future<Long> reloadAsync(
+      @NonNull final Callable<? extends ITransducer<CandidateType>> loader,
+      @NonNull final Executor executor) {
+    final FutureTask<Long> task =
+      new FutureTask<>(new Reload<CandidateType>(this, loader));
+    executor.execute(task);
+    return task;
+  }
+
+  /**
+   * Stops answering queries.  The current version is released once its
+   * in-flight queries have finished.
+   */
+  @Override
+  public void close() {
+    final Version<CandidateType> version = current.getAndSet(null);
+    if (null != version) {
+      release(version);
+    }
+  }
+
+  /**
+   * Claims the current version for a query.
+   * @return Current version, which must be released once the query finishes.
+   * @throws IllegalStateException When this transducer has been closed.
+   */
+  private Version<CandidateType> acquire() {
+    Version<CandidateType> version;
+    do {
+      version = current.get();
+      if (null == version) {
+        throw new IllegalStateException(CLOSED);
+      }
+    }
+    while (!version.tryAcquire());
+    return version;
+  }
+
+  /**
+   * Drops a claim to the version, and closes its resources once it has no
+   * claims left.
+   * @param version Version to release.
+   */
+  private void release(final Version<CandidateType> version) {
+    if (0 == version.references.decrementAndGet()) {
+      if (null != version.resource) {
+        try {
+          version.resource.close();
+        }
+        catch (final IOException exception) {
+          log.error("Failed to close version [{}] of the transducer",
+              version.number, exception);
+        }
+      }
+      log.info("Released version [{}] of the transducer", version.number);
+      final ReloadListener reloadListener = listener;
+      if (null != reloadListener) {
+        reloadListener.released(version.number);
+      }
+    }
+  }
+
+  /**
+   * Returns the resource to close once the transducer has been released.
+   * @param transducer Transducer whose resource should be found.
+   * @return Resource to close, or null if there is none.
+   */
+  private static Closeable resourceOf(final ITransducer<?> transducer) {
+    if (transducer instanceof Closeable) {
+      return (Closeable) transducer;
+    }
+    if (transducer instanceof Transducer) {
+      final Dawg dictionary =
+        ((Transducer<?, ?>) transducer).attributes().dictionary();
+      if (dictionary instanceof Closeable) {
+        return (Closeable) dictionary;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The versions of this transducer are published and released as it is
+   * queried, so it cannot be serialized through Java serialization.
+   * Serialize the transducer it currently holds, instead.
+   * @param stream Stream that would receive this transducer.
+   * @throws IOException Always.
+   */
+  private void writeObject(final ObjectOutputStream stream) throws IOException {
+    throw new NotSerializableException(getClass().getName());
+  }
+
+  /**
+   * Published version of the transducer, and the number of claims on it.  The
+   * holder of the version claims it until the version is replaced.
+   * @param <CandidateType> Kind of the spelling candidates returned from the
+   *   dictionary.
+   */
+  @RequiredArgsConstructor
+  private static final class Version<CandidateType> {
+
+    /**
+     * Number of this version, which counts the versions before it.
+     */
+    private final long number;
+
+    /**
+     * Transducer that answers queries for this version.
+     */
+    private final ITransducer<CandidateType> transducer;
+
+    /**
+     * Closed once this version has been released, or null.
+     */
+    private final Closeable resource;
+
+    /**
+     * Number of claims on this version, including that of its holder while it
+     * is published.  Once this reaches zero, it is never claimed again.
+     */
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    /**
+     * Claims this version, unless it has already been released.
+     * @return Whether this version was claimed.
+     */
+    private boolean tryAcquire() {
+      int count;
+      do {
+        count = references.get();
+        if (0 == count) {
+          return false;
+        }
+      }
+      while (!references.compareAndSet(count, count + 1));
+      return true;
+    }
+  }
+
+  /**
+   * Reloads the transducer in the background.
+   * @param <CandidateType> Kind of the spelling candidates returned from the
+   *   dictionary.
+   */
+  @RequiredArgsConstructor
+  private static final class Reload<CandidateType> implements Callable<Long> {
+
+    /**
+     * Transducer to reload.
+     */
+    private final ReloadableTransducer<CandidateType> transducer;
+
+    /**
+     * Loads the new version of the transducer.
+     */
+    private final Callable<? extends ITransducer<CandidateType>> loader;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long call() throws Exception {
+      return transducer.reload(loader);
+    }
+  }
+}
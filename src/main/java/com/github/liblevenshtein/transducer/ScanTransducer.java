@@ -0,0 +1,314 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import com.github.liblevenshtein.transducer.factory.CandidateFactory;
+
+/**
+ * <p>
+ * Finds spelling candidates by scanning every dictionary term whose length is
+ * within the maximum distance of the query term's, rather than by intersecting
+ * the query term's automaton with a DAWG.
+ * </p>
+ *
+ * <p>
+ * The terms are stored end-to-end in a single array of characters, ordered by
+ * length and then lexicographically, so the terms of each length are a
+ * contiguous run that is read sequentially.  Each term in range is compared
+ * with {@link BitParallelDistance}, which gives up as soon as it is farther
+ * than the maximum distance.  For small dictionaries and small distances this
+ * avoids the pointer chasing and the allocation of Levenshtein states of the
+ * automaton, but the work of each query grows with the dictionary, so
+ * {@link com.github.liblevenshtein.transducer.factory.TransducerBuilder}
+ * chooses it only for dictionaries below a crossover size.
+ * </p>
+ *
+ * <p>
+ * When an {@link #executor} is given, queries with more than
+ * {@link #CHUNK_SIZE} terms in range are scanned in chunks of that many terms
+ * on the executor.  Candidates are returned in the order of the scan either
+ * way.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @param <CandidateType> Kind of spelling candidate returned (e.g.
+ *   {@link Candidate} or {@link java.lang.String}).
+ * @since 3.1.0
+ */
+public class ScanTransducer<CandidateType> implements ITransducer<CandidateType> {
+
+  /**
+   * Number of terms scanned by each task, when scanning concurrently.
+   */
+  public static final int CHUNK_SIZE = 8192;
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Variant of Levenshtein distance of the spelling candidates.
+   * @return Algorithm of this transducer.
+   */
+  @Getter
+  private final Algorithm algorithm;
+
+  /**
+   * Maximum distance of spelling candidates when none is given.
+   * @return Default maximum distance of this transducer.
+   */
+  @Getter
+  private final int defaultMaxDistance;
+
+  /**
+   * Builds spelling candidates from dictionary terms and their distances.
+   */
+  private final CandidateFactory<CandidateType> candidateFactory;
+
+  /**
+   * Characters of the dictionary terms, end-to-end.
+   */
+  private final char[] characters;
+
+  /**
+   * Index in {@link #characters} of the first character of each term,
+   * followed by the number of characters.
+   */
+  private final int[] termOffsets;
+
+  /**
+   * Index of the first term of each length, followed by the number of terms.
+   */
+  private final int[] lengthOffsets;
+
+  /**
+   * Scans chunks of the dictionary concurrently, or null to scan it on the
+   * calling thread.
+   */
+  @Setter
+  private transient Executor executor = null;
+
+  /**
+   * Constructs a new {@link ScanTransducer} over the distinct terms of the
+   * dictionary.
+   * @param dictionary Terms of the dictionary, in any order.
+   * @param algorithm Variant of Levenshtein distance of the spelling
+   *   candidates.
+   * @param defaultMaxDistance Maximum distance of spelling candidates when none
+   *   is given.
+   * @param candidateFactory Builds spelling candidates from dictionary terms
+   *   and their distances.
+   */
+  public ScanTransducer(
+      @NonNull final Collection<String> dictionary,
+      @NonNull final Algorithm algorithm,
+      final int defaultMaxDistance,
+      @NonNull final CandidateFactory<CandidateType> candidateFactory) {
+    this.algorithm = algorithm;
+    this.defaultMaxDistance = defaultMaxDistance;
+    this.candidateFactory = candidateFactory;
+
+    final String[] terms = dictionary.toArray(new String[dictionary.size()]);
+    Arrays.sort(terms, new LengthFirstComparator());
+
+    int termCount = 0;
+    int characterCount = 0;
+    for (int i = 0; i < terms.length; i += 1) {
+      if (0 == i || !terms[i].equals(terms[i - 1])) {
+        terms[termCount] = terms[i];
+        termCount += 1;
+        characterCount += terms[i].length();
+      }
+    }
+
+    final int maxLength = 0 == termCount ? 0 : terms[termCount - 1].length();
+    this.characters = new char[characterCount];
+    this.termOffsets = new int[1 + termCount];
+    this.lengthOffsets = new int[2 + maxLength];
+
+    int offset = 0;
+    int length = 0;
+    for (int i = 0; i < termCount; i += 1) {
+      final String term = terms[i];
+      while (length <= term.length()) {
+        lengthOffsets[length] = i;
+        length += 1;
+      }
+      term.getChars(0, term.length(), characters, offset);
+      termOffsets[i] = offset;
+      offset += term.length();
+    }
+    while (length < lengthOffsets.length) {
+      lengthOffsets[length] = termCount;
+      length += 1;
+    }
+    termOffsets[termCount] = offset;
+  }
+
+  /**
+   * Returns the number of distinct terms in the dictionary.
+   * @return Number of distinct terms in the dictionary.
+   */
+  public int size() {
+    return termOffsets.length - 1;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<CandidateType> transduce(@NonNull final String term) {
+    return transduce(term, defaultMaxDistance);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<CandidateType> transduce(
+      @NonNull final String term,
+      final int maxDistance) {
+    if (maxDistance < 0) {
+      return Collections.emptyList();
+    }
+
+    final int maxLength = lengthOffsets.length - 2;
+    final int minTermLength = Math.max(0, term.length() - maxDistance);
+    final int maxTermLength = (int) Math.min(maxLength, (long) term.length() + maxDistance);
+    if (minTermLength > maxTermLength) {
+      return Collections.emptyList();
+    }
+
+    final int first = lengthOffsets[minTermLength];
+    final int last = lengthOffsets[1 + maxTermLength];
+    if (null == executor || last - first <= CHUNK_SIZE) {
+      return new Scan(term, maxDistance, first, last).call();
+    }
+    return scanConcurrently(term, maxDistance, first, last);
+  }
+
+  /**
+   * Scans chunks of the terms in range on {@link #executor}, and joins their
+   * spelling candidates in the order of the chunks.
+   * @param term Query term.
+   * @param maxDistance Maximum distance of the spelling candidates.
+   * @param first Index of the first term in range.
+   * @param last Index following that of the last term in range.
+   * @return Spelling candidates of the query term.
+   */
+  private List<CandidateType> scanConcurrently(
+      final String term,
+      final int maxDistance,
+      final int first,
+      final int last) {
+    final List<FutureTask<List<CandidateType>>> scans = new ArrayList<>();
+    for (int start = first; start < last; start += CHUNK_SIZE) {
+      final int end = (int) Math.min(last, (long) start + CHUNK_SIZE);
+      final FutureTask<List<CandidateType>> scan =
+        new FutureTask<>(new Scan(term, maxDistance, start, end));
+      scans.add(scan);
+      executor.execute(scan);
+    }
+
+    final List<CandidateType> candidates = new ArrayList<>();
+    try {
+      for (final FutureTask<List<CandidateType>> scan : scans) {
+        candidates.addAll(scan.get());
+      }
+    }
+    catch (final InterruptedException exception) {
+      for (final FutureTask<List<CandidateType>> scan : scans) {
+        scan.cancel(true);
+      }
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(
+          "Interrupted while scanning the dictionary", exception);
+    }
+    catch (final ExecutionException exception) {
+      final Throwable cause = exception.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException("Failed to scan the dictionary", cause);
+    }
+    return candidates;
+  }
+
+  /**
+   * Scans a contiguous range of dictionary terms for spelling candidates.
+   */
+  private class Scan implements Callable<List<CandidateType>> {
+
+    /**
+     * Query term.
+     */
+    private final String term;
+
+    /**
+     * Maximum distance of the spelling candidates.
+     */
+    private final int maxDistance;
+
+    /**
+     * Index of the first term of the range.
+     */
+    private final int first;
+
+    /**
+     * Index following that of the last term of the range.
+     */
+    private final int last;
+
+    /**
+     * Constructs a new {@link Scan} of a range of terms.
+     * @param term Query term.
+     * @param maxDistance Maximum distance of the spelling candidates.
+     * @param first Index of the first term of the range.
+     * @param last Index following that of the last term of the range.
+     */
+    Scan(
+        final String term,
+        final int maxDistance,
+        final int first,
+        final int last) {
+      this.term = term;
+      this.maxDistance = maxDistance;
+      this.first = first;
+      this.last = last;
+    }
+
+    /**
+     * Returns the spelling candidates among the terms of the range.
+     * @return Spelling candidates among the terms of the range.
+     */
+    @Override
+    public List<CandidateType> call() {
+      final BitParallelDistance distances = new BitParallelDistance(algorithm, term);
+      final List<CandidateType> candidates = new ArrayList<>();
+      for (int i = first; i < last; i += 1) {
+        final int offset = termOffsets[i];
+        final int length = termOffsets[1 + i] - offset;
+        final int distance =
+          distances.distance(characters, offset, length, maxDistance);
+        if (distance <= maxDistance) {
+          candidates.add(candidateFactory.build(
+              new String(characters, offset, length), distance));
+        }
+      }
+      return candidates;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.github.liblevenshtein.transducer;
+
+import java.io.Serializable;
+
+import lombok.Value;
+
+/**
+ * Spelling candidate returned by a {@link FederatedTransducer}, tagged with the
+ * name of the dictionary it was found in.  A term found in several
+ * dictionaries is returned once for each of them.
+ * @author Dylon Edwards
+ * @param <CandidateType> Kind of spelling candidate tagged (e.g.
+ *   {@link Candidate} or {@link java.lang.String}).
+ * @since 3.1.0
+ */
+@Value
+public class SourcedCandidate<CandidateType> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Name of the dictionary the candidate was found in.
+   * @return Name of the dictionary the candidate was found in.
+   */
+  private final String source;
+
+  /**
+   * Spelling candidate, as built by the transducer of its dictionary.
+   * @return Spelling candidate.
+   */
+  private final CandidateType candidate;
+}
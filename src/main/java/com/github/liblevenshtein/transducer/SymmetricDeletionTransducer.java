@@ -0,0 +1,418 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import com.github.liblevenshtein.transducer.factory.CandidateFactory;
+
+/**
+ * <p>
+ * Finds spelling candidates with a symmetric-deletion index, in the manner of
+ * SymSpell: every term that can be reached by deleting up to
+ * {@link #indexedDeletions} characters from a dictionary term is precomputed,
+ * so a query only looks up the terms reached by deleting characters from the
+ * query term.
+ * </p>
+ *
+ * <p>
+ * Two terms within distance {@code k} of each other reach a common term by
+ * deleting at most {@code k} characters from each: a substitution or
+ * transposition deletes a character from both, and an insertion deletes one
+ * from the longer term.  A merge or split may delete two characters from one
+ * side, so {@link Algorithm#MERGE_AND_SPLIT} indexes {@code 2 * k} deletions.
+ * Each hit is verified with {@link BitParallelDistance}, once per query.
+ * </p>
+ *
+ * <p>
+ * The deletion variants are not stored.  Each is reduced to a 64-bit
+ * fingerprint, in an open-addressed table of primitive arrays whose slots
+ * point into a single array of postings, the ids of the terms that reach the
+ * variant.  Two variants with the same fingerprint only cost a few extra
+ * verifications.  The index grows with the number of deletion variants, which
+ * is polynomial in the lengths of the terms and exponential in the indexed
+ * distance, so it suits small distances and read-heavy workloads.  Queries
+ * farther than the index was built for are rejected.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @param <CandidateType> Kind of spelling candidate returned (e.g.
+ *   {@link Candidate} or {@link java.lang.String}).
+ * @since 3.1.0
+ */
+public class SymmetricDeletionTransducer<CandidateType>
+    implements ITransducer<CandidateType> {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Fingerprint of free slots, which no variant is given.
+   */
+  private static final long FREE = 0L;
+
+  /**
+   * Greatest ratio of occupied slots of the fingerprint table.
+   */
+  private static final float LOAD_FACTOR = 0.75f;
+
+  /**
+   * Offset basis of the FNV-1a hash the fingerprints are derived from.
+   */
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  /**
+   * Prime of the FNV-1a hash the fingerprints are derived from.
+   */
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  /**
+   * Variant of Levenshtein distance of the spelling candidates.
+   * @return Algorithm of this transducer.
+   */
+  @Getter
+  private final Algorithm algorithm;
+
+  /**
+   * Maximum distance of spelling candidates when none is given, and the
+   * greatest distance the index supports.
+   * @return Default maximum distance of this transducer.
+   */
+  @Getter
+  private final int defaultMaxDistance;
+
+  /**
+   * Number of characters deleted from the dictionary terms to build the
+   * index.
+   * @return Number of deletions of the index.
+   */
+  @Getter
+  private final int indexedDeletions;
+
+  /**
+   * Builds spelling candidates from dictionary terms and their distances.
+   */
+  private final CandidateFactory<CandidateType> candidateFactory;
+
+  /**
+   * Distinct terms of the dictionary, in lexicographical order.  The index of
+   * each term is its id.
+   */
+  private final char[][] terms;
+
+  /**
+   * Fingerprints of the deletion variants, by slot, or {@link #FREE}.
+   */
+  private final long[] fingerprints;
+
+  /**
+   * Offset in {@link #postings} of the postings of each slot, followed by the
+   * number of postings.  Free slots have none.
+   */
+  private final int[] slotOffsets;
+
+  /**
+   * Ids of the terms that reach each deletion variant, in ascending order per
+   * slot.
+   */
+  private final int[] postings;
+
+  /**
+   * Constructs a new {@link SymmetricDeletionTransducer}, indexing the
+   * deletion variants of the distinct terms of the dictionary.
+   * @param dictionary Terms of the dictionary, in any order.
+   * @param algorithm Variant of Levenshtein distance of the spelling
+   *   candidates.
+   * @param defaultMaxDistance Maximum distance of spelling candidates when none
+   *   is given, and the greatest distance the index supports.
+   * @param candidateFactory Builds spelling candidates from dictionary terms
+   *   and their distances.
+   */
+  public SymmetricDeletionTransducer(
+      @NonNull final Collection<String> dictionary,
+      @NonNull final Algorithm algorithm,
+      final int defaultMaxDistance,
+      @NonNull final CandidateFactory<CandidateType> candidateFactory) {
+    this.algorithm = algorithm;
+    this.defaultMaxDistance = defaultMaxDistance;
+    this.indexedDeletions = deletionsOf(algorithm, Math.max(0, defaultMaxDistance));
+    this.candidateFactory = candidateFactory;
+    this.terms = distinctTermsOf(dictionary);
+
+    final Long2IntMap postingCounts = new Long2IntOpenHashMap();
+    final LongArrayList variants = new LongArrayList();
+    int postingCount = 0;
+    for (final char[] term : terms) {
+      fingerprintVariants(term, indexedDeletions, variants);
+      for (int i = 0; i < variants.size(); i += 1) {
+        final long fingerprint = variants.getLong(i);
+        postingCounts.put(fingerprint, postingCounts.get(fingerprint) + 1);
+      }
+      postingCount += variants.size();
+    }
+
+    final int capacity = HashCommon.arraySize(
+        Math.max(1, postingCounts.size()), LOAD_FACTOR);
+    this.fingerprints = new long[capacity];
+    this.slotOffsets = new int[1 + capacity];
+    for (final Long2IntMap.Entry entry : postingCounts.long2IntEntrySet()) {
+      final int slot = freeSlotOf(entry.getLongKey());
+      fingerprints[slot] = entry.getLongKey();
+      slotOffsets[1 + slot] = entry.getIntValue();
+    }
+    for (int slot = 0; slot < capacity; slot += 1) {
+      slotOffsets[1 + slot] += slotOffsets[slot];
+    }
+
+    // Fill each slot from its end, visiting the terms in descending order, so
+    // the postings of each slot end up in ascending order.
+    this.postings = new int[postingCount];
+    final int[] slotEnds = Arrays.copyOfRange(slotOffsets, 1, 1 + capacity);
+    for (int id = terms.length - 1; id >= 0; id -= 1) {
+      fingerprintVariants(terms[id], indexedDeletions, variants);
+      for (int i = 0; i < variants.size(); i += 1) {
+        final int slot = slotOf(variants.getLong(i));
+        slotEnds[slot] -= 1;
+        postings[slotEnds[slot]] = id;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of distinct terms in the dictionary.
+   * @return Number of distinct terms in the dictionary.
+   */
+  public int size() {
+    return terms.length;
+  }
+
+  /**
+   * Returns the number of distinct fingerprints of deletion variants.
+   * @return Number of distinct fingerprints in the index.
+   */
+  public int fingerprintCount() {
+    int fingerprintCount = 0;
+    for (final long fingerprint : fingerprints) {
+      if (FREE != fingerprint) {
+        fingerprintCount += 1;
+      }
+    }
+    return fingerprintCount;
+  }
+
+  /**
+   * Returns the number of postings of the index, which is the number of
+   * distinct deletion variants of each term, summed over the terms.
+   * @return Number of postings in the index.
+   */
+  public int postingCount() {
+    return postings.length;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<CandidateType> transduce(@NonNull final String term) {
+    return transduce(term, defaultMaxDistance);
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws IllegalArgumentException When maxDistance exceeds the default
+   *   maximum distance, whose deletion variants are the only ones indexed.
+   */
+  @Override
+  public Iterable<CandidateType> transduce(
+      @NonNull final String term,
+      final int maxDistance) {
+    if (maxDistance < 0) {
+      return Collections.emptyList();
+    }
+
+    final int deletions = deletionsOf(algorithm, maxDistance);
+    if (deletions > indexedDeletions) {
+      throw new IllegalArgumentException(
+          "Expected maxDistance to be at most [" + defaultMaxDistance
+          + "], for which the index was built, but was [" + maxDistance + "]");
+    }
+
+    final LongArrayList variants = new LongArrayList();
+    fingerprintVariants(term.toCharArray(), deletions, variants);
+
+    final BitParallelDistance distances = new BitParallelDistance(algorithm, term);
+    final IntSet verified = new IntOpenHashSet();
+    final List<CandidateType> candidates = new ArrayList<>();
+    for (int i = 0; i < variants.size(); i += 1) {
+      final int slot = slotOf(variants.getLong(i));
+      if (-1 == slot) {
+        continue;
+      }
+      for (int posting = slotOffsets[slot]; posting < slotOffsets[1 + slot]; posting += 1) {
+        final int id = postings[posting];
+        final char[] dictionaryTerm = terms[id];
+        if (Math.abs(dictionaryTerm.length - term.length()) <= maxDistance
+            && verified.add(id)) {
+          final int distance = distances.distance(
+              dictionaryTerm, 0, dictionaryTerm.length, maxDistance);
+          if (distance <= maxDistance) {
+            candidates.add(candidateFactory.build(new String(dictionaryTerm), distance));
+          }
+        }
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Returns the slot of a fingerprint in the table.
+   * @param fingerprint Fingerprint of a deletion variant.
+   * @return Slot of the fingerprint, or -1 if no term reaches its variant.
+   */
+  private int slotOf(final long fingerprint) {
+    final int mask = fingerprints.length - 1;
+    int slot = (int) fingerprint & mask;
+    while (FREE != fingerprints[slot]) {
+      if (fingerprint == fingerprints[slot]) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the slot at which to insert a fingerprint into the table, which
+   * does not hold it yet.
+   * @param fingerprint Fingerprint of a deletion variant.
+   * @return First free slot at or after the home slot of the fingerprint.
+   */
+  private int freeSlotOf(final long fingerprint) {
+    final int mask = fingerprints.length - 1;
+    int slot = (int) fingerprint & mask;
+    while (FREE != fingerprints[slot]) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Returns the distinct terms of a dictionary, in lexicographical order.
+   * @param dictionary Terms of the dictionary, in any order.
+   * @return Characters of each distinct term.
+   */
+  private static char[][] distinctTermsOf(final Collection<String> dictionary) {
+    final String[] sorted = dictionary.toArray(new String[dictionary.size()]);
+    Arrays.sort(sorted);
+    int termCount = 0;
+    for (int i = 0; i < sorted.length; i += 1) {
+      if (0 == i || !sorted[i].equals(sorted[i - 1])) {
+        sorted[termCount] = sorted[i];
+        termCount += 1;
+      }
+    }
+    final char[][] terms = new char[termCount][];
+    for (int id = 0; id < termCount; id += 1) {
+      terms[id] = sorted[id].toCharArray();
+    }
+    return terms;
+  }
+
+  /**
+   * Returns the number of characters to delete from either term, so that two
+   * terms within a distance reach a common deletion variant.
+   * @param algorithm Variant of Levenshtein distance.
+   * @param maxDistance Maximum distance between the terms.
+   * @return Number of deletions for the distance.
+   */
+  private static int deletionsOf(final Algorithm algorithm, final int maxDistance) {
+    return Algorithm.MERGE_AND_SPLIT == algorithm ? 2 * maxDistance : maxDistance;
+  }
+
+  /**
+   * Collects the distinct fingerprints of the variants of a term reached by
+   * deleting up to the given number of characters, including the term itself.
+   * @param term Term whose deletion variants are fingerprinted.
+   * @param deletions Greatest number of characters to delete.
+   * @param variants Receives the sorted, distinct fingerprints.  It is cleared
+   *   first.
+   */
+  private static void fingerprintVariants(
+      final char[] term,
+      final int deletions,
+      final LongArrayList variants) {
+    variants.clear();
+    final int depth = Math.min(deletions, term.length);
+    final char[][] buffers = new char[1 + depth][];
+    buffers[0] = term;
+    for (int i = 1; i <= depth; i += 1) {
+      buffers[i] = new char[term.length - i];
+    }
+    collectVariants(buffers, 0, 0, variants);
+
+    final long[] sorted = variants.elements();
+    Arrays.sort(sorted, 0, variants.size());
+    int distinct = 0;
+    for (int i = 0; i < variants.size(); i += 1) {
+      if (0 == i || sorted[i] != sorted[i - 1]) {
+        sorted[distinct] = sorted[i];
+        distinct += 1;
+      }
+    }
+    variants.size(distinct);
+  }
+
+  /**
+   * Fingerprints a deletion variant, and recursively the variants reached by
+   * deleting one more character at or after the given index.  Deleting only
+   * at or after the previous deletion reaches each set of deleted positions
+   * once.
+   * @param buffers Variant at each depth, which is the number of characters
+   *   deleted from the term at index 0.
+   * @param depth Number of characters deleted so far.
+   * @param start Least index at which to delete a character.
+   * @param variants Receives the fingerprints of the variants.
+   */
+  private static void collectVariants(
+      final char[][] buffers,
+      final int depth,
+      final int start,
+      final LongArrayList variants) {
+    final char[] variant = buffers[depth];
+    variants.add(fingerprintOf(variant));
+    if (depth + 1 < buffers.length) {
+      final char[] next = buffers[depth + 1];
+      for (int i = start; i < variant.length; i += 1) {
+        System.arraycopy(variant, 0, next, 0, i);
+        System.arraycopy(variant, i + 1, next, i, variant.length - i - 1);
+        collectVariants(buffers, depth + 1, i, variants);
+      }
+    }
+  }
+
+  /**
+   * Hashes the characters of a term into a fingerprint other than
+   * {@link #FREE}.
+   * @param term Term to fingerprint.
+   * @return Fingerprint of the term.
+   */
+  private static long fingerprintOf(final char[] term) {
+    long hash = FNV_OFFSET_BASIS;
+    for (final char c : term) {
+      hash = (hash ^ c) * FNV_PRIME;
+    }
+    final long fingerprint = HashCommon.mix(hash);
+    return FREE == fingerprint ? 1L : fingerprint;
+  }
+}
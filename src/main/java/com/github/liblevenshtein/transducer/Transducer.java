@@ -1,11 +1,19 @@
 package com.github.liblevenshtein.transducer;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.DawgStatistics;
 
 /**
  * This wrapper around {@link LazyTransducerCollection}, which handles all the
@@ -31,6 +39,28 @@ public class Transducer<DictionaryNode, CandidateType>
   @NonNull
   private TransducerAttributes<DictionaryNode, CandidateType> attributes;
 
+  /**
+   * Receives the traversal statistics of every query of this transducer whose
+   * {@link QueryOptions} have no listener of their own, such as an
+   * {@link AggregateQueryStatistics}, or null if they should not be collected.
+   * It is neither serialized nor compared.
+   * @param queryListener Receives the traversal statistics of every query.
+   * @return Receives the traversal statistics of every query.
+   * @since 3.1.0
+   */
+  private transient volatile QueryListener queryListener;
+
+  /**
+   * Estimates the cost of queries whose budgets may lower their distances.  It
+   * is built from the statistics of the dictionary by the first such query,
+   * and rebuilt only once the dictionary has been modified.  It is neither
+   * serialized nor compared.
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @ToString.Exclude
+  private transient volatile QueryCostEstimator costEstimator;
+
   /**
    * {@inheritDoc}
    */
@@ -46,7 +76,131 @@ public class Transducer<DictionaryNode, CandidateType>
   public Iterable<CandidateType> transduce(
       @NonNull final String term,
       final int maxDistance) {
+    return transduce(term, maxDistance, QueryOptions.DEFAULTS);
+  }
+
+  /**
+   * Returns the dictionary terms within maxDistance of the query term that may
+   * be found within the options of the query:
+   * <ul>
+   * <li>Its listener, or that of this transducer if it has none, receives the
+   *   traversal statistics of the query once it stops, such as to find out why
+   *   it is slow.</li>
+   * <li>Its budget caps the work the query may do.  If the budget degrades the
+   *   distance, the query searches the greatest distance no greater than
+   *   maxDistance whose estimated cost fits within the budget, which the
+   *   returned collection reports as its
+   *   {@link LazyTransducerCollection#maxDistance()}.</li>
+   * <li>Its cancellation token may be cancelled from any thread, such as one
+   *   watching over the requests being served, and stops the query even while
+   *   it is searching for its next spelling candidate.</li>
+   * </ul>
+   * A query that was stopped early reports why through
+   * {@link LazyTransducerCollection#status()}, once its spelling candidates
+   * have been exhausted.
+   * @param term Query term whose spelling should be corrected.
+   * @param maxDistance Maximum number of errors tolerated between the query
+   *   term and its spelling candidates.
+   * @param options Listener, budget, and cancellation token of the query.
+   * @return Spelling candidates of the query term found before the query was
+   *   stopped.
+   * @since 3.1.0
+   */
+  public LazyTransducerCollection<DictionaryNode, CandidateType> transduce(
+      @NonNull final String term,
+      final int maxDistance,
+      @NonNull final QueryOptions options) {
+    final QueryBudget budget = options.budget();
+    int distance = maxDistance;
+    if (budget.degradeDistance() && null != attributes.dictionary()) {
+      final QueryCostEstimator estimator = costEstimator(attributes.dictionary());
+      distance = estimator.admissibleDistance(
+          term.length(), maxDistance, attributes.algorithm(), budget.maxVisits());
+    }
+    final QueryListener listener =
+      null != options.listener() ? options.listener() : queryListener;
+    return new LazyTransducerCollection<DictionaryNode, CandidateType>(
+        term, distance, attributes, false, listener, budget,
+        options.cancellation());
+  }
+
+  /**
+   * Returns the estimator of the cost of queries against the dictionary,
+   * building it if there is none yet or the statistics of the dictionary have
+   * changed since it was built.  Racing queries may each build one, but they
+   * are equivalent, so whichever is kept does not matter.
+   * @param dictionary Dictionary that is queried.
+   * @return Estimator of the cost of queries against the dictionary.
+   */
+  private QueryCostEstimator costEstimator(final Dawg dictionary) {
+    final DawgStatistics statistics = dictionary.statistics();
+    QueryCostEstimator estimator = costEstimator;
+    if (null == estimator || estimator.statistics() != statistics) {
+      estimator = new QueryCostEstimator(statistics);
+      costEstimator = estimator;
+    }
+    return estimator;
+  }
+
+  /**
+   * Returns every dictionary term having a prefix within the default maximum
+   * distance of the query term, such as for autocompletion.  The distance of
+   * each completion is the least distance between the query term and any of its
+   * prefixes.
+   * @param term Query term whose completions should be found.
+   * @return Completions of the dictionary prefixes matching the query term.
+   * @since 3.1.0
+   */
+  public Iterable<CandidateType> transducePrefix(@NonNull final String term) {
+    return transducePrefix(term, attributes.maxDistance());
+  }
+
+  /**
+   * Returns every dictionary term having a prefix within maxDistance of the
+   * query term, such as for autocompletion.  The distance of each completion is
+   * the least distance between the query term and any of its prefixes.
+   * @param term Query term whose completions should be found.
+   * @param maxDistance Maximum number of errors tolerated between the query
+   *   term and the matching prefix of each completion.
+   * @return Completions of the dictionary prefixes matching the query term.
+   * @since 3.1.0
+   */
+  public Iterable<CandidateType> transducePrefix(
+      @NonNull final String term,
+      final int maxDistance) {
     return new LazyTransducerCollection<DictionaryNode, CandidateType>(
-        term, maxDistance, attributes);
+        term, maxDistance, attributes, true, queryListener);
+  }
+
+  /**
+   * Returns the spelling candidates of each query term, within the default
+   * maximum distance.  Work is shared between consecutive query terms having
+   * common prefixes, so they should be given in sorted order.
+   * @param terms Query terms whose spellings should be corrected.
+   * @return Query terms paired with their spelling candidates, in the order of
+   *   the query terms.
+   * @since 3.1.0
+   */
+  public Iterable<Map.Entry<String, List<CandidateType>>> transduceAll(
+      @NonNull final Iterable<String> terms) {
+    return transduceAll(terms, attributes.maxDistance());
+  }
+
+  /**
+   * Returns the spelling candidates of each query term, within maxDistance.
+   * Work is shared between consecutive query terms having common prefixes, so
+   * they should be given in sorted order.
+   * @param terms Query terms whose spellings should be corrected.
+   * @param maxDistance Maximum number of errors tolerated between each query
+   *   term and its spelling candidates.
+   * @return Query terms paired with their spelling candidates, in the order of
+   *   the query terms.
+   * @since 3.1.0
+   */
+  public Iterable<Map.Entry<String, List<CandidateType>>> transduceAll(
+      @NonNull final Iterable<String> terms,
+      final int maxDistance) {
+    return new BatchTransducerCollection<DictionaryNode, CandidateType>(
+        terms, maxDistance, attributes);
   }
 }
@@ -9,6 +9,7 @@ import lombok.NonNull;
 import lombok.ToString;
 
 import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.IDepthFunction;
 import com.github.liblevenshtein.collection.dictionary.IFinalFunction;
 import com.github.liblevenshtein.collection.dictionary.ITransitionFunction;
 import com.github.liblevenshtein.transducer.factory.CandidateFactory;
@@ -75,6 +76,13 @@ public class TransducerAttributes<DictionaryNode, CandidateType> implements Seri
   @NonNull
   protected ITransitionFunction<DictionaryNode> dictionaryTransition;
 
+  /**
+   * Bounds the depths of the final dictionary nodes beneath each node, so
+   * subtrees whose terms are all too short or too long to be spelling
+   * candidates may be pruned.  If this is null, no subtree is pruned.
+   */
+  protected IDepthFunction<DictionaryNode> dictionaryDepth;
+
   /**
    * State at which to begin traversing the Levenshtein automaton.
    */
@@ -5,6 +5,7 @@ import java.util.Comparator;
 
 import lombok.Setter;
 
+import com.github.liblevenshtein.transducer.MemoizedStateTransitionFunction;
 import com.github.liblevenshtein.transducer.MergeFunction;
 import com.github.liblevenshtein.transducer.Position;
 import com.github.liblevenshtein.transducer.StateTransitionFunction;
@@ -45,6 +46,12 @@ public class StateTransitionFactory implements Serializable {
    */
   private UnsubsumeFunction unsubsume;
 
+  /**
+   * Maximum number of Levenshtein states and transitions to memoize for each
+   * query, or zero if they should not be memoized.
+   */
+  private int cacheCapacity = 0;
+
   /**
    * Builds a new state-transition function that only considers spelling
    * candidates no more than {@code maxDistance} errors from the query term.
@@ -52,12 +59,16 @@ public class StateTransitionFactory implements Serializable {
    *   query term into the spelling candidate.
    * @param queryLength Length of the query term.
    * @return New state-transition function that only considers spelling
-   *   candidates within {@code maxDistance} errors from the query term.
+   *   candidates within {@code maxDistance} errors from the query term.  If
+   *   {@link #cacheCapacity} is positive, its transitions are memoized.
    */
   public StateTransitionFunction build(
       final int maxDistance,
       final int queryLength) {
-    return new StateTransitionFunction()
+    final StateTransitionFunction stateTransition = cacheCapacity > 0
+      ? new MemoizedStateTransitionFunction(cacheCapacity)
+      : new StateTransitionFunction();
+    return stateTransition
       .comparator(comparator)
       .stateFactory(stateFactory)
       .transitionFactory(positionTransitionFactory)
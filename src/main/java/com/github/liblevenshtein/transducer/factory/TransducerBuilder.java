@@ -1,8 +1,14 @@
 package com.github.liblevenshtein.transducer.factory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import lombok.NonNull;
 import lombok.Setter;
@@ -12,13 +18,19 @@ import com.github.liblevenshtein.collection.dictionary.Dawg;
 import com.github.liblevenshtein.collection.dictionary.DawgNode;
 import com.github.liblevenshtein.collection.dictionary.factory.DawgFactory;
 import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
 import com.github.liblevenshtein.transducer.DistanceFunction;
+import com.github.liblevenshtein.transducer.Engine;
+import com.github.liblevenshtein.transducer.FederatedTransducer;
 import com.github.liblevenshtein.transducer.ITransducer;
 import com.github.liblevenshtein.transducer.MergeFunction;
+import com.github.liblevenshtein.transducer.QGramTransducer;
+import com.github.liblevenshtein.transducer.ScanTransducer;
 import com.github.liblevenshtein.transducer.SpecialPositionComparator;
 import com.github.liblevenshtein.transducer.StandardPositionComparator;
 import com.github.liblevenshtein.transducer.State;
 import com.github.liblevenshtein.transducer.SubsumesFunction;
+import com.github.liblevenshtein.transducer.SymmetricDeletionTransducer;
 import com.github.liblevenshtein.transducer.Transducer;
 import com.github.liblevenshtein.transducer.TransducerAttributes;
 import com.github.liblevenshtein.transducer.UnsubsumeFunction;
@@ -33,6 +45,21 @@ import com.github.liblevenshtein.transducer.UnsubsumeFunction;
 @SuppressWarnings("checkstyle:classdataabstractioncoupling")
 public class TransducerBuilder implements Serializable {
 
+  /**
+   * Number of dictionary terms below which {@link Engine#AUTO} chooses
+   * {@link Engine#SCAN} for a default maximum distance of 2 or more, when no
+   * other crossover is given.  On the English word list, scans were faster up
+   * to about 50,000 terms at distance 2, and the automaton beyond.
+   */
+  public static final int DEFAULT_SCAN_CROSSOVER = 50_000;
+
+  /**
+   * Factor by which the crossover is lowered for a default maximum distance
+   * of 1, at which the automaton visits so few prefixes that it overtook scans
+   * at about a tenth as many terms.
+   */
+  private static final int DISTANCE_ONE_CROSSOVER_DIVISOR = 10;
+
   private static final long serialVersionUID = 1L;
 
   /**
@@ -74,6 +101,43 @@ public class TransducerBuilder implements Serializable {
   @Setter
   private boolean includeDistance = true;
 
+  /**
+   * Maximum number of Levenshtein states and transitions to memoize for each
+   * query, or zero if they should not be memoized.  Memoization pays off when
+   * many edges of the dictionary are reached with identical states, such as
+   * for large dictionaries and long query terms.
+   */
+  @Setter
+  private int stateTransitionCacheCapacity = 0;
+
+  /**
+   * How spelling candidates are found.  {@link Engine#AUTOMATON} builds a
+   * {@link Transducer}, {@link Engine#SCAN} builds a {@link ScanTransducer},
+   * {@link Engine#QGRAM} builds a {@link QGramTransducer},
+   * {@link Engine#SYMMETRIC_DELETION} builds a
+   * {@link SymmetricDeletionTransducer}, and {@link Engine#AUTO} chooses
+   * between the first two by the size of the dictionary.
+   */
+  @Setter
+  @NonNull
+  private Engine engine = Engine.AUTOMATON;
+
+  /**
+   * Number of dictionary terms below which {@link Engine#AUTO} chooses
+   * {@link Engine#SCAN}, for a default maximum distance of 2 or more.  It is a
+   * tenth of this for a default maximum distance of 1, and {@link Engine#AUTO}
+   * always chooses {@link Engine#AUTOMATON} for exact matches.
+   */
+  @Setter
+  private int scanCrossover = DEFAULT_SCAN_CROSSOVER;
+
+  /**
+   * Scans chunks of large dictionaries concurrently, for transducers built by
+   * {@link Engine#SCAN}, or null to scan them on the querying thread.
+   */
+  @Setter
+  private transient Executor scanExecutor = null;
+
   /**
    * Specifies the collection of dictionary terms for the dictionary automaton.
    * @param dictionary Collection of dictionary terms to consider when
@@ -98,14 +162,48 @@ public class TransducerBuilder implements Serializable {
    * @return Levenshtein transducer for seeking spelling candidates for query
    *   terms (fuzzy searching!).
    */
-  @SuppressWarnings("unchecked")
   public <CandidateType> ITransducer<CandidateType> build() {
+    return build(this.dictionary, this.isSorted, this.includeDistance);
+  }
+
+  /**
+   * Builds a Levenshtein transducer over a dictionary, according to the other
+   * parameters set for this {@link TransducerBuilder}.
+   * @param terms Terms of the dictionary.
+   * @param sorted Whether the terms are sorted.
+   * @param withDistance Whether the spelling candidates should include their
+   *   distances from query terms.
+   * @param <CandidateType> Implicit type of the spelling candidates generated
+   *   by the transducer.
+   * @return Levenshtein transducer over the dictionary.
+   */
+  private <CandidateType> ITransducer<CandidateType> build(
+      final Collection<String> terms,
+      final boolean sorted,
+      final boolean withDistance) {
     log.info("Building transducer out of [{}] terms with isSorted [{}], "
         + "algorithm [{}], defaultMaxDistance [{}], and includeDistance [{}]",
-        dictionary.size(), isSorted, algorithm, defaultMaxDistance,
-        includeDistance);
+        terms.size(), sorted, algorithm, defaultMaxDistance, withDistance);
+
+    final CandidateFactory<CandidateType> factory = candidateFactory(withDistance);
+    final Engine resolvedEngine = resolveEngine(terms.size());
+    if (Engine.SCAN == resolvedEngine) {
+      final ScanTransducer<CandidateType> transducer = new ScanTransducer<>(
+          terms, algorithm, defaultMaxDistance, factory);
+      transducer.executor(scanExecutor);
+      return transducer;
+    }
 
-    final Dawg dictionary = dawgFactory.build(this.dictionary, this.isSorted);
+    if (Engine.QGRAM == resolvedEngine) {
+      return new QGramTransducer<>(terms, algorithm, defaultMaxDistance, factory);
+    }
+
+    if (Engine.SYMMETRIC_DELETION == resolvedEngine) {
+      return new SymmetricDeletionTransducer<>(
+          terms, algorithm, defaultMaxDistance, factory);
+    }
+
+    final Dawg dictionary = dawgFactory.build(terms, sorted);
     final PositionFactory positionFactory = new PositionFactory();
     final StateFactory stateFactory = new StateFactory();
 
@@ -116,6 +214,7 @@ public class TransducerBuilder implements Serializable {
     final StateTransitionFactory stateTransitionFactory = stateTransitionFactory();
     stateTransitionFactory.stateFactory(stateFactory);
     stateTransitionFactory.positionTransitionFactory(positionTransitionFactory);
+    stateTransitionFactory.cacheCapacity(stateTransitionCacheCapacity);
 
     final State initialState = stateFactory.build(positionFactory.build(0, 0));
 
@@ -123,20 +222,83 @@ public class TransducerBuilder implements Serializable {
       TransducerAttributes.<DawgNode, CandidateType>builder()
         .maxDistance(defaultMaxDistance)
         .stateTransitionFactory(stateTransitionFactory)
-        .candidateFactory(candidateFactory())
+        .candidateFactory(factory)
         .minDistance(minDistance())
         .isFinal(dawgFactory.finalFunction(dictionary))
         .dictionaryTransition(dawgFactory.transitionFunction(dictionary))
+        .dictionaryDepth(dawgFactory.depthFunction(dictionary))
         .dictionaryRoot(dictionary.root())
         .initialState(initialState)
         .dictionary(dictionary)
         .algorithm(algorithm)
-        .includeDistance(includeDistance)
+        .includeDistance(withDistance)
         .build();
 
     return new Transducer<>(attributes);
   }
 
+  /**
+   * Builds a {@link FederatedTransducer} that searches several dictionaries at
+   * once, according to the other parameters set for this
+   * {@link TransducerBuilder}.  The dictionary set by
+   * {@link #dictionary(Collection, boolean)} is ignored.  The engine searches
+   * the union of the dictionaries, each of whose terms is searched once no
+   * matter how many of the dictionaries contain it.
+   * @param dictionaries Terms of each dictionary, by its name.  The spelling
+   *   candidates of each term are tagged with the names of its dictionaries in
+   *   the iteration order of the map.
+   * @param <CandidateType> Implicit type of the spelling candidates generated
+   *   by the transducer.
+   * @return Levenshtein transducer for seeking spelling candidates for query
+   *   terms among several dictionaries.
+   * @since 3.1.0
+   */
+  public <CandidateType> FederatedTransducer<CandidateType> buildFederated(
+      @NonNull final Map<String, ? extends Collection<String>> dictionaries) {
+    final Set<String> distinctTerms = new HashSet<>();
+    for (final Collection<String> terms : dictionaries.values()) {
+      distinctTerms.addAll(terms);
+    }
+    final List<String> union = new ArrayList<>(distinctTerms);
+    Collections.sort(union);
+
+    log.info("Federating [{}] dictionaries of [{}] distinct terms",
+        dictionaries.size(), union.size());
+
+    return new FederatedTransducer<>(
+        dictionaries,
+        this.<Candidate>build(union, true, true),
+        this.<CandidateType>candidateFactory());
+  }
+
+  /**
+   * Resolves {@link Engine#AUTO} to the engine it chooses for the dictionary.
+   * @param dictionarySize Number of terms of the dictionary.
+   * @return Engine that builds the transducer.
+   */
+  protected Engine resolveEngine(final int dictionarySize) {
+    if (Engine.AUTO != engine) {
+      return engine;
+    }
+    final int crossover;
+    if (defaultMaxDistance <= 0) {
+      crossover = 0;
+    }
+    else if (1 == defaultMaxDistance) {
+      crossover = scanCrossover / DISTANCE_ONE_CROSSOVER_DIVISOR;
+    }
+    else {
+      crossover = scanCrossover;
+    }
+    final Engine resolved = dictionarySize < crossover
+      ? Engine.SCAN
+      : Engine.AUTOMATON;
+    log.info("Resolved engine [{}] for [{}] terms within distance [{}], "
+        + "against a crossover of [{}] terms",
+        resolved, dictionarySize, defaultMaxDistance, crossover);
+    return resolved;
+  }
+
   /**
    * Builds the factory for spelling candidates, according to whether they
    * should include the candidates' distances from query terms.
@@ -144,10 +306,23 @@ public class TransducerBuilder implements Serializable {
    *   by the transducer.
    * @return Factory for spelling candidates.
    */
-  @SuppressWarnings("unchecked")
   protected <CandidateType> CandidateFactory<CandidateType> candidateFactory() {
+    return candidateFactory(includeDistance);
+  }
+
+  /**
+   * Builds the factory for spelling candidates.
+   * @param withDistance Whether the candidates should include their distances
+   *   from query terms.
+   * @param <CandidateType> Implicit type of the spelling candidates generated
+   *   by the transducer.
+   * @return Factory for spelling candidates.
+   */
+  @SuppressWarnings("unchecked")
+  private <CandidateType> CandidateFactory<CandidateType> candidateFactory(
+      final boolean withDistance) {
     return (CandidateFactory<CandidateType>)
-      (includeDistance
+      (withDistance
         ? new CandidateFactory.WithDistance()
         : new CandidateFactory.WithoutDistance());
   }
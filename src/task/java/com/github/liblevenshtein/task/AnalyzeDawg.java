@@ -0,0 +1,134 @@
+package com.github.liblevenshtein.task;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.serialization.BytecodeSerializer;
+import com.github.liblevenshtein.serialization.PlainTextSerializer;
+import com.github.liblevenshtein.serialization.ProtobufSerializer;
+import com.github.liblevenshtein.serialization.Serializer;
+
+/**
+ * Reports the structure and estimated heap footprint of a serialized
+ * dictionary, for capacity planning.
+ */
+@Slf4j
+public class AnalyzeDawg extends Action {
+
+  /**
+   * "dictionary-path" literal for accessors.
+   */
+  private static final String DICTIONARY_PATH = "dictionary-path";
+
+  /**
+   * "format" literal for accessors.
+   */
+  private static final String FORMAT = "format";
+
+  /**
+   * "report-path" literal for accessors.
+   */
+  private static final String REPORT_PATH = "report-path";
+
+  /**
+   * Format of the dictionary when none is given.
+   */
+  private static final String DEFAULT_FORMAT = "protobuf";
+
+  /**
+   * Constructs a new {@link AnalyzeDawg} from the command-line args.
+   * @param args Command-line args for this analyzer.
+   */
+  public AnalyzeDawg(final String[] args) {
+    super(args);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void runInternal() throws Exception {
+    final Path dictionaryPath = Paths.get(cli.getOptionValue(DICTIONARY_PATH));
+    final String format = cli.getOptionValue(FORMAT, DEFAULT_FORMAT);
+
+    log.info("Loading dictionary [{}] as [{}]", dictionaryPath, format);
+    final SortedDawg dictionary =
+      serializerOf(format).deserialize(SortedDawg.class, dictionaryPath);
+
+    log.info("Analyzing dictionary of [{}] terms", dictionary.size());
+    final String report = new DawgAnalysis(dictionary).report();
+
+    if (cli.hasOption(REPORT_PATH)) {
+      final Path reportPath = Paths.get(cli.getOptionValue(REPORT_PATH));
+      log.info("Writing report to [{}]", reportPath);
+      Files.write(reportPath, report.getBytes(StandardCharsets.UTF_8));
+    }
+    else {
+      log.info("\n{}", report);
+    }
+  }
+
+  /**
+   * Returns the serializer of the dictionary format.
+   * @param format Name of the dictionary format.
+   * @return Serializer of the dictionary format.
+   */
+  private Serializer serializerOf(final String format) {
+    switch (format) {
+      case DEFAULT_FORMAT:
+        return new ProtobufSerializer();
+      case "bytecode":
+        return new BytecodeSerializer();
+      case "plain-text":
+        return new PlainTextSerializer(false);
+      default:
+        throw new IllegalArgumentException("Unsupported format: " + format);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Options options() {
+    final Options options = super.options();
+    options.addOption(
+      Option.builder()
+        .longOpt(DICTIONARY_PATH)
+        .desc("Path to the serialized dictionary to analyze")
+        .hasArg()
+        .required()
+        .build());
+    options.addOption(
+      Option.builder()
+        .longOpt(FORMAT)
+        .desc("Format of the dictionary: protobuf (default), bytecode, or plain-text")
+        .hasArg()
+        .build());
+    options.addOption(
+      Option.builder()
+        .longOpt(REPORT_PATH)
+        .desc("Path to write the report, instead of logging it")
+        .hasArg()
+        .build());
+    return options;
+  }
+
+  /**
+   * Reports the structure and estimated heap footprint of a dictionary.
+   * @param args Command-line arguments.
+   */
+  @SuppressWarnings("checkstyle:uncommentedmain")
+  public static void main(final String... args) {
+    final AnalyzeDawg action = new AnalyzeDawg(args);
+    action.run();
+  }
+}
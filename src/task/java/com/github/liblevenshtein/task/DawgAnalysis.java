@@ -0,0 +1,304 @@
+package com.github.liblevenshtein.task;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+import it.unimi.dsi.fastutil.chars.CharIterator;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.DawgNodeIdentity;
+import com.github.liblevenshtein.collection.dictionary.DawgStatistics;
+
+/**
+ * <p>
+ * Describes the structure of a {@link Dawg} and estimates how much heap it
+ * retains, compared with more compact representations of the same nodes and
+ * edges.  The dictionary is walked in place, remembering only the nodes it has
+ * visited, so analyzing a dictionary needs far less memory than copying it
+ * would.  Nodes are told apart by {@link DawgNodeIdentity}, so each node of a
+ * dictionary read from a table, whose nodes are created afresh on each
+ * transition, is counted once.
+ * </p>
+ *
+ * <p>
+ * Sizes are estimated for a 64-bit HotSpot JVM with compressed object
+ * pointers, which is the default for heaps smaller than 32 GB: objects have
+ * 12-byte headers, arrays 16-byte headers, references take 4 bytes, and
+ * everything is aligned to 8 bytes.  Each {@link DawgNode} holds a
+ * {@code Char2ObjectRBTreeMap}, which eagerly allocates two 64-element arrays
+ * for its traversal paths, so most of the heap of a dictionary goes to nodes
+ * rather than edges.
+ * </p>
+ *
+ * <p>
+ * Only nodes and edges are counted.  A {@code SortedDawg} also keeps the
+ * register of minimized nodes it needs to accept more terms, which on an
+ * English word list adds about a fifth to the estimate.
+ * </p>
+ *
+ * @author Dylon Edwards
+ * @since 3.1.0
+ */
+@Getter
+public class DawgAnalysis {
+
+  /**
+   * Bytes of the header of an object.
+   */
+  private static final long OBJECT_HEADER = 12L;
+
+  /**
+   * Bytes of the header of an array.
+   */
+  private static final long ARRAY_HEADER = 16L;
+
+  /**
+   * Bytes of a compressed reference.
+   */
+  private static final long REFERENCE = 4L;
+
+  /**
+   * Bytes every object is aligned to.
+   */
+  private static final long ALIGNMENT = 8L;
+
+  /**
+   * Number of elements of each traversal path of a
+   * {@code Char2ObjectRBTreeMap}.
+   */
+  private static final long TREE_PATH_LENGTH = 64L;
+
+  /**
+   * Number of reference fields of a {@code Char2ObjectRBTreeMap}, including
+   * those of its superclasses.
+   */
+  private static final long TREE_MAP_REFERENCES = 11L;
+
+  /**
+   * Number of distinct nodes of the dictionary.
+   * @return Number of distinct nodes.
+   */
+  private final long nodeCount;
+
+  /**
+   * Number of edges between the distinct nodes of the dictionary.
+   * @return Number of edges.
+   */
+  private final long edgeCount;
+
+  /**
+   * Number of distinct nodes of the dictionary that are final.
+   * @return Number of final nodes.
+   */
+  private final long finalCount;
+
+  /**
+   * Number of nodes of each out-degree, indexed by out-degree.
+   */
+  @Getter(AccessLevel.NONE)
+  private final long[] outDegreeCounts;
+
+  /**
+   * Number of prefixes and terms at each depth of the dictionary.
+   * @return Statistics of the depths of the dictionary.
+   */
+  private final DawgStatistics statistics;
+
+  /**
+   * Analyzes the dictionary.
+   * @param dictionary In-memory dictionary to analyze.
+   */
+  public DawgAnalysis(final Dawg dictionary) {
+    this.statistics = dictionary.statistics();
+
+    final Set<DawgNode> visited =
+      new ObjectOpenCustomHashSet<>(DawgNodeIdentity.INSTANCE);
+    final Deque<DawgNode> pending = new ArrayDeque<>();
+    final LongArrayList degrees = new LongArrayList();
+    long edges = 0L;
+    long finals = 0L;
+
+    if (null != dictionary.root()) {
+      visited.add(dictionary.root());
+      pending.push(dictionary.root());
+    }
+
+    while (!pending.isEmpty()) {
+      final DawgNode node = pending.pop();
+      if (dictionary.at(node)) {
+        finals += 1L;
+      }
+      int degree = 0;
+      final CharIterator labels = dictionary.of(node);
+      while (labels.hasNext()) {
+        final DawgNode target = dictionary.of(node, labels.nextChar());
+        if (visited.add(target)) {
+          pending.push(target);
+        }
+        degree += 1;
+      }
+      while (degrees.size() <= degree) {
+        degrees.add(0L);
+      }
+      degrees.set(degree, degrees.getLong(degree) + 1L);
+      edges += degree;
+    }
+
+    this.nodeCount = visited.size();
+    this.edgeCount = edges;
+    this.finalCount = finals;
+    this.outDegreeCounts = degrees.toLongArray();
+  }
+
+  /**
+   * Returns the greatest out-degree of any node.
+   * @return Greatest out-degree of any node, or -1 if there are no nodes.
+   */
+  public int maxOutDegree() {
+    return outDegreeCounts.length - 1;
+  }
+
+  /**
+   * Returns the number of nodes having the given out-degree.
+   * @param degree Number of outgoing edges.
+   * @return Number of nodes having that many outgoing edges.
+   */
+  public long outDegreeCount(final int degree) {
+    return 0 <= degree && degree < outDegreeCounts.length
+      ? outDegreeCounts[degree]
+      : 0L;
+  }
+
+  /**
+   * Returns the number of nodes the equivalent trie would have, which is one
+   * per distinct prefix, including the empty one.
+   * @return Number of nodes of the equivalent trie.
+   */
+  public long trieNodeCount() {
+    return 1L + statistics.edgeCount();
+  }
+
+  /**
+   * Returns the ratio of the nodes of the dictionary to those of the
+   * equivalent trie.  The smaller it is, the more suffixes are shared.
+   * @return Ratio of the nodes of the dictionary to those of its trie.
+   */
+  public double suffixSharingRatio() {
+    return (double) nodeCount / trieNodeCount();
+  }
+
+  /**
+   * Estimates the bytes retained by the nodes and edges of the dictionary, as
+   * they are represented now: each node holds a {@code Char2ObjectRBTreeMap}
+   * with its traversal paths, and each edge is an entry of that map.
+   * @return Estimated bytes retained by the dictionary.
+   */
+  public long treeMapBytes() {
+    final long node = align(OBJECT_HEADER + REFERENCE + 2L * Integer.BYTES);
+    final long map = align(OBJECT_HEADER
+        + TREE_MAP_REFERENCES * REFERENCE
+        + Integer.BYTES
+        + 1L);
+    final long paths = align(ARRAY_HEADER + TREE_PATH_LENGTH)
+      + align(ARRAY_HEADER + TREE_PATH_LENGTH * REFERENCE);
+    final long entry = align(OBJECT_HEADER
+        + Character.BYTES
+        + 3L * REFERENCE
+        + Integer.BYTES);
+    return nodeCount * (node + map + paths) + edgeCount * entry;
+  }
+
+  /**
+   * Estimates the bytes the dictionary would retain if each node held its
+   * labels and targets in a pair of parallel, sorted arrays, and nodes without
+   * edges shared a pair of empty arrays.
+   * @return Estimated bytes retained by sorted-array nodes.
+   */
+  public long sortedArrayBytes() {
+    final long node = align(OBJECT_HEADER + 2L * REFERENCE + 2L * Integer.BYTES);
+    long bytes = nodeCount * node;
+    for (int degree = 1; degree < outDegreeCounts.length; degree += 1) {
+      final long arrays = align(ARRAY_HEADER + (long) Character.BYTES * degree)
+        + align(ARRAY_HEADER + REFERENCE * degree);
+      bytes += outDegreeCounts[degree] * arrays;
+    }
+    return bytes;
+  }
+
+  /**
+   * Estimates the bytes of the fixed-width layout read in place by
+   * {@code BufferDawg}, which stores three integers per node and a label and a
+   * target id per edge.
+   * @return Estimated bytes of the flat layout.
+   */
+  public long flatBytes() {
+    return 3L * Integer.BYTES
+      + Integer.BYTES * (1L + 3L * nodeCount)
+      + (long) (Character.BYTES + Integer.BYTES) * edgeCount;
+  }
+
+  /**
+   * Renders this analysis as a human-readable report.
+   * @return Report of this analysis.
+   */
+  public String report() {
+    final StringBuilder report = new StringBuilder();
+    report.append(String.format("nodes:                 %,d%n", nodeCount));
+    report.append(String.format("edges:                 %,d%n", edgeCount));
+    report.append(String.format("final nodes:           %,d%n", finalCount));
+    report.append(String.format("trie nodes:            %,d%n", trieNodeCount()));
+    report.append(String.format("suffix-sharing ratio:  %.4f%n", suffixSharingRatio()));
+
+    report.append(String.format("%nout-degree histogram:%n"));
+    for (int degree = 0; degree < outDegreeCounts.length; degree += 1) {
+      if (0L != outDegreeCounts[degree]) {
+        report.append(String.format("  %5d  %,12d%n", degree, outDegreeCounts[degree]));
+      }
+    }
+
+    report.append(String.format("%ndepth  %14s  %14s%n", "prefixes", "terms"));
+    for (int depth = 0; depth < statistics.depthCount(); depth += 1) {
+      report.append(String.format("%5d  %,14d  %,14d%n",
+          depth, statistics.prefixCount(depth), statistics.termCount(depth)));
+    }
+
+    final long current = treeMapBytes();
+    report.append(String.format("%nestimated retained bytes:%n"));
+    appendFootprint(report, "DawgNode + Char2ObjectRBTreeMap", current, current);
+    appendFootprint(report, "sorted-array nodes", sortedArrayBytes(), current);
+    appendFootprint(report, "flat layout (BufferDawg)", flatBytes(), current);
+    return report.toString();
+  }
+
+  /**
+   * Appends the estimated footprint of a representation to the report.
+   * @param report Report being rendered.
+   * @param representation Name of the representation.
+   * @param bytes Estimated bytes of the representation.
+   * @param current Estimated bytes of the current representation.
+   */
+  private static void appendFootprint(
+      final StringBuilder report,
+      final String representation,
+      final long bytes,
+      final long current) {
+    report.append(String.format("  %-32s  %,14d  (%5.1f%%)%n",
+        representation, bytes, 100.0 * bytes / current));
+  }
+
+  /**
+   * Rounds the size of an object up to the alignment of objects.
+   * @param size Unaligned size of the object.
+   * @return Aligned size of the object.
+   */
+  private static long align(final long size) {
+    return (size + ALIGNMENT - 1L) / ALIGNMENT * ALIGNMENT;
+  }
+}
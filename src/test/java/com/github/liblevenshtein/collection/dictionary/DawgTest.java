@@ -11,7 +11,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
+import it.unimi.dsi.fastutil.chars.Char2ObjectRBTreeMap;
+
 import com.google.common.base.Joiner;
+import com.google.common.base.Strings;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
@@ -29,6 +33,8 @@ import static com.github.liblevenshtein.assertion.SetAssertions.assertThat;
 @Slf4j
 public class DawgTest {
 
+  private static final int LONG_TERM_LENGTH = 20_000;
+
   private List<String> terms;
 
   private DawgFactory dawgFactory;
@@ -98,6 +104,43 @@ public class DawgTest {
     assertThat(dawg).contains("");
   }
 
+  @Test
+  public void dawgShouldIterateLexicographically() {
+    final List<String> termsList = new ArrayList<>(terms.size());
+    final Iterator<String> iter = fullDawg.lexicographicIterator();
+    while (iter.hasNext()) {
+      termsList.add(iter.next());
+    }
+    assertThat(termsList).isEqualTo(terms);
+    assertThat(emptyDawg.lexicographicIterator().hasNext()).isFalse();
+  }
+
+  @Test
+  public void dawgShouldHoldLongTerms() {
+    final String base = Strings.repeat("ACGT", LONG_TERM_LENGTH / 4);
+    final List<String> longTerms = new ArrayList<>();
+    longTerms.add(base);
+    longTerms.add(base + "A");
+    longTerms.add(base.substring(0, LONG_TERM_LENGTH / 2) + "T" + base);
+    longTerms.add("G" + base);
+    Collections.sort(longTerms);
+
+    final Dawg dawg = dawgFactory.build(longTerms, true);
+    assertThat(dawg.size()).isEqualTo(longTerms.size());
+    for (final String term : longTerms) {
+      assertThat(dawg).contains(term);
+    }
+    assertThat(dawg).doesNotContain(base.substring(1), base + "C");
+
+    final List<String> termsList = new ArrayList<>(longTerms.size());
+    final Iterator<String> iter = dawg.lexicographicIterator();
+    while (iter.hasNext()) {
+      termsList.add(iter.next());
+    }
+    assertThat(termsList).isEqualTo(longTerms);
+    assertThat(new HashSet<>(dawg)).isEqualTo(new HashSet<>(longTerms));
+  }
+
   @Test
   public void dawgShouldIterateOverAllTerms() {
     final Set<String> termsList = new HashSet<>(this.terms);
@@ -133,6 +176,101 @@ public class DawgTest {
     assertThat(fullDawg).isEqualTo(other);
   }
 
+  @Test
+  public void dawgShouldRecordDepthsToFinalNodes() {
+    final List<String> termsList = new ArrayList<>(4);
+    termsList.add("ab");
+    termsList.add("abcde");
+    termsList.add("abd");
+    termsList.add("bcd");
+    final Dawg dawg = dawgFactory.build(termsList, true);
+
+    final DawgNode root = dawg.root();
+    assertThat(dawg.minDepth(root)).isEqualTo(2);
+    assertThat(dawg.maxDepth(root)).isEqualTo(5);
+
+    final DawgNode node = root.transition('a').transition('b');
+    assertThat(dawg.minDepth(node)).isEqualTo(0);
+    assertThat(dawg.maxDepth(node)).isEqualTo(3);
+
+    final DawgNode leaf = node.transition('d');
+    assertThat(dawg.minDepth(leaf)).isEqualTo(0);
+    assertThat(dawg.maxDepth(leaf)).isEqualTo(0);
+
+    assertThat(emptyDawg.minDepth(emptyDawg.root())).isEqualTo(Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void sortedDawgShouldAdoptKnownDepthsAndStatistics() {
+    final DawgNode leaf = new FinalDawgNode(new Char2ObjectRBTreeMap<>(), 0, 0);
+    final Char2ObjectMap<DawgNode> edges = new Char2ObjectRBTreeMap<>();
+    edges.put('a', leaf);
+    final DawgNode root = new DawgNode(edges, 1, 1);
+    final DawgStatistics statistics =
+      new DawgStatistics(0L, new long[] {1L, 1L}, new long[] {0L, 1L});
+
+    final SortedDawg dawg = new SortedDawg(1, root, statistics);
+    assertThat(dawg.size()).isEqualTo(1);
+    assertThat(dawg.contains("a")).isTrue();
+    assertThat(dawg.minDepth(root)).isEqualTo(1);
+    assertThat(dawg.maxDepth(root)).isEqualTo(1);
+    assertThat(dawg.minDepth(leaf)).isEqualTo(0);
+    assertThat(dawg.statistics()).isSameAs(statistics);
+  }
+
+  @Test
+  public void dawgShouldCountPrefixesAtEachDepth() {
+    final List<String> termsList = new ArrayList<>(4);
+    termsList.add("ac");
+    termsList.add("acb");
+    termsList.add("bcb");
+    termsList.add("ccb");
+    final SortedDawg dawg = (SortedDawg) dawgFactory.build(termsList, true);
+
+    final DawgStatistics statistics = dawg.statistics();
+    assertThat(statistics.depthCount()).isEqualTo(4);
+    assertThat(statistics.prefixCount(0)).isEqualTo(1L);
+    assertThat(statistics.prefixCount(1)).isEqualTo(3L);
+    assertThat(statistics.prefixCount(2)).isEqualTo(3L);
+    assertThat(statistics.prefixCount(3)).isEqualTo(3L);
+    assertThat(statistics.prefixCount(4)).isEqualTo(0L);
+    assertThat(statistics.edgeCount()).isEqualTo(9L);
+    assertThat(statistics.termCount(2)).isEqualTo(1L);
+    assertThat(statistics.termCount(3)).isEqualTo(3L);
+    assertThat(statistics.fanOut(0)).isEqualTo(3.0);
+    assertThat(statistics.fanOut(3)).isEqualTo(0.0);
+    assertThat(dawg.statistics()).isSameAs(statistics);
+
+    dawg.add("dcbd");
+    dawg.finish();
+    final DawgStatistics modified = dawg.statistics();
+    assertThat(modified).isNotSameAs(statistics);
+    assertThat(modified.version()).isEqualTo(dawg.version());
+    assertThat(modified.depthCount()).isEqualTo(5);
+    assertThat(modified.prefixCount(1)).isEqualTo(4L);
+    assertThat(modified.prefixCount(4)).isEqualTo(1L);
+
+    assertThat(emptyDawg.statistics().depthCount()).isZero();
+    assertThat(emptyDawg.statistics().edgeCount()).isZero();
+  }
+
+  @Test
+  public void dawgStatisticsShouldCountEveryPrefixAndTerm() {
+    final DawgStatistics statistics = fullDawg.statistics();
+    final Set<String> prefixes = new HashSet<>();
+    for (final String term : terms) {
+      for (int i = 1; i <= term.length(); i += 1) {
+        prefixes.add(term.substring(0, i));
+      }
+    }
+    assertThat(statistics.edgeCount()).isEqualTo(prefixes.size());
+    long termCount = 0L;
+    for (int depth = 0; depth < statistics.depthCount(); depth += 1) {
+      termCount += statistics.termCount(depth);
+    }
+    assertThat(termCount).isEqualTo(terms.size());
+  }
+
   @RequiredArgsConstructor
   private static class TermIterator implements Iterator<Object[]> {
 
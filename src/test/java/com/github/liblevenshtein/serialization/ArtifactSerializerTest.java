@@ -0,0 +1,246 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import com.google.common.collect.Sets;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.Transducer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+public class ArtifactSerializerTest {
+
+  private static final int MAX_DISTANCE = 2;
+
+  private static final int SECTION_SIZE = 64;
+
+  private static final String[] QUERY_TERMS = {
+    "", "C", "Jvaa", "JavaScirpt", "Pythno", "Smalltlak", "Sceme",
+  };
+
+  private SortedDawg dictionary;
+
+  private ITransducer<Candidate> transducer;
+
+  private final ArtifactSerializer serializer =
+    new ArtifactSerializer(new BinarySerializer(), SECTION_SIZE);
+
+  private byte[] dictionaryBytes;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    final URL dictionaryUrl =
+      getClass().getResource("/programming-languages.protobuf.bytes");
+    this.dictionary =
+      new ProtobufSerializer().deserialize(SortedDawg.class, dictionaryUrl);
+    this.transducer = new TransducerBuilder()
+      .algorithm(Algorithm.TRANSPOSITION)
+      .defaultMaxDistance(MAX_DISTANCE)
+      .includeDistance(true)
+      .dictionary(dictionary, true)
+      .build();
+    this.dictionaryBytes = serializer.serialize(dictionary);
+  }
+
+  @DataProvider(name = "serializers")
+  public Object[][] serializers() {
+    return new Object[][] {
+      {new ArtifactSerializer(new BinarySerializer(), SECTION_SIZE)},
+      {new ArtifactSerializer(new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH))},
+      {new ArtifactSerializer(new BinarySerializer(BinarySerializer.Layout.COMPRESSED))},
+      {new ArtifactSerializer(new ProtobufSerializer(), SECTION_SIZE)},
+      {new ArtifactSerializer(new PlainTextSerializer(true))},
+    };
+  }
+
+  @Test(dataProvider = "serializers")
+  public void testDictionaryRoundTrips(final ArtifactSerializer artifactSerializer) throws Exception {
+    final byte[] bytes = artifactSerializer.serialize(dictionary);
+    final Dawg fromBytes = artifactSerializer.deserialize(SortedDawg.class, bytes);
+    assertThat(new HashSet<>(fromBytes)).isEqualTo(new HashSet<>(dictionary));
+    final Dawg fromStream =
+      artifactSerializer.deserialize(SortedDawg.class, new ByteArrayInputStream(bytes));
+    assertThat(new HashSet<>(fromStream)).isEqualTo(new HashSet<>(dictionary));
+  }
+
+  @Test(dataProvider = "serializers")
+  @SuppressWarnings("unchecked")
+  public void testTransducerRoundTrips(final ArtifactSerializer artifactSerializer) throws Exception {
+    final byte[] bytes = artifactSerializer.serialize(
+        (Transducer<Object, Candidate>) (ITransducer<?>) transducer);
+    final ITransducer<Candidate> deserialized =
+      artifactSerializer.deserialize(Transducer.class, bytes);
+    for (final String queryTerm : QUERY_TERMS) {
+      assertThat(Sets.newHashSet(deserialized.transduce(queryTerm)))
+        .isEqualTo(Sets.newHashSet(transducer.transduce(queryTerm)));
+    }
+  }
+
+  @Test
+  public void testHeaderDescribesDictionary() throws Exception {
+    final ArtifactHeader header = serializer.header(dictionaryBytes);
+    assertThat(header.version()).isEqualTo(ArtifactSerializer.VERSION);
+    assertThat(header.kind()).isEqualTo(ArtifactHeader.Kind.DICTIONARY);
+    assertThat(header.algorithm()).isNull();
+    assertThat(header.termCount()).isEqualTo(dictionary.size());
+    assertThat(header.nodeCount()).isPositive();
+    assertThat(header.edgeCount()).isGreaterThanOrEqualTo(header.nodeCount() - 1);
+    assertThat(header.format()).isEqualTo(BinarySerializer.class.getName());
+    assertThat(header.sectionSize()).isEqualTo(SECTION_SIZE);
+    assertThat(header.sectionCount())
+      .isEqualTo((int) ((header.payloadLength() + SECTION_SIZE - 1) / SECTION_SIZE));
+    assertThat(header.artifactLength()).isEqualTo(dictionaryBytes.length);
+    assertThat(serializer.validate(dictionaryBytes)).isEqualTo(header);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testHeaderDescribesTransducer() throws Exception {
+    final byte[] bytes = serializer.serialize(
+        (Transducer<Object, Candidate>) (ITransducer<?>) transducer);
+    final ArtifactHeader header =
+      serializer.header(new ByteArrayInputStream(bytes));
+    assertThat(header.kind()).isEqualTo(ArtifactHeader.Kind.TRANSDUCER);
+    assertThat(header.algorithm()).isEqualTo(Algorithm.TRANSPOSITION);
+    assertThat(header.includeDistance()).isTrue();
+    assertThat(header.maxDistance()).isEqualTo(MAX_DISTANCE);
+    assertThat(header.termCount()).isEqualTo(dictionary.size());
+  }
+
+  @DataProvider(name = "nodeTableSerializers")
+  public Object[][] nodeTableSerializers() {
+    return new Object[][] {
+      {new ArtifactSerializer(new BinarySerializer(), SECTION_SIZE)},
+      {new ArtifactSerializer(new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH))},
+      {new ArtifactSerializer(new BinarySerializer(BinarySerializer.Layout.COMPRESSED))},
+      {new ArtifactSerializer(new ProtobufSerializer(), SECTION_SIZE)},
+    };
+  }
+
+  @Test(dataProvider = "nodeTableSerializers")
+  @SuppressWarnings("unchecked")
+  public void testHeaderDescribesReloadedTransducer(
+      final ArtifactSerializer artifactSerializer) throws Exception {
+    final byte[] bytes = artifactSerializer.serialize(
+        (Transducer<Object, Candidate>) (ITransducer<?>) transducer);
+    final Transducer<?, ?> loaded =
+      artifactSerializer.deserialize(Transducer.class, ByteBuffer.wrap(bytes));
+    final byte[] reloadedBytes = artifactSerializer.serialize(loaded);
+
+    final ArtifactHeader header = artifactSerializer.header(bytes);
+    final ArtifactHeader reloadedHeader = artifactSerializer.header(reloadedBytes);
+    assertThat(reloadedHeader.termCount()).isEqualTo(header.termCount());
+    assertThat(reloadedHeader.nodeCount()).isEqualTo(header.nodeCount());
+    assertThat(reloadedHeader.edgeCount()).isEqualTo(header.edgeCount());
+    assertThat(reloadedHeader.payloadLength()).isEqualTo(header.payloadLength());
+    assertThat(reloadedBytes).isEqualTo(bytes);
+  }
+
+  @Test
+  public void testValidatesFiles() throws Exception {
+    final Path path = Files.createTempFile("artifact", ".bytes");
+    try {
+      Files.write(path, dictionaryBytes);
+      assertThat(serializer.validate(path)).isEqualTo(serializer.header(path));
+      final Dawg deserialized = serializer.deserialize(Dawg.class, path);
+      assertThat(new HashSet<>(deserialized)).isEqualTo(new HashSet<>(dictionary));
+    }
+    finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public void testDeserializesBuffersInPlace() throws Exception {
+    final ArtifactSerializer fixedWidthSerializer = new ArtifactSerializer(
+        new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH), SECTION_SIZE);
+    final byte[] bytes = fixedWidthSerializer.serialize(dictionary);
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes).flip();
+    fixedWidthSerializer.validate(buffer);
+    final Dawg deserialized = fixedWidthSerializer.deserialize(Dawg.class, buffer);
+    assertThat(deserialized).isInstanceOf(BufferDawg.class);
+    assertThat(buffer.position()).isZero();
+    assertThat(new HashSet<>(deserialized)).isEqualTo(new HashSet<>(dictionary));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class,
+        expectedExceptionsMessageRegExp = "Section \\[\\d+\\] of the artifact.*")
+  public void testValidateRejectsCorruptPayloads() throws Exception {
+    final byte[] bytes = Arrays.copyOf(dictionaryBytes, dictionaryBytes.length);
+    bytes[bytes.length - 1] ^= 1;
+    serializer.header(bytes);
+    serializer.validate(new ByteArrayInputStream(bytes));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class,
+        expectedExceptionsMessageRegExp = "Section \\[\\d+\\] of the artifact.*")
+  public void testDeserializeRejectsCorruptPayloads() throws Exception {
+    final byte[] bytes = Arrays.copyOf(dictionaryBytes, dictionaryBytes.length);
+    bytes[serializer.header(bytes).headerLength()] ^= 1;
+    serializer.deserialize(Dawg.class, bytes);
+  }
+
+  @Test
+  public void testSkipsChecksumsWhenDisabled() throws Exception {
+    final ArtifactSerializer trustingSerializer =
+      new ArtifactSerializer(new PlainTextSerializer(true), SECTION_SIZE)
+        .verifyChecksums(false);
+    final byte[] bytes = trustingSerializer.serialize(dictionary);
+    // Swaps one character for another, which the payload still admits.
+    bytes[bytes.length - 2] = (byte) 'Z';
+    assertThat(trustingSerializer.deserialize(SortedDawg.class, bytes)).isNotNull();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class,
+        expectedExceptionsMessageRegExp = "The header of the artifact is corrupt.*")
+  public void testRejectsCorruptHeaders() throws Exception {
+    final byte[] bytes = Arrays.copyOf(dictionaryBytes, dictionaryBytes.length);
+    bytes[serializer.header(bytes).headerLength() - Integer.BYTES - 1] ^= 1;
+    serializer.header(bytes);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class,
+        expectedExceptionsMessageRegExp = "The artifact is truncated.*")
+  public void testHeaderRejectsTruncatedBuffers() throws Exception {
+    final ByteBuffer buffer = ByteBuffer.wrap(dictionaryBytes);
+    buffer.limit(buffer.limit() - 1);
+    serializer.header(buffer);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class,
+        expectedExceptionsMessageRegExp = "The artifact is truncated.*")
+  public void testValidateRejectsTruncatedStreams() throws Exception {
+    serializer.validate(new ByteArrayInputStream(
+          Arrays.copyOf(dictionaryBytes, dictionaryBytes.length - 1)));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class,
+        expectedExceptionsMessageRegExp = "Expected magic number.*")
+  public void testRejectsOtherFormats() throws Exception {
+    serializer.header(new BinarySerializer().serialize(dictionary));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class,
+        expectedExceptionsMessageRegExp = ".*payload of format.*")
+  public void testRejectsPayloadsOfOtherFormats() throws Exception {
+    new ArtifactSerializer(new ProtobufSerializer())
+      .deserialize(Dawg.class, dictionaryBytes);
+  }
+}
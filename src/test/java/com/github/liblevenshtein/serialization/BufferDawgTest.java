@@ -0,0 +1,215 @@
+package com.github.liblevenshtein.serialization;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+
+import com.google.common.collect.Sets;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.DawgStatistics;
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.Transducer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+public class BufferDawgTest {
+
+  private static final int MAX_DISTANCE = 2;
+
+  private static final int PADDING = 13;
+
+  private static final String[] QUERY_TERMS = {
+    "", "C", "Jvaa", "JavaScirpt", "Pythno", "Smalltlak", "Sceme",
+  };
+
+  private final BinarySerializer serializer =
+    new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH);
+
+  private SortedDawg dictionary;
+
+  private byte[] dictionaryBytes;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    final URL dictionaryUrl =
+      getClass().getResource("/programming-languages.protobuf.bytes");
+    this.dictionary =
+      new ProtobufSerializer().deserialize(SortedDawg.class, dictionaryUrl);
+    this.dictionaryBytes = serializer.serialize(dictionary);
+  }
+
+  @DataProvider(name = "buffers")
+  public Object[][] buffers() {
+    return new Object[][] {
+      {heapBuffer(dictionaryBytes)},
+      {directBuffer(dictionaryBytes)},
+      {paddedBuffer(dictionaryBytes)},
+    };
+  }
+
+  @Test(dataProvider = "buffers")
+  public void testTermsMatchDictionary(final ByteBuffer buffer) throws Exception {
+    final int position = buffer.position();
+    final Dawg bufferDawg = serializer.deserialize(Dawg.class, buffer);
+    assertThat(bufferDawg).isInstanceOf(BufferDawg.class);
+    assertThat(buffer.position()).isEqualTo(position);
+    assertThat(bufferDawg.size()).isEqualTo(dictionary.size());
+    assertThat(new HashSet<>(bufferDawg)).isEqualTo(new HashSet<>(dictionary));
+    for (final String term : dictionary) {
+      assertThat(bufferDawg.contains(term)).isTrue();
+      assertThat(bufferDawg.contains(term + "$")).isFalse();
+    }
+  }
+
+  @Test(dataProvider = "buffers")
+  @SuppressWarnings("unchecked")
+  public void testTransducerMatchesDictionary(final ByteBuffer buffer) throws Exception {
+    for (final Algorithm algorithm : Algorithm.values()) {
+      final ITransducer<Candidate> transducer = new TransducerBuilder()
+        .algorithm(algorithm)
+        .defaultMaxDistance(MAX_DISTANCE)
+        .dictionary(dictionary, true)
+        .build();
+
+      final byte[] transducerBytes =
+        serializer.serialize((Transducer<Object, Candidate>) (ITransducer<?>) transducer);
+      final ITransducer<Candidate> bufferTransducer =
+        serializer.deserialize(Transducer.class, copyOf(buffer, transducerBytes));
+
+      for (final String queryTerm : QUERY_TERMS) {
+        assertThat(Sets.newHashSet(bufferTransducer.transduce(queryTerm)))
+          .isEqualTo(Sets.newHashSet(transducer.transduce(queryTerm)));
+      }
+    }
+  }
+
+  @DataProvider(name = "serializers")
+  public Object[][] serializers() {
+    return new Object[][] {
+      {new BinarySerializer(BinarySerializer.Layout.BLOCKED)},
+      {new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH)},
+      {new BinarySerializer(BinarySerializer.Layout.COMPRESSED)},
+      {new ProtobufSerializer()},
+      {new ProtobufSerializer().legacyFormat(false)},
+    };
+  }
+
+  @Test(dataProvider = "serializers")
+  public void testTransducerIsWrittenBackOut(final Serializer writer) throws Exception {
+    final Transducer<?, ?> transducer = (Transducer<?, ?>) new TransducerBuilder()
+      .defaultMaxDistance(MAX_DISTANCE)
+      .dictionary(dictionary, true)
+      .build();
+    final Transducer<?, ?> bufferTransducer =
+      serializer.deserialize(Transducer.class, serializer.serialize(transducer));
+    assertThat(bufferTransducer.attributes().dictionary())
+      .isInstanceOf(BufferDawg.class);
+
+    final byte[] bytes = writer.serialize(bufferTransducer);
+    assertThat(bytes).isEqualTo(writer.serialize(transducer));
+
+    final Transducer<?, ?> copy = writer.deserialize(Transducer.class, bytes);
+    assertThat(new HashSet<>(copy.attributes().dictionary()))
+      .isEqualTo(new HashSet<>(dictionary));
+  }
+
+  @Test(dataProvider = "buffers")
+  public void testSortedDawgIsDecoded(final ByteBuffer buffer) throws Exception {
+    assertThat(serializer.deserialize(SortedDawg.class, buffer))
+      .isEqualTo(dictionary);
+  }
+
+  @Test(dataProvider = "buffers")
+  public void testStatisticsAreRead(final ByteBuffer buffer) throws Exception {
+    final Dawg bufferDawg = serializer.deserialize(Dawg.class, buffer);
+    assertThat(bufferDawg).isInstanceOf(BufferDawg.class);
+    assertSameStatistics(bufferDawg.statistics(), dictionary.statistics());
+  }
+
+  @Test
+  public void testNodesAreOnlyEqualToNodesOfTheirTable() throws Exception {
+    final Dawg bufferDawg = serializer.deserialize(Dawg.class, dictionaryBytes);
+    String leafTerm = null;
+    for (final String term : dictionary) {
+      if (nodeOf(dictionary, term).edges().isEmpty()) {
+        leafTerm = term;
+        break;
+      }
+    }
+
+    final DawgNode heapLeaf = nodeOf(dictionary, leafTerm);
+    final DawgNode tableLeaf = nodeOf(bufferDawg, leafTerm);
+    assertThat(tableLeaf.isFinal()).isEqualTo(heapLeaf.isFinal());
+    assertThat(tableLeaf).isEqualTo(nodeOf(bufferDawg, leafTerm));
+    assertThat(heapLeaf.equals(tableLeaf)).isFalse();
+    assertThat(tableLeaf.equals(heapLeaf)).isFalse();
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testIsReadOnly() throws Exception {
+    serializer.deserialize(Dawg.class, dictionaryBytes).add("Kotlin");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testRejectsTruncatedBuffers() throws Exception {
+    final ByteBuffer buffer = heapBuffer(dictionaryBytes);
+    buffer.limit(buffer.limit() - 1);
+    serializer.deserialize(Dawg.class, buffer);
+  }
+
+  private DawgNode nodeOf(final Dawg dawg, final String term) {
+    DawgNode node = dawg.root();
+    for (int i = 0; i < term.length(); i += 1) {
+      node = dawg.of(node, term.charAt(i));
+    }
+    return node;
+  }
+
+  private void assertSameStatistics(
+      final DawgStatistics actual,
+      final DawgStatistics expected) {
+    assertThat(actual.depthCount()).isEqualTo(expected.depthCount());
+    for (int depth = 0; depth < expected.depthCount(); depth += 1) {
+      assertThat(actual.prefixCount(depth)).isEqualTo(expected.prefixCount(depth));
+      assertThat(actual.termCount(depth)).isEqualTo(expected.termCount(depth));
+    }
+  }
+
+  private ByteBuffer copyOf(final ByteBuffer buffer, final byte[] bytes) {
+    if (buffer.isDirect()) {
+      return directBuffer(bytes);
+    }
+    if (buffer.position() > 0) {
+      return paddedBuffer(bytes);
+    }
+    return heapBuffer(bytes);
+  }
+
+  private static ByteBuffer heapBuffer(final byte[] bytes) {
+    return ByteBuffer.wrap(bytes);
+  }
+
+  private static ByteBuffer directBuffer(final byte[] bytes) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes).flip();
+    return buffer;
+  }
+
+  private static ByteBuffer paddedBuffer(final byte[] bytes) {
+    final ByteBuffer buffer = ByteBuffer.allocate(PADDING + bytes.length + PADDING);
+    buffer.position(PADDING);
+    buffer.put(bytes);
+    buffer.position(PADDING).limit(PADDING + bytes.length);
+    return buffer;
+  }
+}
@@ -0,0 +1,189 @@
+package com.github.liblevenshtein.serialization;
+
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+
+import com.google.common.collect.Sets;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.DawgStatistics;
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.Transducer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+public class LazyDawgTest {
+
+  private static final int BLOCK_SIZE = 4;
+
+  private static final int MAX_DISTANCE = 2;
+
+  private static final long SMALL_MEMORY_BUDGET = 1024L;
+
+  private static final String[] QUERY_TERMS = {
+    "", "C", "Jvaa", "JavaScirpt", "Pythno", "Smalltlak", "Sceme",
+  };
+
+  private final FileSystem fs = Jimfs.newFileSystem(Configuration.unix());
+
+  private final Path dictionaryPath = fs.getPath("/dictionary.bin");
+
+  private final Path compressedDictionaryPath = fs.getPath("/dictionary.lz4.bin");
+
+  private SortedDawg dictionary;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    final URL dictionaryUrl =
+      getClass().getResource("/programming-languages.protobuf.bytes");
+    this.dictionary =
+      new ProtobufSerializer().deserialize(SortedDawg.class, dictionaryUrl);
+    new BinarySerializer(BLOCK_SIZE).serialize(dictionary, dictionaryPath);
+    new BinarySerializer(BinarySerializer.Layout.COMPRESSED, BLOCK_SIZE)
+      .serialize(dictionary, compressedDictionaryPath);
+  }
+
+  @AfterClass
+  public void tearDown() throws Exception {
+    fs.close();
+  }
+
+  @DataProvider(name = "memoryBudgets")
+  public Object[][] memoryBudgets() {
+    return new Object[][] {
+      {LazyDawg.DEFAULT_MEMORY_BUDGET},
+      {SMALL_MEMORY_BUDGET},
+      {0L},
+    };
+  }
+
+  @Test(dataProvider = "memoryBudgets")
+  public void testTermsMatchDictionary(final long memoryBudget) throws Exception {
+    try (final LazyDawg lazyDawg = LazyDawg.open(dictionaryPath, memoryBudget)) {
+      assertThat(lazyDawg.cachedBlocks()).isZero();
+      assertThat(lazyDawg.size()).isEqualTo(dictionary.size());
+      assertThat(new HashSet<>(lazyDawg)).isEqualTo(new HashSet<>(dictionary));
+      for (final String term : dictionary) {
+        assertThat(lazyDawg.contains(term)).isTrue();
+        assertThat(lazyDawg.contains(term + "$")).isFalse();
+      }
+    }
+  }
+
+  @Test
+  public void testStatisticsAreReadWithoutDecodingBlocks() throws Exception {
+    for (final Path path : new Path[] {dictionaryPath, compressedDictionaryPath}) {
+      try (final LazyDawg lazyDawg = LazyDawg.open(path)) {
+        final DawgStatistics statistics = lazyDawg.statistics();
+        assertThat(lazyDawg.cachedBlocks()).isZero();
+        assertThat(statistics.depthCount())
+          .isEqualTo(dictionary.statistics().depthCount());
+        for (int depth = 0; depth < statistics.depthCount(); depth += 1) {
+          assertThat(statistics.prefixCount(depth))
+            .isEqualTo(dictionary.statistics().prefixCount(depth));
+          assertThat(statistics.termCount(depth))
+            .isEqualTo(dictionary.statistics().termCount(depth));
+        }
+      }
+    }
+  }
+
+  @Test(dataProvider = "memoryBudgets")
+  public void testTransducerMatchesDictionary(final long memoryBudget) throws Exception {
+    try (final LazyDawg lazyDawg = LazyDawg.open(dictionaryPath, memoryBudget)) {
+      for (final Algorithm algorithm : Algorithm.values()) {
+        final ITransducer<Candidate> transducer = new TransducerBuilder()
+          .algorithm(algorithm)
+          .defaultMaxDistance(MAX_DISTANCE)
+          .dictionary(dictionary, true)
+          .build();
+
+        final ITransducer<Candidate> lazyTransducer = new TransducerBuilder()
+          .algorithm(algorithm)
+          .defaultMaxDistance(MAX_DISTANCE)
+          .dictionary(lazyDawg, true)
+          .build();
+
+        for (final String queryTerm : QUERY_TERMS) {
+          assertThat(Sets.newHashSet(lazyTransducer.transduce(queryTerm)))
+            .isEqualTo(Sets.newHashSet(transducer.transduce(queryTerm)));
+        }
+      }
+    }
+  }
+
+  @DataProvider(name = "serializers")
+  public Object[][] serializers() {
+    return new Object[][] {
+      {new BinarySerializer(BinarySerializer.Layout.BLOCKED)},
+      {new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH)},
+      {new BinarySerializer(BinarySerializer.Layout.COMPRESSED)},
+      {new ProtobufSerializer()},
+      {new ProtobufSerializer().legacyFormat(false)},
+    };
+  }
+
+  @Test(dataProvider = "serializers")
+  public void testTransducerIsWrittenBackOut(final Serializer writer) throws Exception {
+    try (final LazyDawg lazyDawg = LazyDawg.open(dictionaryPath, SMALL_MEMORY_BUDGET)) {
+      final Transducer<?, ?> transducer = (Transducer<?, ?>) new TransducerBuilder()
+        .defaultMaxDistance(MAX_DISTANCE)
+        .dictionary(dictionary, true)
+        .build();
+      final Transducer<?, ?> lazyTransducer = (Transducer<?, ?>) new TransducerBuilder()
+        .defaultMaxDistance(MAX_DISTANCE)
+        .dictionary(lazyDawg, true)
+        .build();
+
+      final byte[] bytes = writer.serialize(lazyTransducer);
+      assertThat(bytes).isEqualTo(writer.serialize(transducer));
+
+      final Transducer<?, ?> copy = writer.deserialize(Transducer.class, bytes);
+      assertThat(new HashSet<>(copy.attributes().dictionary()))
+        .isEqualTo(new HashSet<>(dictionary));
+    }
+  }
+
+  @Test
+  public void testCompressedTermsMatchDictionary() throws Exception {
+    try (final LazyDawg lazyDawg = LazyDawg.open(compressedDictionaryPath)) {
+      assertThat(lazyDawg.size()).isEqualTo(dictionary.size());
+      assertThat(new HashSet<>(lazyDawg)).isEqualTo(new HashSet<>(dictionary));
+    }
+  }
+
+  @Test
+  public void testOnlyQueriedBlocksAreDecoded() throws Exception {
+    try (final LazyDawg lazyDawg = LazyDawg.open(dictionaryPath)) {
+      assertThat(lazyDawg.contains("Java")).isTrue();
+      assertThat(lazyDawg.cachedBlocks())
+        .isPositive()
+        .isLessThan(lazyDawg.blockCount());
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testRejectsOtherFormats() throws Exception {
+    final Path protobufPath = fs.getPath("/dictionary.protobuf");
+    new ProtobufSerializer().serialize(dictionary, protobufPath);
+    try {
+      LazyDawg.open(protobufPath).close();
+    }
+    finally {
+      Files.delete(protobufPath);
+    }
+  }
+}
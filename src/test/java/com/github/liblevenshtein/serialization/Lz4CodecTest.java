@@ -0,0 +1,90 @@
+package com.github.liblevenshtein.serialization;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Lz4CodecTest {
+
+  private static final long SEED = 0xC0FFEEL;
+
+  private static final int LENGTH = 1 << 16;
+
+  private static final int ALPHABET_SIZE = 4;
+
+  @DataProvider(name = "inputs")
+  public Object[][] inputs() throws Exception {
+    final Random random = new Random(SEED);
+
+    final byte[] noise = new byte[LENGTH];
+    random.nextBytes(noise);
+
+    final byte[] lowEntropy = new byte[LENGTH];
+    for (int i = 0; i < lowEntropy.length; i += 1) {
+      lowEntropy[i] = (byte) random.nextInt(ALPHABET_SIZE);
+    }
+
+    final byte[] run = new byte[LENGTH];
+    Arrays.fill(run, (byte) 'a');
+
+    return new Object[][] {
+      {new byte[0]},
+      {"a".getBytes(StandardCharsets.UTF_8)},
+      {"abcdabcdabcdabcd".getBytes(StandardCharsets.UTF_8)},
+      {noise},
+      {lowEntropy},
+      {run},
+      {wordsEn()},
+    };
+  }
+
+  @Test(dataProvider = "inputs")
+  public void testRoundTrip(final byte[] input) {
+    final byte[] compressed = Lz4Codec.compress(input);
+    assertThat(compressed.length)
+      .isLessThanOrEqualTo(Lz4Codec.maxCompressedLength(input.length));
+    assertThat(Lz4Codec.decompress(compressed, input.length)).isEqualTo(input);
+  }
+
+  @Test
+  public void testCompressesRedundantInput() throws Exception {
+    final byte[] input = wordsEn();
+    assertThat(Lz4Codec.compress(input).length).isLessThan(2 * input.length / 3);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testRejectsWrongLength() throws Exception {
+    final byte[] input = wordsEn();
+    Lz4Codec.decompress(Lz4Codec.compress(input), input.length - 1);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testRejectsTruncatedInput() throws Exception {
+    final byte[] input = wordsEn();
+    final byte[] compressed = Lz4Codec.compress(input);
+    Lz4Codec.decompress(
+        Arrays.copyOf(compressed, compressed.length / 2), input.length);
+  }
+
+  private byte[] wordsEn() throws Exception {
+    try (final BufferedReader reader = new BufferedReader(
+          new InputStreamReader(
+            getClass().getResourceAsStream("/wordsEn.txt"),
+            StandardCharsets.UTF_8));
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream()) {
+      for (String term = reader.readLine(); null != term; term = reader.readLine()) {
+        stream.write(term.getBytes(StandardCharsets.UTF_8));
+        stream.write('\n');
+      }
+      return stream.toByteArray();
+    }
+  }
+}
@@ -9,13 +9,26 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import it.unimi.dsi.fastutil.chars.CharIterator;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Sets;
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
 
@@ -32,20 +45,33 @@ import static org.assertj.core.api.Assertions.assertThat;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.DawgNode;
+import com.github.liblevenshtein.collection.dictionary.DawgStatistics;
 import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.collection.dictionary.factory.DawgFactory;
 import com.github.liblevenshtein.transducer.Algorithm;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.ITransducer;
 import com.github.liblevenshtein.transducer.Transducer;
 import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
 
 import static com.github.liblevenshtein.assertion.SetAssertions.assertThat;
 
 @Slf4j
+@SuppressWarnings("checkstyle:classdataabstractioncoupling")
 public class SerializerTest {
 
   private static final String DICTIONARY = "dictionary";
 
   private static final String TRANSDUCER = "transducer";
 
+  private static final String WORDS_EN = "/wordsEn.protobuf.bytes";
+
+  private static final int BLOCK_SIZE = 4;
+
+  private static final int LONG_TERM_LENGTH = 20_000;
+
   private final FileSystem fs = Jimfs.newFileSystem(Configuration.unix());
 
   private final Path tmpDir = fs.getPath("/jimfs");
@@ -76,9 +102,16 @@ public class SerializerTest {
     try {
       final AbstractSerializer[] serializers = {
         new ProtobufSerializer(),
+        new ProtobufSerializer().legacyFormat(false),
         new BytecodeSerializer(),
+        new BinarySerializer(),
+        new BinarySerializer(BLOCK_SIZE).executor(ForkJoinPool.commonPool()),
+        new BinarySerializer(BinarySerializer.Layout.COMPRESSED),
+        new BinarySerializer(BinarySerializer.Layout.COMPRESSED, BLOCK_SIZE)
+          .executor(ForkJoinPool.commonPool()),
+        new PlainTextSerializer(true).legacyFormat(false),
+        new PlainTextSerializer(false).legacyFormat(false),
         new PlainTextSerializer(true),
-        new PlainTextSerializer(false),
       };
 
       final SortedDawg dictionary = buildDictionary();
@@ -376,6 +409,263 @@ public class SerializerTest {
     }
   }
 
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testBinarySerializerRejectsUnknownFormat() throws Exception {
+    final Serializer serializer = new BinarySerializer();
+    final byte[] serializedDictionary =
+      new ProtobufSerializer().serialize(buildDictionary());
+    serializer.deserialize(SortedDawg.class, serializedDictionary);
+  }
+
+  @DataProvider(name = "binaryLayouts")
+  public Object[][] binaryLayouts() {
+    final BinarySerializer.Layout[] layouts = BinarySerializer.Layout.values();
+    final Object[][] params = new Object[2 * layouts.length][];
+    for (int i = 0; i < layouts.length; i += 1) {
+      params[2 * i] = new Object[] {layouts[i], false};
+      params[2 * i + 1] = new Object[] {layouts[i], true};
+    }
+    return params;
+  }
+
+  @Test(dataProvider = "binaryLayouts")
+  public void testBinarySerializerReadsDawgsFromEverySource(
+      final BinarySerializer.Layout layout,
+      final boolean concurrent) throws Exception {
+    final SortedDawg dictionary = buildDictionary();
+    final byte[] serializedDictionary =
+      new BinarySerializer(layout).serialize(dictionary);
+    final BinarySerializer serializer = new BinarySerializer();
+    if (concurrent) {
+      serializer.executor(ForkJoinPool.commonPool());
+    }
+
+    try (final InputStream stream = new ByteArrayInputStream(serializedDictionary)) {
+      final Dawg deserializedDictionary = serializer.deserialize(Dawg.class, stream);
+      assertThat(deserializedDictionary.size()).isEqualTo(dictionary.size());
+      assertThat(new HashSet<>(deserializedDictionary))
+        .isEqualTo(new HashSet<>(dictionary));
+    }
+
+    final Dawg deserializedDictionary =
+      serializer.deserialize(Dawg.class, serializedDictionary);
+    assertThat(deserializedDictionary.size()).isEqualTo(dictionary.size());
+    assertThat(new HashSet<>(deserializedDictionary))
+      .isEqualTo(new HashSet<>(dictionary));
+  }
+
+  @Test(dataProvider = "binaryLayouts")
+  public void testBinarySerializerReadsDepthsAndStatistics(
+      final BinarySerializer.Layout layout,
+      final boolean concurrent) throws Exception {
+    final SortedDawg dictionary = buildDictionary();
+    final byte[] serializedDictionary =
+      new BinarySerializer(layout).serialize(dictionary);
+    final BinarySerializer serializer = new BinarySerializer();
+    if (concurrent) {
+      serializer.executor(ForkJoinPool.commonPool());
+    }
+
+    try (final InputStream stream = new ByteArrayInputStream(serializedDictionary)) {
+      assertSameDepthsAndStatistics(
+          serializer.deserialize(SortedDawg.class, stream), dictionary);
+    }
+
+    assertSameDepthsAndStatistics(
+        serializer.deserialize(SortedDawg.class, serializedDictionary), dictionary);
+  }
+
+  @Test
+  public void testBinarySerializerDecodesBlocksConcurrently() throws Exception {
+    final URL dictionaryUrl = getClass().getResource(WORDS_EN);
+    final SortedDawg dictionary = (SortedDawg) new DawgFactory().build(
+        new ArrayList<>(new ProtobufSerializer()
+          .deserialize(SortedDawg.class, dictionaryUrl)),
+        false);
+    final byte[] serializedDictionary =
+      new BinarySerializer(BLOCK_SIZE).serialize(dictionary);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(BLOCK_SIZE);
+    try {
+      final AtomicInteger taskCount = new AtomicInteger();
+      final Serializer serializer = new BinarySerializer().executor(task -> {
+        taskCount.incrementAndGet();
+        executor.execute(task);
+      });
+
+      assertThat(serializer.deserialize(SortedDawg.class, serializedDictionary))
+        .isEqualTo(dictionary);
+      assertThat(taskCount.get()).isGreaterThan(BLOCK_SIZE);
+
+      try (final InputStream stream = new ByteArrayInputStream(serializedDictionary)) {
+        assertThat(serializer.deserialize(SortedDawg.class, stream))
+          .isEqualTo(dictionary);
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testBinarySerializerCompressesBlocks() throws Exception {
+    final URL dictionaryUrl = getClass().getResource(WORDS_EN);
+    final SortedDawg dictionary = (SortedDawg) new DawgFactory().build(
+        new ArrayList<>(new ProtobufSerializer()
+          .deserialize(SortedDawg.class, dictionaryUrl)),
+        false);
+    final byte[] blockedDictionary =
+      new BinarySerializer().serialize(dictionary);
+    final byte[] compressedDictionary =
+      new BinarySerializer(BinarySerializer.Layout.COMPRESSED).serialize(dictionary);
+    assertThat(compressedDictionary.length)
+      .isLessThan(blockedDictionary.length);
+
+    final Serializer serializer = new BinarySerializer();
+    assertThat(serializer.deserialize(SortedDawg.class, compressedDictionary))
+      .isEqualTo(dictionary);
+  }
+
+  @Test
+  public void testProtobufSerializerReadsBothFormats() throws Exception {
+    // Rebuild the dictionary from its terms, since the nodes of legacy files
+    // are only shared when they are parsed as the same prototypes.
+    final URL dictionaryUrl = getClass().getResource(WORDS_EN);
+    final SortedDawg dictionary = (SortedDawg) new DawgFactory().build(
+        new ArrayList<>(new ProtobufSerializer()
+          .deserialize(SortedDawg.class, dictionaryUrl)),
+        false);
+    final byte[] flattenedDictionary =
+      new ProtobufSerializer().legacyFormat(false).serialize(dictionary);
+    final byte[] legacyDictionary =
+      new ProtobufSerializer().serialize(dictionary);
+    assertThat(flattenedDictionary.length)
+      .isLessThan(legacyDictionary.length);
+
+    final Serializer serializer = new ProtobufSerializer();
+    assertThat(serializer.deserialize(SortedDawg.class, legacyDictionary))
+      .isEqualTo(dictionary);
+    assertThat(serializer.deserialize(SortedDawg.class, flattenedDictionary))
+      .isEqualTo(dictionary);
+  }
+
+  @Test
+  public void testPlainTextSerializerReadsBothFormats() throws Exception {
+    final Transducer<?, ?> transducer =
+      (Transducer<?, ?>) (Object) new TransducerBuilder()
+        .dictionary(buildDictionary())
+        .algorithm(Algorithm.TRANSPOSITION)
+        .defaultMaxDistance(2)
+        .build();
+
+    final byte[] streamingTransducer =
+      new PlainTextSerializer().legacyFormat(false).serialize(transducer);
+    final byte[] legacyTransducer =
+      new PlainTextSerializer().serialize(transducer);
+    assertThat(new String(streamingTransducer, StandardCharsets.UTF_8))
+      .startsWith(PlainTextSerializer.TRANSDUCER_HEADER);
+
+    final Serializer serializer = new PlainTextSerializer();
+    assertThat(serializer.deserialize(Transducer.class, streamingTransducer))
+      .isEqualTo(transducer);
+    assertThat(serializer.deserialize(Transducer.class, legacyTransducer))
+      .isEqualTo(transducer);
+  }
+
+  @DataProvider(name = "longTermSerializers")
+  public Object[][] longTermSerializers() {
+    // Java serialization recurses once per node along each path, and the nodes
+    // of the legacy Protocol Buffers format are nested as deeply as the longest
+    // term, so only the flattened formats are expected to hold long terms.
+    return new Object[][] {
+      {new ProtobufSerializer().legacyFormat(false)},
+      {new BinarySerializer()},
+      {new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH)},
+      {new BinarySerializer(BinarySerializer.Layout.COMPRESSED)},
+      {new BinarySerializer(BLOCK_SIZE).executor(ForkJoinPool.commonPool())},
+      {new PlainTextSerializer(true).legacyFormat(false)},
+    };
+  }
+
+  @Test(dataProvider = "longTermSerializers")
+  @SuppressWarnings("unchecked")
+  public void testSerializersHoldLongTerms(final Serializer serializer) throws Exception {
+    final List<String> longTerms = buildLongTerms();
+    final SortedDawg dictionary =
+      (SortedDawg) new DawgFactory().build(longTerms, true);
+    final SortedDawg deserializedDictionary = serializer.deserialize(
+        SortedDawg.class, serializer.serialize(dictionary));
+    assertThat(new HashSet<>(deserializedDictionary)).isEqualTo(new HashSet<>(longTerms));
+
+    final Transducer<Object, Candidate> transducer =
+      (Transducer<Object, Candidate>) (ITransducer<?>) new TransducerBuilder()
+        .dictionary(dictionary, true)
+        .defaultMaxDistance(1)
+        .build();
+    final ITransducer<Candidate> deserializedTransducer = serializer.deserialize(
+        Transducer.class, serializer.serialize(transducer));
+    final String queryTerm = longTerms.get(0) + "C";
+    assertThat(Sets.newHashSet(deserializedTransducer.transduce(queryTerm)))
+      .isEqualTo(Sets.newHashSet(transducer.transduce(queryTerm)))
+      .contains(new Candidate(longTerms.get(0), 1));
+  }
+
+  @Test
+  public void testProtobufSerializerBuildsLegacyPrototypesOfLongTerms() throws Exception {
+    // Protocol Buffers encodes the nested prototypes recursively, so only the
+    // conversions between them and the dictionary are exercised here.
+    final List<String> longTerms = buildLongTerms();
+    final SortedDawg dictionary =
+      (SortedDawg) new DawgFactory().build(longTerms, true);
+    final ProtobufSerializer serializer = new ProtobufSerializer();
+    final SortedDawg deserializedDictionary =
+      serializer.modelOf(serializer.protoOf(dictionary));
+    assertThat(deserializedDictionary.size()).isEqualTo(longTerms.size());
+    assertThat(new HashSet<>(deserializedDictionary)).isEqualTo(new HashSet<>(longTerms));
+  }
+
+  private void assertSameDepthsAndStatistics(
+      final SortedDawg actual,
+      final SortedDawg expected) {
+    final DawgStatistics actualStatistics = actual.statistics();
+    final DawgStatistics expectedStatistics = expected.statistics();
+    assertThat(actualStatistics.depthCount()).isEqualTo(expectedStatistics.depthCount());
+    for (int depth = 0; depth < expectedStatistics.depthCount(); depth += 1) {
+      assertThat(actualStatistics.prefixCount(depth))
+        .isEqualTo(expectedStatistics.prefixCount(depth));
+      assertThat(actualStatistics.termCount(depth))
+        .isEqualTo(expectedStatistics.termCount(depth));
+    }
+
+    final Deque<DawgNode> actualNodes = new ArrayDeque<>();
+    final Deque<DawgNode> expectedNodes = new ArrayDeque<>();
+    actualNodes.push(actual.root());
+    expectedNodes.push(expected.root());
+    while (!expectedNodes.isEmpty()) {
+      final DawgNode actualNode = actualNodes.pop();
+      final DawgNode expectedNode = expectedNodes.pop();
+      assertThat(actualNode.minDepth()).isEqualTo(expectedNode.minDepth());
+      assertThat(actualNode.maxDepth()).isEqualTo(expectedNode.maxDepth());
+      final CharIterator labels = expectedNode.labels();
+      while (labels.hasNext()) {
+        final char label = labels.nextChar();
+        actualNodes.push(actualNode.transition(label));
+        expectedNodes.push(expectedNode.transition(label));
+      }
+    }
+  }
+
+  private List<String> buildLongTerms() {
+    final String base = Strings.repeat("ACGT", LONG_TERM_LENGTH / 4);
+    final List<String> longTerms = new ArrayList<>();
+    longTerms.add(base);
+    longTerms.add(base + "A");
+    longTerms.add(base.substring(0, LONG_TERM_LENGTH / 2) + "T" + base);
+    longTerms.add("G" + base);
+    Collections.sort(longTerms);
+    return longTerms;
+  }
+
   private Path createTempFile(final String type) throws IOException {
     final Path tempFile =
       tmpDir.resolve(String.format("%s-%s.tmp", type, UUID.randomUUID()));
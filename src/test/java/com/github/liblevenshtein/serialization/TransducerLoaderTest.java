@@ -0,0 +1,84 @@
+package com.github.liblevenshtein.serialization;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.google.common.collect.Sets;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.transducer.Candidate;
+import com.github.liblevenshtein.transducer.ITransducer;
+import com.github.liblevenshtein.transducer.ReloadableTransducer;
+import com.github.liblevenshtein.transducer.Transducer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+public class TransducerLoaderTest {
+
+  private static final String[] QUERY_TERMS = {"Jvaa", "Pythno", "Sceme"};
+
+  private final Serializer serializer = new ArtifactSerializer(
+      new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH));
+
+  private ITransducer<Candidate> transducer;
+
+  private Path path;
+
+  @BeforeClass
+  @SuppressWarnings("unchecked")
+  public void setUp() throws Exception {
+    final URL dictionaryUrl =
+      getClass().getResource("/programming-languages.protobuf.bytes");
+    final SortedDawg dictionary =
+      new ProtobufSerializer().deserialize(SortedDawg.class, dictionaryUrl);
+    this.transducer = new TransducerBuilder()
+      .defaultMaxDistance(2)
+      .dictionary(dictionary, true)
+      .build();
+    this.path = Files.createTempFile("transducer", ".bytes");
+    Files.write(path, serializer.serialize(
+          (Transducer<Object, Candidate>) (ITransducer<?>) transducer));
+  }
+
+  @AfterClass
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(path);
+  }
+
+  @DataProvider(name = "memoryMapped")
+  public Object[][] memoryMapped() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  @Test(dataProvider = "memoryMapped")
+  public void testLoadsTransducer(final boolean memoryMapped) throws Exception {
+    final ITransducer<Candidate> loaded =
+      new TransducerLoader<Candidate>(path, serializer, memoryMapped).call();
+    assertThat(((Transducer<?, ?>) loaded).attributes().dictionary())
+      .isInstanceOf(BufferDawg.class);
+    for (final String queryTerm : QUERY_TERMS) {
+      assertThat(Sets.newHashSet(loaded.transduce(queryTerm)))
+        .isEqualTo(Sets.newHashSet(transducer.transduce(queryTerm)));
+    }
+  }
+
+  @Test
+  public void testReloadsTransducer() throws Exception {
+    try (final ReloadableTransducer<Candidate> reloadable =
+           new ReloadableTransducer<>(transducer)) {
+      assertThat(reloadable.reload(new TransducerLoader<>(path, serializer, true)))
+        .isEqualTo(1L);
+      for (final String queryTerm : QUERY_TERMS) {
+        assertThat(Sets.newHashSet(reloadable.transduce(queryTerm)))
+          .isEqualTo(Sets.newHashSet(transducer.transduce(queryTerm)));
+      }
+    }
+  }
+}
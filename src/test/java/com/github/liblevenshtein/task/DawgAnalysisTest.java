@@ -0,0 +1,87 @@
+package com.github.liblevenshtein.task;
+
+import java.util.Arrays;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.Dawg;
+import com.github.liblevenshtein.collection.dictionary.factory.DawgFactory;
+import com.github.liblevenshtein.serialization.BinarySerializer;
+
+public class DawgAnalysisTest {
+
+  // root -a-> x, root -b-> leaf, root -c-> x, x -b-> leaf: the leaf ending
+  // "ab", "b", and "cb" is shared, as is the node after "a" and "c".
+  private static final String[] TERMS = {"ab", "b", "cb"};
+
+  private Dawg dictionary;
+
+  @BeforeClass
+  public void setUp() {
+    this.dictionary = new DawgFactory().build(Arrays.asList(TERMS), true);
+  }
+
+  @DataProvider(name = "dictionaries")
+  public Object[][] dictionaries() throws Exception {
+    final BinarySerializer serializer =
+      new BinarySerializer(BinarySerializer.Layout.FIXED_WIDTH);
+    return new Object[][] {
+      {dictionary},
+      {serializer.deserialize(Dawg.class, serializer.serialize(dictionary))},
+    };
+  }
+
+  @Test(dataProvider = "dictionaries")
+  public void testCountsNodesEdgesAndFinals(final Dawg dawg) {
+    final DawgAnalysis analysis = new DawgAnalysis(dawg);
+    assertThat(analysis.nodeCount()).isEqualTo(3L);
+    assertThat(analysis.edgeCount()).isEqualTo(4L);
+    assertThat(analysis.finalCount()).isEqualTo(1L);
+  }
+
+  @Test(dataProvider = "dictionaries")
+  public void testOutDegreeHistogram(final Dawg dawg) {
+    final DawgAnalysis analysis = new DawgAnalysis(dawg);
+    assertThat(analysis.maxOutDegree()).isEqualTo(3);
+    assertThat(analysis.outDegreeCount(0)).isEqualTo(1L);
+    assertThat(analysis.outDegreeCount(1)).isEqualTo(1L);
+    assertThat(analysis.outDegreeCount(2)).isEqualTo(0L);
+    assertThat(analysis.outDegreeCount(3)).isEqualTo(1L);
+    assertThat(analysis.outDegreeCount(4)).isEqualTo(0L);
+    assertThat(analysis.outDegreeCount(-1)).isEqualTo(0L);
+  }
+
+  @Test(dataProvider = "dictionaries")
+  public void testSuffixSharing(final Dawg dawg) {
+    final DawgAnalysis analysis = new DawgAnalysis(dawg);
+    // "", "a", "ab", "b", "c", and "cb"
+    assertThat(analysis.trieNodeCount()).isEqualTo(6L);
+    assertThat(analysis.suffixSharingRatio()).isEqualTo(0.5);
+  }
+
+  @Test(dataProvider = "dictionaries")
+  public void testFootprintEstimates(final Dawg dawg) {
+    final DawgAnalysis analysis = new DawgAnalysis(dawg);
+    // 3 nodes of 24 + 64 + 80 + 272 bytes, and 4 entries of 32 bytes
+    assertThat(analysis.treeMapBytes()).isEqualTo(1448L);
+    // 3 nodes of 32 bytes, plus 24 + 24 bytes of arrays for the node of one
+    // edge and 24 + 32 bytes for that of three
+    assertThat(analysis.sortedArrayBytes()).isEqualTo(200L);
+    // 12-byte header, 4 * (1 + 3 * 3) bytes of nodes, and 6 * 4 of edges
+    assertThat(analysis.flatBytes()).isEqualTo(76L);
+  }
+
+  @Test
+  public void testEmptyDictionary() {
+    final DawgAnalysis analysis =
+      new DawgAnalysis(new DawgFactory().build(Arrays.<String>asList(), true));
+    assertThat(analysis.nodeCount()).isEqualTo(1L);
+    assertThat(analysis.edgeCount()).isEqualTo(0L);
+    assertThat(analysis.finalCount()).isEqualTo(0L);
+    assertThat(analysis.maxOutDegree()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,105 @@
+package com.github.liblevenshtein.transducer;
+
+import java.lang.management.ManagementFactory;
+
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.collection.dictionary.factory.DawgFactory;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+import static com.github.liblevenshtein.transducer.EngineFixtures.wordsEn;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Fails the build when the bytes a transducer allocates per query regress past
+ * its budget.  Each budget is about half again what the query terms allocated
+ * when it was set, which absorbs the variation between runs as the JIT
+ * eliminates more or fewer allocations.  Run {@code gradle profileAllocations}
+ * to see which types the bytes are allocated for.
+ */
+public class AllocationBudgetTest {
+
+  private static final int MAX_DISTANCE = 2;
+
+  private static final String UNSUPPORTED =
+    "This JVM does not count the bytes allocated by threads";
+
+  private static final int WARMUP_ROUNDS = 2;
+
+  private static final String[] QUERY_TERMS = {
+    "a", "hte", "speling", "recieve", "transducr", "levenshtien",
+    "dictionery", "algorithim", "accomodate", "qwertyuiop",
+  };
+
+  private ThreadMXBean threads;
+
+  private SortedDawg dictionary;
+
+  @BeforeClass
+  public void setUp() {
+    if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean)) {
+      throw new SkipException(UNSUPPORTED);
+    }
+    this.threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threads.isThreadAllocatedMemorySupported()) {
+      throw new SkipException(UNSUPPORTED);
+    }
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    this.dictionary = (SortedDawg) new DawgFactory().build(wordsEn(1, 0), true);
+  }
+
+  @DataProvider(name = "budgets")
+  public Object[][] budgets() {
+    return new Object[][] {
+      {Algorithm.STANDARD, 1_600_000L},
+      {Algorithm.TRANSPOSITION, 1_600_000L},
+      {Algorithm.MERGE_AND_SPLIT, 15_000_000L},
+    };
+  }
+
+  @Test(dataProvider = "budgets")
+  public void testAllocationPerQueryIsWithinBudget(
+      final Algorithm algorithm,
+      final long bytesPerQueryBudget) {
+    final ITransducer<Candidate> transducer = new TransducerBuilder()
+      .algorithm(algorithm)
+      .defaultMaxDistance(MAX_DISTANCE)
+      .dictionary(dictionary, true)
+      .build();
+
+    for (int round = 0; round < WARMUP_ROUNDS; round += 1) {
+      replay(transducer);
+    }
+
+    final long threadId = Thread.currentThread().getId();
+    final long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    replay(transducer);
+    final long bytesPerQuery =
+      (threads.getThreadAllocatedBytes(threadId) - allocatedBefore)
+      / QUERY_TERMS.length;
+
+    assertThat(bytesPerQuery)
+      .as("bytes allocated per query by %s", algorithm)
+      .isLessThanOrEqualTo(bytesPerQueryBudget);
+  }
+
+  private long replay(final ITransducer<Candidate> transducer) {
+    long candidateCount = 0L;
+    for (final String queryTerm : QUERY_TERMS) {
+      for (final Candidate candidate : transducer.transduce(queryTerm)) {
+        if (null != candidate) {
+          candidateCount += 1L;
+        }
+      }
+    }
+    return candidateCount;
+  }
+}
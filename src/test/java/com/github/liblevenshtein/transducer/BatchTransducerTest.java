@@ -0,0 +1,84 @@
+package com.github.liblevenshtein.transducer;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Sets;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.serialization.ProtobufSerializer;
+import com.github.liblevenshtein.serialization.Serializer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+@SuppressWarnings("unchecked")
+public class BatchTransducerTest {
+
+  private static final int MAX_DISTANCE = 3;
+
+  private static final String JVAA = "Jvaa";
+
+  private static final List<String> QUERY_TERMS = Arrays.asList(
+      "", "C", "C++", "Java", "JavaScirpt", "JavaScript", "Javs", JVAA,
+      JVAA, "Pascal", "Pasta", "Python", "Pythno", "Scala", "Scheme",
+      "Schema", "Smalltalk", "Smalltlak");
+
+  private SortedDawg dictionary;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    final URL dictionaryUrl =
+      getClass().getResource("/programming-languages.protobuf.bytes");
+    final Serializer serializer = new ProtobufSerializer();
+    this.dictionary = serializer.deserialize(SortedDawg.class, dictionaryUrl);
+  }
+
+  @DataProvider(name = "batches")
+  public Object[][] batches() {
+    final List<String> unsortedQueryTerms = new ArrayList<>(QUERY_TERMS);
+    Collections.reverse(unsortedQueryTerms);
+
+    final List<Object[]> batches = new ArrayList<>();
+    for (final Algorithm algorithm : Algorithm.values()) {
+      for (int maxDistance = 0; maxDistance <= MAX_DISTANCE; maxDistance += 1) {
+        batches.add(new Object[] {algorithm, maxDistance, QUERY_TERMS});
+        batches.add(new Object[] {algorithm, maxDistance, unsortedQueryTerms});
+      }
+    }
+    return batches.toArray(new Object[batches.size()][]);
+  }
+
+  @Test(dataProvider = "batches")
+  public void testTransduceAll(
+      final Algorithm algorithm,
+      final int maxDistance,
+      final List<String> queryTerms) {
+    final Transducer<Object, Candidate> transducer =
+      (Transducer<Object, Candidate>) (ITransducer<?>) new TransducerBuilder()
+        .algorithm(algorithm)
+        .defaultMaxDistance(maxDistance)
+        .dictionary(dictionary, true)
+        .build();
+
+    final Iterator<String> queryIter = queryTerms.iterator();
+    for (final Map.Entry<String, List<Candidate>> entry
+        : transducer.transduceAll(queryTerms)) {
+      final String queryTerm = queryIter.next();
+      assertThat(entry.getKey()).isEqualTo(queryTerm);
+      assertThat(Sets.newHashSet(entry.getValue()))
+        .hasSameSizeAs(entry.getValue())
+        .isEqualTo(Sets.newHashSet(transducer.transduce(queryTerm)));
+    }
+    assertThat(queryIter.hasNext()).isFalse();
+  }
+}
@@ -0,0 +1,79 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.Arrays;
+
+import com.google.common.collect.Sets;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+@SuppressWarnings("unchecked")
+public class CachingTransducerTest {
+
+  private static final int MAX_DISTANCE = 1;
+
+  private static final String BAR = "bar";
+
+  private static final String FOO = "foo";
+
+  private static final String FOB = "fob";
+
+  private static final String ZOO = "zoo";
+
+  private SortedDawg dictionary;
+
+  private Transducer<Object, Candidate> transducer;
+
+  private CachingTransducer<Object, Candidate> cachingTransducer;
+
+  @BeforeMethod
+  public void setUp() {
+    this.dictionary = new SortedDawg(Arrays.asList(BAR, "baz", FOO));
+    this.transducer = (Transducer<Object, Candidate>) (ITransducer<?>) new TransducerBuilder()
+      .defaultMaxDistance(MAX_DISTANCE)
+      .dictionary(dictionary, true)
+      .build();
+    this.cachingTransducer = new CachingTransducer<>(transducer, 100L);
+  }
+
+  @Test
+  public void testTransduceMatchesTransducer() {
+    for (final String term : Arrays.asList(BAR, "ba", FOB, "qux")) {
+      assertThat(Sets.newHashSet(cachingTransducer.transduce(term)))
+        .isEqualTo(Sets.newHashSet(transducer.transduce(term)));
+      assertThat(Sets.newHashSet(cachingTransducer.transduce(term, 2)))
+        .isEqualTo(Sets.newHashSet(transducer.transduce(term, 2)));
+    }
+  }
+
+  @Test
+  public void testRepeatedQueriesAreCached() {
+    cachingTransducer.transduce(FOB);
+    cachingTransducer.transduce(FOB);
+    cachingTransducer.transduce(FOB, 2);
+    assertThat(cachingTransducer.stats().missCount()).isEqualTo(2L);
+    assertThat(cachingTransducer.stats().hitCount()).isEqualTo(1L);
+    assertThat(cachingTransducer.size()).isEqualTo(2L);
+
+    cachingTransducer.invalidateAll();
+    assertThat(cachingTransducer.size()).isEqualTo(0L);
+  }
+
+  @Test
+  public void testModifiedDictionaryInvalidatesCache() {
+    assertThat(cachingTransducer.transduce(ZOO))
+      .containsExactly(new Candidate(FOO, 1));
+
+    dictionary.add(ZOO);
+    dictionary.finish();
+
+    assertThat(cachingTransducer.transduce(ZOO))
+      .containsOnly(new Candidate(FOO, 1), new Candidate(ZOO, 0));
+    assertThat(cachingTransducer.stats().hitCount()).isEqualTo(0L);
+  }
+}
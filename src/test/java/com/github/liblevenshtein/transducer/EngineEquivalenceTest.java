@@ -0,0 +1,115 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.Sets;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+import static com.github.liblevenshtein.transducer.EngineFixtures.QUERY_TERMS;
+import static com.github.liblevenshtein.transducer.EngineFixtures.builderOf;
+import static com.github.liblevenshtein.transducer.EngineFixtures.wordsEn;
+
+public class EngineEquivalenceTest {
+
+  private static final String BAR = "bar";
+
+  private static final String FOO = "foo";
+
+  private static final Engine[] ENGINES = {
+    Engine.SCAN, Engine.QGRAM, Engine.SYMMETRIC_DELETION,
+  };
+
+  @DataProvider(name = "engines")
+  public Object[][] engines() {
+    final Object[][] parameters = new Object[ENGINES.length][1];
+    for (int i = 0; i < ENGINES.length; i += 1) {
+      parameters[i][0] = ENGINES[i];
+    }
+    return parameters;
+  }
+
+  @DataProvider(name = "enginesAndAlgorithms")
+  public Object[][] enginesAndAlgorithms() {
+    final Algorithm[] algorithms = Algorithm.values();
+    final Object[][] parameters = new Object[ENGINES.length * algorithms.length][2];
+    for (int i = 0; i < parameters.length; i += 1) {
+      parameters[i][0] = ENGINES[i / algorithms.length];
+      parameters[i][1] = algorithms[i % algorithms.length];
+    }
+    return parameters;
+  }
+
+  @Test(dataProvider = "enginesAndAlgorithms")
+  public void testEngineMatchesAutomaton(final Engine engine, final Algorithm algorithm) {
+    final int maxDistance = maxDistanceOf(engine);
+    final List<String> terms = termsOf(engine, algorithm);
+    final ITransducer<Candidate> automaton = builderOf(algorithm, maxDistance)
+      .engine(Engine.AUTOMATON)
+      .dictionary(terms, true)
+      .build();
+    final ITransducer<Candidate> transducer = builderOf(algorithm, maxDistance)
+      .engine(engine)
+      .dictionary(terms, true)
+      .build();
+    assertThat(transducer).isInstanceOf(typeOf(engine));
+
+    for (final String queryTerm : QUERY_TERMS) {
+      for (int distance = 0; distance <= maxDistance; distance += 1) {
+        assertThat(Sets.newHashSet(transducer.transduce(queryTerm, distance)))
+          .as("%s %s within %d of [%s]", engine, algorithm, distance, queryTerm)
+          .isEqualTo(Sets.newHashSet(automaton.transduce(queryTerm, distance)));
+      }
+    }
+  }
+
+  @Test(dataProvider = "engines")
+  public void testCandidatesWithoutDistances(final Engine engine) {
+    final ITransducer<String> transducer = new TransducerBuilder()
+      .engine(engine)
+      .includeDistance(false)
+      .dictionary(Arrays.asList(BAR, FOO), true)
+      .build();
+    assertThat(transducer.transduce("fob", 1)).containsExactly(FOO);
+  }
+
+  private int maxDistanceOf(final Engine engine) {
+    // Each engine is compared up to the greatest distance it stays quick at.
+    switch (engine) {
+      case SCAN:
+        return 3;
+      case QGRAM:
+        return 4;
+      default:
+        return 2;
+    }
+  }
+
+  private List<String> termsOf(final Engine engine, final Algorithm algorithm) {
+    // Merges and splits index twice the deletions, whose variants outnumber
+    // those of the other algorithms about sevenfold, so they get fewer terms.
+    if (Engine.SYMMETRIC_DELETION == engine && Algorithm.MERGE_AND_SPLIT == algorithm) {
+      return wordsEn(32, 0);
+    }
+    return wordsEn(8, 0);
+  }
+
+  private Class<?> typeOf(final Engine engine) {
+    switch (engine) {
+      case SCAN:
+        return ScanTransducer.class;
+      case QGRAM:
+        return QGramTransducer.class;
+      case SYMMETRIC_DELETION:
+        return SymmetricDeletionTransducer.class;
+      default:
+        return Transducer.class;
+    }
+  }
+}
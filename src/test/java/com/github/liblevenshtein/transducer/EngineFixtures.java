@@ -0,0 +1,97 @@
+package com.github.liblevenshtein.transducer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+/**
+ * Dictionaries, query terms, and data providers shared by the tests that
+ * compare the engines of transducers with one another.
+ */
+public final class EngineFixtures {
+
+  /**
+   * Query terms of every length, from the empty term to one longer than any
+   * bit-parallel word.
+   */
+  static final String[] QUERY_TERMS = {
+    "", "a", "hte", "speling", "recieve", "transducr", "qwertyuiop",
+    "antidisestablishmentarianism",
+  };
+
+  /**
+   * Terms of wordsEn.txt, loaded on first use.
+   */
+  private static List<String> wordsEn = null;
+
+  private EngineFixtures() {
+  }
+
+  @DataProvider(name = "algorithms")
+  public static Object[][] algorithms() {
+    final Algorithm[] algorithms = Algorithm.values();
+    final Object[][] parameters = new Object[algorithms.length][1];
+    for (int i = 0; i < algorithms.length; i += 1) {
+      parameters[i][0] = algorithms[i];
+    }
+    return parameters;
+  }
+
+  /**
+   * Returns every stride'th term of wordsEn.txt, beginning with the one at the
+   * offset, in sorted order, as a new list the caller may modify.
+   * @param stride Number of terms between each returned term.
+   * @param offset Index of the first returned term.
+   * @return Every stride'th term of wordsEn.txt.
+   */
+  static List<String> wordsEn(final int stride, final int offset) {
+    final List<String> words = wordsEn();
+    final List<String> terms = new ArrayList<>(words.size() / stride + 1);
+    for (int i = offset; i < words.size(); i += stride) {
+      terms.add(words.get(i));
+    }
+    return terms;
+  }
+
+  /**
+   * Returns a builder of transducers of the algorithm, without a dictionary.
+   * @param algorithm Algorithm of the transducers.
+   * @param maxDistance Default maximum distance of the transducers.
+   * @return Builder of transducers of the algorithm.
+   */
+  static TransducerBuilder builderOf(final Algorithm algorithm, final int maxDistance) {
+    return new TransducerBuilder()
+      .algorithm(algorithm)
+      .defaultMaxDistance(maxDistance);
+  }
+
+  private static synchronized List<String> wordsEn() {
+    if (null == wordsEn) {
+      try (final BufferedReader reader = new BufferedReader(
+            new InputStreamReader(
+              EngineFixtures.class.getResourceAsStream("/wordsEn.txt"),
+              StandardCharsets.UTF_8))) {
+
+        final List<String> words = new ArrayList<>();
+        String term;
+        while ((term = reader.readLine()) != null) {
+          words.add(term);
+        }
+        wordsEn = Collections.unmodifiableList(words);
+      }
+      catch (final IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+    }
+    return wordsEn;
+  }
+}
@@ -0,0 +1,167 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.transducer.factory.CandidateFactory;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+import static com.github.liblevenshtein.transducer.EngineFixtures.QUERY_TERMS;
+import static com.github.liblevenshtein.transducer.EngineFixtures.wordsEn;
+
+public class FederatedTransducerTest {
+
+  private static final int MAX_DISTANCE = 2;
+
+  private static final String GLOBAL = "global";
+
+  private static final String TENANT = "tenant";
+
+  private static final String LOCALE = "locale";
+
+  private static final String BAR = "bar";
+
+  private static final String BAZ = "baz";
+
+  private static final String FOO = "foo";
+
+  private Map<String, List<String>> dictionaries;
+
+  @BeforeClass
+  public void setUp() {
+    final List<String> tenant = wordsEn(12, 0);
+    tenant.add("speeling");
+    tenant.add("transducer's");
+    Collections.sort(tenant);
+
+    this.dictionaries = new LinkedHashMap<>();
+    dictionaries.put(GLOBAL, wordsEn(8, 0));
+    dictionaries.put(TENANT, tenant);
+    dictionaries.put(LOCALE, wordsEn(16, 3));
+  }
+
+  @DataProvider(name = "enginesAndAlgorithms")
+  public Object[][] enginesAndAlgorithms() {
+    final Engine[] engines = {Engine.AUTOMATON, Engine.SCAN};
+    final Algorithm[] algorithms = Algorithm.values();
+    final Object[][] parameters = new Object[engines.length * algorithms.length][2];
+    for (int i = 0; i < parameters.length; i += 1) {
+      parameters[i][0] = engines[i / algorithms.length];
+      parameters[i][1] = algorithms[i % algorithms.length];
+    }
+    return parameters;
+  }
+
+  @Test(dataProvider = "enginesAndAlgorithms")
+  public void testFederatedMatchesEachDictionary(
+      final Engine engine,
+      final Algorithm algorithm) {
+    final FederatedTransducer<Candidate> federated =
+      builderOf(algorithm).engine(engine).buildFederated(dictionaries);
+    assertThat(federated.sources()).containsExactly(GLOBAL, TENANT, LOCALE);
+
+    final Map<String, ITransducer<Candidate>> automata = new LinkedHashMap<>();
+    for (final Map.Entry<String, List<String>> entry : dictionaries.entrySet()) {
+      automata.put(entry.getKey(), builderOf(algorithm)
+          .engine(Engine.AUTOMATON)
+          .dictionary(entry.getValue(), true)
+          .<Candidate>build());
+    }
+
+    for (final String queryTerm : QUERY_TERMS) {
+      for (int maxDistance = 0; maxDistance <= MAX_DISTANCE; maxDistance += 1) {
+        final Set<SourcedCandidate<Candidate>> expected =
+          candidatesOf(automata, queryTerm, maxDistance);
+        final List<SourcedCandidate<Candidate>> actual =
+          Lists.newArrayList(federated.transduce(queryTerm, maxDistance));
+        final String description = String.format("%s %s within %d of [%s]",
+            engine, algorithm, maxDistance, queryTerm);
+        assertThat(actual).as(description).doesNotHaveDuplicates();
+        assertThat(Sets.newHashSet(actual)).as(description).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void testTermsAreTaggedWithEachDictionary() {
+    final Map<String, List<String>> overlapping = new LinkedHashMap<>();
+    overlapping.put(GLOBAL, Arrays.asList(BAR, FOO));
+    overlapping.put(TENANT, Arrays.asList(BAZ, FOO));
+    overlapping.put(LOCALE, Collections.<String>emptyList());
+
+    final FederatedTransducer<Candidate> federated = new TransducerBuilder()
+      .defaultMaxDistance(1)
+      .buildFederated(overlapping);
+    assertThat(federated.size()).isEqualTo(3);
+
+    assertThat(federated.transduce(FOO)).containsExactly(
+        new SourcedCandidate<>(GLOBAL, new Candidate(FOO, 0)),
+        new SourcedCandidate<>(TENANT, new Candidate(FOO, 0)));
+    assertThat(federated.transduce("ba")).containsExactlyInAnyOrder(
+        new SourcedCandidate<>(GLOBAL, new Candidate(BAR, 1)),
+        new SourcedCandidate<>(TENANT, new Candidate(BAZ, 1)));
+    assertThat(federated.transduce(FOO, -1)).isEmpty();
+  }
+
+  @Test
+  public void testCandidatesWithoutDistances() {
+    final FederatedTransducer<String> federated = new TransducerBuilder()
+      .includeDistance(false)
+      .defaultMaxDistance(1)
+      .buildFederated(Collections.singletonMap(TENANT, Arrays.asList(BAR, BAZ)));
+    assertThat(federated.transduce(BAR)).containsExactlyInAnyOrder(
+        new SourcedCandidate<>(TENANT, BAR),
+        new SourcedCandidate<>(TENANT, BAZ));
+  }
+
+  @Test
+  public void testTermsOutsideTheDictionariesAreIgnored() {
+    final ITransducer<Candidate> union = new TransducerBuilder()
+      .defaultMaxDistance(1)
+      .dictionary(Arrays.asList(BAR, BAZ, FOO), true)
+      .build();
+    final FederatedTransducer<Candidate> federated = new FederatedTransducer<>(
+        Collections.singletonMap(TENANT, Arrays.asList(FOO, BAR, FOO)),
+        union,
+        new CandidateFactory.WithDistance());
+    assertThat(federated.size()).isEqualTo(2);
+    assertThat(federated.transduce(BAZ)).containsExactly(
+        new SourcedCandidate<>(TENANT, new Candidate(BAR, 1)));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNoDictionaries() {
+    new TransducerBuilder().buildFederated(Collections.<String, List<String>>emptyMap());
+  }
+
+  private Set<SourcedCandidate<Candidate>> candidatesOf(
+      final Map<String, ITransducer<Candidate>> automata,
+      final String queryTerm,
+      final int maxDistance) {
+    final Set<SourcedCandidate<Candidate>> candidates = new HashSet<>();
+    for (final Map.Entry<String, ITransducer<Candidate>> entry : automata.entrySet()) {
+      for (final Candidate candidate : entry.getValue().transduce(queryTerm, maxDistance)) {
+        candidates.add(new SourcedCandidate<>(entry.getKey(), candidate));
+      }
+    }
+    return candidates;
+  }
+
+  private TransducerBuilder builderOf(final Algorithm algorithm) {
+    return EngineFixtures.builderOf(algorithm, MAX_DISTANCE);
+  }
+}
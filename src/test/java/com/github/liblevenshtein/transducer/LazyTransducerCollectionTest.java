@@ -0,0 +1,83 @@
+package com.github.liblevenshtein.transducer;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.distance.IDistance;
+import com.github.liblevenshtein.distance.factory.MemoizedDistanceFactory;
+import com.github.liblevenshtein.serialization.ProtobufSerializer;
+import com.github.liblevenshtein.serialization.Serializer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+public class LazyTransducerCollectionTest {
+
+  private static final int MAX_DISTANCE = 3;
+
+  private static final String[] QUERY_TERMS = {
+    "", "C", "Jvaa", "ActionScirpt", "Visual Basci .NET", "Smalltlak",
+    "Common Lsip Object System", "xxxxxxxxxxxxxxxxxxxxxxxxxxxxxx",
+  };
+
+  private final MemoizedDistanceFactory distanceFactory = new MemoizedDistanceFactory();
+
+  private SortedDawg dictionary;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    final URL dictionaryUrl =
+      getClass().getResource("/programming-languages.protobuf.bytes");
+    final Serializer serializer = new ProtobufSerializer();
+    this.dictionary = serializer.deserialize(SortedDawg.class, dictionaryUrl);
+  }
+
+  @DataProvider(name = "queries")
+  public Object[][] queries() {
+    final List<Object[]> queries = new ArrayList<>();
+    for (final Algorithm algorithm : Algorithm.values()) {
+      for (final String queryTerm : QUERY_TERMS) {
+        for (int maxDistance = 0; maxDistance <= MAX_DISTANCE; maxDistance += 1) {
+          queries.add(new Object[] {algorithm, queryTerm, maxDistance});
+        }
+      }
+    }
+    return queries.toArray(new Object[queries.size()][]);
+  }
+
+  @Test(dataProvider = "queries")
+  public void testTransduce(
+      final Algorithm algorithm,
+      final String queryTerm,
+      final int maxDistance) {
+    final ITransducer<Candidate> transducer = new TransducerBuilder()
+      .algorithm(algorithm)
+      .defaultMaxDistance(maxDistance)
+      .dictionary(dictionary, true)
+      .build();
+
+    final IDistance<String> distance = distanceFactory.build(algorithm);
+    final Set<Candidate> expectedCandidates = new HashSet<>();
+    for (final String term : dictionary) {
+      final int termDistance = distance.between(queryTerm, term);
+      if (termDistance <= maxDistance) {
+        expectedCandidates.add(new Candidate(term, termDistance));
+      }
+    }
+
+    final Set<Candidate> actualCandidates = new HashSet<>();
+    for (final Candidate candidate : transducer.transduce(queryTerm)) {
+      actualCandidates.add(candidate);
+    }
+
+    assertThat(actualCandidates).isEqualTo(expectedCandidates);
+  }
+}
@@ -0,0 +1,118 @@
+package com.github.liblevenshtein.transducer;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.Sets;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.serialization.ProtobufSerializer;
+import com.github.liblevenshtein.serialization.Serializer;
+import com.github.liblevenshtein.transducer.factory.PositionFactory;
+import com.github.liblevenshtein.transducer.factory.PositionTransitionFactory;
+import com.github.liblevenshtein.transducer.factory.StateFactory;
+import com.github.liblevenshtein.transducer.factory.StateTransitionFactory;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+@SuppressWarnings({"unchecked", "checkstyle:classdataabstractioncoupling"})
+public class MemoizedStateTransitionFunctionTest {
+
+  private static final int MAX_DISTANCE = 3;
+
+  private static final int CACHE_CAPACITY = 1024;
+
+  private static final String[] QUERY_TERMS = {
+    "", "C", "Jvaa", "JavaScirpt", "Pythno", "Smalltlak",
+  };
+
+  private final PositionFactory positionFactory = new PositionFactory();
+
+  private final StateFactory stateFactory = new StateFactory();
+
+  private SortedDawg dictionary;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    final URL dictionaryUrl =
+      getClass().getResource("/programming-languages.protobuf.bytes");
+    final Serializer serializer = new ProtobufSerializer();
+    this.dictionary = serializer.deserialize(SortedDawg.class, dictionaryUrl);
+  }
+
+  @DataProvider(name = "queries")
+  public Object[][] queries() {
+    final List<Object[]> queries = new ArrayList<>();
+    for (final Algorithm algorithm : Algorithm.values()) {
+      for (final int cacheCapacity : new int[] {1, CACHE_CAPACITY}) {
+        queries.add(new Object[] {algorithm, cacheCapacity});
+      }
+    }
+    return queries.toArray(new Object[queries.size()][]);
+  }
+
+  @Test(dataProvider = "queries")
+  public void testMemoizedTransducerMatchesTransducer(
+      final Algorithm algorithm,
+      final int cacheCapacity) {
+    final ITransducer<Candidate> transducer = new TransducerBuilder()
+      .algorithm(algorithm)
+      .defaultMaxDistance(MAX_DISTANCE)
+      .dictionary(dictionary, true)
+      .build();
+
+    final ITransducer<Candidate> memoizedTransducer = new TransducerBuilder()
+      .algorithm(algorithm)
+      .defaultMaxDistance(MAX_DISTANCE)
+      .stateTransitionCacheCapacity(cacheCapacity)
+      .dictionary(dictionary, true)
+      .build();
+
+    for (final String queryTerm : QUERY_TERMS) {
+      assertThat(Sets.newHashSet(memoizedTransducer.transduce(queryTerm)))
+        .isEqualTo(Sets.newHashSet(transducer.transduce(queryTerm)));
+    }
+  }
+
+  @Test
+  public void testIdenticalStatesShareTransitions() {
+    final PositionTransitionFactory positionTransitionFactory =
+      new PositionTransitionFactory.ForStandardPositions();
+    positionTransitionFactory.stateFactory(stateFactory);
+    positionTransitionFactory.positionFactory(positionFactory);
+
+    final StateTransitionFunction transition = new StateTransitionFactory()
+      .comparator(new StandardPositionComparator())
+      .merge(new MergeFunction.ForStandardPositions())
+      .unsubsume(new UnsubsumeFunction.ForStandardPositions()
+          .subsumes(new SubsumesFunction.ForStandardAlgorithm()))
+      .stateFactory(stateFactory)
+      .positionTransitionFactory(positionTransitionFactory)
+      .cacheCapacity(CACHE_CAPACITY)
+      .build(1, 2);
+
+    assertThat(transition).isInstanceOf(MemoizedStateTransitionFunction.class);
+
+    final boolean[] match = {true, false};
+    final boolean[] mismatch = {false, false};
+
+    final State nextState = transition.of(initialState(), match);
+    assertThat(nextState).isNotNull();
+    assertThat(transition.of(initialState(), match)).isSameAs(nextState);
+
+    final State errorState = transition.of(initialState(), mismatch);
+    assertThat(errorState).isNotNull().isNotEqualTo(nextState);
+    assertThat(transition.of(errorState, mismatch)).isNull();
+    assertThat(transition.of(errorState, mismatch)).isNull();
+  }
+
+  private State initialState() {
+    return stateFactory.build(positionFactory.build(0, 0));
+  }
+}
@@ -0,0 +1,49 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+@SuppressWarnings("unchecked")
+public class QGramTransducerTest {
+
+  private static final String ABC = "abc";
+
+  private static final String BAR = "bar";
+
+  private static final String FOO = "foo";
+
+  private static final String XYZ = "xyz";
+
+  @Test(dataProvider = "algorithms", dataProviderClass = EngineFixtures.class)
+  public void testTermsSharingNoGramsAreVerifiedWhenTheFilterIsVacuous(
+      final Algorithm algorithm) {
+    final ITransducer<Candidate> qGram = new TransducerBuilder()
+      .engine(Engine.QGRAM)
+      .algorithm(algorithm)
+      .dictionary(Arrays.asList(ABC), true)
+      .build();
+    final int distance = Algorithm.MERGE_AND_SPLIT == algorithm ? 2 : 3;
+    assertThat(qGram.transduce(XYZ, distance - 1)).isEmpty();
+    assertThat(qGram.transduce(XYZ, distance)).containsExactly(new Candidate(ABC, distance));
+    assertThat(qGram.transduce("bac", 1)).hasSize(Algorithm.TRANSPOSITION == algorithm ? 1 : 0);
+  }
+
+  @Test
+  public void testDuplicateTermsAreIndexedOnce() {
+    final QGramTransducer<Candidate> qGram = (QGramTransducer<Candidate>) (ITransducer<?>)
+      new TransducerBuilder()
+        .engine(Engine.QGRAM)
+        .dictionary(Arrays.asList(FOO, BAR, FOO, ""), false)
+        .build();
+    assertThat(qGram.size()).isEqualTo(3);
+    assertThat(qGram.gramCount()).isEqualTo(9);
+    assertThat(qGram.transduce("fo", 1)).containsExactly(new Candidate(FOO, 1));
+    assertThat(qGram.transduce("", 0)).containsExactly(new Candidate("", 0));
+    assertThat(qGram.transduce(FOO, -1)).isEmpty();
+  }
+}
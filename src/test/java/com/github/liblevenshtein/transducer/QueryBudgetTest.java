@@ -0,0 +1,268 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.collection.dictionary.factory.DawgFactory;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+import static com.github.liblevenshtein.transducer.EngineFixtures.wordsEn;
+
+public class QueryBudgetTest {
+
+  private static final int MAX_DISTANCE = 3;
+
+  private static final String SPELLING = "spelling";
+
+  private static final String ADVERSARIAL_TERM = "qxqxqxqxqxqxqxqxqxqxqxqxqxqxqx";
+
+  private static final int ADVERSARIAL_DISTANCE = 20;
+
+  private static final String[] QUERY_TERMS = {
+    "a", "the", "hello", SPELLING, "transducer", "qwertyuiop",
+  };
+
+  private SortedDawg dictionary;
+
+  private QueryCostEstimator estimator;
+
+  @BeforeClass
+  public void setUp() {
+    this.dictionary = (SortedDawg) new DawgFactory().build(wordsEn(1, 0), true);
+    this.estimator = new QueryCostEstimator(dictionary);
+  }
+
+  @DataProvider(name = "algorithms")
+  public Object[][] algorithms() {
+    final Algorithm[] algorithms = Algorithm.values();
+    final Object[][] parameters = new Object[algorithms.length][1];
+    for (int i = 0; i < algorithms.length; i += 1) {
+      parameters[i][0] = algorithms[i];
+    }
+    return parameters;
+  }
+
+  @Test(dataProvider = "algorithms")
+  public void testEstimatesGrowWithTheQuery(final Algorithm algorithm) {
+    for (int termLength = 1; termLength <= 10; termLength += 1) {
+      for (int maxDistance = 1; maxDistance <= MAX_DISTANCE; maxDistance += 1) {
+        final double estimate =
+          estimator.estimate(termLength, maxDistance, algorithm);
+        assertThat(estimate)
+          .isGreaterThan(estimator.estimate(termLength, maxDistance - 1, algorithm))
+          .isLessThanOrEqualTo(estimator.estimate(termLength + 1, maxDistance, algorithm));
+      }
+    }
+  }
+
+  @Test(dataProvider = "algorithms")
+  @SuppressWarnings("unchecked")
+  public void testEstimatesAreNearTheActualCost(final Algorithm algorithm) {
+    final Transducer<Object, Candidate> transducer = transducerOf(algorithm);
+    for (final String queryTerm : QUERY_TERMS) {
+      final long[] edgesVisited = new long[1];
+      final QueryListener listener =
+        statistics -> edgesVisited[0] = statistics.edgesVisited();
+      listOf(transducer.transduce(queryTerm, MAX_DISTANCE,
+          QueryOptions.builder().listener(listener).build()));
+      final double estimate =
+        estimator.estimate(queryTerm.length(), MAX_DISTANCE, algorithm);
+      assertThat(estimate)
+        .isBetween(edgesVisited[0] / 4.0, edgesVisited[0] * 4.0);
+    }
+  }
+
+  @Test
+  public void testAdmissibleDistanceFitsTheCost() {
+    final double cost = estimator.estimate(SPELLING.length(), 1, Algorithm.STANDARD);
+    assertThat(estimator.admissibleDistance(
+          SPELLING.length(), MAX_DISTANCE, Algorithm.STANDARD, cost))
+      .isEqualTo(1);
+    assertThat(estimator.admissibleDistance(
+          SPELLING.length(), MAX_DISTANCE, Algorithm.STANDARD, Double.MAX_VALUE))
+      .isEqualTo(MAX_DISTANCE);
+    assertThat(estimator.admissibleDistance(
+          SPELLING.length(), MAX_DISTANCE, Algorithm.STANDARD, 0.0))
+      .isZero();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testEstimatesRejectNegativeDistances() {
+    estimator.estimate(SPELLING.length(), -1, Algorithm.STANDARD);
+  }
+
+  @Test(dataProvider = "algorithms")
+  @SuppressWarnings("unchecked")
+  public void testUnlimitedBudgetFindsEveryCandidate(final Algorithm algorithm) {
+    final Transducer<Object, Candidate> transducer = transducerOf(algorithm);
+    for (final String queryTerm : QUERY_TERMS) {
+      final LazyTransducerCollection<Object, Candidate> candidates =
+        transducer.transduce(queryTerm, MAX_DISTANCE, QueryOptions.DEFAULTS);
+      assertThat(listOf(candidates))
+        .isEqualTo(Lists.newArrayList(transducer.transduce(queryTerm, MAX_DISTANCE)));
+      assertThat(candidates.isComplete()).isTrue();
+      assertThat(candidates.status()).isEqualTo(QueryStatus.COMPLETE);
+      assertThat(candidates.maxDistance()).isEqualTo(MAX_DISTANCE);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSpentBudgetReturnsPartialCandidates() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final List<Candidate> allCandidates =
+      Lists.newArrayList(transducer.transduce(SPELLING, MAX_DISTANCE));
+
+    final List<QueryStatistics> reports = new ArrayList<>();
+    transducer.queryListener(reports::add);
+    final QueryBudget budget = QueryBudget.builder().maxVisits(1000L).build();
+    final LazyTransducerCollection<Object, Candidate> candidates =
+      transducer.transduce(SPELLING, MAX_DISTANCE, budgeted(budget));
+    final List<Candidate> partialCandidates = listOf(candidates);
+
+    assertThat(candidates.isComplete()).isFalse();
+    assertThat(candidates.status()).isEqualTo(QueryStatus.VISITS_EXHAUSTED);
+    assertThat(reports.get(0).status()).isEqualTo(QueryStatus.VISITS_EXHAUSTED);
+    assertThat(allCandidates).containsAll(partialCandidates);
+    assertThat(partialCandidates.size()).isLessThan(allCandidates.size());
+    assertThat(reports).hasSize(1);
+    assertThat(reports.get(0).edgesVisited()).isEqualTo(budget.maxVisits());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testQueryListenerReceivesBudgetedQueries() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final List<QueryStatistics> transducerReports = new ArrayList<>();
+    transducer.queryListener(transducerReports::add);
+
+    final List<QueryStatistics> queryReports = new ArrayList<>();
+    final QueryBudget budget = QueryBudget.builder().maxVisits(1000L).build();
+    listOf(transducer.transduce(SPELLING, MAX_DISTANCE, QueryOptions.builder()
+        .listener(queryReports::add)
+        .budget(budget)
+        .build()));
+
+    assertThat(transducerReports).isEmpty();
+    assertThat(queryReports).hasSize(1);
+    assertThat(queryReports.get(0).status()).isEqualTo(QueryStatus.VISITS_EXHAUSTED);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testExpiredBudgetStopsTheQuery() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final QueryBudget budget =
+      QueryBudget.builder().timeout(0L, TimeUnit.NANOSECONDS).build();
+    assertThat(budget.hasTimeout()).isTrue();
+    final LazyTransducerCollection<Object, Candidate> candidates =
+      transducer.transduce(SPELLING, MAX_DISTANCE, budgeted(budget));
+    listOf(candidates);
+    assertThat(candidates.isComplete()).isFalse();
+    assertThat(candidates.status()).isEqualTo(QueryStatus.TIMED_OUT);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCancelledTokenStopsTheQuery() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final CancellationToken cancellation = new CancellationToken();
+    cancellation.cancel();
+    assertThat(cancellation.isCancelled()).isTrue();
+    final LazyTransducerCollection<Object, Candidate> candidates =
+      transducer.transduce(SPELLING, MAX_DISTANCE,
+          QueryOptions.builder().cancellation(cancellation).build());
+    listOf(candidates);
+    assertThat(candidates.status()).isEqualTo(QueryStatus.CANCELLED);
+  }
+
+  @Test(timeOut = 60_000L)
+  @SuppressWarnings("unchecked")
+  public void testCancellationStopsAQueryFromAnotherThread() throws InterruptedException {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.MERGE_AND_SPLIT);
+    final AggregateQueryStatistics aggregate = new AggregateQueryStatistics();
+    transducer.queryListener(aggregate);
+    final CancellationToken cancellation = new CancellationToken();
+    final LazyTransducerCollection<Object, Candidate> candidates =
+      transducer.transduce(ADVERSARIAL_TERM, ADVERSARIAL_DISTANCE,
+          QueryOptions.builder().cancellation(cancellation).build());
+
+    final Thread searcher = new Thread(() -> listOf(candidates));
+    searcher.start();
+    searcher.join(100L);
+    assertThat(searcher.isAlive()).isTrue();
+    cancellation.cancel();
+    searcher.join();
+
+    assertThat(candidates.status()).isEqualTo(QueryStatus.CANCELLED);
+    assertThat(aggregate.queryCount()).isEqualTo(1L);
+    assertThat(aggregate.incompleteQueryCount()).isEqualTo(1L);
+  }
+
+  @Test(timeOut = 60_000L)
+  @SuppressWarnings("unchecked")
+  public void testInterruptStopsAnInterruptibleQuery() throws InterruptedException {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.MERGE_AND_SPLIT);
+    final QueryBudget budget = QueryBudget.builder().interruptible(true).build();
+    final LazyTransducerCollection<Object, Candidate> candidates =
+      transducer.transduce(ADVERSARIAL_TERM, ADVERSARIAL_DISTANCE, budgeted(budget));
+    final boolean[] interrupted = new boolean[1];
+
+    final Thread searcher = new Thread(() -> {
+      listOf(candidates);
+      interrupted[0] = Thread.currentThread().isInterrupted();
+    });
+    searcher.start();
+    searcher.join(100L);
+    searcher.interrupt();
+    searcher.join();
+
+    assertThat(candidates.status()).isEqualTo(QueryStatus.INTERRUPTED);
+    assertThat(interrupted[0]).isTrue();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testDegradedBudgetLowersTheDistance() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final long maxVisits = (long) Math.ceil(
+        estimator.estimate(SPELLING.length(), 1, Algorithm.STANDARD));
+    final QueryBudget budget = QueryBudget.builder()
+      .maxVisits(maxVisits)
+      .degradeDistance(true)
+      .build();
+    final LazyTransducerCollection<Object, Candidate> candidates =
+      transducer.transduce(SPELLING, MAX_DISTANCE, budgeted(budget));
+    assertThat(candidates.maxDistance()).isEqualTo(1);
+    for (final Candidate candidate : candidates) {
+      assertThat(candidate.distance()).isLessThanOrEqualTo(1);
+    }
+  }
+
+  private QueryOptions budgeted(final QueryBudget budget) {
+    return QueryOptions.builder().budget(budget).build();
+  }
+
+  private List<Candidate> listOf(final Iterable<Candidate> candidates) {
+    return Lists.newArrayList(candidates);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Transducer<Object, Candidate> transducerOf(final Algorithm algorithm) {
+    return (Transducer<Object, Candidate>) (ITransducer<?>) new TransducerBuilder()
+      .algorithm(algorithm)
+      .defaultMaxDistance(MAX_DISTANCE)
+      .dictionary(dictionary, true)
+      .build();
+  }
+}
@@ -0,0 +1,223 @@
+package com.github.liblevenshtein.transducer;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.serialization.ProtobufSerializer;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+public class QueryStatisticsTest {
+
+  private static final int MAX_DISTANCE = 2;
+
+  private static final String JVAA = "Jvaa";
+
+  private static final String[] QUERY_TERMS = {
+    "", "C", JVAA, "ActionScirpt", "Smalltlak", "xxxxxxxxxxxxxxxxxxxx",
+  };
+
+  private SortedDawg dictionary;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    final URL dictionaryUrl =
+      getClass().getResource("/programming-languages.protobuf.bytes");
+    this.dictionary =
+      new ProtobufSerializer().deserialize(SortedDawg.class, dictionaryUrl);
+  }
+
+  @DataProvider(name = "algorithms")
+  public Object[][] algorithms() {
+    final Algorithm[] algorithms = Algorithm.values();
+    final Object[][] parameters = new Object[algorithms.length][1];
+    for (int i = 0; i < algorithms.length; i += 1) {
+      parameters[i][0] = algorithms[i];
+    }
+    return parameters;
+  }
+
+  @Test(dataProvider = "algorithms")
+  @SuppressWarnings("unchecked")
+  public void testStatisticsAccountForEveryEdge(final Algorithm algorithm) {
+    final Transducer<Object, Candidate> transducer = transducerOf(algorithm);
+    for (final String queryTerm : QUERY_TERMS) {
+      final List<QueryStatistics> reports = new ArrayList<>();
+      final List<Candidate> candidates =
+        listOf(transducer.transduce(queryTerm, MAX_DISTANCE, listenedBy(reports::add)));
+
+      assertThat(reports).hasSize(1);
+      final QueryStatistics statistics = reports.get(0);
+      assertThat(statistics.term()).isEqualTo(queryTerm);
+      assertThat(statistics.maxDistance()).isEqualTo(MAX_DISTANCE);
+      assertThat(statistics.prefix()).isFalse();
+      assertThat(statistics.candidatesEmitted()).isEqualTo(candidates.size());
+      assertThat(statistics.edgesVisited()).isEqualTo(
+          statistics.intersectionsQueued() - 1L
+          + statistics.deadTransitions()
+          + statistics.prunedSubtrees());
+      assertThat(statistics.peakQueueSize())
+        .isBetween(1L, statistics.intersectionsQueued());
+      assertThat(statistics.durationNanos()).isNotNegative();
+      assertThat(statistics.status()).isEqualTo(QueryStatus.COMPLETE);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testPrefixStatistics() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final List<QueryStatistics> reports = new ArrayList<>();
+    transducer.queryListener(reports::add);
+    final List<Candidate> candidates =
+      Lists.newArrayList(transducer.transducePrefix("Jav"));
+    assertThat(reports).hasSize(1);
+    assertThat(reports.get(0).prefix()).isTrue();
+    assertThat(reports.get(0).candidatesEmitted()).isEqualTo(candidates.size());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testReportsOnlyExhaustedQueries() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final List<QueryStatistics> reports = new ArrayList<>();
+    final Iterable<Candidate> candidates =
+      transducer.transduce(JVAA, MAX_DISTANCE, listenedBy(reports::add));
+    candidates.iterator().next();
+    assertThat(reports).isEmpty();
+    while (candidates.iterator().hasNext()) {
+      candidates.iterator().next();
+    }
+    candidates.iterator().hasNext();
+    assertThat(reports).hasSize(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testClosedQueriesReportTheirSearchSoFar() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final AggregateQueryStatistics aggregate = new AggregateQueryStatistics();
+    final List<QueryStatistics> reports = new ArrayList<>();
+    final QueryOptions options = listenedBy(statistics -> {
+      aggregate.completed(statistics);
+      reports.add(statistics);
+    });
+
+    final Candidate first;
+    final LazyTransducerCollection<Object, Candidate> candidates =
+      transducer.transduce(JVAA, MAX_DISTANCE, options);
+    try (final LazyTransducerCollection<Object, Candidate> closed = candidates) {
+      first = closed.iterator().next();
+      assertThat(closed.statistics().candidatesEmitted()).isEqualTo(1L);
+      assertThat(reports).isEmpty();
+    }
+
+    assertThat(first).isNotNull();
+    assertThat(candidates.iterator().hasNext()).isFalse();
+    assertThat(candidates.status()).isEqualTo(QueryStatus.ABANDONED);
+    assertThat(reports).containsExactly(candidates.statistics());
+    assertThat(reports.get(0).status()).isEqualTo(QueryStatus.ABANDONED);
+    assertThat(reports.get(0).candidatesEmitted()).isEqualTo(1L);
+    assertThat(reports.get(0).edgesVisited()).isPositive();
+    assertThat(aggregate.incompleteQueryCount()).isEqualTo(1L);
+
+    candidates.close();
+    assertThat(reports).hasSize(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testClosingExhaustedQueriesChangesNothing() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final List<QueryStatistics> reports = new ArrayList<>();
+    final LazyTransducerCollection<Object, Candidate> candidates =
+      transducer.transduce(JVAA, MAX_DISTANCE, listenedBy(reports::add));
+    listOf(candidates);
+    candidates.close();
+    assertThat(candidates.status()).isEqualTo(QueryStatus.COMPLETE);
+    assertThat(reports).hasSize(1);
+    assertThat(reports.get(0).status()).isEqualTo(QueryStatus.COMPLETE);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testStatisticsAreOnlyCollectedForListenedQueries() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.STANDARD);
+    final LazyTransducerCollection<Object, Candidate> candidates =
+      transducer.transduce(JVAA, MAX_DISTANCE, QueryOptions.DEFAULTS);
+    assertThat(candidates.statistics()).isNull();
+    candidates.close();
+    assertThat(candidates.status()).isEqualTo(QueryStatus.ABANDONED);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testAggregatesStatisticsOfTransducer() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.TRANSPOSITION);
+    final AggregateQueryStatistics aggregate = new AggregateQueryStatistics();
+    final List<QueryStatistics> reports = new ArrayList<>();
+    transducer.queryListener(statistics -> {
+      aggregate.completed(statistics);
+      reports.add(statistics);
+    });
+
+    for (final String queryTerm : QUERY_TERMS) {
+      Lists.newArrayList(transducer.transduce(queryTerm));
+    }
+
+    assertThat(aggregate.queryCount()).isEqualTo(QUERY_TERMS.length);
+    assertThat(aggregate.incompleteQueryCount()).isZero();
+    long edgesVisited = 0L;
+    long candidatesEmitted = 0L;
+    long maxPeakQueueSize = 0L;
+    for (final QueryStatistics statistics : reports) {
+      edgesVisited += statistics.edgesVisited();
+      candidatesEmitted += statistics.candidatesEmitted();
+      maxPeakQueueSize = Math.max(maxPeakQueueSize, statistics.peakQueueSize());
+    }
+    assertThat(aggregate.edgesVisited()).isEqualTo(edgesVisited);
+    assertThat(aggregate.candidatesEmitted()).isEqualTo(candidatesEmitted);
+    assertThat(aggregate.maxPeakQueueSize()).isEqualTo(maxPeakQueueSize);
+
+    aggregate.reset();
+    assertThat(aggregate.queryCount()).isZero();
+    assertThat(aggregate.maxEdgesVisited()).isZero();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testStatisticsDoNotChangeCandidates() {
+    final Transducer<Object, Candidate> transducer = transducerOf(Algorithm.MERGE_AND_SPLIT);
+    for (final String queryTerm : QUERY_TERMS) {
+      final QueryOptions options = listenedBy(statistics -> { });
+      assertThat(listOf(transducer.transduce(queryTerm, MAX_DISTANCE, options)))
+        .isEqualTo(Lists.newArrayList(transducer.transduce(queryTerm, MAX_DISTANCE)));
+    }
+  }
+
+  private List<Candidate> listOf(final Iterable<Candidate> candidates) {
+    return Lists.newArrayList(candidates);
+  }
+
+  private QueryOptions listenedBy(final QueryListener listener) {
+    return QueryOptions.builder().listener(listener).build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Transducer<Object, Candidate> transducerOf(final Algorithm algorithm) {
+    return (Transducer<Object, Candidate>) (ITransducer<?>) new TransducerBuilder()
+      .algorithm(algorithm)
+      .defaultMaxDistance(MAX_DISTANCE)
+      .dictionary(dictionary, true)
+      .build();
+  }
+}
@@ -0,0 +1,236 @@
+package com.github.liblevenshtein.transducer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Sets;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.collection.dictionary.SortedDawg;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+public class ReloadableTransducerTest {
+
+  private static final String FOO = "foo";
+
+  private static final String FOB = "fob";
+
+  private static final long TIMEOUT_SECONDS = 10L;
+
+  private ITransducer<Candidate> first;
+
+  private ITransducer<Candidate> second;
+
+  private RecordingListener listener;
+
+  private ReloadableTransducer<Candidate> transducer;
+
+  @BeforeMethod
+  public void setUp() {
+    this.first = transducerOf("bar", "baz", FOO);
+    this.second = transducerOf(FOB, "qux");
+    this.listener = new RecordingListener();
+    this.transducer = new ReloadableTransducer<>(first).listener(listener);
+  }
+
+  @Test
+  public void testReloadPublishesNewVersion() throws Exception {
+    assertThat(transducer.version()).isEqualTo(0L);
+    assertThat(Sets.newHashSet(transducer.transduce(FOB)))
+      .isEqualTo(Sets.newHashSet(first.transduce(FOB)));
+
+    assertThat(transducer.reload(() -> second)).isEqualTo(1L);
+    assertThat(transducer.version()).isEqualTo(1L);
+    assertThat(Sets.newHashSet(transducer.transduce(FOB)))
+      .isEqualTo(Sets.newHashSet(second.transduce(FOB)));
+    assertThat(Sets.newHashSet(transducer.transduce(FOB, 0)))
+      .containsExactly(new Candidate(FOB, 0));
+
+    assertThat(listener.loaded).containsExactly(1L);
+    assertThat(listener.released).containsExactly(0L);
+  }
+
+  @Test
+  public void testIsNotSerializable() throws Exception {
+    NotSerializableException thrown = null;
+    try (final ObjectOutputStream stream =
+        new ObjectOutputStream(new ByteArrayOutputStream())) {
+      stream.writeObject(transducer);
+    }
+    catch (final NotSerializableException exception) {
+      thrown = exception;
+    }
+    assertThat(thrown).hasMessage(ReloadableTransducer.class.getName());
+  }
+
+  @Test
+  public void testFailedReloadKeepsCurrentVersion() throws Exception {
+    final IllegalStateException failure = new IllegalStateException("corrupt");
+    Exception thrown = null;
+    try {
+      transducer.reload(() -> {
+        throw failure;
+      });
+    }
+    catch (final IllegalStateException exception) {
+      thrown = exception;
+    }
+    assertThat(thrown).isSameAs(failure);
+    assertThat(transducer.version()).isEqualTo(0L);
+    assertThat(listener.failures).containsExactly(failure);
+    assertThat(listener.released).isEmpty();
+  }
+
+  @Test
+  public void testInFlightQueriesFinishOnTheirVersion() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch proceed = new CountDownLatch(1);
+    final BlockingTransducer blocking = new BlockingTransducer(started, proceed);
+    final ReloadableTransducer<Candidate> reloadable =
+      new ReloadableTransducer<>((ITransducer<Candidate>) blocking).listener(listener);
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<Iterable<Candidate>> query =
+        executor.submit(() -> reloadable.transduce(FOO));
+      assertThat(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+      reloadable.reload(() -> second);
+      assertThat(blocking.closed).isFalse();
+      assertThat(listener.released).isEmpty();
+      assertThat(Sets.newHashSet(reloadable.transduce(FOB)))
+        .isEqualTo(Sets.newHashSet(second.transduce(FOB)));
+
+      proceed.countDown();
+      assertThat(query.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        .containsExactly(new Candidate(FOO, 0));
+      assertThat(blocking.closed).isTrue();
+      assertThat(listener.released).containsExactly(0L);
+    }
+    finally {
+      proceed.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testReloadAsyncPublishesInBackground() throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<Long> version = transducer.reloadAsync(() -> second, executor);
+      assertThat(version.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo(1L);
+      assertThat(transducer.version()).isEqualTo(1L);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCloseReleasesCurrentVersion() {
+    transducer.close();
+    assertThat(listener.released).containsExactly(0L);
+    transducer.close();
+    assertThat(listener.released).containsExactly(0L);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testClosedTransducerRejectsQueries() {
+    transducer.close();
+    transducer.transduce(FOO);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testClosedTransducerRejectsReloads() throws Exception {
+    transducer.close();
+    transducer.reload(() -> second);
+  }
+
+  private static ITransducer<Candidate> transducerOf(final String... terms) {
+    return new TransducerBuilder()
+      .defaultMaxDistance(1)
+      .dictionary(new SortedDawg(Arrays.asList(terms)), true)
+      .build();
+  }
+
+  private static class RecordingListener implements ReloadListener {
+
+    private final List<Long> loaded = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Long> released = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void loaded(final long version, final long durationNanos) {
+      assertThat(durationNanos).isNotNegative();
+      loaded.add(version);
+    }
+
+    @Override
+    public void failed(final Throwable cause, final long durationNanos) {
+      failures.add(cause);
+    }
+
+    @Override
+    public void released(final long version) {
+      released.add(version);
+    }
+  }
+
+  private static class BlockingTransducer implements ITransducer<Candidate>, Closeable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CountDownLatch started;
+
+    private final CountDownLatch proceed;
+
+    private volatile boolean closed = false;
+
+    BlockingTransducer(final CountDownLatch started, final CountDownLatch proceed) {
+      this.started = started;
+      this.proceed = proceed;
+    }
+
+    @Override
+    public Iterable<Candidate> transduce(final String term) {
+      return transduce(term, 0);
+    }
+
+    @Override
+    public Iterable<Candidate> transduce(final String term, final int maxDistance) {
+      return () -> {
+        started.countDown();
+        try {
+          proceed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (final InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+        assertThat(closed).isFalse();
+        return Collections.singletonList(new Candidate(term, 0)).iterator();
+      };
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.collect.Lists;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.distance.IDistance;
+import com.github.liblevenshtein.distance.factory.MemoizedDistanceFactory;
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+import static com.github.liblevenshtein.transducer.EngineFixtures.QUERY_TERMS;
+import static com.github.liblevenshtein.transducer.EngineFixtures.wordsEn;
+
+@SuppressWarnings("unchecked")
+public class ScanTransducerTest {
+
+  private static final int MAX_DISTANCE = 3;
+
+  private static final String ALPHABET = "abcde";
+
+  private static final String BAR = "bar";
+
+  private static final String BAZ = "baz";
+
+  private static final String FOO = "foo";
+
+  @Test(dataProvider = "algorithms", dataProviderClass = EngineFixtures.class)
+  public void testConcurrentScanMatchesSequentialScan(final Algorithm algorithm) {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final ITransducer<Candidate> sequential = builderOf(algorithm)
+        .engine(Engine.SCAN)
+        .build();
+      final ITransducer<Candidate> concurrent = builderOf(algorithm)
+        .engine(Engine.SCAN)
+        .scanExecutor(executor)
+        .build();
+      for (final String queryTerm : QUERY_TERMS) {
+        assertThat(Lists.newArrayList(concurrent.transduce(queryTerm, MAX_DISTANCE)))
+          .isEqualTo(Lists.newArrayList(sequential.transduce(queryTerm, MAX_DISTANCE)));
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(dataProvider = "algorithms", dataProviderClass = EngineFixtures.class)
+  public void testDistancesMatchMemoizedDistances(final Algorithm algorithm) {
+    final IDistance<String> expected = new MemoizedDistanceFactory().build(algorithm);
+    final Random random = new Random(algorithm.ordinal());
+    for (int i = 0; i < 2000; i += 1) {
+      final String v = randomTerm(random, random.nextInt(12));
+      final String w = randomTerm(random, random.nextInt(12));
+      final BitParallelDistance distances = new BitParallelDistance(algorithm, v);
+      final int distance = expected.between(v, w);
+      for (int maxDistance = 0; maxDistance <= MAX_DISTANCE; maxDistance += 1) {
+        assertThat(distances.distance(w.toCharArray(), 0, w.length(), maxDistance))
+          .as("%s between [%s] and [%s] within %d", algorithm, v, w, maxDistance)
+          .isEqualTo(Math.min(distance, maxDistance + 1));
+      }
+    }
+  }
+
+  @Test(dataProvider = "algorithms", dataProviderClass = EngineFixtures.class)
+  public void testDistancesOfLongQueryTerms(final Algorithm algorithm) {
+    final IDistance<String> expected = new MemoizedDistanceFactory().build(algorithm);
+    final Random random = new Random(algorithm.ordinal());
+    for (int i = 0; i < 50; i += 1) {
+      final String v = randomTerm(random, 60 + random.nextInt(10));
+      final StringBuilder w = new StringBuilder(v);
+      for (int j = random.nextInt(4); j > 0; j -= 1) {
+        w.setCharAt(random.nextInt(w.length()), 'z');
+      }
+      final BitParallelDistance distances = new BitParallelDistance(algorithm, v);
+      assertThat(distances.distance(w.toString().toCharArray(), 0, w.length(), MAX_DISTANCE))
+        .isEqualTo(Math.min(expected.between(v, w.toString()), MAX_DISTANCE + 1));
+    }
+  }
+
+  @Test
+  public void testDuplicateTermsAreScannedOnce() {
+    final ScanTransducer<Candidate> scan = (ScanTransducer<Candidate>) (ITransducer<?>)
+      new TransducerBuilder()
+        .engine(Engine.SCAN)
+        .dictionary(Arrays.asList(FOO, BAR, FOO, ""), false)
+        .build();
+    assertThat(scan.size()).isEqualTo(3);
+    assertThat(scan.transduce("fo", 1)).containsExactly(new Candidate(FOO, 1));
+    assertThat(scan.transduce("", 0)).containsExactly(new Candidate("", 0));
+    assertThat(scan.transduce(FOO, -1)).isEmpty();
+  }
+
+  @Test
+  public void testAutoChoosesEngineByDictionarySize() {
+    final List<String> dictionary = Arrays.asList(BAR, BAZ, FOO);
+    assertThat((Object) new TransducerBuilder()
+        .engine(Engine.AUTO)
+        .scanCrossover(dictionary.size() + 1)
+        .dictionary(dictionary, true)
+        .build())
+      .isInstanceOf(ScanTransducer.class);
+    assertThat((Object) new TransducerBuilder()
+        .engine(Engine.AUTO)
+        .scanCrossover(dictionary.size())
+        .dictionary(dictionary, true)
+        .build())
+      .isInstanceOf(Transducer.class);
+  }
+
+  @Test
+  public void testAutoLowersTheCrossoverForSmallDistances() {
+    final List<String> dictionary = Arrays.asList(BAR, BAZ, FOO);
+    assertThat((Object) new TransducerBuilder()
+        .engine(Engine.AUTO)
+        .defaultMaxDistance(1)
+        .scanCrossover(40)
+        .dictionary(dictionary, true)
+        .build())
+      .isInstanceOf(ScanTransducer.class);
+    assertThat((Object) new TransducerBuilder()
+        .engine(Engine.AUTO)
+        .defaultMaxDistance(1)
+        .scanCrossover(30)
+        .dictionary(dictionary, true)
+        .build())
+      .isInstanceOf(Transducer.class);
+    assertThat((Object) new TransducerBuilder()
+        .engine(Engine.AUTO)
+        .defaultMaxDistance(0)
+        .dictionary(dictionary, true)
+        .build())
+      .isInstanceOf(Transducer.class);
+  }
+
+  private TransducerBuilder builderOf(final Algorithm algorithm) {
+    return EngineFixtures.builderOf(algorithm, MAX_DISTANCE)
+      .dictionary(wordsEn(8, 0), true);
+  }
+
+  private String randomTerm(final Random random, final int length) {
+    final StringBuilder term = new StringBuilder(length);
+    for (int i = 0; i < length; i += 1) {
+      term.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return term.toString();
+  }
+}
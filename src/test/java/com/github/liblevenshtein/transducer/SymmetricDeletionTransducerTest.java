@@ -0,0 +1,60 @@
+package com.github.liblevenshtein.transducer;
+
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.liblevenshtein.transducer.factory.TransducerBuilder;
+
+@SuppressWarnings("unchecked")
+public class SymmetricDeletionTransducerTest {
+
+  private static final String AAB = "aab";
+
+  private static final String BAR = "bar";
+
+  private static final String FOO = "foo";
+
+  @Test
+  public void testDeletionVariantsAreIndexedOncePerTerm() {
+    final SymmetricDeletionTransducer<Candidate> symmetricDeletion =
+      (SymmetricDeletionTransducer<Candidate>) (ITransducer<?>) new TransducerBuilder()
+        .engine(Engine.SYMMETRIC_DELETION)
+        .defaultMaxDistance(1)
+        .dictionary(Arrays.asList(AAB, FOO, AAB), false)
+        .build();
+    assertThat(symmetricDeletion.size()).isEqualTo(2);
+    assertThat(symmetricDeletion.indexedDeletions()).isEqualTo(1);
+    // aab, ab, aa; foo, oo, fo
+    assertThat(symmetricDeletion.postingCount()).isEqualTo(6);
+    assertThat(symmetricDeletion.fingerprintCount()).isEqualTo(6);
+    assertThat(symmetricDeletion.transduce("ab")).containsExactly(new Candidate(AAB, 1));
+    assertThat(symmetricDeletion.transduce(FOO, -1)).isEmpty();
+  }
+
+  @Test
+  public void testMergeAndSplitIndexesTwiceTheDeletions() {
+    final SymmetricDeletionTransducer<Candidate> symmetricDeletion =
+      (SymmetricDeletionTransducer<Candidate>) (ITransducer<?>) new TransducerBuilder()
+        .engine(Engine.SYMMETRIC_DELETION)
+        .algorithm(Algorithm.MERGE_AND_SPLIT)
+        .defaultMaxDistance(1)
+        .dictionary(Arrays.asList(BAR, FOO), true)
+        .build();
+    assertThat(symmetricDeletion.indexedDeletions()).isEqualTo(2);
+    assertThat(symmetricDeletion.transduce("br")).containsExactly(new Candidate(BAR, 1));
+    assertThat(symmetricDeletion.transduce("fxo")).containsExactly(new Candidate(FOO, 1));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testDistancesBeyondTheIndexAreRejected() {
+    final ITransducer<Candidate> symmetricDeletion = new TransducerBuilder()
+      .engine(Engine.SYMMETRIC_DELETION)
+      .defaultMaxDistance(1)
+      .dictionary(Arrays.asList(BAR, FOO), true)
+      .build();
+    symmetricDeletion.transduce(FOO, 2);
+  }
+}